@@ -0,0 +1,179 @@
+import java.util.Comparator;
+
+/**
+ * An Adaptable Priority Queue implemented with a Heap. A plain Heap only lets us
+ * remove the entry with the minimal key, so an algorithm that needs to lower the
+ * priority of an entry already in the heap (such as Dijkstra's shortest paths)
+ * has to insert a duplicate entry and skip the stale one when it is removed,
+ * letting the heap grow well beyond the number of live entries.
+ *
+ * An adaptable heap returns a handle, or locator, from insert(). The locator is
+ * the entry itself, extended with the index at which the entry is stored in the
+ * array list of the heap. Whenever two entries are swapped their indexes are
+ * updated, so the heap can find any entry from its locator in O(1) time, then
+ * restore the heap property by moving it up or down in O(log n) time. This lets
+ * the heap support four additional operations:
+ *
+ * remove(e): Removes the entry e from the heap
+ * replaceKey(e, k): Replaces the key of the entry e with k
+ * decreaseKey(e, k): Replaces the key of the entry e with a key no greater than it
+ * replaceValue(e, v): Replaces the value of the entry e with v
+ *
+ * Source: Goodrich, M. T., Tamassia, R., &amp; Goldwasser, M. H. (2014). Data
+ * Structures and Algorithms in Java (6th ed.). Wiley. Section 9.5.
+ *
+ * O(log n) - insert(), removeMin(), remove(), replaceKey(), decreaseKey()
+ * O(1) - min(), replaceValue(), size(), isEmpty()
+ */
+public class AdaptableHeap<K,V> extends Heap<K,V> {
+
+    /*** Nested Locator class ***/
+    /**
+     * Entry that keeps track of its index within the array list of the heap
+     */
+    private static class Locator<K,V> extends Entry<K,V> {
+        private int index;  // The index of this entry in the array list of the heap
+
+        private Locator(K key, V value, int index) {
+            super(key, value);
+            this.index = index;
+        }
+
+        private int getIndex() { return index; }
+        private void setIndex(int index) { this.index = index; }
+    }
+    /*** End of Locator class ***/
+
+    // Error Messages
+    private static final String INVALID_ENTRY = "Invalid entry";
+    private static final String ILLEGAL_ARG_INCREASE = "Key must not be greater than the current key";
+
+    /** Constructors **/
+    public AdaptableHeap() {
+        super();
+    }
+
+    public AdaptableHeap(Comparator<K> c) {
+        super(c);
+    }
+
+    public AdaptableHeap(int d) {
+        super(d);
+    }
+
+    public AdaptableHeap(int d, Comparator<K> c) {
+        super(d, c);
+    }
+
+    /** Protected Utility Methods **/
+    /**
+     * Creates a locator for a new entry. The entry is appended to the end of the
+     * array list by insert(), so that is its initial index.
+     */
+    @Override
+    protected Entry<K,V> newEntry(K key, V value) {
+        return new Locator<>(key, value, heap.size());
+    }
+
+    /**
+     * Swaps the entries with the given indexes, and updates the index of both
+     * locators to their new position
+     */
+    @Override
+    protected void swap(int i, int j) {
+        super.swap(i, j);
+        ((Locator<K,V>) heap.get(i)).setIndex(i);
+        ((Locator<K,V>) heap.get(j)).setIndex(j);
+    }
+
+    /**
+     * Restores the heap property by moving the entry at index k up or down,
+     * whichever direction its key requires
+     * @param k the index of the entry to reposition
+     */
+    protected void bubble(int k) {
+        if (k > 0 && compare(heap.get(k), heap.get(parent(k))) < 0) {
+            upheap(k);
+        } else {
+            downheap(k);
+        }
+    }
+
+    /**
+     * Validates that the entry was returned by insert() of this heap, and is still
+     * in the heap
+     * @param entry The entry to validate
+     * @return the entry as a locator
+     * @throws IllegalArgumentException if the entry is invalid
+     */
+    private Locator<K,V> validate(Entry<K,V> entry) throws IllegalArgumentException {
+        if (!(entry instanceof Locator)) { throw new IllegalArgumentException(INVALID_ENTRY); }
+        Locator<K,V> locator = (Locator<K,V>) entry;
+        int j = locator.getIndex();
+        if (j < 0 || j >= heap.size() || heap.get(j) != locator) {
+            throw new IllegalArgumentException(INVALID_ENTRY);
+        }
+        return locator;
+    }
+
+    /** Update Methods **/
+    /**
+     * Removes the given entry from the heap
+     * @param entry The entry to remove, as returned by insert()
+     * @return The value of the removed entry
+     * @throws IllegalArgumentException if the entry is invalid
+     */
+    public V remove(Entry<K,V> entry) throws IllegalArgumentException {
+        Locator<K,V> locator = validate(entry);
+        int j = locator.getIndex();
+        int last = heap.size() - 1;
+        if (j == last) {
+            heap.remove(last);      // Entry is at the last position, simply remove it
+        } else {
+            swap(j, last);          // Move the last entry into the position of the entry
+            heap.remove(last);      // Then remove the entry, now at the last position
+            bubble(j);              // And reposition the moved entry
+        }
+        locator.setIndex(-1);       // The locator is no longer valid
+        return locator.getValue();
+    }
+
+    /**
+     * Replaces the key of the given entry, and repositions it within the heap
+     * @param entry The entry to update, as returned by insert()
+     * @param key   The new key of the entry
+     * @throws IllegalArgumentException if the entry or the key is invalid
+     */
+    public void replaceKey(Entry<K,V> entry, K key) throws IllegalArgumentException {
+        Locator<K,V> locator = validate(entry);
+        checkKey(key);      // Check for valid key (could throw Exception)
+        locator.setKey(key);
+        bubble(locator.getIndex());
+    }
+
+    /**
+     * Lowers the key of the given entry, which can only move it up the heap. This
+     * is the operation used to relax an edge in Dijkstra's algorithm.
+     * @param entry The entry to update, as returned by insert()
+     * @param key   The new key of the entry, no greater than its current key
+     * @throws IllegalArgumentException if the entry is invalid, or the key is greater
+     */
+    public void decreaseKey(Entry<K,V> entry, K key) throws IllegalArgumentException {
+        Locator<K,V> locator = validate(entry);
+        checkKey(key);
+        if (compareKeys(key, locator.getKey()) > 0) { throw new IllegalArgumentException(ILLEGAL_ARG_INCREASE); }
+        locator.setKey(key);
+        upheap(locator.getIndex());
+    }
+
+    /**
+     * Replaces the value of the given entry
+     * @param entry The entry to update, as returned by insert()
+     * @param value The new value of the entry
+     * @throws IllegalArgumentException if the entry is invalid
+     */
+    public void replaceValue(Entry<K,V> entry, V value) throws IllegalArgumentException {
+        Locator<K,V> locator = validate(entry);
+        locator.setValue(value);
+    }
+}
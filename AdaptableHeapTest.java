@@ -0,0 +1,153 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class AdaptableHeapTest {
+    AdaptableHeap<Integer,String> heap;
+
+    // Error Messages
+    private static final String INVALID_ENTRY = "Invalid entry";
+    private static final String ILLEGAL_ARG_INCREASE = "Key must not be greater than the current key";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("AdaptableHeap Unit Testing has begun ...");
+    }
+
+    @BeforeEach
+    public void init() {
+        this.heap = new AdaptableHeap<Integer,String>();
+    }
+
+    @Test
+    void insertReturnsEntry() {
+        Heap.Entry<Integer,String> e = heap.insert(5, "five");
+        assertAll("entry",
+            () -> assertEquals(5, e.getKey()),
+            () -> assertEquals("five", e.getValue())
+        );
+    }
+
+    @Test
+    void removeMiddle() {
+        heap.insert(1, "1");
+        Heap.Entry<Integer,String> e = heap.insert(3, "3");
+        heap.insert(5, "5");
+        heap.insert(2, "2");
+        assertEquals("3", heap.remove(e));
+        assertEquals(3, heap.size());
+        assertEquals("1", heap.removeMin());
+        assertEquals("2", heap.removeMin());
+        assertEquals("5", heap.removeMin());
+    }
+
+    @Test
+    void removeTwice() {
+        Heap.Entry<Integer,String> e = heap.insert(1, "1");
+        heap.insert(2, "2");
+        heap.remove(e);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> heap.remove(e));
+        assertEquals(INVALID_ENTRY, ex.getMessage());
+    }
+
+    @Test
+    void removeEntryOfOtherHeap() {
+        AdaptableHeap<Integer,String> other = new AdaptableHeap<>();
+        Heap.Entry<Integer,String> e = other.insert(1, "1");
+        heap.insert(1, "1");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> heap.remove(e));
+        assertEquals(INVALID_ENTRY, ex.getMessage());
+    }
+
+    @Test
+    void replaceKey() {
+        Heap.Entry<Integer,String> a = heap.insert(1, "a");
+        Heap.Entry<Integer,String> b = heap.insert(2, "b");
+        heap.insert(3, "c");
+        heap.replaceKey(a, 10);     // Moves down
+        assertEquals("b", heap.min());
+        heap.replaceKey(b, 20);     // Moves down
+        assertEquals("c", heap.min());
+        heap.replaceKey(b, 0);      // Moves up
+        assertEquals("b", heap.min());
+    }
+
+    @Test
+    void decreaseKey() {
+        heap.insert(1, "a");
+        Heap.Entry<Integer,String> b = heap.insert(7, "b");
+        heap.decreaseKey(b, 0);
+        assertEquals("b", heap.min());
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> heap.decreaseKey(b, 5));
+        assertEquals(ILLEGAL_ARG_INCREASE, ex.getMessage());
+    }
+
+    @Test
+    void replaceValue() {
+        Heap.Entry<Integer,String> e = heap.insert(1, "a");
+        heap.replaceValue(e, "z");
+        assertEquals("z", heap.min());
+    }
+
+    @Test
+    void randomOperations() {
+        Random random = new Random(42);
+        for (int d = 2; d <= 4; d++) {
+            AdaptableHeap<Integer,Integer> h = new AdaptableHeap<>(d);
+            ArrayList<Heap.Entry<Integer,Integer>> live = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                int key = random.nextInt(1000);
+                live.add(h.insert(key, key));
+            }
+            // Update and remove entries at random, keeping each value equal to its key
+            for (int i = 0; i < 1000; i++) {
+                Heap.Entry<Integer,Integer> e = live.get(random.nextInt(live.size()));
+                int key = random.nextInt(1000);
+                if (i % 3 == 0) {
+                    h.remove(e);
+                    live.remove(e);
+                } else {
+                    h.replaceKey(e, key);
+                    h.replaceValue(e, key);
+                }
+            }
+            assertEquals(live.size(), h.size());
+            int previous = Integer.MIN_VALUE;
+            while (!h.isEmpty()) {
+                int value = h.removeMin();
+                assertTrue(value >= previous);
+                previous = value;
+            }
+        }
+    }
+
+    @Test
+    void mergeCreatesLocators() {
+        AdaptableHeap<Integer,String> other = new AdaptableHeap<>();
+        other.insert(1, "1");
+        heap.insert(2, "2");
+        heap.merge(other);
+        Heap.Entry<Integer,String> e = heap.insert(3, "3");
+        heap.decreaseKey(e, 0);     // Indexes stay valid after the heap is rebuilt
+        assertEquals("3", heap.removeMin());
+        assertEquals("1", heap.removeMin());
+        assertEquals("2", heap.removeMin());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("AdaptableHeap Unit Testing is complete.");
+    }
+}
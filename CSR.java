@@ -0,0 +1,88 @@
+/**
+ * A read-only graph in Compressed Sparse Row (CSR) form, the view of a graph that
+ * the graph algorithms run on. The vertices are numbered 0 to n-1 and the edges
+ * 0 to m-1, and the edges of each vertex occupy a contiguous run of slots:
+ *
+ * - The outgoing edges of vertex u occupy the slots [outStart(u), outEnd(u))
+ * - For each slot i, target(i) is the opposite vertex and outEdge(i) the edge
+ *
+ * A directed graph also has the reverse CSR, the incoming edges of each vertex,
+ * read through inStart(), inEnd(), source() and inEdge(). An undirected graph
+ * stores each edge in the rows of both endpoints, so that its outgoing and
+ * incoming edges are the same slots.
+ *
+ * CSRGraph holds the arrays on the heap, and MappedGraph reads them from a
+ * memory-mapped graph file, so an algorithm written against CSR runs on either.
+ * Only a CSRGraph keeps the Vertex and Edge objects of the Graph it was frozen
+ * from; id() and edge() of a graph that does not keep them throw.
+ */
+public interface CSR<V,E> {
+
+    /** @return true if the graph is directed, false if undirected */
+    boolean isDirected();
+
+    /** @return the number of vertices, which are numbered [0, numVertices()) */
+    int numVertices();
+
+    /** @return the number of edges, which are numbered [0, numEdges()) */
+    int numEdges();
+
+    /**
+     * Returns the id of a vertex of the original graph
+     * @param v The vertex
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if the vertex is not a vertex of this graph
+     */
+    int id(Vertex<V> v) throws IllegalArgumentException;
+
+    /**
+     * @return the edge of the original graph with the given id
+     * @throws UnsupportedOperationException if the graph keeps no Edge objects
+     */
+    Edge<E> edge(int id) throws UnsupportedOperationException;
+
+    /** @return the element stored at the vertex with the given id */
+    V vertexElement(int id);
+
+    /** @return the element stored at the edge with the given id */
+    E edgeElement(int id);
+
+    /** @return the origin of the edge, or for an undirected graph its first endpoint */
+    int edgeSource(int e);
+
+    /** @return the destination of the edge, or for an undirected graph its second endpoint */
+    int edgeTarget(int e);
+
+    /** @return the endpoint of edge e opposite vertex u */
+    int opposite(int u, int e);
+
+    /** @return the number of edges leaving vertex u */
+    int outDegree(int u);
+
+    /** @return the first slot of the outgoing edges of vertex u */
+    int outStart(int u);
+
+    /** @return one past the last slot of the outgoing edges of vertex u */
+    int outEnd(int u);
+
+    /** @return the vertex at the far end of the outgoing edge in slot i */
+    int target(int i);
+
+    /** @return the id of the outgoing edge in slot i */
+    int outEdge(int i);
+
+    /** @return the number of edges entering vertex v */
+    int inDegree(int v);
+
+    /** @return the first slot of the incoming edges of vertex v */
+    int inStart(int v);
+
+    /** @return one past the last slot of the incoming edges of vertex v */
+    int inEnd(int v);
+
+    /** @return the vertex at the near end of the incoming edge in slot i */
+    int source(int i);
+
+    /** @return the id of the incoming edge in slot i */
+    int inEdge(int i);
+}
@@ -0,0 +1,304 @@
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * An immutable graph in Compressed Sparse Row (CSR) form, built from a Graph by
+ * Graph.freeze(). Graph stores each vertex as a node with two hash maps of
+ * edges, and each edge as a node of a positional list, which costs hundreds of
+ * bytes per edge and makes iterating over the edges of a vertex a walk through
+ * a hash table. A CSR graph instead numbers the vertices 0 to n-1 and the edges
+ * 0 to m-1, and stores the adjacency of every vertex in a few flat int arrays:
+ *
+ * - The outgoing edges of vertex u occupy the slots [offsets[u], offsets[u+1])
+ * - For each slot i, targets[i] is the opposite vertex and edgeIds[i] the edge
+ *
+ * So the neighbors of u are a contiguous run of ints, which a traversal reads
+ * sequentially at the speed of memory, and a graph costs about 8 bytes for each
+ * slot plus 4 bytes per vertex. The edges of a vertex appear in the order the
+ * edges were inserted into the graph.
+ *
+ * A directed graph also stores the reverse CSR, the incoming edges of each
+ * vertex, in the arrays inOffsets, sources and inEdgeIds. An undirected graph
+ * stores each edge in the rows of both endpoints, so that its outgoing and
+ * incoming edges are the same slots, just as they are in Graph.
+ *
+ * The element of each edge, such as its weight, is copied into an array indexed
+ * by edge id, so that reading it does not follow a reference to the Edge.
+ *
+ * The Vertex and Edge of each id are kept in two arrays, so that results
+ * computed on ids can be reported in terms of the original graph, and the id of
+ * a Vertex is found through a hash map.
+ *
+ * Finding the edge from u to v by scanning the row of u is slow for a hub of
+ * high degree, so the first call of edgeId() or getEdge() builds an adjacency
+ * index: a copy of the forward CSR whose rows are sorted by target, in which
+ * the edge is found by binary search. The index costs another 8 bytes per slot,
+ * and graphs that never look up an edge never build it.
+ *
+ * CSRGraph implements CSR, the view the graph algorithms take, as does MappedGraph.
+ *
+ * O(1) - vertex(), edge(), outDegree(), inDegree(), target(), source()
+ * O(log(outDegree(u))) - edgeId(), getEdge(), after the index is built
+ * O(n + m) - construction, and building the index
+ */
+public class CSRGraph<V,E> implements CSR<V,E> {
+    /** Instance Variables **/
+    private final boolean directed;
+    private final int n, m;     // The number of vertices and edges
+
+    // Forward CSR: slots [offsets[u], offsets[u+1]) hold the outgoing edges of u
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] edgeIds;
+
+    // Reverse CSR: slots [inOffsets[v], inOffsets[v+1]) hold the incoming edges of v
+    private final int[] inOffsets;
+    private final int[] sources;
+    private final int[] inEdgeIds;
+
+    // Endpoints of each edge: edge e runs from edgeSource[e] to edgeTarget[e]
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final Object[] edgeElements;    // The element (such as a weight) of each edge
+
+    // References back to the original graph
+    private final Vertex<V>[] vertices;
+    private final Edge<E>[] edges;
+    private final HashMap<Vertex<V>, Integer> ids;
+
+    // Adjacency index: the forward CSR with each row sorted by target, built on first lookup
+    private volatile int[][] index;     // {sortedTargets, sortedEdgeIds}
+
+    // Error Messages
+    private static final String ILLEGAL_NODE = "Invalid Vertex";
+
+    /** Constructors **/
+    /**
+     * Builds the CSR representation of the graph. Vertices are numbered in the
+     * order of g.vertices(), and edges in the order of g.edges().
+     * @param g The graph to convert
+     */
+    public CSRGraph(Graph<V,E> g) {
+        this.directed = g.isDirected();
+        this.n = g.numVertices();
+        this.m = g.numEdges();
+        vertices = newVertices(n);
+        edges = newEdges(m);
+        ids = new HashMap<>(2 * n);
+
+        // 1. Number the vertices
+        int id = 0;
+        for (Iterator<Vertex<V>> it = g.vertices(); it.hasNext(); id++) {
+            vertices[id] = it.next();
+            ids.put(vertices[id], id);
+        }
+
+        // 2. Number the edges, and record their endpoints
+        edgeSource = new int[m];
+        edgeTarget = new int[m];
+        edgeElements = new Object[m];
+        id = 0;
+        for (Iterator<Edge<E>> it = g.edges(); it.hasNext(); id++) {
+            edges[id] = it.next();
+            edgeElements[id] = edges[id].getElement();
+            Vertex<V>[] endpoints = g.endVertices(edges[id]);
+            edgeSource[id] = ids.get(endpoints[0]);
+            edgeTarget[id] = ids.get(endpoints[1]);
+        }
+
+        // 3. Fill the forward CSR, and the reverse CSR of a directed graph
+        int slots = directed ? m : 2 * m;   // An undirected edge is in both rows
+        offsets = new int[n + 1];
+        targets = new int[slots];
+        edgeIds = new int[slots];
+        if (directed) {
+            fill(edgeSource, edgeTarget, offsets, targets, edgeIds, false);
+            inOffsets = new int[n + 1];
+            sources = new int[m];
+            inEdgeIds = new int[m];
+            fill(edgeTarget, edgeSource, inOffsets, sources, inEdgeIds, false);
+        } else {
+            fill(edgeSource, edgeTarget, offsets, targets, edgeIds, true);
+            inOffsets = offsets;
+            sources = targets;
+            inEdgeIds = edgeIds;
+        }
+    }
+
+    /** @return an array for n vertices, as Java cannot create an array of a generic type */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <V> Vertex<V>[] newVertices(int n) {
+        return (Vertex<V>[]) new Vertex[n];
+    }
+
+    /** @return an array for m edges */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Edge<E>[] newEdges(int m) {
+        return (Edge<E>[]) new Edge[m];
+    }
+
+    /**
+     * Fills one CSR by counting sort of the edges by their row vertex: counts the
+     * slots of each row, turns the counts into offsets by a prefix sum, then places
+     * each edge in the next free slot of its row, preserving the order of edges.
+     * @param from      from[e] is the row vertex of edge e
+     * @param to        to[e] is the opposite vertex of edge e
+     * @param offsets   filled with the offsets of each row
+     * @param adjacent  filled with the opposite vertex of each slot
+     * @param slotEdges filled with the edge of each slot
+     * @param both      true to also place each edge in the row of its opposite vertex
+     */
+    private void fill(int[] from, int[] to, int[] offsets, int[] adjacent, int[] slotEdges, boolean both) {
+        for (int e = 0; e < m; e++) {
+            offsets[from[e] + 1]++;
+            if (both && from[e] != to[e]) { offsets[to[e] + 1]++; }
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] next = new int[n];    // The next free slot of each row
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int e = 0; e < m; e++) {
+            int i = next[from[e]]++;
+            adjacent[i] = to[e];
+            slotEdges[i] = e;
+            if (both && from[e] != to[e]) {
+                int j = next[to[e]]++;
+                adjacent[j] = from[e];
+                slotEdges[j] = e;
+            }
+        }
+    }
+
+    /**
+     * Builds the adjacency index by walking the reverse CSR in order of vertex:
+     * each incoming edge of v is appended to the row of its source, so every row
+     * receives its targets in increasing order, without any comparison sort.
+     */
+    private int[][] buildIndex() {
+        int[] sortedTargets = new int[targets.length];
+        int[] sortedEdgeIds = new int[edgeIds.length];
+        int[] next = new int[n];    // The next free slot of each row
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int v = 0; v < n; v++) {
+            for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                int j = next[sources[i]]++;
+                sortedTargets[j] = v;
+                sortedEdgeIds[j] = inEdgeIds[i];
+            }
+        }
+        return new int[][] { sortedTargets, sortedEdgeIds };
+    }
+
+    /** Access Methods **/
+    /** @return true if the graph is directed, false if undirected */
+    public boolean isDirected() { return directed; }
+
+    /** @return the number of vertices, which are numbered [0, numVertices()) */
+    public int numVertices() { return n; }
+
+    /** @return the number of edges, which are numbered [0, numEdges()) */
+    public int numEdges() { return m; }
+
+    /**
+     * Returns the id of a vertex of the original graph
+     * @param v The vertex
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if the vertex was not in the graph when it was frozen
+     */
+    public int id(Vertex<V> v) throws IllegalArgumentException {
+        Integer id = ids.get(v);
+        if (id == null) { throw new IllegalArgumentException(ILLEGAL_NODE); }
+        return id;
+    }
+
+    /** @return the vertex of the original graph with the given id */
+    public Vertex<V> vertex(int id) { return vertices[id]; }
+
+    /** @return the edge of the original graph with the given id */
+    public Edge<E> edge(int id) { return edges[id]; }
+
+    /** @return the element stored at the vertex with the given id */
+    public V vertexElement(int id) { return vertices[id].getElement(); }
+
+    /** @return the element stored at the edge with the given id */
+    @SuppressWarnings("unchecked")
+    public E edgeElement(int id) { return (E) edgeElements[id]; }
+
+    /** @return the origin of the edge, or for an undirected graph its first endpoint */
+    public int edgeSource(int e) { return edgeSource[e]; }
+
+    /** @return the destination of the edge, or for an undirected graph its second endpoint */
+    public int edgeTarget(int e) { return edgeTarget[e]; }
+
+    /**
+     * Finds the edge from u to v by binary search of the adjacency index, which
+     * the first call builds. For an undirected graph, the edge between u and v.
+     * @param u The origin
+     * @param v The destination
+     * @return the id of the edge from u to v, or -1 if they are not adjacent
+     */
+    public int edgeId(int u, int v) {
+        int[][] index = this.index;
+        if (index == null) { this.index = index = buildIndex(); }  // A racing thread builds the same index
+        int[] sortedTargets = index[0];
+        int lo = offsets[u], hi = offsets[u + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedTargets[mid] < v) {
+                lo = mid + 1;
+            } else if (sortedTargets[mid] > v) {
+                hi = mid - 1;
+            } else {
+                return index[1][mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the edge from u to v of the original graph, as Graph.getEdge() would
+     * have when the graph was frozen
+     * @return the edge from u to v, or null if they are not adjacent
+     * @throws IllegalArgumentException if u or v was not in the graph when it was frozen
+     */
+    public Edge<E> getEdge(Vertex<V> u, Vertex<V> v) throws IllegalArgumentException {
+        int e = edgeId(id(u), id(v));
+        return (e < 0) ? null : edges[e];
+    }
+
+    /** @return the endpoint of edge e opposite vertex u */
+    public int opposite(int u, int e) { return (edgeSource[e] == u) ? edgeTarget[e] : edgeSource[e]; }
+
+    /** Forward CSR **/
+    /** @return the number of edges leaving vertex u */
+    public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+
+    /** @return the first slot of the outgoing edges of vertex u */
+    public int outStart(int u) { return offsets[u]; }
+
+    /** @return one past the last slot of the outgoing edges of vertex u */
+    public int outEnd(int u) { return offsets[u + 1]; }
+
+    /** @return the vertex at the far end of the outgoing edge in slot i */
+    public int target(int i) { return targets[i]; }
+
+    /** @return the id of the outgoing edge in slot i */
+    public int outEdge(int i) { return edgeIds[i]; }
+
+    /** Reverse CSR, the same slots as the forward CSR for an undirected graph **/
+    /** @return the number of edges entering vertex v */
+    public int inDegree(int v) { return inOffsets[v + 1] - inOffsets[v]; }
+
+    /** @return the first slot of the incoming edges of vertex v */
+    public int inStart(int v) { return inOffsets[v]; }
+
+    /** @return one past the last slot of the incoming edges of vertex v */
+    public int inEnd(int v) { return inOffsets[v + 1]; }
+
+    /** @return the vertex at the near end of the incoming edge in slot i */
+    public int source(int i) { return sources[i]; }
+
+    /** @return the id of the incoming edge in slot i */
+    public int inEdge(int i) { return inEdgeIds[i]; }
+}
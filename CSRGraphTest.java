@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashSet;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class CSRGraphTest {
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("CSRGraph Unit Testing has begun ...");
+    }
+
+    /**
+     * Builds the graph A -> B, A -> C, B -> C, and C -> A if directed or C - D if not
+     */
+    private static Graph<String,Integer> sample(boolean directed) {
+        Graph<String,Integer> g = new Graph<>(directed);
+        Vertex<String> a = g.insertVertex("A");
+        Vertex<String> b = g.insertVertex("B");
+        Vertex<String> c = g.insertVertex("C");
+        Vertex<String> d = g.insertVertex("D");
+        g.insertEdge(a, b, 1);
+        g.insertEdge(a, c, 2);
+        g.insertEdge(b, c, 3);
+        g.insertEdge(c, directed ? a : d, 4);
+        return g;
+    }
+
+    /** @return the elements of the vertices adjacent to u through its outgoing edges */
+    private static HashSet<String> outNeighbors(CSRGraph<String,Integer> csr, int u) {
+        HashSet<String> result = new HashSet<>();
+        for (int i = csr.outStart(u); i < csr.outEnd(u); i++) {
+            result.add(csr.vertexElement(csr.target(i)));
+        }
+        return result;
+    }
+
+    @Test
+    void directedGraph() {
+        Graph<String,Integer> g = sample(true);
+        CSRGraph<String,Integer> csr = g.freeze();
+        assertAll("csr",
+            () -> assertTrue(csr.isDirected()),
+            () -> assertEquals(4, csr.numVertices()),
+            () -> assertEquals(4, csr.numEdges()),
+            () -> assertEquals(2, csr.outDegree(0)),
+            () -> assertEquals(1, csr.inDegree(0)),
+            () -> assertEquals(0, csr.outDegree(3)),
+            () -> assertEquals(2, csr.inDegree(2))
+        );
+        assertEquals(new HashSet<>(java.util.Arrays.asList("B", "C")), outNeighbors(csr, 0));
+        // The reverse CSR of C holds A and B
+        HashSet<String> in = new HashSet<>();
+        for (int i = csr.inStart(2); i < csr.inEnd(2); i++) {
+            in.add(csr.vertexElement(csr.source(i)));
+        }
+        assertEquals(new HashSet<>(java.util.Arrays.asList("A", "B")), in);
+    }
+
+    @Test
+    void undirectedGraph() {
+        CSRGraph<String,Integer> csr = sample(false).freeze();
+        assertEquals(2, csr.outDegree(0));
+        assertEquals(3, csr.outDegree(2));      // A, B and D
+        assertEquals(1, csr.outDegree(3));
+        assertEquals(csr.outDegree(2), csr.inDegree(2));
+        assertEquals(new HashSet<>(java.util.Arrays.asList("A", "C")), outNeighbors(csr, 1));
+    }
+
+    @Test
+    void edgesMapBackToGraph() {
+        Graph<String,Integer> g = sample(true);
+        CSRGraph<String,Integer> csr = g.freeze();
+        Iterator<Vertex<String>> vertices = g.vertices();
+        for (int id = 0; id < csr.numVertices(); id++) {
+            Vertex<String> v = vertices.next();
+            assertEquals(v, csr.vertex(id));
+            assertEquals(id, csr.id(v));
+        }
+        for (int u = 0; u < csr.numVertices(); u++) {
+            for (int i = csr.outStart(u); i < csr.outEnd(u); i++) {
+                int e = csr.outEdge(i);
+                Vertex<String>[] ends = g.endVertices(csr.edge(e));
+                assertEquals(ends[0], csr.vertex(u));
+                assertEquals(ends[1], csr.vertex(csr.target(i)));
+                assertEquals(csr.edge(e).getElement(), csr.edgeElement(e));
+            }
+        }
+    }
+
+    @Test
+    void frozenCopyIsImmutable() {
+        Graph<String,Integer> g = sample(true);
+        CSRGraph<String,Integer> csr = g.freeze();
+        Vertex<String> e = g.insertVertex("E");
+        g.insertEdge(csr.vertex(0), e, 5);
+        assertEquals(4, csr.numVertices());
+        assertEquals(2, csr.outDegree(0));
+        assertThrows(IllegalArgumentException.class, () -> csr.id(e));
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("CSRGraph Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,65 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Codec translates an object to and from a sequence of bytes. Structures
+ * that live outside of the Java heap, such as a page file on disk or a
+ * memory-mapped region, cannot store object references; instead each key
+ * and value is encoded into bytes when it is written and decoded back into
+ * an object when it is read.
+ *
+ * An encoding must be deterministic and self-contained: decode(encode(x))
+ * must produce an object equal to x, and the bytes must not depend on any
+ * state outside of the value itself.
+ *
+ * @param <T> The type of object this codec encodes
+ */
+public interface Codec<T> {
+
+    /**
+     * Encodes the value into an array of bytes
+     * @param value The value to encode
+     * @return the encoded bytes of the value
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a value from an array of bytes produced by encode()
+     * @param bytes The encoded bytes
+     * @return the decoded value
+     */
+    T decode(byte[] bytes);
+
+    /** Fixed width, 4 byte big-endian encoding of Integers */
+    Codec<Integer> INTEGER = new Codec<Integer>() {
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    /** Fixed width, 8 byte big-endian encoding of Longs */
+    Codec<Long> LONG = new Codec<Long>() {
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    /** Variable width UTF-8 encoding of Strings */
+    Codec<String> STRING = new Codec<String>() {
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
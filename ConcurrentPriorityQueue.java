@@ -0,0 +1,214 @@
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A Priority Queue that may be used by many threads at once. A single heap
+ * guarded by one lock makes every thread wait its turn, since every insert and
+ * every removeMin touches the root. Instead, this queue is a MultiQueue: an
+ * array of c * p small heaps, for p threads, each guarded by its own lock.
+ *
+ * insert() adds the entry to a heap chosen at random, and if another thread
+ * holds that heap's lock it simply tries another, so producers rarely wait.
+ * After MAX_TRY_LOCKS busy heaps in a row it waits for a lock rather than spin.
+ *
+ * removeMin() picks two heaps at random, and removes the root of whichever has
+ * the smaller minimal key. The minimal key of each heap is published in a
+ * volatile field, so the two heaps are compared without locking either.
+ *
+ * Relaxed Semantics: removeMin() does not always remove the entry with the
+ * smallest key in the queue, only one of the smallest. Choosing the better of
+ * two random heaps keeps the heaps balanced, so that the rank of the removed
+ * entry is O(c * p) on average, no matter how many entries are in the queue.
+ * For a scheduler this is usually a good trade: a task may start slightly out
+ * of priority order, but dozens of threads can dispatch tasks at once. A queue
+ * of one heap is an exact (and fully serialized) priority queue.
+ *
+ * The size is exact once concurrent updates have completed. The queue never
+ * loses an entry: each inserted entry is returned by exactly one removeMin().
+ *
+ * Source: Rihani, H., Sanders, P., &amp; Dementiev, R. (2015). MultiQueues:
+ * Simple Relaxed Concurrent Priority Queues. ACM SPAA 2015, 80-82.
+ *
+ * O(log n) - insert(), removeMin()
+ * O(c * p) - min()
+ */
+public class ConcurrentPriorityQueue<K,V> {
+
+    /*** Nested SubQueue class ***/
+    /**
+     * A heap guarded by a lock. Its root is published in a volatile field,
+     * updated while the lock is held, so other threads may read it without the lock.
+     */
+    private static class SubQueue<K,V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Heap<K, Entry<K,V>> heap;
+        private volatile Entry<K,V> top;    // The entry with the minimal key, or null
+
+        private SubQueue(Comparator<K> c) {
+            this.heap = new Heap<>(c);
+        }
+
+        /** Publishes the root of the heap, call while holding the lock */
+        private void publish() {
+            top = heap.isEmpty() ? null : heap.min();
+        }
+    }
+    /*** End of SubQueue class ***/
+
+    /** Instance Variables **/
+    public static final int QUEUES_PER_THREAD = 2;
+    public static final int MAX_TRY_LOCKS = 8;      // Heaps insert() tries before waiting for one
+    private final SubQueue<K,V>[] queues;
+    private final Comparator<K> comp;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Error Messages */
+    public static final String ILLEGAL_ARG_NULL_KEY = "Keys must be non-null";
+    public static final String ILLEGAL_ARG_QUEUES = "Number of queues must be positive";
+    private static final String UNDERFLOW = "PriorityQueue Underflow: There is"
+        + " no elements in the PriorityQueue.";
+
+    /** Constructors **/
+    /**
+     * Constructs a queue with QUEUES_PER_THREAD heaps for each available processor
+     */
+    public ConcurrentPriorityQueue() {
+        this(QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors(), new DefaultComparator<>());
+    }
+
+    /**
+     * Constructs a queue of the given number of heaps, ordering keys by the comparator
+     * @param queues The number of heaps, 1 for an exact priority queue
+     * @param c      The comparator to order the keys by
+     * @throws IllegalArgumentException if queues is not positive or c is null
+     */
+    public ConcurrentPriorityQueue(int queues, Comparator<K> c) throws IllegalArgumentException {
+        if (queues <= 0) { throw new IllegalArgumentException(ILLEGAL_ARG_QUEUES); }
+        if (c == null) { throw new IllegalArgumentException("Invalid Comparator!"); }
+        this.comp = c;
+        this.queues = newQueues(queues);
+        for (int i = 0; i < queues; i++) {
+            this.queues[i] = new SubQueue<>(c);
+        }
+    }
+
+    /** Private Utility Methods **/
+    /** @return an array for the given number of sub queues, as Java cannot create an array of a generic type */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K,V> SubQueue<K,V>[] newQueues(int queues) {
+        return (SubQueue<K,V>[]) new SubQueue[queues];
+    }
+
+    /**
+     * Determines whether entry a has a smaller key than entry b, where a null
+     * entry (an empty heap) is larger than any other
+     */
+    private boolean smaller(Entry<K,V> a, Entry<K,V> b) {
+        if (a == null) { return false; }
+        return b == null || comp.compare(a.getKey(), b.getKey()) < 0;
+    }
+
+    /**
+     * Removes the root of the locked sub queue
+     * @return the removed entry, or null if the sub queue was empty
+     */
+    private Entry<K,V> removeMin(SubQueue<K,V> q) {
+        try {
+            if (q.heap.isEmpty()) { return null; }
+            Entry<K,V> removed = q.heap.removeMin();
+            q.publish();
+            size.decrementAndGet();
+            return removed;
+        } finally {
+            q.lock.unlock();
+        }
+    }
+
+    /** Access Methods **/
+    /** @return The number of entries within the queue */
+    public int size() { return size.get(); }
+
+    /** @return True if the queue is empty, false otherwise */
+    public boolean isEmpty() { return size() == 0; }
+
+    /** @return The number of heaps the queue is divided into */
+    public int queues() { return queues.length; }
+
+    /**
+     * Returns (but does not remove) an entry with minimal key, found by reading
+     * the root of every heap. Concurrent updates may or may not be reflected.
+     * @return Entry with the smallest key
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public Entry<K,V> min() throws NoSuchElementException {
+        Entry<K,V> min = null;
+        for (SubQueue<K,V> q : queues) {
+            Entry<K,V> top = q.top;
+            if (smaller(top, min)) { min = top; }
+        }
+        if (min == null) { throw new NoSuchElementException(UNDERFLOW); }
+        return min;
+    }
+
+    /** Update Methods **/
+    /**
+     * Inserts a Key-Value pair into a randomly chosen heap that is not locked by
+     * another thread, and returns the entry created.
+     * @param key   The key of the new entry
+     * @param value The associated value of the new entry
+     * @return  the entry storing the new key-value pair
+     * @throws IllegalArgumentException If the key is null
+     */
+    public Entry<K,V> insert(K key, V value) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG_NULL_KEY); }
+        Entry<K,V> newest = new Entry<>(key, value);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SubQueue<K,V> q = queues[random.nextInt(queues.length)];
+        for (int attempts = 1; !q.lock.tryLock(); attempts++) {    // Try another heap rather than waiting
+            q = queues[random.nextInt(queues.length)];
+            if (attempts == MAX_TRY_LOCKS) {    // Every heap seems busy, so stop spinning and wait for one
+                q.lock.lock();
+                break;
+            }
+        }
+        try {
+            q.heap.insert(key, newest);
+            q.publish();
+            size.incrementAndGet();
+        } finally {
+            q.lock.unlock();
+        }
+        return newest;
+    }
+
+    /**
+     * Returns and removes an entry with one of the smallest keys: the root of the
+     * better of two randomly chosen heaps.
+     * @return The removed entry
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public Entry<K,V> removeMin() throws NoSuchElementException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!isEmpty()) {
+            for (int attempts = 2 * queues.length; attempts > 0; attempts--) {
+                SubQueue<K,V> a = queues[random.nextInt(queues.length)];
+                SubQueue<K,V> b = queues[random.nextInt(queues.length)];
+                SubQueue<K,V> q = smaller(b.top, a.top) ? b : a;
+                if (q.top == null || !q.lock.tryLock()) { continue; }   // Empty or busy, choose again
+                Entry<K,V> removed = removeMin(q);
+                if (removed != null) { return removed; }
+            }
+            // Random choices keep missing, the queue is nearly empty: try every heap in turn
+            for (SubQueue<K,V> q : queues) {
+                if (q.top == null) { continue; }
+                q.lock.lock();
+                Entry<K,V> removed = removeMin(q);
+                if (removed != null) { return removed; }
+            }
+        }
+        throw new NoSuchElementException(UNDERFLOW);
+    }
+}
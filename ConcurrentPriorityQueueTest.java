@@ -0,0 +1,133 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrentPriorityQueueTest {
+    ConcurrentPriorityQueue<Integer,Integer> pq;
+
+    /** Error Messages **/
+    public static final String ILLEGAL_ARG_NULL_KEY = "Keys must be non-null";
+    private static final String UNDERFLOW = "PriorityQueue Underflow: There is"
+        + " no elements in the PriorityQueue.";
+    private static final int THREADS = 8;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ConcurrentPriorityQueue Unit Testing has begun ...");
+    }
+
+    @BeforeEach
+    public void init() {
+        this.pq = new ConcurrentPriorityQueue<>(2 * THREADS, new DefaultComparator<>());
+    }
+
+    /**
+     * Runs the task on the given number of threads at once, each thread is
+     * passed its own index
+     */
+    private static void runConcurrently(int threads, java.util.function.IntConsumer task)
+        throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            pool.execute(() -> task.accept(id));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void emptyQueue() {
+        assertTrue(pq.isEmpty());
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> pq.removeMin());
+        assertEquals(UNDERFLOW, e.getMessage());
+        assertThrows(NoSuchElementException.class, () -> pq.min());
+    }
+
+    @Test
+    public void nullKey() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> pq.insert(null, 1));
+        assertEquals(ILLEGAL_ARG_NULL_KEY, e.getMessage());
+    }
+
+    @Test
+    public void invalidComparator() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new ConcurrentPriorityQueue<Integer,Integer>(1, null));
+        assertEquals("Invalid Comparator!", e.getMessage());
+    }
+
+    @Test
+    void singleQueueIsExact() {
+        ConcurrentPriorityQueue<Integer,Integer> exact = new ConcurrentPriorityQueue<>(1, new DefaultComparator<>());
+        for (int i = 0; i < 1000; i++) {
+            int key = (i * 7919) % 1000;
+            exact.insert(key, key);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, exact.min().getValue());
+            assertEquals(i, exact.removeMin().getValue());
+        }
+        assertTrue(exact.isEmpty());
+    }
+
+    @Test
+    void minIsExact() {
+        for (int i = 100; i > 0; i--) { pq.insert(i, i); }
+        assertEquals(1, pq.min().getKey());
+    }
+
+    @Test
+    void removalIsNearlyInOrder() {
+        int n = 10_000;
+        for (int i = 0; i < n; i++) { pq.insert(i, i); }
+        long displacement = 0;
+        for (int i = 0; i < n; i++) {
+            displacement += Math.abs(pq.removeMin().getValue() - i);
+        }
+        // Rank error is O(number of queues) on average
+        assertTrue(displacement / n <= 4 * pq.queues());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    void concurrentProducersAndConsumers() throws InterruptedException {
+        int perThread = 20_000;
+        int n = THREADS * perThread;
+        AtomicIntegerArray seen = new AtomicIntegerArray(n);
+        runConcurrently(THREADS, id -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = id * perThread + i;
+                pq.insert(key, key);
+                if (i % 2 == 1) {   // Consume half of the entries while producing
+                    seen.incrementAndGet(pq.removeMin().getValue());
+                }
+            }
+        });
+        assertEquals(n / 2, pq.size());
+        while (!pq.isEmpty()) {
+            seen.incrementAndGet(pq.removeMin().getValue());
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(1, seen.get(i));   // Every entry is removed exactly once
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ConcurrentPriorityQueue Unit Testing is complete.");
+    }
+}
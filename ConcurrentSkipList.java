@@ -0,0 +1,474 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * A lock-free Skip List that keeps its entries sorted by key, and may be read
+ * and updated by many threads at once without a global lock. It offers the
+ * same operations as RedBlackTree (put, get, remove, min, max, removeMin, keys)
+ * along with iteration over a range of keys.
+ *
+ * A Skip List is a collection of sorted linked lists stacked on top of each
+ * other. The bottom list (level 0) holds every entry, and each list above it
+ * holds a random subset of the list below it: an entry appears on level i+1
+ * with probability 1/2 of appearing on level i. A search begins on the top
+ * level, moving right while the next key is smaller, and drops down a level
+ * when it would overshoot. Much like a balanced search tree, the expected
+ * number of steps to find a key is O(log n), but the balance comes from
+ * randomization rather than rotations, so an update only touches the few
+ * references adjacent to the entry.
+ *
+ * Lock-Freedom: Each reference to the next node is an AtomicMarkableReference,
+ * a reference paired with a boolean mark, both of which are updated at once by
+ * compareAndSet. A node is removed in two steps. First it is logically removed
+ * by marking its next references, from its top level down to level 0; the node
+ * leaves the map the moment its level 0 reference is marked. Afterwards it is
+ * physically removed by swinging its predecessors' references past it, which
+ * any thread that encounters a marked node during a search will do. A new node
+ * is linked on level 0 first, at which point it is in the map, and then linked
+ * into the upper levels. If a compareAndSet fails because another thread got
+ * there first, the search is simply retried; no thread ever waits on another.
+ *
+ * The size, and iteration over keys, are weakly consistent: they reflect the
+ * map at some point during the call, and may or may not reflect concurrent
+ * updates.
+ *
+ * Source: Herlihy, M., &amp; Shavit, N. (2012). The Art of Multiprocessor
+ *          Programming. Morgan Kaufmann.
+ *
+ * @param <K> The type of the keys, they must be comparable with one another
+ * @param <V> The type of the values
+ */
+public class ConcurrentSkipList<K extends Comparable<? super K>, V> {
+
+    /************************* Nested Node class  ********************************/
+    /**
+     * A node of the Skip List that appears on levels [0, topLevel]. The head
+     * sentinel has a null key and appears on every level, the end of each
+     * level is marked by a null reference.
+     */
+    private static class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private final AtomicMarkableReference<Node<K,V>>[] next;
+        private final int topLevel;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Node(K key, V value, int topLevel) {
+            this.key = key;
+            this.value = value;
+            this.topLevel = topLevel;
+            next = (AtomicMarkableReference<Node<K,V>>[]) new AtomicMarkableReference[topLevel + 1];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = new AtomicMarkableReference<Node<K,V>>(null, false);
+            }
+        }
+
+        /** @return true if the node has been logically removed from the map */
+        private boolean isRemoved() { return next[0].isMarked(); }
+    } /************************ End of Node class  ********************************/
+
+    /** Instance Variables **/
+    private static final int MAX_LEVEL = 31;    // Enough levels for 2^32 entries
+    private final Node<K,V> head = new Node<>(null, null, MAX_LEVEL);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Error Messages **/
+    public static final String ILLEGAL_ARG = "Argument is Null";
+    private static final String UNDERFLOW = "Skip List Underflow, there is nothing to remove!";
+
+    /** Constructor **/
+    public ConcurrentSkipList() {
+        super();
+    }
+
+    /** Private Utility Methods **/
+    /**
+     * Chooses the top level of a new node, level i is chosen with probability
+     * 1/2^(i+1), so that half of the nodes are on level 1, a quarter on level 2..
+     * @return the top level of a new node
+     */
+    private int randomLevel() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        // Count the trailing 1 bits, a run of coin flips that all came up heads
+        return Math.min(Integer.numberOfTrailingZeros(~bits), MAX_LEVEL);
+    }
+
+    /** @return an array with one slot per level, for the predecessors or successors of a key */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K,V> Node<K,V>[] newLevels() {
+        return (Node<K,V>[]) new Node[MAX_LEVEL + 1];
+    }
+
+    /**
+     * Searches for the key on every level, recording for each level the last node
+     * with a key less than the given key (preds) and the node after it (succs).
+     * Marked nodes encountered along the way are physically unlinked, and if that
+     * fails because of a concurrent update the search starts over from the top.
+     * @param key   The key to search for
+     * @param preds Filled with the predecessor of the key on each level
+     * @param succs Filled with the successor of the key on each level
+     * @return true if a node with the key was found on level 0
+     */
+    private boolean find(K key, Node<K,V>[] preds, Node<K,V>[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<K,V> pred = head;
+            Node<K,V> curr = null;
+            for (int level = MAX_LEVEL; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node<K,V> succ = curr.next[level].get(marked);
+                    if (marked[0]) {    // curr was removed, swing pred past it
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) {
+                            continue retry;
+                        }
+                        curr = succ;
+                    } else if (curr.key.compareTo(key) < 0) {
+                        pred = curr;    // Keep moving right along this level
+                        curr = succ;
+                    } else {
+                        break;          // Overshot, drop down a level
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.key.compareTo(key) == 0;
+        }
+    }
+
+    /**
+     * Searches for the node with the given key without modifying the list, marked
+     * nodes are skipped over rather than unlinked.
+     * @param key The key to search for
+     * @return The node with the given key, or null if it is not in the map
+     */
+    private Node<K,V> search(K key) {
+        Node<K,V> pred = head;
+        Node<K,V> curr = null;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null && (curr.isRemoved() || curr.key.compareTo(key) < 0)) {
+                if (!curr.isRemoved()) { pred = curr; }
+                curr = curr.next[level].getReference();
+            }
+        }
+        return (curr != null && curr.key.compareTo(key) == 0) ? curr : null;
+    }
+
+    /**
+     * Logically removes the node by marking its references from the top level
+     * down. Only one thread succeeds in marking level 0, that thread removed it.
+     * @param victim The node to remove
+     * @return true if this thread removed the node, false if another thread did
+     */
+    private boolean removeNode(Node<K,V> victim) {
+        boolean[] marked = {false};
+        for (int level = victim.topLevel; level >= 1; level--) {
+            Node<K,V> succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].attemptMark(succ, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node<K,V> succ = victim.next[0].get(marked);
+        while (true) {
+            boolean iMarkedIt = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (iMarkedIt) {
+                size.decrementAndGet();
+                return true;
+            } else if (marked[0]) {
+                return false;   // Another thread removed it first
+            }
+        }
+    }
+
+    /** @return The first node of level 0 that has not been removed, or null if empty */
+    private Node<K,V> first() {
+        Node<K,V> curr = head.next[0].getReference();
+        while (curr != null && curr.isRemoved()) {
+            curr = curr.next[0].getReference();
+        }
+        return curr;
+    }
+
+    /** @return The last node that has not been removed, or null if empty */
+    private Node<K,V> last() {
+        Node<K,V> pred = head;
+        for (int level = MAX_LEVEL; level >= 0; level--) {
+            Node<K,V> curr = pred.next[level].getReference();
+            while (curr != null) {
+                if (!curr.isRemoved()) { pred = curr; }
+                curr = curr.next[level].getReference();
+            }
+        }
+        return (pred == head) ? null : pred;
+    }
+
+    /** Public Access Methods **/
+
+    /** @return The number of (key, value) pairs in the Skip List */
+    public int size() { return size.get(); }
+
+    /** @return true if the Skip List is empty, false otherwise */
+    public boolean isEmpty() { return first() == null; }
+
+    /**
+     * Returns the smallest key within the Skip List
+     * @return the minimum key
+     * @throws NoSuchElementException if the Skip List is empty
+     */
+    public K min() throws NoSuchElementException {
+        Node<K,V> n = first();
+        if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+        return n.key;
+    }
+
+    /**
+     * Returns the largest key within the Skip List
+     * @return the maximum key
+     * @throws NoSuchElementException if the Skip List is empty
+     */
+    public K max() throws NoSuchElementException {
+        Node<K,V> n = last();
+        if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+        return n.key;
+    }
+
+    /** Search Methods **/
+
+    /**
+     * @return the value corresponding to the specified key, null if not present
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V get(K key) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        Node<K,V> n = search(key);
+        return (n == null) ? null : n.value;
+    }
+
+    /**
+     * @return true if the specified key is in the Skip List, false otherwise
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean containsKey(K key) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        return search(key) != null;
+    }
+
+    /** Insertion Methods **/
+
+    /**
+     * Search the Skip List for entry with given key, update value if found.
+     * Otherwise add new entry to the Skip List. Duplicate keys are not allowed.
+     * As with RedBlackTree, a null value removes the key.
+     *
+     * @return true if the key value pair was added or updated, false otherwise
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean put(K key, V value) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        if (value == null) {    // null value indicates removal of node with key
+            remove(key);
+            return false;
+        }
+
+        int topLevel = randomLevel();
+        Node<K,V>[] preds = newLevels();
+        Node<K,V>[] succs = newLevels();
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node<K,V> found = succs[0];
+                found.value = value;
+                // If the node was removed before the update, the update was lost: retry
+                if (!found.isRemoved()) { return true; }
+                continue;
+            }
+
+            Node<K,V> newNode = new Node<>(key, value, topLevel);
+            for (int level = 0; level <= topLevel; level++) {
+                newNode.next[level].set(succs[level], false);
+            }
+            // Linking level 0 adds the node to the map
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false)) { continue; }
+            size.incrementAndGet();
+
+            // Link the upper levels, which only serve to speed up searches
+            for (int level = 1; level <= topLevel; level++) {
+                while (true) {
+                    Node<K,V> pred = preds[level];
+                    Node<K,V> succ = succs[level];
+                    boolean[] marked = {false};
+                    Node<K,V> current = newNode.next[level].get(marked);
+                    if (marked[0]) { return true; }     // Already being removed, stop linking
+                    if (current != succ
+                        && !newNode.next[level].compareAndSet(current, succ, false, false)) {
+                        continue;
+                    }
+                    if (pred.next[level].compareAndSet(succ, newNode, false, false)) { break; }
+                    find(key, preds, succs);    // Predecessor changed, search again
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Deletion Methods **/
+
+    /**
+     * Remove the entry corresponding to the given key
+     *
+     * @return true if an entry for the given key was removed by this call
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean remove(K key) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        Node<K,V>[] preds = newLevels();
+        Node<K,V>[] succs = newLevels();
+        if (!find(key, preds, succs)) { return false; }
+        if (!removeNode(succs[0])) { return false; }
+        unlink(key);
+        return true;
+    }
+
+    /**
+     * Physically unlinks a removed node with the given key from every level,
+     * a search unlinks every marked node that it passes over.
+     * @param key The key of the removed node
+     */
+    private void unlink(K key) {
+        find(key, newLevels(), newLevels());
+    }
+
+    /**
+     * Removes the smallest key and its associated value. When several threads
+     * remove the minimum at once, each of them removes a different key.
+     * @return The key that was removed
+     * @throws NoSuchElementException when called on an empty Skip List
+     */
+    public K removeMin() throws NoSuchElementException {
+        while (true) {
+            Node<K,V> n = first();
+            if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+            if (removeNode(n)) {
+                unlink(n.key);
+                return n.key;
+            }
+        }
+    }
+
+    /**
+     * Removes the largest key and its associated value.
+     * @return The key that was removed
+     * @throws NoSuchElementException when called on an empty Skip List
+     */
+    public K removeMax() throws NoSuchElementException {
+        while (true) {
+            Node<K,V> n = last();
+            if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+            if (removeNode(n)) {
+                unlink(n.key);
+                return n.key;
+            }
+        }
+    }
+
+    /** Iteration Methods **/
+
+    /**
+     * Keys are in ascending sorted order along level 0 of the Skip List
+     * @return a list containing the keys of the Skip List. If the Skip List is
+     * empty, returns list of length zero.
+     */
+    public List<K> keys() {
+        ArrayList<K> list = new ArrayList<K>();
+        for (Node<K,V> n = first(); n != null; n = n.next[0].getReference()) {
+            if (!n.isRemoved()) { list.add(n.key); }
+        }
+        return list;
+    }
+
+    /**
+     * Returns the keys in the range from [lo, hi) in ascending order. The keys
+     * are read lazily from level 0 as the iteration advances.
+     * @param lo The first key bound within the range, inclusive
+     * @param hi The next key bound within the range, exclusive
+     * @return iterable with keys in desired range
+     * @throws IllegalArgumentException if either key is null
+     */
+    public Iterable<K> keys(K lo, K hi) throws IllegalArgumentException {
+        if (lo == null || hi == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        return () -> {
+            RangeIterator it = new RangeIterator(lo, hi);
+            return new Iterator<K>() {
+                public boolean hasNext() { return it.hasNext(); }
+                public K next() { return it.nextNode().key; }
+            };
+        };
+    }
+
+    /**
+     * Returns the entries in the range from [lo, hi) in ascending order of keys.
+     * @param lo The first key bound within the range, inclusive
+     * @param hi The next key bound within the range, exclusive
+     * @return iterable with entries in desired range
+     * @throws IllegalArgumentException if either key is null
+     */
+    public Iterable<Entry<K,V>> entries(K lo, K hi) throws IllegalArgumentException {
+        if (lo == null || hi == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        return () -> {
+            RangeIterator it = new RangeIterator(lo, hi);
+            return new Iterator<Entry<K,V>>() {
+                public boolean hasNext() { return it.hasNext(); }
+                public Entry<K,V> next() {
+                    Node<K,V> n = it.nextNode();
+                    return new Entry<>(n.key, n.value);
+                }
+            };
+        };
+    }
+
+    /************************* nested Iterator class  ********************************/
+    /**
+     * A weakly consistent iterator over the nodes of level 0 within [lo, hi),
+     * skipping over nodes that have been removed.
+     */
+    private class RangeIterator {
+        private Node<K,V> next;
+        private final K hi;
+
+        private RangeIterator(K lo, K hi) {
+            this.hi = hi;
+            Node<K,V>[] preds = newLevels();
+            Node<K,V>[] succs = newLevels();
+            find(lo, preds, succs);
+            next = succs[0];
+            advance();
+        }
+
+        /** Moves past removed nodes, and ends the iteration past the upper bound */
+        private void advance() {
+            while (next != null && next.isRemoved()) {
+                next = next.next[0].getReference();
+            }
+            if (next != null && next.key.compareTo(hi) >= 0) { next = null; }
+        }
+
+        private boolean hasNext() { return next != null; }
+
+        private Node<K,V> nextNode() throws NoSuchElementException {
+            if (next == null) { throw new NoSuchElementException(); }
+            Node<K,V> n = next;
+            next = next.next[0].getReference();
+            advance();
+            return n;
+        }
+    } /************************ End of Iterator class  ********************************/
+}
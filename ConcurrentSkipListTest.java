@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class ConcurrentSkipListTest {
+    ConcurrentSkipList<Integer,Integer> list;
+
+    // Error Messages
+    public static final String ILLEGAL_ARG = "Argument is Null";
+    private static final String UNDERFLOW = "Skip List Underflow, there is nothing to remove!";
+    private static final int THREADS = 8;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ConcurrentSkipList Unit Testing has begun ...");
+    }
+
+    @BeforeEach
+    public void init() {
+        this.list = new ConcurrentSkipList<>();
+    }
+
+    /**
+     * Runs the task on the given number of threads at once, each thread is
+     * passed its own index
+     */
+    private static void runConcurrently(int threads, java.util.function.IntConsumer task)
+        throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            pool.execute(() -> task.accept(id));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void emptyList() {
+        assertAll("list",
+            () -> assertTrue(list.isEmpty()),
+            () -> assertEquals(0, list.size()),
+            () -> assertEquals(0, list.keys().size())
+        );
+    }
+
+    @Test
+    public void nullKey() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> list.put(null, 1));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+    }
+
+    @Test
+    public void minEmptyList() {
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> list.min());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    public void putGetRemove() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(list.put(i, i * 10));
+        }
+        assertTrue(list.put(5, 55));    // Update existing key
+        assertAll("list",
+            () -> assertEquals(100, list.size()),
+            () -> assertEquals(55, list.get(5)),
+            () -> assertEquals(0, list.min()),
+            () -> assertEquals(99, list.max()),
+            () -> assertTrue(list.remove(50)),
+            () -> assertFalse(list.remove(50)),
+            () -> assertNull(list.get(50)),
+            () -> assertEquals(99, list.size())
+        );
+    }
+
+    @Test
+    public void putNullValueRemoves() {
+        list.put(1, 1);
+        assertFalse(list.put(1, null));
+        assertFalse(list.containsKey(1));
+    }
+
+    @Test
+    public void removeMinInOrder() {
+        int[] keys = {5, 3, 9, 1, 7, 2, 8, 4, 6};
+        for (int k : keys) { list.put(k, k); }
+        for (int k = 1; k <= 9; k++) {
+            assertEquals(k, list.removeMin());
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void rangeIteration() {
+        for (int i = 0; i < 20; i++) { list.put(i * 2, i); }
+        StringBuilder keys = new StringBuilder();
+        for (int k : list.keys(5, 13)) { keys.append(k).append(' '); }
+        assertEquals("6 8 10 12 ", keys.toString());
+
+        int count = 0;
+        for (Entry<Integer,Integer> e : list.entries(0, 40)) {
+            assertEquals(e.getKey() / 2, e.getValue());
+            count++;
+        }
+        assertEquals(20, count);
+    }
+
+    @Test
+    public void concurrentPut() throws InterruptedException {
+        int perThread = 5000;
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < perThread; i++) {
+                list.put(i * THREADS + t, t);
+            }
+        });
+        assertEquals(THREADS * perThread, list.size());
+        int expected = 0;
+        for (int k : list.keys()) {
+            assertEquals(expected++, k);
+        }
+    }
+
+    @Test
+    public void concurrentRemoveMinRemovesEachKeyOnce() throws InterruptedException {
+        int n = 40000;
+        for (int i = 0; i < n; i++) { list.put(i, i); }
+        ConcurrentHashMap<Integer,Boolean> removed = new ConcurrentHashMap<>();
+        runConcurrently(THREADS, t -> {
+            while (true) {
+                try {
+                    assertNull(removed.put(list.removeMin(), true));
+                } catch (NoSuchElementException e) {
+                    return;
+                }
+            }
+        });
+        assertEquals(n, removed.size());
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.size());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ConcurrentSkipList Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free Union-Find that many threads may use at once, such as the tasks
+ * of a parallel connected components search that each process a share of the
+ * edges. The sets are trees in a parent array, as in UnionFind, but every
+ * change to the array is a compare-and-set, so no thread ever blocks another:
+ *
+ * - union() finds both roots, and links the root with the smaller index below
+ *   the other with a compare-and-set that succeeds only if it is still a root.
+ *   If another thread linked it first, the union starts over from the new roots.
+ *   Linking by index makes every path climb to larger indexes, so no cycle can
+ *   form however the unions interleave.
+ * - find() uses path splitting: every element on the path is pointed at its
+ *   grandparent with a compare-and-set. Failing one is harmless, since it only
+ *   means another thread has already shortened the path.
+ *
+ * Ranks are not kept, since a rank and a parent cannot be updated together by
+ * a single compare-and-set. Linking by index and path splitting still keep the
+ * trees shallow in practice, and a union only retries when another thread's
+ * compare-and-set succeeded, so some thread always makes progress.
+ *
+ * Source: Anderson, R. J., &amp; Woll, H. (1991). Wait-free Parallel Algorithms for
+ * the Union-Find Problem. Proceedings of STOC '91.
+ *
+ * O(log n) - find(), union(), connected(), expected when elements are numbered at random
+ */
+public class ConcurrentUnionFind {
+    /** Member Fields of ConcurrentUnionFind **/
+    private final AtomicIntegerArray parent;    // The parent of each element, a root is its own parent
+    private final AtomicInteger count;          // The number of sets
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_SIZE = "Size must not be negative";
+    private static final String ILLEGAL_ARG_ELEMENT = "Element is out of range";
+
+    /** Constructors **/
+    /**
+     * Constructs n sets, each of which holds one element
+     * @param n The number of elements, numbered 0 to n-1
+     * @throws IllegalArgumentException if n is negative
+     */
+    public ConcurrentUnionFind(int n) throws IllegalArgumentException {
+        if (n < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_SIZE); }
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) { parent.set(i, i); }
+        count = new AtomicInteger(n);
+    }
+
+    /** Private Utility Methods **/
+    /** @throws IllegalArgumentException if x is not an element */
+    private void validate(int x) throws IllegalArgumentException {
+        if (x < 0 || x >= parent.length()) { throw new IllegalArgumentException(ILLEGAL_ARG_ELEMENT); }
+    }
+
+    /** @return the root of x, pointing each element on the way at its grandparent */
+    private int root(int x) {
+        int p = parent.get(x);
+        while (p != x) {
+            int gp = parent.get(p);
+            if (p != gp) { parent.compareAndSet(x, p, gp); }
+            x = p;
+            p = gp;
+        }
+        return x;
+    }
+
+    /** Access Methods **/
+    /** @return the number of elements */
+    public int size() { return parent.length(); }
+
+    /** @return the number of disjoint sets */
+    public int count() { return count.get(); }
+
+    /**
+     * Returns the representative of the set of x. While other threads are
+     * merging sets, the representative may change as soon as it is returned.
+     * @param x An element
+     * @return the root of the tree that holds x
+     * @throws IllegalArgumentException if x is not an element
+     */
+    public int find(int x) throws IllegalArgumentException {
+        validate(x);
+        return root(x);
+    }
+
+    /**
+     * @return true if x and y are in the same set
+     * @throws IllegalArgumentException if x or y is not an element
+     */
+    public boolean connected(int x, int y) throws IllegalArgumentException {
+        validate(x);
+        validate(y);
+        while (true) {
+            int rx = root(x), ry = root(y);
+            if (rx == ry) { return true; }
+            // rx was a root when found; if it still is, x and y were apart at that moment
+            if (parent.get(rx) == rx) { return false; }
+        }
+    }
+
+    /** Update Methods **/
+    /**
+     * Merges the sets of x and y
+     * @param x An element
+     * @param y An element
+     * @return true if this call merged the sets, false if x and y were already in the same set
+     * @throws IllegalArgumentException if x or y is not an element
+     */
+    public boolean union(int x, int y) throws IllegalArgumentException {
+        validate(x);
+        validate(y);
+        while (true) {
+            int rx = root(x), ry = root(y);
+            if (rx == ry) { return false; }
+            // Link the smaller root below the larger, if it is still a root
+            if (rx > ry) {
+                int t = rx;
+                rx = ry;
+                ry = t;
+            }
+            if (parent.compareAndSet(rx, rx, ry)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+
+public class ConnectedComponentsTest {
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ConnectedComponents Unit Testing has begun ...");
+    }
+
+    /** @return a graph of n vertices and m random edges, allowing self-loops but not repeated edges */
+    private static Graph<Integer,Integer> random(boolean directed, int n, int m, long seed) {
+        Graph<Integer,Integer> g = new Graph<>(directed);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        Random random = new Random(seed);
+        for (int e = 0; e < m; ) {
+            Vertex<Integer> a = v.get(random.nextInt(n)), b = v.get(random.nextInt(n));
+            if (g.getEdge(a, b) == null && g.getEdge(b, a) == null) { g.insertEdge(a, b, e++); }
+        }
+        return g;
+    }
+
+    /** Checks that the components match those found by breadth-first searches */
+    private static void verify(CSRGraph<Integer,Integer> g, ConnectedComponents<Integer,Integer> cc) {
+        int[] bfsComponent = new int[g.numVertices()];
+        Arrays.fill(bfsComponent, -1);
+        int count = 0;
+        // Searching the undirected copy of a directed graph means following in-edges too
+        for (int s = 0; s < g.numVertices(); s++) {
+            if (bfsComponent[s] >= 0) { continue; }
+            int[] queue = new int[g.numVertices()];
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            bfsComponent[s] = count;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int i = g.outStart(u); i < g.outEnd(u); i++) {
+                    if (bfsComponent[g.target(i)] < 0) { bfsComponent[g.target(i)] = count; queue[tail++] = g.target(i); }
+                }
+                for (int i = g.inStart(u); i < g.inEnd(u); i++) {
+                    if (bfsComponent[g.source(i)] < 0) { bfsComponent[g.source(i)] = count; queue[tail++] = g.source(i); }
+                }
+            }
+            assertEquals(tail, cc.size(count));
+            count++;
+        }
+        assertEquals(count, cc.count());
+        for (int v = 0; v < g.numVertices(); v++) { assertEquals(bfsComponent[v], cc.component(v)); }
+    }
+
+    @Test
+    void smallGraph() {
+        Graph<String,Integer> g = new Graph<>(false);
+        Vertex<String> a = g.insertVertex("A"), b = g.insertVertex("B"), c = g.insertVertex("C");
+        Vertex<String> d = g.insertVertex("D"), e = g.insertVertex("E");
+        g.insertEdge(a, b, 1);
+        g.insertEdge(d, c, 2);
+        g.insertEdge(e, e, 3);
+        ConnectedComponents<String,Integer> cc = g.components();
+        assertEquals(3, cc.count());
+        assertArrayEquals(new int[] {2, 2, 1}, cc.sizes());
+        assertEquals(cc.component(c), cc.component(d));
+        assertTrue(cc.connected(0, 1));
+        assertFalse(cc.connected(1, 2));
+        assertEquals(2, cc.component(e));
+        assertEquals(0, cc.largest());
+    }
+
+    @Test
+    void allAlgorithmsAgree() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (boolean directed : new boolean[] {false, true}) {
+                // About one edge per two vertices, so there are many components
+                CSRGraph<Integer,Integer> g = random(directed, 20_000, 9_000, directed ? 1 : 2).freeze();
+                verify(g, ConnectedComponents.unionFind(g));
+                verify(g, ConnectedComponents.parallelUnionFind(g, pool));
+                verify(g, ConnectedComponents.labelPropagation(g, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void longPathLabelPropagation() {
+        // The label of vertex 0 must travel the whole path, which pointer jumping shortens
+        Graph<Integer,Integer> g = new Graph<>(false);
+        Vertex<Integer> previous = g.insertVertex(0);
+        for (int i = 1; i < 10_000; i++) {
+            Vertex<Integer> next = g.insertVertex(i);
+            g.insertEdge(next, previous, i);
+            previous = next;
+        }
+        ConnectedComponents<Integer,Integer> cc = ConnectedComponents.labelPropagation(g.freeze(), ForkJoinPool.commonPool());
+        assertEquals(1, cc.count());
+        assertEquals(10_000, cc.size(0));
+        assertEquals(1, g.components(ForkJoinPool.commonPool()).count());
+    }
+
+    @Test
+    void emptyGraph() {
+        ConnectedComponents<Integer,Integer> cc = new Graph<Integer,Integer>().components();
+        assertEquals(0, cc.count());
+        assertEquals(-1, cc.largest());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ConnectedComponents Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs a task for every vertex of a directed acyclic CSR graph in parallel, where
+ * an edge u -> v means the task of v depends on the task of u. Rather than
+ * running the graph level by level, where every task of a level waits for the
+ * slowest task of the level before, each task starts the moment its own
+ * dependencies are done:
+ *
+ * - Every vertex keeps a count of its unfinished dependencies, its in-degree,
+ *   in an array of atomic integers.
+ * - The vertices of in-degree 0 form the initial ready set, and are submitted
+ *   to the executor at once.
+ * - When a task finishes, it decrements the count of each vertex its outgoing
+ *   edges lead to, and submits every vertex whose count reaches 0. The atomic
+ *   decrement lets exactly one of the finishing dependencies release the vertex.
+ *
+ * This is Kahn's topological sort, run by many threads at once, so tasks run in
+ * a topological order that adapts to how long each task takes. The scheduler
+ * returns once every task has finished. If a task throws, no further tasks are
+ * started, and the exception is rethrown once the tasks already running have
+ * finished, so none of them is still running when run() returns.
+ *
+ * O(n + m) - run(), plus the work of the tasks
+ */
+public class DependencyScheduler {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_UNDIRECTED = "Graph must be directed";
+    private static final String ILLEGAL_ARG_CYCLE = "Graph has a cycle";
+
+    private DependencyScheduler() {}    // Static methods only
+
+    /*** Nested Run class ***/
+    /** The state of one run of the graph */
+    private static class Run {
+        final CSR<?,?> g;
+        final IntConsumer task;
+        final Executor executor;
+        final AtomicIntegerArray remaining;     // The unfinished dependencies of each vertex
+        final AtomicInteger unfinished;         // The number of tasks not yet finished
+        final AtomicInteger inFlight = new AtomicInteger(1);    // Submitted tasks not yet returned, plus the caller
+        final int[] finished;                   // The vertices in the order their tasks finished
+        final AtomicInteger finishedCount = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        Run(CSR<?,?> g, IntConsumer task, Executor executor) {
+            this.g = g;
+            this.task = task;
+            this.executor = executor;
+            int n = g.numVertices();
+            remaining = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) { remaining.set(v, g.inDegree(v)); }
+            unfinished = new AtomicInteger(n);
+            finished = new int[n];
+        }
+
+        /** Submits the task of vertex v to the executor */
+        void release(int v) {
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> execute(v));
+            } catch (RuntimeException e) {      // Such as a rejected execution
+                fail(e);
+                exit();
+            }
+        }
+
+        /** Runs the task of vertex v, then releases the vertices whose last dependency it was */
+        void execute(int v) {
+            try {
+                if (failure.get() != null) { return; }
+                try {
+                    task.accept(v);
+                } catch (Throwable t) {
+                    fail(t);
+                    return;
+                }
+                finished[finishedCount.getAndIncrement()] = v;
+                for (int i = g.outStart(v), end = g.outEnd(v); i < end; i++) {
+                    int w = g.target(i);
+                    if (remaining.decrementAndGet(w) == 0) { release(w); }
+                }
+                if (unfinished.decrementAndGet() == 0) { done.countDown(); }
+            } finally {
+                exit();
+            }
+        }
+
+        /** Records the first failure, which stops any further task from starting */
+        void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        /**
+         * Marks a submitted task, or the caller, as returned. After a failure, the
+         * last of them to return ends the run. Every failure is recorded while its
+         * task is still in flight, so the last one to return always sees it.
+         */
+        void exit() {
+            if (inFlight.decrementAndGet() == 0 && failure.get() != null) { done.countDown(); }
+        }
+    }
+    /*** End of Run class ***/
+
+    /** Scheduling **/
+    /**
+     * Runs the task of every vertex on the common pool
+     * @param g    A directed acyclic graph, with an edge from each task to the tasks that depend on it
+     * @param task Runs the task of a vertex id
+     * @return the vertex ids in the order their tasks finished, a topological order
+     * @throws IllegalArgumentException if g is undirected or has a cycle
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public static int[] run(CSR<?,?> g, IntConsumer task) throws IllegalArgumentException, InterruptedException {
+        return run(g, task, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the task of every vertex on the given executor. If a task throws, no
+     * further tasks are started, the tasks already running are left to finish,
+     * and the exception is rethrown once they have. A checked exception is
+     * rethrown wrapped in a RuntimeException.
+     * @param g        A directed acyclic graph, with an edge from each task to the tasks that depend on it
+     * @param task     Runs the task of a vertex id
+     * @param executor Runs the tasks
+     * @return the vertex ids in the order their tasks finished, a topological order
+     * @throws IllegalArgumentException if g is undirected or has a cycle
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public static int[] run(CSR<?,?> g, IntConsumer task, Executor executor)
+        throws IllegalArgumentException, InterruptedException {
+        if (!g.isDirected()) { throw new IllegalArgumentException(ILLEGAL_ARG_UNDIRECTED); }
+        if (TopologicalSort.hasCycle(g)) { throw new IllegalArgumentException(ILLEGAL_ARG_CYCLE); }
+        int n = g.numVertices();
+        if (n == 0) { return new int[0]; }
+
+        Run run = new Run(g, task, executor);
+        for (int v = 0; v < n; v++) {
+            if (g.inDegree(v) == 0) { run.release(v); }
+        }
+        run.exit();     // The caller has released the initial ready set
+        run.done.await();
+
+        Throwable t = run.failure.get();
+        if (t instanceof RuntimeException) { throw (RuntimeException) t; }
+        if (t instanceof Error) { throw (Error) t; }
+        if (t != null) { throw new RuntimeException(t); }     // A checked exception thrown by stealth
+        return run.finished;
+    }
+}
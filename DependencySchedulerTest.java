@@ -0,0 +1,181 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class DependencySchedulerTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_CYCLE = "Graph has a cycle";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("DependencyScheduler Unit Testing has begun ...");
+    }
+
+    /** @return a directed graph of n vertices with the given edges */
+    private static CSRGraph<Integer,Integer> graph(int n, int[][] edges) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i); }
+        return g.freeze();
+    }
+
+    /** @return a random DAG, each edge leading from a smaller to a larger vertex of a shuffled numbering */
+    private static CSRGraph<Integer,Integer> randomDag(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) { rank[i] = i; }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1), t = rank[i];
+            rank[i] = rank[j];
+            rank[j] = t;
+        }
+        HashSet<Long> seen = new HashSet<>();
+        int[][] edges = new int[m][];
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b) { continue; }
+            int from = Math.min(a, b), to = Math.max(a, b);
+            if (seen.add((long) from * n + to)) { edges[e++] = new int[] {rank[from], rank[to]}; }
+        }
+        return graph(n, edges);
+    }
+
+    /** Checks that order lists every vertex once, each before the targets of its edges */
+    private static void verifyOrder(CSRGraph<Integer,Integer> g, int[] order) {
+        assertEquals(g.numVertices(), order.length);
+        int[] position = new int[g.numVertices()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(-1, position[order[i]]);
+            position[order[i]] = i;
+        }
+        for (int e = 0; e < g.numEdges(); e++) {
+            assertTrue(position[g.edgeSource(e)] < position[g.edgeTarget(e)]);
+        }
+    }
+
+    @Test
+    void dependenciesFinishFirst() throws InterruptedException {
+        CSRGraph<Integer,Integer> g = randomDag(3000, 12000, 8);
+        AtomicIntegerArray done = new AtomicIntegerArray(g.numVertices());
+        AtomicInteger violations = new AtomicInteger();
+        int[] finished = DependencyScheduler.run(g, v -> {
+            // Every dependency of v must already be done when v starts
+            for (int i = g.inStart(v); i < g.inEnd(v); i++) {
+                if (done.get(g.source(i)) == 0) { violations.incrementAndGet(); }
+            }
+            done.set(v, 1);
+        });
+        assertEquals(0, violations.get());
+        verifyOrder(g, finished);
+    }
+
+    @Test
+    void slowTaskDoesNotHoldBackIndependentChain() throws InterruptedException {
+        // 0 -> 1 is slow, while 2 -> 3 -> 4 -> 5 should all run in the meantime
+        CSRGraph<Integer,Integer> g = graph(6,
+            new int[][] { {0, 1}, {2, 3}, {3, 4}, {4, 5} });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            int[] finished = DependencyScheduler.run(g, v -> {
+                if (v == 0) {
+                    try { Thread.sleep(200); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                }
+            }, executor);
+            int position = -1;
+            for (int i = 0; i < finished.length; i++) { if (finished[i] == 5) { position = i; } }
+            assertTrue(position < 4);       // 5 finished before 0 and 1
+            assertEquals(1, finished[5]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void failingTaskStopsRun() {
+        CSRGraph<Integer,Integer> g = graph(3, new int[][] { {0, 1}, {1, 2} });
+        AtomicInteger ran = new AtomicInteger();
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> DependencyScheduler.run(g, v -> {
+                ran.incrementAndGet();
+                if (v == 1) { throw new IllegalStateException("task failed"); }
+            }));
+        assertEquals("task failed", e.getMessage());
+        assertEquals(2, ran.get());         // Task 2 depended on the failed task
+    }
+
+    @Test
+    void failureWaitsForRunningTasks() throws InterruptedException {
+        // 0 fails once 1 has started, and 1 must finish before run() rethrows
+        CSRGraph<Integer,Integer> g = graph(2, new int[][] {});
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger slowFinished = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> DependencyScheduler.run(g, v -> {
+                    try {
+                        if (v == 0) {
+                            started.await();
+                            throw new IllegalStateException("task failed");
+                        }
+                        started.countDown();
+                        Thread.sleep(200);
+                        slowFinished.set(1);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, executor));
+            assertEquals("task failed", e.getMessage());
+            assertEquals(1, slowFinished.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void checkedExceptionIsWrapped() {
+        CSRGraph<Integer,Integer> g = graph(2, new int[][] { {0, 1} });
+        IOException checked = new IOException("disk failed");
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> DependencyScheduler.run(g, v -> sneakyThrow(checked)));
+        assertSame(checked, e.getCause());
+    }
+
+    /** Throws a checked exception from code that does not declare it */
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void sneakyThrow(Throwable t) throws T {
+        throw (T) t;
+    }
+
+    @Test
+    void cycleIsRejected() {
+        CSRGraph<Integer,Integer> g = graph(2, new int[][] { {0, 1}, {1, 0} });
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> DependencyScheduler.run(g, v -> {}));
+        assertEquals(ILLEGAL_ARG_CYCLE, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("DependencyScheduler Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,825 @@
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A Sorted Map whose entries live in a page file on disk rather than in memory.
+ * It offers the same queries as SortedTableMap (get, floorEntry, cielingEntry,
+ * subMap, entrySet) but only a bounded number of pages are held in memory at a
+ * time, so the map may be far larger than the available RAM. Since the file is
+ * the map, closing and reopening it does not require the entries to be loaded
+ * or sorted again.
+ *
+ * Implementation: B+ Tree. The file is divided into fixed-size pages, page 0
+ * is a header and every other page is a node of the tree. All entries are
+ * stored within the leaf pages in increasing order of keys, and each leaf is
+ * linked to the leaf before and after it, so a range of keys can be scanned
+ * by walking from leaf to leaf. Internal pages only store separator keys and
+ * the page ids of their children; a separator is the first key of the child
+ * to its right. A page that overflows is split in half and its separator is
+ * passed up to its parent, which may split in turn. The tree only grows in
+ * height when the root splits, so every leaf has the same depth.
+ *
+ * With 4 KB pages a single internal page can hold hundreds of children, so
+ * a search for one key among a hundred million touches only 4 or 5 pages.
+ *
+ * Memory: Recently used pages are decoded and kept in an LRU (Least Recently
+ * Used) page cache of fixed capacity. Pages that miss the cache are read from
+ * a memory-mapped view of the file, pages that are modified are written back
+ * when they are evicted or when the map is flushed.
+ *
+ * Removal does not merge underflowing pages back together. Leaves may become
+ * sparse, or even empty, after many removals; searches skip empty leaves.
+ *
+ * O(log n) - get(), put(), remove(), floorEntry(), cielingEntry()
+ * O(log n + s) - subMap() where s is the number of entries reported
+ */
+public class DiskSortedTableMap<K,V> implements Closeable {
+    /** Page Layout **/
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+    public static final int DEFAULT_CACHE_PAGES = 256;
+    private static final int MIN_CACHE_PAGES = 16;      // Must exceed the height of the tree
+    private static final int MAGIC = 0x42504C54;        // Marks a page file
+    private static final int PAGE_HEADER = 13;          // type(1) + count(4) + prev(4) + next(4)
+    private static final long SEGMENT_SIZE = 1L << 30;  // A single mapping cannot exceed 2 GB
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final int NONE = -1;
+
+    // Error Messages
+    public static final String ILLEGAL_KEY = "Incompatible Key";
+    public static final String ILLEGAL_PAGE_SIZE = "Page size must be a power of two"
+        + " between 512 and 65536";
+    public static final String ILLEGAL_CACHE = "Page cache must hold at least "
+        + MIN_CACHE_PAGES + " pages";
+    public static final String ILLEGAL_ENTRY = "Entry is too large to fit within a page";
+    public static final String CORRUPT_FILE = "File is not a page file of this page size";
+    public static final String CLOSED = "Map has been closed";
+
+    /** Instance Variables **/
+    private final FileChannel channel;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final Comparator<K> comp;
+    private final int pageSize;
+    private final int maxEntry;       // Largest encoded entry, so that a split always fits
+    private final PageCache cache;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long mapped;              // Number of bytes of the file covered by segments
+    private int root;                 // Page id of the root of the tree
+    private int pageCount;            // Number of pages, including the header page
+    private int size;                 // Number of entries
+    private boolean open = true;
+    private V replaced;               // Value replaced by the most recent put()
+
+    /** Constructors **/
+    /**
+     * Opens (or creates) a page file with the default page size and cache, keys
+     * are ordered by their natural ordering.
+     * @param file       The page file to open or create
+     * @param keyCodec   Translates keys to and from bytes
+     * @param valueCodec Translates values to and from bytes
+     * @throws IOException if the file cannot be opened or is not a page file
+     */
+    public DiskSortedTableMap(File file, Codec<K> keyCodec, Codec<V> valueCodec)
+        throws IOException {
+        this(file, keyCodec, valueCodec, new DefaultComparator<K>(), DEFAULT_PAGE_SIZE,
+            DEFAULT_CACHE_PAGES);
+    }
+
+    /**
+     * Opens (or creates) a page file. The same comparator and page size must be
+     * used every time the file is reopened.
+     * @param file       The page file to open or create
+     * @param keyCodec   Translates keys to and from bytes
+     * @param valueCodec Translates values to and from bytes
+     * @param comp       The comparator to order keys by
+     * @param pageSize   Number of bytes per page, a power of two
+     * @param cachePages The maximum number of pages held in memory
+     * @throws IOException if the file cannot be opened or is not a page file
+     * @throws IllegalArgumentException if page size or cache capacity is invalid
+     */
+    public DiskSortedTableMap(File file, Codec<K> keyCodec, Codec<V> valueCodec,
+        Comparator<K> comp, int pageSize, int cachePages) throws IOException {
+        if (pageSize < 512 || pageSize > 65536 || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException(ILLEGAL_PAGE_SIZE);
+        }
+        if (cachePages < MIN_CACHE_PAGES) { throw new IllegalArgumentException(ILLEGAL_CACHE); }
+        if (comp == null) { throw new IllegalArgumentException("Invalid Comparator!"); }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.comp = comp;
+        this.pageSize = pageSize;
+        // A quarter page per entry guarantees both halves of a split fit in a page
+        this.maxEntry = (pageSize - PAGE_HEADER - 4) / 4;
+        this.cache = new PageCache(cachePages);
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() == 0) {  // A new file: header page followed by an empty root leaf
+            pageCount = 1;
+            root = allocate(true).id;
+            flush();
+        } else {
+            readHeader();
+        }
+    }
+
+    /************************* Nested Page class  ********************************/
+    /**
+     * A page of the tree decoded into memory. Keys are decoded so that pages can
+     * be searched, while values are held as bytes and only decoded when reported.
+     */
+    private class Page {
+        private final int id;
+        private final boolean leaf;
+        private int prev = NONE;                // Leaf to the left, or NONE
+        private int next = NONE;                // Leaf to the right, or NONE
+        private ArrayList<K> keys = new ArrayList<>();
+        private ArrayList<byte[]> keyBytes = new ArrayList<>();
+        private ArrayList<byte[]> values = new ArrayList<>();     // Leaf pages only
+        private ArrayList<Integer> children = new ArrayList<>();  // Internal pages only
+        private int used = PAGE_HEADER;         // Number of bytes the page encodes to
+        private boolean dirty;                  // Modified since it was last written
+
+        private Page(int id, boolean leaf) {
+            this.id = id;
+            this.leaf = leaf;
+            if (!leaf) { used += 4; }           // Internal pages begin with their first child
+        }
+
+        private int count() { return keys.size(); }
+
+        /** Recomputes the number of bytes the page encodes to */
+        private void measure() {
+            used = leaf ? PAGE_HEADER : PAGE_HEADER + 4;
+            for (int i = 0; i < keys.size(); i++) {
+                used += 8 + keyBytes.get(i).length + (leaf ? values.get(i).length : 0);
+            }
+        }
+    } /************************ End of Page class  ********************************/
+
+    /** A page that was split: the separator key and the id of the new right page */
+    private class Split {
+        private final K key;
+        private final byte[] keyBytes;
+        private final int page;
+
+        private Split(K key, byte[] keyBytes, int page) {
+            this.key = key;
+            this.keyBytes = keyBytes;
+            this.page = page;
+        }
+    }
+
+    /** Private Utility Methods **/
+    /**
+     * Checks the validity of the incoming parameter key, keys must be non-null
+     * and comparable with one another.
+     * @param key Target key to check
+     * @throws IllegalArgumentException When incoming parameter key is invalid
+     */
+    private void checkKey(K key) throws IllegalArgumentException {
+        try {
+            comp.compare(key, key);
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IllegalArgumentException(ILLEGAL_KEY);
+        }
+    }
+
+    /** @throws IllegalStateException if the map has been closed */
+    private void ensureOpen() {
+        if (!open) { throw new IllegalStateException(CLOSED); }
+    }
+
+    /**
+     * Binary search for the first index of page p with a key greater than or
+     * equal to the given key, or p.count() if no such key exists.
+     */
+    private int lowerBound(Page p, K key) {
+        int lo = 0, hi = p.count();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comp.compare(p.keys.get(mid), key) < 0) { lo = mid + 1; } else { hi = mid; }
+        }
+        return lo;
+    }
+
+    /**
+     * Binary search for the first index of page p with a key strictly greater
+     * than the given key, or p.count() if no such key exists.
+     */
+    private int upperBound(Page p, K key) {
+        int lo = 0, hi = p.count();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comp.compare(p.keys.get(mid), key) <= 0) { lo = mid + 1; } else { hi = mid; }
+        }
+        return lo;
+    }
+
+    /** Descends from the root to the leaf whose key range covers the given key */
+    private Page findLeaf(K key) {
+        Page p = read(root);
+        while (!p.leaf) {
+            p = read(p.children.get(upperBound(p, key)));
+        }
+        return p;
+    }
+
+    /** Creates the entry reported for index i of leaf page p */
+    private Entry<K,V> entry(Page p, int i) {
+        return new Entry<>(p.keys.get(i), valueCodec.decode(p.values.get(i)));
+    }
+
+    /**
+     * Returns the first entry at index i of the leaf, or after it, skipping over
+     * exhausted and empty leaves to the right. Null if no such entry exists.
+     */
+    private Entry<K,V> entryAtOrAfter(Page leaf, int i) {
+        while (i >= leaf.count()) {
+            if (leaf.next == NONE) { return null; }
+            leaf = read(leaf.next);
+            i = 0;
+        }
+        return entry(leaf, i);
+    }
+
+    /**
+     * Returns the last entry at index i of the leaf, or before it, skipping over
+     * exhausted and empty leaves to the left. Null if no such entry exists.
+     */
+    private Entry<K,V> entryAtOrBefore(Page leaf, int i) {
+        while (i < 0) {
+            if (leaf.prev == NONE) { return null; }
+            leaf = read(leaf.prev);
+            i = leaf.count() - 1;
+        }
+        return entry(leaf, i);
+    }
+
+    /** Access Methods **/
+    /** @return the number of entries in the map */
+    public int size() { return size; }
+
+    /** @return true if the map is empty, false otherwise */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the value associated with the specified key, or null if no such
+     * entry exists.
+     * @param key the key whose associated value is to be returned
+     * @return the associated value to key parameter, or null if no such entry exists
+     * @throws IllegalArgumentException if key is invalid
+     */
+    public V get(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.count() || comp.compare(key, leaf.keys.get(i)) != 0) { return null; }
+        return valueCodec.decode(leaf.values.get(i));
+    }
+
+    /** Update Methods **/
+    /**
+     * Adds a new entry to the map given a unique key and associated value. If an
+     * entry with the key was already in the map, this replaces the previous value
+     * with the new value and returns the old value. Otherwise, a new entry is
+     * added and null is returned.
+     * @param key   The key of the entry to add
+     * @param value The associated value to the key
+     * @return the previous value associated with the key (or null if no such entry)
+     * @throws IllegalArgumentException if key is invalid or the entry is too large
+     */
+    public V put(K key, V value) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        byte[] kb = keyCodec.encode(key);
+        byte[] vb = valueCodec.encode(value);
+        if (8 + kb.length + vb.length > maxEntry) { throw new IllegalArgumentException(ILLEGAL_ENTRY); }
+
+        replaced = null;
+        Split split = insert(read(root), key, kb, vb);
+        if (split != null) {    // The root was split, so the tree grows by one level
+            Page newRoot = allocate(false);
+            newRoot.children.add(root);
+            newRoot.children.add(split.page);
+            newRoot.keys.add(split.key);
+            newRoot.keyBytes.add(split.keyBytes);
+            newRoot.measure();
+            root = newRoot.id;
+        }
+        V old = replaced;
+        replaced = null;
+        return old;
+    }
+
+    /**
+     * Recursively inserts an entry into the subtree rooted at page p.
+     * @return the split of page p if it overflowed, otherwise null
+     */
+    private Split insert(Page p, K key, byte[] kb, byte[] vb) {
+        if (p.leaf) {
+            int i = lowerBound(p, key);
+            if (i < p.count() && comp.compare(key, p.keys.get(i)) == 0) {
+                replaced = valueCodec.decode(p.values.get(i));  // Exact match, replace value
+                p.used += vb.length - p.values.get(i).length;
+                p.values.set(i, vb);
+            } else {
+                p.keys.add(i, key);
+                p.keyBytes.add(i, kb);
+                p.values.add(i, vb);
+                p.used += 8 + kb.length + vb.length;
+                size++;
+            }
+            dirty(p);
+            return (p.used > pageSize) ? splitLeaf(p) : null;
+        }
+
+        int i = upperBound(p, key);
+        Split split = insert(read(p.children.get(i)), key, kb, vb);
+        if (split == null) { return null; }
+        // Child i was split, its new right sibling follows it
+        p.keys.add(i, split.key);
+        p.keyBytes.add(i, split.keyBytes);
+        p.children.add(i + 1, split.page);
+        p.used += 8 + split.keyBytes.length;
+        dirty(p);
+        return (p.used > pageSize) ? splitInternal(p) : null;
+    }
+
+    /**
+     * Finds the index at which to split an overflowing page so that each half
+     * holds about as many bytes as the other.
+     */
+    private int splitPoint(Page p) {
+        int half = (p.used - PAGE_HEADER) / 2;
+        int bytes = 0;
+        int i = 0;
+        while (i < p.count() && bytes < half) {
+            bytes += 8 + p.keyBytes.get(i).length + (p.leaf ? p.values.get(i).length : 0);
+            i++;
+        }
+        // Each side must keep at least one key (internal pages also push one up)
+        int max = p.leaf ? p.count() - 1 : p.count() - 2;
+        return Math.max(1, Math.min(i, max));
+    }
+
+    /** Moves the upper half of a leaf into a new leaf linked after it */
+    private Split splitLeaf(Page p) {
+        int mid = splitPoint(p);
+        int n = p.count();
+        Page right = allocate(true);
+        right.keys.addAll(p.keys.subList(mid, n));
+        right.keyBytes.addAll(p.keyBytes.subList(mid, n));
+        right.values.addAll(p.values.subList(mid, n));
+        p.keys.subList(mid, n).clear();
+        p.keyBytes.subList(mid, n).clear();
+        p.values.subList(mid, n).clear();
+        p.measure();
+        right.measure();
+
+        // Link the new leaf between p and its old neighbor
+        right.prev = p.id;
+        right.next = p.next;
+        if (p.next != NONE) {
+            Page after = read(p.next);
+            after.prev = right.id;
+            dirty(after);
+        }
+        p.next = right.id;
+        return new Split(right.keys.get(0), right.keyBytes.get(0), right.id);
+    }
+
+    /** Moves the upper half of an internal page into a new page, its middle key moves up */
+    private Split splitInternal(Page p) {
+        int mid = splitPoint(p);
+        int n = p.count();
+        Page right = allocate(false);
+        Split split = new Split(p.keys.get(mid), p.keyBytes.get(mid), right.id);
+        right.keys.addAll(p.keys.subList(mid + 1, n));
+        right.keyBytes.addAll(p.keyBytes.subList(mid + 1, n));
+        right.children.addAll(p.children.subList(mid + 1, n + 1));
+        p.keys.subList(mid, n).clear();
+        p.keyBytes.subList(mid, n).clear();
+        p.children.subList(mid + 1, n + 1).clear();
+        p.measure();
+        right.measure();
+        return split;
+    }
+
+    /**
+     * Removes the entry with the specified key, if present, and returns its
+     * associated value. Otherwise does nothing and returns null.
+     * @param key The key whose entry is to be removed
+     * @return The previous value of associated key, or null if no such entry exists
+     * @throws IllegalArgumentException if key is invalid
+     */
+    public V remove(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.count() || comp.compare(key, leaf.keys.get(i)) != 0) { return null; }
+        V old = valueCodec.decode(leaf.values.get(i));
+        leaf.used -= 8 + leaf.keyBytes.get(i).length + leaf.values.get(i).length;
+        leaf.keys.remove(i);
+        leaf.keyBytes.remove(i);
+        leaf.values.remove(i);
+        size--;
+        dirty(leaf);
+        return old;
+    }
+
+    /** Additional Methods for the Sorted Map ADT */
+    /**
+     * Returns the entry with the smallest key value (or null, if the map is empty)
+     * @return entry with least key (or null if map is empty)
+     */
+    public Entry<K,V> firstEntry() {
+        ensureOpen();
+        Page p = read(root);
+        while (!p.leaf) { p = read(p.children.get(0)); }
+        return entryAtOrAfter(p, 0);
+    }
+
+    /**
+     * Returns the entry with the largest key value (or null, if the map is empty)
+     * @return entry with greatest key (or null if map is empty)
+     */
+    public Entry<K,V> lastEntry() {
+        ensureOpen();
+        Page p = read(root);
+        while (!p.leaf) { p = read(p.children.get(p.children.size() - 1)); }
+        return entryAtOrBefore(p, p.count() - 1);
+    }
+
+    /**
+     * Returns the entry with least key greater than or equal to given key
+     * (or null if no such key exists).
+     * @param key The key to compare with
+     * @return entry with least key greater than or equal to given (or null if no such entry)
+     * @throws IllegalArgumentException if the key is not compatible with the map
+     */
+    public Entry<K,V> cielingEntry(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        return entryAtOrAfter(leaf, lowerBound(leaf, key));
+    }
+
+    /**
+     * Returns the entry with greatest key less than or equal to given key
+     * (or null if no such key exists).
+     * @param key The key to compare with
+     * @return entry with greatest key less than or equal to given (or null if no such entry)
+     * @throws IllegalArgumentException if the key is not compatible with the map
+     */
+    public Entry<K,V> floorEntry(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        return entryAtOrBefore(leaf, upperBound(leaf, key) - 1);
+    }
+
+    /**
+     * Returns the entry with greatest key strictly less than given key
+     * (or null if no such key exists).
+     * @param key The key to compare with
+     * @return entry with greatest key strictly less than given (or null if no such entry)
+     * @throws IllegalArgumentException if the key is not compatible with the map
+     */
+    public Entry<K,V> lowerEntry(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        return entryAtOrBefore(leaf, lowerBound(leaf, key) - 1);
+    }
+
+    /**
+     * Returns the entry with least key strictly greater than given key
+     * (or null if no such key exists).
+     * @param key The key to compare with
+     * @return entry with least key strictly greater than given (or null if no such entry)
+     * @throws IllegalArgumentException if the key is not compatible with the map
+     */
+    public Entry<K,V> higherEntry(K key) throws IllegalArgumentException {
+        checkKey(key);
+        ensureOpen();
+        Page leaf = findLeaf(key);
+        return entryAtOrAfter(leaf, upperBound(leaf, key));
+    }
+
+    /**
+     * Returns an iterable collection of all Key-Value entries of the map. Entries
+     * are read from the leaves lazily as the iteration advances, rather than
+     * copied into a snapshot, so the map must not be modified during iteration.
+     * @return Iterable collection of the maps entries
+     */
+    public Iterable<Entry<K,V>> entrySet() {
+        ensureOpen();
+        return () -> {
+            Page p = read(root);
+            while (!p.leaf) { p = read(p.children.get(0)); }
+            return new RangeIterator(p.id, 0, null);
+        };
+    }
+
+    /**
+     * Returns an Iterable containing all the entries in the range from [k1, k2)
+     * or k1 inclusive and k2 exclusive. Like entrySet() the range is read lazily.
+     * @param k1 The first key bound within the range, inclusive
+     * @param k2 The next key bound within the range, exclusive
+     * @return iterable with entries in desired range
+     * @throws IllegalArgumentException if either key is invalid
+     */
+    public Iterable<Entry<K,V>> subMap(K k1, K k2) throws IllegalArgumentException {
+        checkKey(k1);
+        checkKey(k2);
+        ensureOpen();
+        return () -> {
+            Page leaf = findLeaf(k1);
+            return new RangeIterator(leaf.id, lowerBound(leaf, k1), k2);
+        };
+    }
+
+    /************************* nested Iterator class  ********************************/
+    /**
+     * Walks the linked leaves from a starting position until the stop key (exclusive)
+     * or the end of the map. Only the page id and index are held between calls.
+     */
+    private class RangeIterator implements Iterator<Entry<K,V>> {
+        private int page;
+        private int index;
+        private final K stop;   // null iterates to the end of the map
+
+        private RangeIterator(int page, int index, K stop) {
+            this.page = page;
+            this.index = index;
+            this.stop = stop;
+        }
+
+        /** Advances past exhausted leaves, true if an entry remains before stop */
+        public boolean hasNext() {
+            ensureOpen();
+            if (page == NONE) { return false; }
+            Page p = read(page);
+            while (index >= p.count()) {
+                if (p.next == NONE) { page = NONE; return false; }
+                p = read(p.next);
+                page = p.id;
+                index = 0;
+            }
+            if (stop != null && comp.compare(p.keys.get(index), stop) >= 0) {
+                page = NONE;
+                return false;
+            }
+            return true;
+        }
+
+        public Entry<K,V> next() throws NoSuchElementException {
+            if (!hasNext()) { throw new NoSuchElementException(); }
+            return entry(read(page), index++);
+        }
+    } /************************ End of Iterator class  ********************************/
+
+    /** Page Input/Output **/
+    /**
+     * Returns the page with the given id, from the cache if present, otherwise it
+     * is decoded from the memory-mapped file and added to the cache.
+     */
+    private Page read(int id) {
+        Page p = cache.get(id);
+        if (p != null) { return p; }
+
+        ByteBuffer buf = map((long) id * pageSize);
+        boolean leaf = buf.get() == LEAF;
+        p = new Page(id, leaf);
+        int count = buf.getInt();
+        p.prev = buf.getInt();
+        p.next = buf.getInt();
+        if (!leaf) { p.children.add(buf.getInt()); }
+        for (int i = 0; i < count; i++) {
+            byte[] kb = new byte[buf.getInt()];
+            buf.get(kb);
+            p.keyBytes.add(kb);
+            p.keys.add(keyCodec.decode(kb));
+            if (leaf) {
+                byte[] vb = new byte[buf.getInt()];
+                buf.get(vb);
+                p.values.add(vb);
+            } else {
+                p.children.add(buf.getInt());
+            }
+        }
+        p.measure();
+        cache.put(p);
+        return p;
+    }
+
+    /** Encodes the page and writes it to its place in the file */
+    private void write(Page p) {
+        ByteBuffer buf = ByteBuffer.allocate(pageSize);
+        buf.put(p.leaf ? LEAF : INTERNAL);
+        buf.putInt(p.count());
+        buf.putInt(p.prev);
+        buf.putInt(p.next);
+        if (!p.leaf) { buf.putInt(p.children.get(0)); }
+        for (int i = 0; i < p.count(); i++) {
+            buf.putInt(p.keyBytes.get(i).length);
+            buf.put(p.keyBytes.get(i));
+            if (p.leaf) {
+                buf.putInt(p.values.get(i).length);
+                buf.put(p.values.get(i));
+            } else {
+                buf.putInt(p.children.get(i + 1));
+            }
+        }
+        buf.clear();    // Write out the whole page, including its unused tail
+        writeFully(buf, (long) p.id * pageSize);
+        p.dirty = false;
+    }
+
+    /** Writes every byte of the buffer at the given file offset */
+    private void writeFully(ByteBuffer buf, long offset) {
+        try {
+            while (buf.hasRemaining()) {
+                offset += channel.write(buf, offset);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a view of the memory-mapped file positioned at the given offset.
+     * The file is mapped in segments of up to 1 GB, segments are remapped as
+     * the file grows.
+     */
+    private ByteBuffer map(long offset) {
+        try {
+            if (offset + pageSize > mapped) {
+                long length = channel.size();
+                if (offset + pageSize > length) { throw new IllegalStateException(CORRUPT_FILE); }
+                int count = (int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+                MappedByteBuffer[] grown = new MappedByteBuffer[count];
+                for (int s = 0; s < count; s++) {
+                    long start = s * SEGMENT_SIZE;
+                    long bytes = Math.min(SEGMENT_SIZE, length - start);
+                    // Segments that are already fully mapped can be kept as they are
+                    grown[s] = (s < segments.length && segments[s].capacity() == bytes)
+                        ? segments[s] : channel.map(FileChannel.MapMode.READ_ONLY, start, bytes);
+                }
+                segments = grown;
+                mapped = length;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer buf = segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+        buf.position((int) (offset % SEGMENT_SIZE));
+        return buf;
+    }
+
+    /** Creates a new, empty page at the end of the file */
+    private Page allocate(boolean leaf) {
+        Page p = new Page(pageCount++, leaf);
+        dirty(p);
+        return p;
+    }
+
+    /** Marks the page as modified, so that it is written before leaving the cache */
+    private void dirty(Page p) {
+        p.dirty = true;
+        if (cache.get(p.id) == null) { cache.put(p); }
+    }
+
+    /** Reads and validates the header page of an existing file */
+    private void readHeader() throws IOException {
+        if (channel.size() < pageSize) { throw new IOException(CORRUPT_FILE); }
+        ByteBuffer buf = map(0);
+        if (buf.getInt() != MAGIC || buf.getInt() != pageSize) { throw new IOException(CORRUPT_FILE); }
+        root = buf.getInt();
+        pageCount = buf.getInt();
+        size = buf.getInt();
+    }
+
+    /** Writes the header page: magic number, page size, root, page count and size */
+    private void writeHeader() {
+        ByteBuffer buf = ByteBuffer.allocate(pageSize);
+        buf.putInt(MAGIC).putInt(pageSize).putInt(root).putInt(pageCount).putInt(size);
+        buf.clear();
+        writeFully(buf, 0);
+    }
+
+    /**
+     * Writes every modified page and the header to the file and forces them to
+     * the storage device, so the map can be reopened in its current state.
+     */
+    public void flush() {
+        ensureOpen();
+        cache.flush();
+        writeHeader();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes the map and closes the page file. The map may not be used afterwards.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!open) { return; }
+        flush();
+        open = false;
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    /************************* Nested PageCache class  ********************************/
+    /**
+     * An LRU (Least Recently Used) cache of pages, built from a HashMap and a
+     * doubly linked list in the same way as LRUCache. The most recently used
+     * page is at the tail of the list, when the cache grows beyond its capacity
+     * the page at the head is evicted, and written first if it was modified.
+     */
+    private class PageCache {
+        private class Node {
+            private Page page;
+            private Node prev, next;
+
+            private Node(Page page) { this.page = page; }
+        }
+
+        private final int capacity;
+        private final HashMap<Integer, Node> map = new HashMap<>();
+        private final Node head = new Node(null);   // Sentinel before least recently used
+        private final Node tail = new Node(null);   // Sentinel after most recently used
+
+        private PageCache(int capacity) {
+            this.capacity = capacity;
+            head.next = tail;
+            tail.prev = head;
+        }
+
+        /** Adds a node to the end of the list, as the most recently used */
+        private void add(Node node) {
+            Node previousEnd = tail.prev;
+            previousEnd.next = node;
+            node.prev = previousEnd;
+            node.next = tail;
+            tail.prev = node;
+        }
+
+        /** Removes a node from the list */
+        private void remove(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+
+        /** @return the cached page with the given id, or null if not cached */
+        private Page get(int id) {
+            Node node = map.get(id);
+            if (node == null) { return null; }
+            remove(node);
+            add(node);
+            return node.page;
+        }
+
+        /** Caches the page, evicting the least recently used page if full */
+        private void put(Page page) {
+            Node node = new Node(page);
+            map.put(page.id, node);
+            add(node);
+            if (map.size() > capacity) {
+                Node evicted = head.next;
+                remove(evicted);
+                map.remove(evicted.page.id);
+                if (evicted.page.dirty) { write(evicted.page); }
+            }
+        }
+
+        /** Writes every modified page, pages remain cached */
+        private void flush() {
+            for (Node node = head.next; node != tail; node = node.next) {
+                if (node.page.dirty) { write(node.page); }
+            }
+        }
+    } /************************ End of PageCache class  ********************************/
+}
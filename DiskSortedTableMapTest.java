@@ -0,0 +1,292 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class DiskSortedTableMapTest {
+
+    // Error Messages
+    private static final String ILLEGAL_KEY = "Incompatible Key";
+    private static final String ILLEGAL_PAGE_SIZE = "Page size must be a power of two between 512 and 65536";
+    private static final String ILLEGAL_CACHE = "Page cache must hold at least 16 pages";
+    private static final String ILLEGAL_ENTRY = "Entry is too large to fit within a page";
+    private static final String CORRUPT_FILE = "File is not a page file of this page size";
+    private static final String CLOSED = "Map has been closed";
+
+    // Small pages and the smallest cache, so that a few thousand entries split leaves
+    // and internal pages alike, and most pages are evicted and read back from the file
+    private static final int PAGE_SIZE = 512;
+    private static final int CACHE_PAGES = 16;
+
+    @TempDir
+    File dir;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("DiskSortedTableMap Unit Testing has begun ...");
+    }
+
+    /** @return a key of 31 bytes, so that an internal page only holds about a dozen children */
+    private static String key(int i) {
+        return String.format("k%030d", i);
+    }
+
+    /** Opens the page file with small pages and the smallest cache */
+    private static DiskSortedTableMap<String,String> open(File file) throws IOException {
+        return new DiskSortedTableMap<>(file, Codec.STRING, Codec.STRING,
+            new DefaultComparator<String>(), PAGE_SIZE, CACHE_PAGES);
+    }
+
+    /** Checks that the entry has the key and value of the reference entry, or that both are null */
+    private static void assertEntry(java.util.Map.Entry<String,String> expected, Entry<String,String> actual) {
+        if (expected == null) {
+            assertNull(actual);
+        } else {
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+        }
+    }
+
+    /** Checks that the entries are those of the reference map, in order */
+    private static void assertEntries(Iterable<java.util.Map.Entry<String,String>> expected,
+                                      Iterable<Entry<String,String>> actual) {
+        ArrayList<Entry<String,String>> entries = new ArrayList<>();
+        for (Entry<String,String> e : actual) { entries.add(e); }
+        int i = 0;
+        for (java.util.Map.Entry<String,String> e : expected) { assertEntry(e, entries.get(i++)); }
+        assertEquals(i, entries.size());
+    }
+
+    /**
+     * Checks the size, ends, entries, and every search for key(lo) to key(hi) against the
+     * reference map. Probing every index visits both sides of every page boundary.
+     */
+    private static void verify(TreeMap<String,String> expected, DiskSortedTableMap<String,String> actual, int lo, int hi) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEntry(expected.firstEntry(), actual.firstEntry());
+        assertEntry(expected.lastEntry(), actual.lastEntry());
+        assertEntries(expected.entrySet(), actual.entrySet());
+        for (int i = lo; i <= hi; i++) {
+            String key = key(i);
+            assertEquals(expected.get(key), actual.get(key));
+            assertEntry(expected.ceilingEntry(key), actual.cielingEntry(key));
+            assertEntry(expected.floorEntry(key), actual.floorEntry(key));
+            assertEntry(expected.lowerEntry(key), actual.lowerEntry(key));
+            assertEntry(expected.higherEntry(key), actual.higherEntry(key));
+        }
+    }
+
+    @Test
+    void randomUpdates() throws IOException {
+        Random random = new Random(1);
+        TreeMap<String,String> expected = new TreeMap<>();
+        File file = new File(dir, "map");
+        try (DiskSortedTableMap<String,String> actual = open(file)) {
+            for (int i = 0; i < 20_000; i++) {
+                String key = key(2 * random.nextInt(3000));    // Odd keys fall between entries
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key), actual.remove(key));
+                } else {
+                    assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+                }
+                if (i % 2000 == 0) { verify(expected, actual, -1, 6001); }
+            }
+            verify(expected, actual, -1, 6001);
+        }
+        // Leaves of about 11 entries and internal pages of about 12 children
+        assertTrue(file.length() / PAGE_SIZE > 200);
+    }
+
+    @Test
+    void ascendingAndDescendingInserts() throws IOException {
+        // Every split happens at the right edge, or at the left edge, of the tree
+        for (boolean ascending : new boolean[] {true, false}) {
+            TreeMap<String,String> expected = new TreeMap<>();
+            try (DiskSortedTableMap<String,String> actual = open(new File(dir, "map" + ascending))) {
+                for (int i = 0; i < 3000; i++) {
+                    int k = ascending ? 2 * i : 6000 - 2 * i;
+                    expected.put(key(k), "v" + k);
+                    assertNull(actual.put(key(k), "v" + k));
+                }
+                verify(expected, actual, -1, 6001);
+            }
+        }
+    }
+
+    @Test
+    void emptyLeavesAreSkipped() throws IOException {
+        // Removing long runs of keys empties whole leaves, which are not merged away
+        TreeMap<String,String> expected = new TreeMap<>();
+        try (DiskSortedTableMap<String,String> actual = open(new File(dir, "map"))) {
+            for (int i = 0; i < 4000; i += 2) {
+                expected.put(key(i), "v" + i);
+                actual.put(key(i), "v" + i);
+            }
+            for (int i = 0; i < 4000; i += 2) {
+                if (i < 600 || (i >= 1000 && i < 3000) || i >= 3800) {
+                    assertEquals(expected.remove(key(i)), actual.remove(key(i)));
+                }
+            }
+            verify(expected, actual, -1, 4001);
+            assertEntries(expected.subMap(key(0), key(4000)).entrySet(), actual.subMap(key(0), key(4000)));
+            for (int i = 600; i < 1000; i += 2) { actual.remove(key(i)); }
+            for (int i = 3000; i < 3800; i += 2) { actual.remove(key(i)); }
+            assertTrue(actual.isEmpty());
+            assertNull(actual.firstEntry());
+            assertNull(actual.lastEntry());
+            assertNull(actual.cielingEntry(key(0)));
+            assertNull(actual.floorEntry(key(4000)));
+            assertFalse(actual.entrySet().iterator().hasNext());
+        }
+    }
+
+    @Test
+    void subMapOrder() throws IOException {
+        Random random = new Random(2);
+        TreeMap<String,String> expected = new TreeMap<>();
+        try (DiskSortedTableMap<String,String> actual = open(new File(dir, "map"))) {
+            for (int i = 0; i < 5000; i++) {
+                int k = random.nextInt(10_000);
+                expected.put(key(k), "v" + i);
+                actual.put(key(k), "v" + i);
+            }
+            for (int i = 0; i < 200; i++) {
+                int k1 = random.nextInt(10_500), k2 = k1 + random.nextInt(1000);
+                assertEntries(expected.subMap(key(k1), key(k2)).entrySet(), actual.subMap(key(k1), key(k2)));
+            }
+            assertEntries(expected.subMap(key(500), key(500)).entrySet(), actual.subMap(key(500), key(500)));
+        }
+    }
+
+    @Test
+    void reopen() throws IOException {
+        Random random = new Random(3);
+        TreeMap<String,String> expected = new TreeMap<>();
+        File file = new File(dir, "map");
+        for (int round = 0; round < 4; round++) {
+            try (DiskSortedTableMap<String,String> actual = open(file)) {
+                verify(expected, actual, -1, 4001);
+                for (int i = 0; i < 3000; i++) {
+                    String key = key(2 * random.nextInt(2000));
+                    if (random.nextInt(3) == 0) {
+                        assertEquals(expected.remove(key), actual.remove(key));
+                    } else {
+                        assertEquals(expected.put(key, round + ":" + i), actual.put(key, round + ":" + i));
+                    }
+                }
+            }
+        }
+        try (DiskSortedTableMap<String,String> actual = open(file)) {
+            verify(expected, actual, -1, 4001);
+        }
+    }
+
+    @Test
+    void integerKeys() throws IOException {
+        // The default constructor: natural ordering, default page size and cache
+        TreeMap<Integer,Long> expected = new TreeMap<>();
+        Random random = new Random(4);
+        File file = new File(dir, "map");
+        try (DiskSortedTableMap<Integer,Long> actual = new DiskSortedTableMap<>(file, Codec.INTEGER, Codec.LONG)) {
+            for (int i = 0; i < 50_000; i++) {
+                int key = random.nextInt();
+                assertEquals(expected.put(key, (long) i), actual.put(key, (long) i));
+            }
+        }
+        try (DiskSortedTableMap<Integer,Long> actual = new DiskSortedTableMap<>(file, Codec.INTEGER, Codec.LONG)) {
+            assertEquals(expected.size(), actual.size());
+            int i = 0;
+            ArrayList<Integer> keys = new ArrayList<>(expected.keySet());
+            for (Entry<Integer,Long> e : actual.entrySet()) {
+                assertEquals(keys.get(i), e.getKey());
+                assertEquals(expected.get(keys.get(i++)), e.getValue());
+            }
+            assertEquals(expected.floorKey(0), actual.floorEntry(0).getKey());
+            assertEquals(expected.firstKey(), actual.firstEntry().getKey());
+            assertEquals(expected.lastKey(), actual.lastEntry().getKey());
+        }
+    }
+
+    @Test
+    void corruptFile() throws IOException {
+        File file = new File(dir, "text");
+        Files.write(file.toPath(), new byte[2 * PAGE_SIZE]);
+        IOException e = assertThrows(IOException.class, () -> open(file));
+        assertEquals(CORRUPT_FILE, e.getMessage());
+        Files.write(file.toPath(), new byte[10]);
+        e = assertThrows(IOException.class, () -> open(file));
+        assertEquals(CORRUPT_FILE, e.getMessage());
+        // A page file must be reopened with the page size it was created with
+        File map = new File(dir, "map");
+        try (DiskSortedTableMap<String,String> actual = open(map)) {
+            for (int i = 0; i < 100; i++) { actual.put(key(i), "v" + i); }
+        }
+        e = assertThrows(IOException.class, () -> new DiskSortedTableMap<String,String>(map, Codec.STRING, Codec.STRING,
+            new DefaultComparator<String>(), 2 * PAGE_SIZE, CACHE_PAGES));
+        assertEquals(CORRUPT_FILE, e.getMessage());
+    }
+
+    @Test
+    void invalidArguments() throws IOException {
+        File file = new File(dir, "map");
+        for (int pageSize : new int[] {256, 1000, 131_072}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new DiskSortedTableMap<String,String>(file, Codec.STRING, Codec.STRING,
+                    new DefaultComparator<String>(), pageSize, CACHE_PAGES));
+            assertEquals(ILLEGAL_PAGE_SIZE, e.getMessage());
+        }
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new DiskSortedTableMap<String,String>(file, Codec.STRING, Codec.STRING,
+                new DefaultComparator<String>(), PAGE_SIZE, CACHE_PAGES - 1));
+        assertEquals(ILLEGAL_CACHE, e.getMessage());
+
+        try (DiskSortedTableMap<String,String> actual = open(file)) {
+            // A quarter of a page, less the page header, is the largest entry
+            e = assertThrows(IllegalArgumentException.class, () -> actual.put(key(1), "x".repeat(100)));
+            assertEquals(ILLEGAL_ENTRY, e.getMessage());
+            assertTrue(actual.isEmpty());
+            assertNull(actual.put(key(1), "x".repeat(80)));
+            e = assertThrows(IllegalArgumentException.class, () -> actual.get(null));
+            assertEquals(ILLEGAL_KEY, e.getMessage());
+        }
+    }
+
+    @Test
+    void closedMap() throws IOException {
+        DiskSortedTableMap<String,String> actual = open(new File(dir, "map"));
+        actual.put(key(1), "one");
+        actual.close();
+        actual.close();     // Closing again does nothing
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> actual.get(key(1)));
+        assertEquals(CLOSED, e.getMessage());
+        e = assertThrows(IllegalStateException.class, () -> actual.put(key(2), "two"));
+        assertEquals(CLOSED, e.getMessage());
+        e = assertThrows(IllegalStateException.class, () -> actual.remove(key(1)));
+        assertEquals(CLOSED, e.getMessage());
+        e = assertThrows(IllegalStateException.class, () -> actual.floorEntry(key(1)));
+        assertEquals(CLOSED, e.getMessage());
+        e = assertThrows(IllegalStateException.class, () -> actual.entrySet());
+        assertEquals(CLOSED, e.getMessage());
+        e = assertThrows(IllegalStateException.class, () -> actual.flush());
+        assertEquals(CLOSED, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("DiskSortedTableMap Unit Testing is complete.");
+    }
+}
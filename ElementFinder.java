@@ -1,6 +1,16 @@
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 /**
  *  return the kth largest or smallest element from a list of n elements,
  *  where n is several times larger than k. An obvious approach to finding the
@@ -17,6 +27,9 @@ import java.util.Scanner;
  * are the arguments to the function. This function is present inside the
  * ElementFinder class.
  *
+ * The heap is a TopKSelector, which stores at most K numbers no matter how large
+ * the file is, so the file is processed in O(n log K) time and O(K) space.
+ *
  * For example, input.txt is a file that contains 15 numbers with 5
  * space-separated numbers in each line. The method Kth_finder(“input.txt”, 4,
  * “largest”) would return 13.
@@ -26,6 +39,16 @@ import java.util.Scanner;
  * 98 96 5 3 2
  */
 public class ElementFinder {
+	/** Target size of the byte range of the file parsed by one task */
+	private static final long CHUNK_SIZE = 64L << 20;	// 64 MB
+	/** Smallest size of a chunk, below which a task costs more than it saves */
+	private static final long MIN_CHUNK_SIZE = 64L << 10;	// 64 KB
+	/** Number of chunks per worker, so workers that finish early can steal work */
+	private static final int CHUNKS_PER_WORKER = 4;
+
+	// Error Messages
+	public static final String MALFORMED_NUMBER = "Not a whitespace separated integer: ";
+	public static final String OVERFLOW = "The Kth number does not fit in an int: ";
 
 	/**
 	 * Reading the file: You should read one line at the time, evaluate all the
@@ -54,64 +77,221 @@ public class ElementFinder {
 	 * @param operation "largest" or "smallest" determines min or max heap
 	 * @return the kth largest/smallest element if it exists. If no such
 	 * element exists, the method should return -1.
+	 * @throws NumberFormatException if the file holds anything other than
+	 * integers separated by whitespace, or an integer too large for a long
+	 * @throws ArithmeticException if the kth element does not fit in an int
 	 */
-	public static int Kth_finder(String filename, int K, String operation) {
-		Heap<String, String> heap;
-
-		// Check Arguments
-		// 1. minHeap or maxHeap?
-		boolean minHeap = false;
-		// If operation is "largest" then maxHeap
-		if(operation.equals("largest")){
-			minHeap = false;
-		} else if(operation.equals("smallest")){
-			// minHeap is smallest
-			minHeap = true;
-		}
+	public static int Kth_finder(String filename, int K, String operation)
+			throws NumberFormatException, ArithmeticException {
+		if(K <= 0) { return -1; }
 
-		// 2. Initialize Heap with Comparators based on minHeap or max Heap
-		if(minHeap){
-			heap = new Heap<>((x, y) -> x.compareTo(y));
-		} else {
-			heap = new Heap<>((x, y) -> y.compareTo(x));
-		}
+		// 1. Min-Heap or Max-Heap? To keep the K largest numbers we need a
+		// Min-Heap, whose root is the Kth largest. TopKSelector keeps a Max-Heap
+		// (by complementing its keys) when operation is "smallest".
+		boolean largest = !operation.equals("smallest");
 
-		/**  3. Verify filename argument with proper try/catch
-		 * Then populate the heap.
-		 */
-		try {
-			File f = new File(filename);
-			Scanner sc = new Scanner(f);
-			while (sc.hasNextLine()) {
-				// Read line by line, cannot load entire file at once
-				String[] data = sc.nextLine().split(" ");
-
-				// Populate the Heap with data
-				for(int i = 0; i < data.length; i++){
-					heap.add(data[i],data[i]);
-				}
+		// 2. & 3. The selector holds at most K numbers, and rejects a number that
+		// does not belong among them with a single comparison against its root
+		TopKSelector selector = new TopKSelector(K, largest);
 
+		// 4. Read line by line, cannot load entire file at once
+		try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				offerAll(ByteBuffer.wrap(line.getBytes(StandardCharsets.ISO_8859_1)), selector);
 			}
-			sc.close();
-		} catch (FileNotFoundException e) {
+		} catch (IOException e) {
+			System.out.println(e);
+			return -1;
+		}
+
+		if(!selector.isFull()) { return -1; } // Fewer than K numbers in the file
+		return toInt(selector.kth()); // return kth integer
+	}
+
+	/**
+	 * Parallel mode of Kth_finder for files far larger than memory. Rather than
+	 * reading the file a line at a time, the file is memory-mapped and divided
+	 * into chunks of bytes, each of which is parsed by a task on the common
+	 * ForkJoinPool, so that every core parses part of the file at once.
+	 *
+	 * Each chunk boundary is moved forward to the next whitespace byte, so that
+	 * no number is split between two chunks. Each task parses the integers of
+	 * its chunk directly from the bytes of the mapped file, without creating a
+	 * String per number, and offers them to its own TopKSelector. The tasks
+	 * divide the chunks between them recursively, and as they complete their
+	 * selectors are merged pairwise, O(K log K) work per merge. The K best of
+	 * the merged selector are the K best of the whole file.
+	 *
+	 * Numbers are expected to be ASCII integers separated by whitespace.
+	 * @param filename	String filename to read input data from
+	 * @param K	the kth (smallest or largest) integer from file
+	 * @param operation "largest" or "smallest"
+	 * @return the kth largest/smallest element if it exists. If no such
+	 * element exists, the method should return -1.
+	 * @throws NumberFormatException if the file holds anything other than
+	 * integers separated by whitespace, or an integer too large for a long
+	 * @throws ArithmeticException if the kth element does not fit in an int
+	 */
+	public static int Kth_finder_parallel(String filename, int K, String operation)
+			throws NumberFormatException, ArithmeticException {
+		return Kth_finder_parallel(filename, K, operation, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Parallel mode of Kth_finder, running its tasks on the given pool
+	 * @see #Kth_finder_parallel(String, int, String)
+	 */
+	public static int Kth_finder_parallel(String filename, int K, String operation, ForkJoinPool pool)
+			throws NumberFormatException, ArithmeticException {
+		if(K <= 0) { return -1; }
+		boolean largest = !operation.equals("smallest");
+
+		try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+			long[] bounds = chunkBounds(channel, pool.getParallelism());
+			TopKSelector selector = pool.invoke(new ChunkTask(channel, bounds, 0, bounds.length - 1, K, largest));
+			if(!selector.isFull()) { return -1; } // Fewer than K numbers in the file
+			return toInt(selector.kth());
+		} catch (IOException | UncheckedIOException e) {
 			System.out.println(e);
 			return -1;
+		} catch (NumberFormatException e) {
+			// The pool may rethrow a copy of a task's exception, with the original as its cause
+			throw (e.getCause() instanceof NumberFormatException) ? (NumberFormatException) e.getCause() : e;
 		}
+	}
 
-		// Now Keep polling "k" times to get kth integer
-		// We can only poll up to how many entries there are, so use size
-		int k = K;
-		Entry<String, String> temp = heap.peek();
-		for(int i = 0; i < K; i++){
-			if(heap.size() <= 0) {
-				// Failure Case
-				return -1; // not enough elements to pop
+	/**
+	 * Divides the file into chunks, each starting just after a whitespace byte (or
+	 * at the start of the file), so that no number spans two chunks.
+	 * @param channel		the file to divide
+	 * @param parallelism	the number of workers that will parse the chunks
+	 * @return the boundaries of the chunks: chunk i is [bounds[i], bounds[i+1])
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long[] chunkBounds(FileChannel channel, int parallelism) throws IOException {
+		long size = channel.size();
+		long nominal = size / ((long) parallelism * CHUNKS_PER_WORKER);
+		nominal = Math.min(CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, nominal));
+		long chunks = Math.max(1, (size + nominal - 1) / nominal);
+
+		long[] bounds = new long[(int) chunks + 1];
+		ByteBuffer b = ByteBuffer.allocate(64);
+		int n = 1;
+		for(long pos = nominal; pos < size; pos += nominal) {
+			long aligned = Math.max(pos, bounds[n - 1]);
+			// Advance to the byte after the next whitespace byte
+			search:
+			while(aligned < size) {
+				b.clear();
+				int read = channel.read(b, aligned);
+				for(int i = 0; i < read; i++) {
+					if(isWhitespace(b.get(i))) { aligned += i + 1; break search; }
+				}
+				aligned += read;
 			}
+			if(aligned >= size) { break; }
+			if(aligned > bounds[n - 1]) { bounds[n++] = aligned; }
+		}
+		bounds[n++] = size;
+		return Arrays.copyOf(bounds, n);
+	}
 
-			temp = heap.poll();
+	/** @throws ArithmeticException if the number does not fit in an int, rather than truncating it */
+	private static int toInt(long number) throws ArithmeticException {
+		if(number != (int) number) { throw new ArithmeticException(OVERFLOW + number); }
+		return (int) number;
+	}
+
+	private static boolean isWhitespace(byte c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f';
+	}
+
+	/**
+	 * Parses the whitespace separated integers of a line or a chunk of a file,
+	 * offering each one to the selector. Digits are accumulated directly from the
+	 * bytes rather than by splitting them into Strings, and numbers are compared
+	 * as numbers rather than Strings (as a String "9" is larger than "13").
+	 * A number is an optional '-' followed by digits; any other byte that is
+	 * not whitespace, such as a comma, a '+' or a '-' without digits, is rejected.
+	 * @param buffer	the bytes of the line or chunk
+	 * @param selector	the selector to offer the numbers to
+	 * @throws NumberFormatException if the bytes are not whitespace separated
+	 * integers, or an integer overflows a long
+	 */
+	private static void offerAll(ByteBuffer buffer, TopKSelector selector) throws NumberFormatException {
+		long number = 0;
+		boolean inNumber = false, negative = false;
+		int limit = buffer.limit();
+		for(int i = 0; i <= limit; i++) {
+			byte c = (i < limit) ? buffer.get(i) : (byte) ' ';	// The end separates the last number
+			if(c >= '0' && c <= '9') {
+				if(number > (Long.MAX_VALUE - (c - '0')) / 10) { throw malformed(buffer, i); }
+				number = number * 10 + (c - '0');
+				inNumber = true;
+			} else if(c == '-' && !inNumber && !negative) {
+				negative = true;
+			} else if(isWhitespace(c) && (inNumber || !negative)) {	// Not a lone '-'
+				if(inNumber) { selector.offer(negative ? -number : number); }
+				number = 0;
+				inNumber = negative = false;
+			} else {
+				throw malformed(buffer, i);
+			}
 		}
+	}
 
-		return Integer.valueOf(temp.getKey()); // return kth integer
+	/** @return an exception quoting the bytes around position i of the buffer */
+	private static NumberFormatException malformed(ByteBuffer buffer, int i) {
+		int from = Math.max(0, i - 16), to = Math.min(buffer.limit(), i + 16);
+		byte[] bytes = new byte[to - from];
+		for(int j = from; j < to; j++) { bytes[j - from] = buffer.get(j); }
+		return new NumberFormatException(MALFORMED_NUMBER + new String(bytes, StandardCharsets.ISO_8859_1).trim());
 	}
 
+	/*** Nested ChunkTask class ***/
+	/**
+	 * Task that finds the K best numbers of a range of chunks. A range of more than
+	 * one chunk is split in half between two subtasks, whose selectors are merged.
+	 */
+	private static class ChunkTask extends RecursiveTask<TopKSelector> {
+		private static final long serialVersionUID = 1L;
+		private final FileChannel channel;
+		private final long[] bounds;
+		private final int lo, hi;	// The range of chunks [lo, hi)
+		private final int k;
+		private final boolean largest;
+
+		private ChunkTask(FileChannel channel, long[] bounds, int lo, int hi, int k, boolean largest) {
+			this.channel = channel;
+			this.bounds = bounds;
+			this.lo = lo;
+			this.hi = hi;
+			this.k = k;
+			this.largest = largest;
+		}
+
+		@Override
+		protected TopKSelector compute() {
+			if(hi - lo > 1) {
+				int mid = (lo + hi) >>> 1;
+				ChunkTask left = new ChunkTask(channel, bounds, lo, mid, k, largest);
+				left.fork();
+				TopKSelector right = new ChunkTask(channel, bounds, mid, hi, k, largest).compute();
+				TopKSelector selector = left.join();
+				selector.merge(right);
+				return selector;
+			}
+			TopKSelector selector = new TopKSelector(k, largest);
+			try {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+					bounds[lo], bounds[hi] - bounds[lo]);
+				offerAll(buffer, selector);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return selector;
+		}
+	}
+	/*** End of ChunkTask class ***/
 }
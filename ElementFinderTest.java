@@ -0,0 +1,153 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class ElementFinderTest {
+
+    // The smallest chunk of Kth_finder_parallel
+    private static final int MIN_CHUNK_SIZE = 64 << 10;
+
+    // Error Messages
+    private static final String MALFORMED_NUMBER = "Not a whitespace separated integer: ";
+    private static final String OVERFLOW = "The Kth number does not fit in an int: ";
+
+    @TempDir
+    File dir;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ElementFinder Unit Testing has begun ...");
+    }
+
+    /** Writes the numbers to a file, each formatted to the given width and followed by a space or newline */
+    private File write(String name, long[] numbers, int width) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numbers.length; i++) {
+            text.append(String.format("%" + width + "d", numbers[i]));
+            text.append((i % 10 == 9) ? '\n' : ' ');
+        }
+        File file = new File(dir, name);
+        Files.write(file.toPath(), text.toString().getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    /** Checks both finders against a sorted copy of the numbers for several K */
+    private static void verify(File file, long[] numbers, ForkJoinPool pool) {
+        long[] sorted = numbers.clone();
+        Arrays.sort(sorted);
+        String name = file.getPath();
+        for (int k : new int[] {1, 2, 17, 1000, numbers.length}) {
+            if (k > numbers.length) { continue; }
+            int largest = (int) sorted[sorted.length - k], smallest = (int) sorted[k - 1];
+            assertEquals(largest, ElementFinder.Kth_finder(name, k, "largest"));
+            assertEquals(smallest, ElementFinder.Kth_finder(name, k, "smallest"));
+            assertEquals(largest, ElementFinder.Kth_finder_parallel(name, k, "largest", pool));
+            assertEquals(smallest, ElementFinder.Kth_finder_parallel(name, k, "smallest", pool));
+        }
+    }
+
+    /** @return n random numbers, about a quarter of them negative */
+    private static long[] random(int n, int bound, long seed) {
+        Random random = new Random(seed);
+        long[] numbers = new long[n];
+        for (int i = 0; i < n; i++) { numbers[i] = random.nextInt(bound) - bound / 4; }
+        return numbers;
+    }
+
+    @Test
+    void example() throws IOException {
+        long[] numbers = { 1, 4, 6, 8, 9, 10, 13, 14, 0, 1, 98, 96, 5, 3, 2 };
+        File file = write("input.txt", numbers, 1);
+        assertEquals(13, ElementFinder.Kth_finder(file.getPath(), 4, "largest"));
+        assertEquals(13, ElementFinder.Kth_finder_parallel(file.getPath(), 4, "largest"));
+        verify(file, numbers, new ForkJoinPool(4));
+    }
+
+    @Test
+    void numberStartsAtChunkBoundary() throws IOException {
+        // Tokens of 8 bytes: every multiple of 64 KB is the first digit of a number
+        long[] numbers = random(40_000, 2_000_000, 1);
+        File file = write("aligned.txt", numbers, 7);
+        assertEquals(0, MIN_CHUNK_SIZE % 8);
+        assertTrue(file.length() > 4 * MIN_CHUNK_SIZE);
+        verify(file, numbers, new ForkJoinPool(4));
+    }
+
+    @Test
+    void numberSpansChunkBoundary() throws IOException {
+        // Tokens of 7 bytes: the multiples of 64 KB fall within numbers
+        long[] numbers = random(50_000, 1_000_000, 2);
+        File file = write("unaligned.txt", numbers, 6);
+        assertTrue(file.length() > 4 * MIN_CHUNK_SIZE);
+        verify(file, numbers, new ForkJoinPool(4));
+    }
+
+    @Test
+    void manyChunks() throws IOException {
+        long[] numbers = random(300_000, Integer.MAX_VALUE, 3);
+        for (int i = 0; i < numbers.length; i++) { numbers[i] -= Integer.MAX_VALUE / 2; }
+        File file = write("large.txt", numbers, 1);
+        verify(file, numbers, new ForkJoinPool(16));
+    }
+
+    @Test
+    void fewerThanKNumbers() throws IOException {
+        long[] numbers = random(30_000, 1000, 4);
+        File file = write("small.txt", numbers, 5);
+        String name = file.getPath();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertEquals(-1, ElementFinder.Kth_finder(name, numbers.length + 1, "largest"));
+        assertEquals(-1, ElementFinder.Kth_finder_parallel(name, numbers.length + 1, "largest", pool));
+        assertEquals(-1, ElementFinder.Kth_finder_parallel(name, numbers.length + 1, "smallest", pool));
+        assertEquals(-1, ElementFinder.Kth_finder_parallel(name, 0, "smallest", pool));
+    }
+
+    @Test
+    void malformedNumbers() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        String[] texts = { "1 2,3 4", "1 +2 3", "1 - 2", "1 5-3 2", "1 --2", "1 2x", "99999999999999999999 1" };
+        for (int t = 0; t < texts.length; t++) {
+            File file = new File(dir, "malformed" + t + ".txt");
+            Files.write(file.toPath(), texts[t].getBytes(StandardCharsets.US_ASCII));
+            String name = file.getPath();
+            NumberFormatException e = assertThrows(NumberFormatException.class,
+                () -> ElementFinder.Kth_finder(name, 1, "largest"));
+            assertTrue(e.getMessage().startsWith(MALFORMED_NUMBER));
+            e = assertThrows(NumberFormatException.class,
+                () -> ElementFinder.Kth_finder_parallel(name, 1, "largest", pool));
+            assertTrue(e.getMessage().startsWith(MALFORMED_NUMBER));
+        }
+    }
+
+    @Test
+    void numberTooLargeForInt() throws IOException {
+        long[] numbers = { 5, Integer.MAX_VALUE + 1L, -3, Integer.MIN_VALUE, 7 };
+        String name = write("wide.txt", numbers, 1).getPath();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertEquals(7, ElementFinder.Kth_finder(name, 2, "largest"));
+        assertEquals(Integer.MIN_VALUE, ElementFinder.Kth_finder_parallel(name, 1, "smallest", pool));
+        ArithmeticException e = assertThrows(ArithmeticException.class,
+            () -> ElementFinder.Kth_finder(name, 1, "largest"));
+        assertEquals(OVERFLOW + (Integer.MAX_VALUE + 1L), e.getMessage());
+        e = assertThrows(ArithmeticException.class, () -> ElementFinder.Kth_finder_parallel(name, 1, "largest", pool));
+        assertEquals(OVERFLOW + (Integer.MAX_VALUE + 1L), e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ElementFinder Unit Testing is complete.");
+    }
+}
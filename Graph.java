@@ -1,6 +1,8 @@
-import java.util.HashMap;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A Graph is a way of representing relationships that exists betwen
@@ -40,6 +42,12 @@ import java.util.Set;
  * In case of undirected graph, methods outgoingEdges and incomingEdges
  * return the same collection, and outDegree and inDegree return the
  * same value.
+ *
+ * Adjacency Index: every vertex has an int id, and its edges are kept in an
+ * open-addressing hash table keyed by the id of the vertex at the other end.
+ * getEdge(), insertEdge() and removeEdge() probe a flat int[] instead of
+ * calling hashCode() and equals() through the entries of a java.util.HashMap,
+ * and removeVertex() drops the tables of the removed vertex in one step.
  * 
  * Source: Goodrich, M. T., Tamassia, R., &amp; Goldwasser, M. H. (2015). 
  *          Data Structures and algorithms in Java. Wiley. 
@@ -50,8 +58,9 @@ public class Graph <V,E>  {
     private class Node implements Vertex<V> {
         private V element;
         private Position<Vertex<V>> p;
-        private HashMap<Vertex<V>, Edge<E>> out;    // Edges where Vertex is origin
-        private HashMap<Vertex<V>, Edge<E>> in;     // Edges where Vertex is destination
+        private final int id;       // Unique within the graph, the key of this vertex in adjacencies
+        private Adjacency out;      // Edges where Vertex is origin
+        private Adjacency in;       // Edges where Vertex is destination
 
         public Node(V data){
             this(data,isDigraph);
@@ -59,9 +68,10 @@ public class Graph <V,E>  {
 
         public Node(V data, boolean digraph) {
             element = data;
-            out = new HashMap<Vertex<V>, Edge<E>>();
+            id = nextId++;
+            out = new Adjacency();
             if(digraph) {
-                in = new HashMap<Vertex<V>, Edge<E>>();
+                in = new Adjacency();
             } else {
                 in = out;   // If undirected graph, then in also refers to out map
             }
@@ -77,10 +87,10 @@ public class Graph <V,E>  {
         public void setPosition(Position<Vertex<V>> p) { this.p = p; }
 
         /** @return The reference to map of incoming edges */
-        public HashMap<Vertex<V>, Edge<E>> getIncoming() { return in; }
+        public Adjacency getIncoming() { return in; }
 
         /** @return  The reference to map of outgoing edges*/
-        public HashMap<Vertex<V>, Edge<E>> getOutgoing() { return out; }
+        public Adjacency getOutgoing() { return out; }
 
         /**
          * Check whether this vertex instance belongs to the given graph. This will serve
@@ -108,6 +118,7 @@ public class Graph <V,E>  {
         private Position<Edge<E>> p;
         // A Vertex array that contains two Vertexes to form the edge
         private Vertex<V>[] edge;  
+        private final Node origin, destination;    // The same vertices, as Nodes
 
         /**
          * Constructs an EdgeNode that contains the edge, or a pair of vertices
@@ -116,9 +127,11 @@ public class Graph <V,E>  {
          * @param data  The data contained within the edge
          */
         @SuppressWarnings("unchecked")
-        public EdgeNode(Vertex<V> u, Vertex<V> v, E data){
+        public EdgeNode(Node u, Node v, E data){
             element = data; 
             edge = (Vertex<V>[]) new Vertex[]{u,v}; // Array Length of 2
+            origin = u;
+            destination = v;
         }
 
         /** Returns the element associated with the edge. */
@@ -154,11 +167,120 @@ public class Graph <V,E>  {
             return e.toString();
         }
     } /************************* End of nested Edge Node class  ********************************/
+
+    /************************* Nested Adjacency class  ********************************/
+    /**
+     * The edges of a vertex, indexed by the id of the vertex at their other end in
+     * an open-addressing hash table with linear probing, at most half full. A
+     * removal shifts the later entries of its run back into the hole, so hubs whose
+     * edges come and go do not fill up with tombstones. Iterators fail fast.
+     */
+    private class Adjacency implements Iterable<Edge<E>> {
+        private int[] ids = new int[MIN_CAPACITY];                  // The id of the neighbor in each slot
+        private EdgeNode[] slots = newEdgeNodes(MIN_CAPACITY);      // The edge in each slot, null if empty
+        private int size;
+        private int modCount;   // The number of updates, checked by iterators
+
+        /** @return the number of edges */
+        public int size() { return size; }
+
+        /** @return the slot of the neighbor id, or the empty slot that ends its run */
+        private int find(int id) {
+            int mask = slots.length - 1;
+            int i = hash(id) & mask;
+            while (slots[i] != null && ids[i] != id) { i = (i + 1) & mask; }
+            return i;
+        }
+
+        /** @return the edge to the neighbor with the given id, or null if there is none */
+        public EdgeNode get(int id) { return slots[find(id)]; }
+
+        /** Maps the neighbor id to the edge, replacing any edge it maps to */
+        public void put(int id, EdgeNode edge) {
+            if (2 * (size + 1) > slots.length) { resize(2 * slots.length); }
+            int i = find(id);
+            if (slots[i] == null) { size++; }   // An undirected loop is put twice in one table
+            ids[i] = id;
+            slots[i] = edge;
+            modCount++;
+        }
+
+        /** Removes the edge to the neighbor with the given id, if there is one */
+        public void remove(int id) {
+            int mask = slots.length - 1;
+            int i = find(id);
+            if (slots[i] == null) { return; }
+            slots[i] = null;
+            size--;
+            modCount++;
+            // Move back every later entry of the run whose home slot is not between the hole and it
+            for (int j = (i + 1) & mask; slots[j] != null; j = (j + 1) & mask) {
+                if (((j - hash(ids[j])) & mask) >= ((j - i) & mask)) {
+                    ids[i] = ids[j];
+                    slots[i] = slots[j];
+                    slots[j] = null;
+                    i = j;
+                }
+            }
+        }
+
+        /** Removes every edge, releasing the table */
+        public void clear() {
+            ids = new int[MIN_CAPACITY];
+            slots = newEdgeNodes(MIN_CAPACITY);
+            size = 0;
+            modCount++;
+        }
+
+        /** Rehashes the edges into a table of the given capacity, a power of 2 */
+        private void resize(int capacity) {
+            int[] oldIds = ids;
+            EdgeNode[] oldSlots = slots;
+            ids = new int[capacity];
+            slots = newEdgeNodes(capacity);
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] == null) { continue; }
+                int j = find(oldIds[i]);
+                ids[j] = oldIds[i];
+                slots[j] = oldSlots[i];
+            }
+        }
+
+        /** @return the edges in table order, the array of the table itself for internal loops */
+        private EdgeNode[] slots() { return slots; }
+
+        @Override
+        public Iterator<Edge<E>> iterator() {
+            return new Iterator<Edge<E>>() {
+                private final int expected = modCount;
+                private final EdgeNode[] table = slots;
+                private int next = skip(0);
+
+                /** @return the first occupied slot from i on, or the length of the table */
+                private int skip(int i) {
+                    while (i < table.length && table[i] == null) { i++; }
+                    return i;
+                }
+
+                public boolean hasNext() { return next < table.length; }
+
+                public Edge<E> next() {
+                    if (modCount != expected) { throw new ConcurrentModificationException(); }
+                    if (!hasNext()) { throw new NoSuchElementException(); }
+                    Edge<E> e = table[next];
+                    next = skip(next + 1);
+                    return e;
+                }
+            };
+        }
+    } /************************* End of nested Adjacency class  ********************************/
     
     /** Graph Instance Variables **/
     private LinkedPositionalList<Vertex<V>> vertices = new LinkedPositionalList<>();
     private LinkedPositionalList<Edge<E>> edges = new LinkedPositionalList<>(); 
     private boolean isDigraph;
+    private int nextId;     // The id of the next vertex inserted
+    private static final int MIN_CAPACITY = 4;     // Slots of the adjacency of a new vertex
 
     // Error Messages
     private static final String ILLEGAL_NODE = "Invalid Vertex";
@@ -175,6 +297,9 @@ public class Graph <V,E>  {
         this.isDigraph = directed; 
     }
 
+    /** Returns true if the graph is directed, false if undirected */
+    public boolean isDirected(){ return isDigraph; }
+
     /** Returns the number of vertices of the graph */
     public int numVertices(){ return vertices.size(); }
 
@@ -194,7 +319,7 @@ public class Graph <V,E>  {
      * @return the reference to the vertex wrapped as a Node
      */
     private Node check(Vertex<V> v) {
-        if (!(v instanceof Node)) { throw new IllegalArgumentException(ILLEGAL_NODE); }
+        if (!(v instanceof Graph.Node)) { throw new IllegalArgumentException(ILLEGAL_NODE); }
         Node node = (Node) v; // Safe Cast and wrap as a Node
         if(!node.check(this)) { throw new IllegalArgumentException(ILLEGAL_NODE); }
         return node;
@@ -207,12 +332,24 @@ public class Graph <V,E>  {
      * @return the reference to the edge wrapped as a EdgeNode
      */
     private EdgeNode check(Edge<E> e) {
-        if (!(e instanceof EdgeNode)) { throw new IllegalArgumentException(ILLEGAL_EDGE); }
+        if (!(e instanceof Graph.EdgeNode)) { throw new IllegalArgumentException(ILLEGAL_EDGE); }
         EdgeNode node = (EdgeNode) e; // Safe Cast and wrap as an EdgeNode
         if(!node.check(this)) { throw new IllegalArgumentException(ILLEGAL_EDGE); }
         return node;
     }
 
+    /** @return an array of EdgeNodes, as Java cannot create an array of an inner class of a generic class */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private EdgeNode[] newEdgeNodes(int n) {
+        return (EdgeNode[]) new Graph.EdgeNode[n];
+    }
+
+    /** Spreads the bits of a vertex id, so that consecutive ids do not fill one run of slots */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
     /**
      * Returns the number of edges leaving vertex v.
      * For an undirected graph, this is the same result returned by inDegree
@@ -242,8 +379,8 @@ public class Graph <V,E>  {
      * @throws IllegalArgumentException if v is not a valid vertex
      */
     public Iterable<Edge<E>> outgoingEdges(Vertex<V> v) throws IllegalArgumentException{
-        Node vertex = check(v);               // Values in the HashMap are Edges
-        return vertex.getOutgoing().values(); // Collection view of values contained in map
+        Node vertex = check(v);         // The adjacency iterates its Edges
+        return vertex.getOutgoing();    // A live view, which fails fast if the vertex changes
     }
 
     /**
@@ -255,13 +392,20 @@ public class Graph <V,E>  {
      */
     public Iterable<Edge<E>> incomingEdges(Vertex<V> v) throws IllegalArgumentException{
         Node vertex = check(v); // Always check for parameter v
-        return vertex.getIncoming().values(); // Collection view of edges contained in map
+        return vertex.getIncoming();    // A live view of the incoming edges
     }
 
-    /** Returns the edge from u to v, or null if they are not adjacent. */
+    /**
+     * Returns the edge from u to v, or null if they are not adjacent, by one probe
+     * of the adjacency of u for the id of v. A v of another graph may share its id
+     * with a neighbor of u, so the edge found must end at v itself.
+     * @throws IllegalArgumentException if u is not a valid vertex
+     */
     public Edge<E> getEdge(Vertex<V> u, Vertex<V> v) throws IllegalArgumentException{
         Node origin = check(u);
-        return origin.getOutgoing().get(v); // If no mapping for the key, returns null in HashMap
+        if (!(v instanceof Graph.Node)) { return null; }
+        EdgeNode edge = origin.getOutgoing().get(((Graph<?,?>.Node) v).id);
+        return (edge != null && (edge.origin == v || edge.destination == v)) ? edge : null;
     }
 
     /**
@@ -305,20 +449,21 @@ public class Graph <V,E>  {
      *                                  edge already exists between u and v.
      */
     public Edge<E> insertEdge(Vertex<V> u, Vertex<V> v, E element) throws IllegalArgumentException{
-        // Check if the HashMap contains the edge, if null is returned from get() then create it
-        if (getEdge(u,v) == null) {
-            EdgeNode edge = new EdgeNode(u, v, element); // Construct the edge
+        // Check the Vertices u and v
+        Node origin = check(u);
+        Node destination = check(v);
+        // Check if the adjacency of u holds the edge, if null is returned from get() then create it
+        EdgeNode existing = origin.getOutgoing().get(destination.id);
+        if (existing == null) {
+            EdgeNode edge = new EdgeNode(origin, destination, element); // Construct the edge
             edge.setPosition(edges.addLast(edge));      // Update edges PositionalList
-            // Check the Vertices u and v
-            Node origin = check(u);
-            Node destination = check(v);
             // Add the Vertex v, the origin, to the outgoing Map where it is the origin
-            origin.getOutgoing().put(v,edge);
+            origin.getOutgoing().put(destination.id, edge);
             // Add the Vertex u, the destination, the incoming Map where it is the destination
-            destination.getIncoming().put(u,edge);
+            destination.getIncoming().put(origin.id, edge);
             return edge;
         } else { // Else it already exists therefore throw an Exception
-            throw new IllegalArgumentException(getEdge(u,v).toString());
+            throw new IllegalArgumentException(existing.toString());
         }
     }
 
@@ -331,13 +476,14 @@ public class Graph <V,E>  {
     public void removeEdge(Edge<E> e) throws IllegalArgumentException{
         EdgeNode edge = check(e);           // 0. Check Valid Edge
         // 1. Get the two Vertex Nodes that make up the edge, or endpoints
-        Node[] endpoints = (Node[]) edge.getEndpoints(); 
+        Node origin = edge.origin;
+        Node destination = edge.destination;
         // 2. Remove the respective vertexes incident to each other within their maps
         // Since endpoints[0] is u, and endpoints[1] is v, we assume u is the origin
         // and v is the destination. Thus, we remove v from u's outgoing map and 
         // u from v's incoming list
-        endpoints[0].getOutgoing().remove(endpoints[1]);
-        endpoints[1].getIncoming().remove(endpoints[0]);
+        origin.getOutgoing().remove(destination.id);
+        destination.getIncoming().remove(origin.id);
 
         // 3. Remove the edge from the list of edges
         edges.remove(edge.getPosition());   // Remove edge from positional list
@@ -348,18 +494,92 @@ public class Graph <V,E>  {
     /** Removes a vertex and all its incident edges from the graph. */
     public void removeVertex(Vertex<V> v) throws IllegalArgumentException{
         Node vertex = check(v); //0. Check valid vertex
-        // 1. Remove all edges in which vertex is the origin
-        for(Edge<E> e : vertex.getOutgoing().values()){
-            removeEdge(e);
+        //1. Remove vertex from the list of vertices, and invalidate its position
+        vertices.remove(vertex.getPosition());
+        vertex.setPosition(null);
+        //2. Remove its edges, which only touches the maps of the opposite vertices
+        detach(vertex);
+    }
+
+    /**
+     * Removes a batch of vertices and all their incident edges from the graph.
+     * An edge between two vertices of the batch is removed once, and the maps of
+     * removed vertices are dropped rather than updated edge by edge, so removing
+     * a dense cluster of hubs costs one step per edge instead of one update of
+     * two hash maps per edge. No vertex is removed if any of them is invalid.
+     * The batch is read once, so it may be a one-shot Iterable.
+     * @param batch - The vertices to remove; a vertex may appear more than once
+     * @throws IllegalArgumentException if a vertex is not a valid vertex
+     */
+    public void removeVertices(Iterable<Vertex<V>> batch) throws IllegalArgumentException{
+        //0. Check every vertex before removing any, keeping them as Nodes
+        java.util.ArrayList<Node> nodes = new java.util.ArrayList<>();
+        for (Vertex<V> v : batch) { nodes.add(check(v)); }
+        //1. Remove the vertices from the list of vertices, and invalidate them
+        for (Node vertex : nodes) {
+            if (vertex.getPosition() == null) { continue; }     // Repeated in the batch
+            vertices.remove(vertex.getPosition());
+            vertex.setPosition(null);
         }
-        //2. Remove all edges in which vertex is the destination
-        for(Edge<E> e : vertex.getIncoming().values()){
-            removeEdge(e);
+        //2. Remove their edges, skipping the maps of vertices already removed
+        for (Node vertex : nodes) { detach(vertex); }
+    }
+
+    /**
+     * Removes every edge incident to a vertex that is no longer in the graph.
+     * Each edge is removed from the list of edges and from the map of its opposite
+     * vertex, unless that vertex was removed too; the maps of the removed vertex
+     * are then cleared in one step.
+     * @param vertex - A vertex whose position is already invalidated
+     */
+    private void detach(Node vertex) {
+        for (EdgeNode e : vertex.getOutgoing().slots()) { unlink(e); }
+        if (isDigraph) {
+            for (EdgeNode e : vertex.getIncoming().slots()) { unlink(e); }
         }
-        //3. Remove vertex from the list of vertices
-        vertices.remove(vertex.getPosition());  // Remove vertex from positional list
-        //4. Invalidate the vertex, node, and position
-        vertex.setPosition(null);   
+        vertex.getOutgoing().clear();
+        vertex.getIncoming().clear();
+    }
+
+    /** Removes an edge, or nothing if null, from the list of edges and from the maps of its endpoints still in the graph */
+    private void unlink(EdgeNode edge) {
+        if (edge == null || edge.getPosition() == null) { return; }     // An empty slot, or removed from the other end
+        Node origin = edge.origin;
+        Node destination = edge.destination;
+        if (origin.getPosition() != null) { origin.getOutgoing().remove(destination.id); }
+        if (destination.getPosition() != null) { destination.getIncoming().remove(origin.id); }
+        edges.remove(edge.getPosition());
+        edge.setPosition(null);
+    }
+
+    /**
+     * Builds an immutable Compressed Sparse Row (CSR) copy of the graph, in which
+     * vertices and edges are numbered and adjacency is stored in flat int arrays.
+     * Traversals of the copy are far faster and smaller than traversals of the
+     * hash maps of this graph. Later updates to this graph do not affect the copy.
+     * @return a CSR representation of the current graph
+     */
+    public CSRGraph<V,E> freeze(){
+        return new CSRGraph<>(this);
+    }
+
+    /**
+     * Finds the connected components of the graph, treating a directed graph as
+     * undirected, with a union-find pass over the edges of a frozen copy.
+     * @return the components, each with its size, of the current graph
+     */
+    public ConnectedComponents<V,E> components(){
+        return ConnectedComponents.unionFind(freeze());
+    }
+
+    /**
+     * Finds the connected components of the graph in parallel, with concurrent
+     * unions of the edges of a frozen copy on the given pool.
+     * @param pool - The pool that runs the unions
+     * @return the components, each with its size, of the current graph
+     */
+    public ConnectedComponents<V,E> components(ForkJoinPool pool){
+        return ConnectedComponents.parallelUnionFind(freeze(), pool);
     }
 
     /**
@@ -431,7 +651,7 @@ public class Graph <V,E>  {
                 // 3. Put this edge e and vertex v as a known path within the map
                 map.put(v,e); 
                 // 4. Recursively call to continue exploring the path of v
-                DepthFirstSearch(g, u, visited, map);
+                DepthFirstSearch(g, v, visited, map);
             }
         }
     }
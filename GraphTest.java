@@ -0,0 +1,193 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class GraphTest {
+
+    // Error Messages
+    private static final String ILLEGAL_NODE = "Invalid Vertex";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("Graph Unit Testing has begun ...");
+    }
+
+    /** @return the vertices of a new graph of n vertices, each joined to the hub 0 and to the next vertex */
+    private static ArrayList<Vertex<Integer>> hub(Graph<Integer,Integer> g, int n) {
+        ArrayList<Vertex<Integer>> v = new ArrayList<>();
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 1; i < n; i++) { g.insertEdge(v.get(0), v.get(i), i); }
+        for (int i = 1; i + 1 < n; i++) { g.insertEdge(v.get(i + 1), v.get(i), -i); }
+        return v;
+    }
+
+    @Test
+    void removeEdge() {
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<Integer,Integer> g = new Graph<>(directed);
+            ArrayList<Vertex<Integer>> v = hub(g, 4);
+            g.removeEdge(g.getEdge(v.get(0), v.get(2)));
+            assertEquals(4, g.numEdges());
+            assertNull(g.getEdge(v.get(0), v.get(2)));
+            assertEquals(2, g.outDegree(v.get(0)));
+            assertEquals(directed ? 1 : 2, g.inDegree(v.get(2)));
+        }
+    }
+
+    @Test
+    void removeHubVertex() {
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<Integer,Integer> g = new Graph<>(directed);
+            ArrayList<Vertex<Integer>> v = hub(g, 1000);
+            g.removeVertex(v.get(0));
+            assertEquals(999, g.numVertices());
+            assertEquals(998, g.numEdges());
+            assertEquals(directed ? 1 : 2, g.outDegree(v.get(500)));
+            assertNull(g.getEdge(v.get(5), v.get(0)));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> g.outDegree(v.get(0)));
+            assertEquals(ILLEGAL_NODE, e.getMessage());
+        }
+    }
+
+    @Test
+    void removeSelfLoop() {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        Vertex<Integer> a = g.insertVertex(0), b = g.insertVertex(1);
+        g.insertEdge(a, a, 0);
+        g.insertEdge(a, b, 1);
+        g.insertEdge(b, a, 2);
+        g.removeVertex(a);
+        assertEquals(1, g.numVertices());
+        assertEquals(0, g.numEdges());
+        assertEquals(0, g.outDegree(b));
+        assertEquals(0, g.inDegree(b));
+    }
+
+    @Test
+    void removeVertices() {
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<Integer,Integer> g = new Graph<>(directed);
+            ArrayList<Vertex<Integer>> v = hub(g, 10);
+            // The hub, two vertices joined to each other, and a repeat
+            g.removeVertices(Arrays.asList(v.get(0), v.get(4), v.get(5), v.get(4)));
+            assertEquals(7, g.numVertices());
+            assertEquals(5, g.numEdges());     // 2-1, 3-2, 7-6, 8-7, 9-8 remain
+            assertEquals(directed ? 0 : 1, g.outDegree(v.get(6)));
+            assertEquals(directed ? 1 : 2, g.inDegree(v.get(7)));
+            assertNull(g.getEdge(v.get(6), v.get(5)));
+            CSRGraph<Integer,Integer> csr = g.freeze();
+            assertEquals(5, csr.numEdges());
+        }
+    }
+
+    @Test
+    void removeVerticesRejectsInvalidBatch() {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = hub(g, 5);
+        Vertex<Integer> other = new Graph<Integer,Integer>(true).insertVertex(9);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> g.removeVertices(Arrays.asList(v.get(1), other)));
+        assertEquals(ILLEGAL_NODE, e.getMessage());
+        assertEquals(5, g.numVertices());
+        assertEquals(7, g.numEdges());
+    }
+
+    @Test
+    void csrEdgeLookup() {
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<Integer,Integer> g = new Graph<>(directed);
+            ArrayList<Vertex<Integer>> v = hub(g, 300);
+            Random random = new Random(5);
+            for (int e = 0; e < 2000; e++) {
+                Vertex<Integer> a = v.get(random.nextInt(300)), b = v.get(random.nextInt(300));
+                if (g.getEdge(a, b) == null && g.getEdge(b, a) == null) { g.insertEdge(a, b, e); }
+            }
+            CSRGraph<Integer,Integer> csr = g.freeze();
+            for (int a = 0; a < 300; a++) {
+                for (int b = 0; b < 300; b++) {
+                    Edge<Integer> expected = g.getEdge(v.get(a), v.get(b));
+                    assertSame(expected, csr.getEdge(v.get(a), v.get(b)));
+                    int id = csr.edgeId(a, b);
+                    assertTrue((expected == null) ? id == -1 : csr.edge(id) == expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void adjacencyIndex() {
+        // Random edge updates on a few hubs, so tables grow and removals shift their runs back
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<Integer,Integer> g = new Graph<>(directed);
+            ArrayList<Vertex<Integer>> v = new ArrayList<>();
+            for (int i = 0; i < 200; i++) { v.add(g.insertVertex(i)); }
+            HashMap<Long,Edge<Integer>> expected = new HashMap<>();     // By the ids of the endpoints
+            Random random = new Random(6);
+            for (int i = 0; i < 20_000; i++) {
+                int a = random.nextInt(4), b = random.nextInt(200);  // Vertices 0 to 3 are the hubs
+                long key = directed ? 1000L * a + b : 1000L * Math.min(a, b) + Math.max(a, b);
+                Edge<Integer> e = expected.get(key);
+                if (e == null) {
+                    expected.put(key, g.insertEdge(v.get(a), v.get(b), i));
+                } else {
+                    assertSame(e, g.getEdge(v.get(a), v.get(b)));
+                    g.removeEdge(e);
+                    expected.remove(key);
+                    assertNull(g.getEdge(v.get(a), v.get(b)));
+                }
+            }
+            assertEquals(expected.size(), g.numEdges());
+            for (int a = 0; a < 4; a++) {
+                int degree = 0;
+                for (Edge<Integer> e : g.outgoingEdges(v.get(a))) {
+                    assertSame(e, g.getEdge(v.get(a), g.opposite(v.get(a), e)));
+                    degree++;
+                }
+                assertEquals(g.outDegree(v.get(a)), degree);
+                for (int b = 0; b < 200; b++) {
+                    long key = directed ? 1000L * a + b : 1000L * Math.min(a, b) + Math.max(a, b);
+                    assertSame(expected.get(key), g.getEdge(v.get(a), v.get(b)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void getEdgeOfAnotherGraph() {
+        // A vertex of another graph may have the id of a neighbor, and must not find its edge
+        Graph<Integer,Integer> g = new Graph<>(true), other = new Graph<>(true);
+        Vertex<Integer> a = g.insertVertex(0), b = g.insertVertex(1);
+        other.insertVertex(0);
+        Vertex<Integer> stranger = other.insertVertex(1);
+        g.insertEdge(a, b, 0);
+        assertNull(g.getEdge(a, stranger));
+        g.removeVertex(b);
+        assertNull(g.getEdge(a, b));
+    }
+
+    @Test
+    void removeVerticesReadsBatchOnce() {
+        Graph<Integer,Integer> g = new Graph<>(false);
+        ArrayList<Vertex<Integer>> v = hub(g, 6);
+        java.util.Iterator<Vertex<Integer>> once = Arrays.asList(v.get(0), v.get(3)).iterator();
+        g.removeVertices(() -> once);      // A second call of iterator() would find nothing
+        assertEquals(4, g.numVertices());
+        assertEquals(2, g.numEdges());      // 2-1 and 5-4 remain
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("Graph Unit Testing is complete.");
+    }
+}
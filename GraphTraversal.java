@@ -0,0 +1,170 @@
+import java.util.Arrays;
+
+/**
+ * Iterative Breadth-First and Depth-First Search over a CSR graph. The searches
+ * of Graph keep the visited vertices in a Set and the discovery edges in a Map,
+ * and build a new list for every level of a breadth-first search, while its
+ * depth-first search recurses once per vertex, which overflows the call stack
+ * on a long path of a large graph. These searches number the vertices instead,
+ * and keep all their state in a few arrays allocated once per search:
+ *
+ * - visited: a bitset of n bits, one long for every 64 vertices
+ * - order: the vertices in the order they were discovered
+ * - parent, parentEdge: the vertex and edge through which each vertex was discovered
+ *
+ * The breadth-first search uses the order array itself as its queue, since
+ * every vertex is enqueued exactly once and in the order it is discovered. The
+ * depth-first search keeps an explicit stack of vertices, with the next slot of
+ * each vertex's edges to explore, so it visits the vertices in exactly the order
+ * the recursive search would, without the recursion.
+ *
+ * Both searches follow outgoing edges, so they find the vertices reachable from
+ * the source. The parent edges of the result form the BFS or DFS tree, and a
+ * Vertex and Edge of the original graph are recovered with CSRGraph.vertex()
+ * and CSRGraph.edge().
+ *
+ * O(n + m) - bfs(), dfs()
+ * O(1) - isVisited(), parent(), parentEdge(), vertexAt()
+ */
+public class GraphTraversal {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+
+    private GraphTraversal() {}     // Static methods only
+
+    /*** Nested Result class ***/
+    /**
+     * The result of a search: the vertices reached, in the order they were
+     * discovered, and the edge through which each vertex was discovered.
+     */
+    public static class Result {
+        private final int source;
+        private final long[] visited;       // Bit v is set once vertex v is discovered
+        private final int[] order;          // Vertices in discovery order, the first count are valid
+        private final int[] parent;         // The vertex that discovered v, or -1
+        private final int[] parentEdge;     // The edge that discovered v, or -1
+        private int count;
+
+        private Result(int n, int source) {
+            this.source = source;
+            this.visited = new long[(n + 63) >>> 6];
+            this.order = new int[n];
+            this.parent = new int[n];
+            this.parentEdge = new int[n];
+            Arrays.fill(parent, -1);
+            Arrays.fill(parentEdge, -1);
+        }
+
+        /** Marks v as discovered through edge e from vertex u, and appends it to the order */
+        private void discover(int v, int u, int e) {
+            visited[v >>> 6] |= 1L << v;
+            parent[v] = u;
+            parentEdge[v] = e;
+            order[count++] = v;
+        }
+
+        /** @return the vertex the search started from */
+        public int source() { return source; }
+
+        /** @return the number of vertices reached, including the source */
+        public int size() { return count; }
+
+        /** @return the i-th vertex discovered, for 0 <= i < size() */
+        public int vertexAt(int i) { return order[i]; }
+
+        /** @return a copy of the vertices in the order they were discovered */
+        public int[] order() { return Arrays.copyOf(order, count); }
+
+        /** @return true if vertex v was reached from the source */
+        public boolean isVisited(int v) { return (visited[v >>> 6] & (1L << v)) != 0; }
+
+        /** @return the vertex through which v was discovered, or -1 for the source or an unreached vertex */
+        public int parent(int v) { return parent[v]; }
+
+        /** @return the edge through which v was discovered, or -1 for the source or an unreached vertex */
+        public int parentEdge(int v) { return parentEdge[v]; }
+
+        /**
+         * Returns the path of the search tree from the source to v
+         * @param v The destination vertex
+         * @return the vertices of the path, starting with the source and ending with v,
+         *         or an empty array if v was not reached
+         */
+        public int[] pathTo(int v) {
+            if (!isVisited(v)) { return new int[0]; }
+            int length = 1;
+            for (int u = v; u != source; u = parent[u]) { length++; }
+            int[] path = new int[length];
+            for (int u = v, i = length - 1; i >= 0; u = parent[u], i--) { path[i] = u; }
+            return path;
+        }
+    }
+    /*** End of Result class ***/
+
+    /** Private Utility Methods **/
+    /** @throws IllegalArgumentException if s is not a vertex of g */
+    private static void validate(CSR<?,?> g, int s) throws IllegalArgumentException {
+        if (s < 0 || s >= g.numVertices()) { throw new IllegalArgumentException(ILLEGAL_ARG_VERTEX); }
+    }
+
+    /** Searches **/
+    /**
+     * Breadth-First Search from a vertex. The vertices are discovered level by
+     * level, so the path of the search tree to each vertex has the fewest edges.
+     * @param g      The graph to search
+     * @param source The id of the vertex to start from
+     * @return the vertices reached, in order of discovery, and their parent edges
+     * @throws IllegalArgumentException if source is not a vertex id of g
+     */
+    public static Result bfs(CSR<?,?> g, int source) throws IllegalArgumentException {
+        validate(g, source);
+        Result r = new Result(g.numVertices(), source);
+        r.discover(source, -1, -1);
+        // The order array is the queue: vertices [head, count) are waiting to be explored
+        for (int head = 0; head < r.count; head++) {
+            int u = r.order[head];
+            for (int i = g.outStart(u), end = g.outEnd(u); i < end; i++) {
+                int v = g.target(i);
+                if (!r.isVisited(v)) { r.discover(v, u, g.outEdge(i)); }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Depth-First Search from a vertex. The vertices are discovered in the same
+     * order as a recursive search that explores the edges of each vertex in order.
+     * @param g      The graph to search
+     * @param source The id of the vertex to start from
+     * @return the vertices reached, in order of discovery, and their parent edges
+     * @throws IllegalArgumentException if source is not a vertex id of g
+     */
+    public static Result dfs(CSR<?,?> g, int source) throws IllegalArgumentException {
+        validate(g, source);
+        int n = g.numVertices();
+        Result r = new Result(n, source);
+        int[] stack = new int[n];       // The vertices of the current path
+        int[] next = new int[n];        // The next slot to explore of each vertex on the path
+        int top = 0;
+        r.discover(source, -1, -1);
+        stack[0] = source;
+        next[0] = g.outStart(source);
+        while (top >= 0) {
+            int u = stack[top];
+            int i = next[top];
+            // Skip the edges of u to vertices already discovered
+            while (i < g.outEnd(u) && r.isVisited(g.target(i))) { i++; }
+            if (i == g.outEnd(u)) {
+                top--;                  // Every edge of u is explored, so backtrack
+                continue;
+            }
+            next[top] = i + 1;
+            int v = g.target(i);
+            r.discover(v, u, g.outEdge(i));
+            stack[++top] = v;
+            next[top] = g.outStart(v);
+        }
+        return r;
+    }
+}
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class GraphTraversalTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("GraphTraversal Unit Testing has begun ...");
+    }
+
+    /**
+     * Builds the directed graph 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3, 3 -> 4, and an
+     * unreachable vertex 5 -> 0
+     */
+    private static CSRGraph<Integer,Integer> sample() {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = vertices(g, 6);
+        int[][] edges = { {0, 1}, {0, 2}, {1, 3}, {2, 3}, {3, 4}, {5, 0} };
+        for (int i = 0; i < edges.length; i++) {
+            g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i);
+        }
+        return g.freeze();
+    }
+
+    /** @return the n vertices inserted into g, whose elements are their indices */
+    private static ArrayList<Vertex<Integer>> vertices(Graph<Integer,Integer> g, int n) {
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        return v;
+    }
+
+    @Test
+    void bfsOrderAndParents() {
+        CSRGraph<Integer,Integer> g = sample();
+        GraphTraversal.Result r = GraphTraversal.bfs(g, 0);
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, r.order());
+        assertEquals(-1, r.parent(0));
+        assertEquals(1, r.parent(3));       // Discovered from 1 before 2
+        assertEquals(2, g.edgeElement(r.parentEdge(3)));
+        assertFalse(r.isVisited(5));
+        assertEquals(-1, r.parentEdge(5));
+        assertArrayEquals(new int[] {0, 1, 3, 4}, r.pathTo(4));
+        assertArrayEquals(new int[0], r.pathTo(5));
+    }
+
+    @Test
+    void dfsOrderMatchesRecursion() {
+        CSRGraph<Integer,Integer> g = sample();
+        GraphTraversal.Result r = GraphTraversal.dfs(g, 0);
+        // The recursive search goes 0, 1, 3, 4, backtracks to 0, then 2
+        assertArrayEquals(new int[] {0, 1, 3, 4, 2}, r.order());
+        assertEquals(0, r.parent(2));
+        assertEquals(5, r.size());
+        assertArrayEquals(new int[] {0, 1, 3, 4}, r.pathTo(4));
+    }
+
+    @Test
+    void undirectedFollowsBothDirections() {
+        Graph<Integer,Integer> g = new Graph<>(false);
+        ArrayList<Vertex<Integer>> v = vertices(g, 3);
+        g.insertEdge(v.get(1), v.get(0), 0);
+        g.insertEdge(v.get(2), v.get(1), 1);
+        CSRGraph<Integer,Integer> csr = g.freeze();
+        assertEquals(3, GraphTraversal.bfs(csr, 0).size());
+        assertEquals(3, GraphTraversal.dfs(csr, 0).size());
+    }
+
+    @Test
+    void invalidSource() {
+        CSRGraph<Integer,Integer> g = sample();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> GraphTraversal.bfs(g, 6));
+        assertEquals(ILLEGAL_ARG_VERTEX, e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> GraphTraversal.dfs(g, -1));
+    }
+
+    @Test
+    void longPathDoesNotOverflowStack() {
+        // A recursive search would need one stack frame per vertex of the path
+        int n = 200_000;
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = vertices(g, n);
+        for (int i = 0; i + 1 < n; i++) { g.insertEdge(v.get(i), v.get(i + 1), i); }
+        CSRGraph<Integer,Integer> csr = g.freeze();
+        GraphTraversal.Result r = GraphTraversal.dfs(csr, 0);
+        assertEquals(n, r.size());
+        assertEquals(n - 1, r.vertexAt(n - 1));
+        assertTrue(r.isVisited(n - 1));
+        assertEquals(n, GraphTraversal.bfs(csr, 0).pathTo(n - 1).length);
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("GraphTraversal Unit Testing is complete.");
+    }
+}
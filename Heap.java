@@ -19,19 +19,29 @@ import java.util.NoSuchElementException;
  * Another property that the Heap H satisfies is its structural property of being complete: a
  * binary tree has all its levels completely filled except possibly the last level, with the 
  * remaining nodes at the last level reside in the leftmost possible positions
+ * 
+ * d-ary Heap: The heap may be constructed with an arity d greater than 2, in which case each
+ * position has up to d children rather than two. The children of index i are stored next to
+ * each other at indexes d*i + 1 through d*i + d, and the parent of i is at (i-1)/d. The tree
+ * is then log_d(n) levels deep rather than log_2(n), so upheap moves an entry through fewer
+ * levels, and downheap touches fewer levels of the array at the cost of comparing d children
+ * at each one. Since the d children sit in adjacent slots they are usually read from the same
+ * cache line or two, which makes a 4-ary or 8-ary heap faster than a binary heap once the
+ * heap no longer fits in cache. The arity is fixed at construction, and defaults to 2.
  * @author kendr
  */
-public class Heap <K,V extends Comparable<K>> {
+public class Heap <K,V> {
     /**
-	 * Entry class represents the Heap Entries of Key-Value pairs.
+	 * Entry class represents the Heap Entries of Key-Value pairs. The entry returned
+	 * by insert() may be held on to as a handle, see AdaptableHeap.
 	 * @param <K>		Keys
 	 * @param <V>		Values
 	 */
-	private static class Entry<K, V> {
-		K key; V value;
+	public static class Entry<K, V> {
+		private K key; private V value;
 		
 		//Constructor
-		private Entry(K key, V value) {
+		protected Entry(K key, V value) {
 			this.setKey(key);
 			this.setValue(value);
 		}
@@ -44,11 +54,11 @@ public class Heap <K,V extends Comparable<K>> {
 			return value;
 		}
 
-        private void setKey(K key){
+        protected void setKey(K key){
             this.key = key;
         }
 		
-		private void setValue(V value) {
+		protected void setValue(V value) {
 			this.value = value;
 		}
 
@@ -61,15 +71,42 @@ public class Heap <K,V extends Comparable<K>> {
     //Member Fields of Heap 
     protected ArrayList<Entry<K,V>> heap = new ArrayList<>();
     private Comparator<K> c; //Comparator allows us to compare the keys in varying orders
+    protected final int d;   //Arity, the maximum number of children of each position
+    public static final int DEFAULT_ARITY = 2;
     private static final String ILLEGAL_ARG = "Incompatible Key";
+    private static final String ILLEGAL_ARG_ARITY = "Arity must be at least 2";
+    private static final String ILLEGAL_ARG_LENGTH = "Keys and values must be the same length";
     private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
 
     /** Constructors **/
     public Heap() {
-       this.c = new DefaultComparator<K>();
+       this(DEFAULT_ARITY);
     }
 
     public Heap(Comparator<K> c) { 
+        this(DEFAULT_ARITY, c);
+    }
+
+    /**
+     * Constructs an empty d-ary heap, whose positions have up to d children
+     * @param d The arity of the heap
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public Heap(int d) throws IllegalArgumentException {
+        if(d < 2) { throw new IllegalArgumentException(ILLEGAL_ARG_ARITY); }
+        this.d = d;
+        this.c = new DefaultComparator<K>();
+    }
+
+    /**
+     * Constructs an empty d-ary heap that orders keys by the given comparator
+     * @param d The arity of the heap
+     * @param c The comparator to order the keys by
+     * @throws IllegalArgumentException if the arity is less than 2 or comparator is null
+     */
+    public Heap(int d, Comparator<K> c) throws IllegalArgumentException {
+        if(d < 2) { throw new IllegalArgumentException(ILLEGAL_ARG_ARITY); }
+        this.d = d;
         if(c == null) {
             this.c = new DefaultComparator<>();
             throw new IllegalArgumentException("Invalid Comparator!");
@@ -78,10 +115,36 @@ public class Heap <K,V extends Comparable<K>> {
         }
     }
 
+    /**
+     * Constructs a heap holding the given entries in O(n) time, by bottom-up
+     * heap construction rather than n insertions
+     * @param keys      The keys of the entries
+     * @param values    The values of the entries, values[i] is associated with keys[i]
+     * @throws IllegalArgumentException if the arrays differ in length or a key is incompatible
+     */
+    public Heap(K[] keys, V[] values) throws IllegalArgumentException {
+        this();
+        insertAll(keys, values);
+    }
+
+    /**
+     * Constructs a heap that orders keys by the given comparator, holding the given
+     * entries in O(n) time by bottom-up heap construction
+     * @param c         The comparator to order the keys by
+     * @param keys      The keys of the entries
+     * @param values    The values of the entries, values[i] is associated with keys[i]
+     * @throws IllegalArgumentException if the comparator is null, the arrays differ
+     * in length or a key is incompatible
+     */
+    public Heap(Comparator<K> c, K[] keys, V[] values) throws IllegalArgumentException {
+        this(c);
+        insertAll(keys, values);
+    }
+
     /** Protected Helper Methods **/
-    protected int parent(int i) { return (i-1) / 2; }     // truncating division
-    protected int left(int i) { return 2*i + 1; }
-    protected int right(int i) { return 2*i + 2; }
+    protected int parent(int i) { return (i-1) / d; }     // truncating division
+    protected int left(int i) { return d*i + 1; }         // first (leftmost) child
+    protected int right(int i) { return d*i + d; }        // last (rightmost) child
     protected boolean hasLeft(int i) { return left(i) < heap.size(); }
     protected boolean hasRight(int i) { return right(i) < heap.size(); }
     
@@ -103,7 +166,28 @@ public class Heap <K,V extends Comparable<K>> {
      * @return  The result of comparing two entries according to key
      */
     protected int compare(Entry<K,V>a, Entry<K,V> b){
-        return c.compare(a.getKey(), b.getKey());
+        return compareKeys(a.getKey(), b.getKey());
+    }
+
+    /**
+     * Compares two keys by the comparator of the heap
+     * @param a First key to compare
+     * @param b Second key to compare
+     * @return  The result of comparing the two keys
+     */
+    protected int compareKeys(K a, K b){
+        return c.compare(a, b);
+    }
+
+    /**
+     * Creates the entry that insert() adds to the heap. Subclasses may override this
+     * to add state to their entries.
+     * @param key   Key of the entry
+     * @param value Value of the entry
+     * @return a new entry
+     */
+    protected Entry<K,V> newEntry(K key, V value) {
+        return new Entry<>(key, value);
     }
 
     /**
@@ -145,14 +229,13 @@ public class Heap <K,V extends Comparable<K>> {
      */
     protected void downheap(int k) {
         while(hasLeft(k)) { //Continue to bottom (or break)
-            int leftIndex = left(k);
-            int smallChildIndex = leftIndex; // Store the smallChild Index as left for now
+            int smallChildIndex = left(k); // Store the smallChild Index as left for now
+            int last = Math.min(right(k), heap.size() - 1);
             
-            if(hasRight(k)){ 
-                int rightIndex = right(k);
-                // Check if the Right Child is smaller
-                if(compare(heap.get(leftIndex),heap.get(rightIndex)) > 0){
-                    smallChildIndex = rightIndex;
+            // Check the remaining children, from left to right, for a smaller one
+            for(int child = smallChildIndex + 1; child <= last; child++){
+                if(compare(heap.get(smallChildIndex),heap.get(child)) > 0){
+                    smallChildIndex = child;
                 }
             }
             if(compare(heap.get(smallChildIndex), heap.get(k)) >= 0){
@@ -176,6 +259,11 @@ public class Heap <K,V extends Comparable<K>> {
      */
     public boolean isEmpty() { return heap.isEmpty(); }
 
+    /** 
+     * @return The arity of the heap, the maximum number of children of each position
+     */
+    public int arity() { return d; }
+
     /**
      * Returns, but does not remove, an entry with the minimal key
      * @return  Entry with the smallest key, null if list is empty
@@ -193,11 +281,87 @@ public class Heap <K,V extends Comparable<K>> {
      * @return The entry added to the heap when insertion was successful
      * @throws IllegalArgumentException If the key is incompatible
      */
-    public void insert(K key, V value) throws IllegalArgumentException {
+    public Entry<K,V> insert(K key, V value) throws IllegalArgumentException {
         checkKey(key);      // Check for valid key (could throw Exception)
-        Entry<K,V> entry = new Entry<>(key, value);
+        Entry<K,V> entry = newEntry(key, value);
         heap.add(entry);                       // append to the end of the list
         upheap(heap.size() - 1);               // upheap newly added entry
+        return entry;
+    }
+
+    /**
+     * Inserts every Key-Value pair of the arrays into the heap. When the new entries
+     * are many compared to the heap, they are appended to the array list and the
+     * whole heap is rebuilt bottom-up by heapify(), in O(n + m) time rather than
+     * O(m log(n + m)) for m separate insertions.
+     * @param keys      The keys of the entries
+     * @param values    The values of the entries, values[i] is associated with keys[i]
+     * @throws IllegalArgumentException if the arrays differ in length or a key is incompatible
+     */
+    public void insertAll(K[] keys, V[] values) throws IllegalArgumentException {
+        if(keys.length != values.length) { throw new IllegalArgumentException(ILLEGAL_ARG_LENGTH); }
+        for(K key : keys) { checkKey(key); }   // Check every key before changing the heap
+        int n = heap.size(), m = keys.length;
+        heap.ensureCapacity(n + m);
+        if(upheapIsCheaper(n, m)) {     // Few new entries, upheap each one
+            for(int i = 0; i < m; i++) {
+                heap.add(newEntry(keys[i], values[i]));
+                upheap(heap.size() - 1);
+            }
+        } else {
+            for(int i = 0; i < m; i++) {
+                heap.add(newEntry(keys[i], values[i]));
+            }
+            heapify();
+        }
+    }
+
+    /**
+     * Merges the entries of another heap into this one, in O(min(n + m, m log(n + m)))
+     * time, choosing between upheaps and heapify() as insertAll() does. The entries
+     * are copied, so the other heap is not modified, and the entries are ordered by
+     * the comparator of this heap. A heap may be merged with itself, doubling its entries.
+     * @param other The heap whose entries to merge into this one
+     */
+    public void merge(Heap<K,V> other) {
+        // Upheaps would reorder this heap while it is read, so a self-merge reads a copy
+        ArrayList<Entry<K,V>> entries = (other == this) ? new ArrayList<>(heap) : other.heap;
+        int n = heap.size(), m = entries.size();
+        heap.ensureCapacity(n + m);
+        boolean upheap = upheapIsCheaper(n, m);
+        for(int i = 0; i < m; i++) {
+            Entry<K,V> e = entries.get(i);
+            heap.add(newEntry(e.getKey(), e.getValue()));
+            if(upheap) { upheap(heap.size() - 1); }
+        }
+        if(!upheap && m > 0) { heapify(); }
+    }
+
+    /**
+     * Bottom-up heap construction: restores the heap property of the whole array
+     * list by calling downheap() on every position that has a child, from the last
+     * such position back to the root. Half of the positions are leaves and need no
+     * work, and in general a position h levels above the leaves moves down at most
+     * h levels, so the total work sums to O(n) rather than O(n log n).
+     */
+    protected void heapify() {
+        for(int j = parent(heap.size() - 1); j >= 0; j--) {
+            downheap(j);
+        }
+    }
+
+    /**
+     * @return true if upheaping m new entries into a heap of n costs less than
+     * heapifying all n + m, computed in long so that large heaps do not overflow
+     */
+    private static boolean upheapIsCheaper(int n, int m) {
+        long total = (long) n + m;
+        return (long) m * log2((int) Math.min(total, Integer.MAX_VALUE)) < total;
+    }
+
+    /** @return floor(log2(x)), or 0 if x is less than 2 */
+    private static int log2(int x) {
+        return (x < 2) ? 0 : 31 - Integer.numberOfLeadingZeros(x);
     }
 
     /**
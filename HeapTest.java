@@ -18,6 +18,8 @@ public class HeapTest  {
     // Error Message
     private static final String ILLEGAL_ARG = "Incompatible Key";
     private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+    private static final String ILLEGAL_ARG_ARITY = "Arity must be at least 2";
+    private static final String ILLEGAL_ARG_LENGTH = "Keys and values must be the same length";
 
     @BeforeAll
     public static void setup() {
@@ -312,6 +314,137 @@ public class HeapTest  {
         );
     }
 
+    @Test
+    public void initInvalidArity(){
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> heap = new Heap<>(1));
+        assertEquals(ILLEGAL_ARG_ARITY, e.getMessage());
+    }
+
+    @Test
+    void defaultArity(){
+        assertEquals(2, heap.arity());
+    }
+
+    @Test
+    void dAryShuffleAndSort(){
+        int n = 1000;
+        for(int d = 2; d <= 8; d++){
+            Heap<Integer,Integer> h = new Heap<>(d);
+            assertEquals(d, h.arity());
+            for(int i = 0; i < n; i++){
+                int key = (i * 7919) % n;    // Visits every key in [0, n) out of order
+                h.insert(key, key);
+            }
+            assertEquals(n, h.size());
+            for(int i = 0; i < n; i++){
+                assertEquals(i, h.removeMin());
+            }
+            assertTrue(h.isEmpty());
+        }
+    }
+
+    @Test
+    void dAryWithComparator(){
+        Heap<Integer,Integer> h = new Heap<>(4, (a, b) -> Integer.compare(b, a));
+        fill(h, 100);
+        for(int i = 100; i > 0; i--){
+            assertEquals(i, h.removeMin());
+        }
+    }
+
+    /** @return the integers [0, n) in a scrambled order */
+    private static Integer[] scrambled(int n){
+        Integer[] a = new Integer[n];
+        for(int i = 0; i < n; i++){
+            a[i] = (int) ((i * 7919L) % n);
+        }
+        return a;
+    }
+
+    @Test
+    void heapifyConstructor(){
+        int n = 1000;
+        Integer[] keys = scrambled(n);
+        heap = new Heap<>(keys, keys);
+        assertEquals(n, heap.size());
+        for(int i = 0; i < n; i++){
+            assertEquals(i, heap.removeMin());
+        }
+    }
+
+    @Test
+    void heapifyWithComparator(){
+        Integer[] keys = scrambled(100);
+        heap = new Heap<>((a, b) -> Integer.compare(b, a), keys, keys);
+        for(int i = 99; i >= 0; i--){
+            assertEquals(i, heap.removeMin());
+        }
+    }
+
+    @Test
+    void insertAllMismatchedLengths(){
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> heap.insertAll(new Integer[2], new Integer[3]));
+        assertEquals(ILLEGAL_ARG_LENGTH, e.getMessage());
+    }
+
+    @Test
+    void insertAllInvalidKey(){
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> heap.insertAll(new Integer[] { 1, null }, new Integer[2]));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+        assertTrue(heap.isEmpty());     // Nothing is inserted
+    }
+
+    @Test
+    void insertAllFewAndMany(){
+        fill(heap, 1000);                               // keys [1, 1000]
+        heap.insertAll(new Integer[] { 0 }, new Integer[] { 0 });  // Few, upheaped
+        Integer[] more = scrambled(3000);               // Many, heapified
+        for(int i = 0; i < more.length; i++){ more[i] += 1001; }
+        heap.insertAll(more, more);
+        assertEquals(4001, heap.size());
+        for(int i = 0; i < 4001; i++){
+            assertEquals(i, heap.removeMin());
+        }
+    }
+
+    @Test
+    void mergeHeaps(){
+        Heap<Integer,Integer> other = new Heap<>(4);
+        for(int i = 0; i < 500; i++){
+            heap.insert(2*i, 2*i);
+            other.insert(2*i + 1, 2*i + 1);
+        }
+        heap.merge(other);
+        assertEquals(1000, heap.size());
+        assertEquals(500, other.size());    // The other heap is not modified
+        for(int i = 0; i < 1000; i++){
+            assertEquals(i, heap.removeMin());
+        }
+    }
+
+    @Test
+    void mergeFewAndSelf(){
+        fill(heap, 1000);                               // keys [1, 1000]
+        Heap<Integer,Integer> few = new Heap<>(4);
+        few.insert(0, 0);
+        heap.merge(few);                                // Few, upheaped
+        heap.merge(heap);                               // Every key twice
+        assertEquals(2002, heap.size());
+        for(int i = 0; i < 2002; i++){
+            assertEquals(i / 2, heap.removeMin());
+        }
+        heap.merge(heap);                               // Empty
+        assertTrue(heap.isEmpty());
+        heap.insert(7, 7);
+        heap.merge(heap);                               // One entry, upheaped
+        assertEquals(2, heap.size());
+        assertEquals(7, heap.removeMin());
+        assertEquals(7, heap.removeMin());
+    }
+
     @AfterEach
     void tearDown() {
         while (!heap.isEmpty()) {
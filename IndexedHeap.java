@@ -0,0 +1,138 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An Indexed Heap is a binary min-heap of the integers 0 to n-1, such as the
+ * vertex ids of a CSRGraph, each with a double key. Since every element is an
+ * index, the position of each element in the heap is kept in an array, which
+ * gives the operations an adaptable priority queue needs without any Entry or
+ * locator objects:
+ *
+ * - offer() inserts an element, or decreases its key if it is already present,
+ *   which is the decrease-key step of Dijkstra's and Prim's algorithms
+ * - contains() and key() look an element up in O(1)
+ *
+ * The heap, position and key arrays are allocated once, so an element never
+ * appears twice and the heap never holds more than n entries, unlike a heap
+ * that inserts a new entry for every decreased key.
+ *
+ * O(log n) - offer(), removeMin()
+ * O(1) - contains(), key(), minKey(), size(), isEmpty()
+ */
+public class IndexedHeap {
+    /** Member Fields of IndexedHeap **/
+    private final int[] heap;           // Elements in heap order
+    private final int[] pos;            // The index of each element in heap, or -1
+    private final double[] keys;        // The key of each element in the heap
+    private int size;
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_CAPACITY = "Capacity must not be negative";
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+
+    /** Constructors **/
+    /**
+     * Constructs an empty heap of the elements 0 to n-1
+     * @param n The number of elements
+     * @throws IllegalArgumentException if n is negative
+     */
+    public IndexedHeap(int n) throws IllegalArgumentException {
+        if (n < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_CAPACITY); }
+        heap = new int[n];
+        pos = new int[n];
+        keys = new double[n];
+        Arrays.fill(pos, -1);
+    }
+
+    /** Private Utility Methods **/
+    /** Moves the element at index i up until its parent's key is no larger */
+    private void upheap(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (keys[heap[p]] <= k) { break; }
+            heap[i] = heap[p];
+            pos[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    /** Moves the element at index i down until neither child's key is smaller */
+    private void downheap(int i) {
+        int v = heap[i];
+        double k = keys[v];
+        while (2 * i + 1 < size) {
+            int c = 2 * i + 1;
+            if (c + 1 < size && keys[heap[c + 1]] < keys[heap[c]]) { c++; }
+            if (keys[heap[c]] >= k) { break; }
+            heap[i] = heap[c];
+            pos[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    /** Access Methods **/
+    /** @return the number of elements in the heap */
+    public int size() { return size; }
+
+    /** @return true if the heap is empty */
+    public boolean isEmpty() { return size == 0; }
+
+    /** @return true if element v is in the heap */
+    public boolean contains(int v) { return pos[v] >= 0; }
+
+    /** @return the key of element v, which must be in the heap */
+    public double key(int v) { return keys[v]; }
+
+    /**
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double minKey() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        return keys[heap[0]];
+    }
+
+    /** Update Methods **/
+    /**
+     * Inserts element v with the given key, or lowers the key of v if it is
+     * already in the heap with a larger one
+     * @param v   An element in [0, n)
+     * @param key Its key
+     * @return true if v was inserted or its key lowered, false if its key was already no larger
+     */
+    public boolean offer(int v, double key) {
+        if (pos[v] < 0) {
+            pos[v] = size;
+            heap[size++] = v;
+        } else if (key >= keys[v]) {
+            return false;
+        }
+        keys[v] = key;
+        upheap(pos[v]);
+        return true;
+    }
+
+    /**
+     * Removes and returns the element with the smallest key
+     * @return the element with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int removeMin() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            downheap(0);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class IndexedHeapTest {
+
+    // Error Messages
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+    private static final String ILLEGAL_ARG_CAPACITY = "Capacity must not be negative";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("IndexedHeap Unit Testing has begun ...");
+    }
+
+    @Test
+    void emptyHeap() {
+        IndexedHeap heap = new IndexedHeap(4);
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        NoSuchElementException e = assertThrows(NoSuchElementException.class, () -> heap.removeMin());
+        assertEquals(UNDERFLOW, e.getMessage());
+        e = assertThrows(NoSuchElementException.class, () -> heap.minKey());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    void invalidCapacity() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new IndexedHeap(-1));
+        assertEquals(ILLEGAL_ARG_CAPACITY, e.getMessage());
+    }
+
+    @Test
+    void decreaseKey() {
+        IndexedHeap heap = new IndexedHeap(4);
+        assertTrue(heap.offer(0, 5));
+        assertTrue(heap.offer(1, 3));
+        assertTrue(heap.offer(2, 4));
+        assertFalse(heap.offer(1, 7));      // A larger key is ignored
+        assertTrue(heap.offer(0, 1));
+        assertEquals(3, heap.size());
+        assertEquals(1.0, heap.minKey(), 0.0);
+        assertEquals(0, heap.removeMin());
+        assertFalse(heap.contains(0));
+        assertEquals(3.0, heap.key(1), 0.0);
+        assertEquals(1, heap.removeMin());
+        assertEquals(2, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void removesInKeyOrder() {
+        Random random = new Random(1);
+        int n = 10_000;
+        IndexedHeap heap = new IndexedHeap(n);
+        double[] best = new double[n];
+        for (int i = 0; i < 5 * n; i++) {
+            int v = random.nextInt(n);
+            double key = random.nextDouble();
+            if (!heap.contains(v) || key < best[v]) { best[v] = key; }
+            heap.offer(v, key);
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.minKey();
+            int v = heap.removeMin();
+            assertEquals(best[v], key, 0.0);
+            assertTrue(last <= key);
+            last = key;
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("IndexedHeap Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A streaming quantile sketch that estimates the rank of any number, and the
+ * number at any quantile (such as the median or the 99th percentile), of a
+ * stream of numbers too large to store. The sketch stores O(k) numbers no matter
+ * how long the stream is, and the rank it reports for any number is within
+ * about 1.7/k * n of the true rank with high probability (1% for k = 200).
+ *
+ * Compactors: The sketch is a stack of compactors, buffers of numbers in which
+ * each number stored at level h stands for 2^h numbers of the stream. Numbers
+ * are added to level 0. When a level fills up it is compacted: its numbers are
+ * sorted and either the odd or the even positioned ones, chosen at random, are
+ * promoted to the level above with twice the weight, while the others are
+ * discarded. Choosing at random makes the error of each compaction zero on
+ * average. Higher levels have larger capacities (level h holds about k *
+ * (2/3)^(H-1-h) numbers for H levels) since their errors weigh more.
+ *
+ * Merging: Two sketches are merged by appending each level of one to the same
+ * level of the other, then compacting until the result is within capacity. The
+ * merged sketch has the same error guarantee as a sketch of the concatenated
+ * streams, so streams may be split between threads or machines and their
+ * sketches combined afterwards.
+ *
+ * Source: Karnin, Z., Lang, K., &amp; Liberty, E. (2016). Optimal Quantile
+ * Approximation in Streams. IEEE FOCS 2016, 71-78.
+ *
+ * O(1) amortized - update()
+ * O(k log k) - rank(), quantile(), merge()
+ */
+public class KLLSketch {
+    /** Instance Variables **/
+    public static final int DEFAULT_K = 200;
+    private static final double C = 2.0 / 3.0;  // Ratio of the capacities of adjacent levels
+
+    private final int k;
+    private long[][] levels = new long[1][];    // levels[h] holds numbers of weight 2^h
+    private int[] sizes = new int[1];           // The number of numbers in each level
+    private int retained;                       // The number of numbers stored, all levels
+    private int maxRetained;                    // Capacity of all levels, triggers a compaction
+    private long n;                             // The number of numbers in the stream
+    private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+    private final Random random;
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_K = "K must be at least 2";
+    private static final String ILLEGAL_ARG_QUANTILE = "Quantile must be within [0, 1]";
+    private static final String EMPTY = "Sketch is empty";
+
+    /** Constructors **/
+    public KLLSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructs an empty sketch whose accuracy is set by k
+     * @param k The capacity of the top level, larger k is more accurate
+     * @throws IllegalArgumentException if k is less than 2
+     */
+    public KLLSketch(int k) throws IllegalArgumentException {
+        this(k, new Random());
+    }
+
+    /**
+     * Constructs an empty sketch which draws its random choices from the given
+     * generator, so that a seeded generator makes the sketch reproducible
+     * @param k      The capacity of the top level, larger k is more accurate
+     * @param random The random generator for compactions
+     * @throws IllegalArgumentException if k is less than 2
+     */
+    public KLLSketch(int k, Random random) throws IllegalArgumentException {
+        if (k < 2) { throw new IllegalArgumentException(ILLEGAL_ARG_K); }
+        this.k = k;
+        this.random = random;
+        levels[0] = new long[capacity(0)];
+        maxRetained = capacity(0);
+    }
+
+    /** Private Utility Methods **/
+    /** @return the capacity of level h, given the current number of levels */
+    private int capacity(int h) {
+        int depth = levels.length - h - 1;
+        return (int) Math.ceil(k * Math.pow(C, depth)) + 1;
+    }
+
+    /** Adds a level on top, which lowers the capacities of the levels below */
+    private void grow() {
+        int height = levels.length + 1;
+        levels = Arrays.copyOf(levels, height);
+        sizes = Arrays.copyOf(sizes, height);
+        levels[height - 1] = new long[capacity(height - 1)];
+        maxRetained = 0;
+        for (int h = 0; h < height; h++) { maxRetained += capacity(h); }
+    }
+
+    /** Appends a number to level h, growing its buffer if it is full */
+    private void append(int h, long x) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], Math.max(2, 2 * sizes[h]));
+        }
+        levels[h][sizes[h]++] = x;
+    }
+
+    /**
+     * Compacts the lowest level that is at or over its capacity: sorts it, then
+     * promotes every other number, starting from a random one of the first two, to
+     * the level above. If the level holds an odd number of numbers, one of them
+     * stays behind.
+     */
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] < capacity(h)) { continue; }
+            if (h + 1 == levels.length) { grow(); }
+            long[] level = levels[h];
+            int size = sizes[h];
+            Arrays.sort(level, 0, size);
+            int keep = size % 2;        // An odd number out, the smallest, stays at index 0
+            int offset = keep + (random.nextBoolean() ? 1 : 0);
+            for (int i = offset; i < size; i += 2) {
+                append(h + 1, level[i]);
+            }
+            sizes[h] = keep;
+            retained = 0;
+            for (int s : sizes) { retained += s; }
+            return;
+        }
+    }
+
+    /**
+     * Collects the stored numbers in increasing order, along with the cumulative
+     * weight up to and including each one
+     */
+    private long[][] sortedView() {
+        long[] values = new long[retained];
+        long[] weights = new long[retained];
+        int m = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[m] = levels[h][i];
+                weights[m++] = 1L << h;
+            }
+        }
+        // Sort the numbers with their weights by sorting their indexes
+        Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) { order[i] = i; }
+        Arrays.sort(order, (i, j) -> Long.compare(values[i], values[j]));
+        long[] sortedValues = new long[m];
+        long[] cumulative = new long[m];
+        long total = 0;
+        for (int i = 0; i < m; i++) {
+            sortedValues[i] = values[order[i]];
+            total += weights[order[i]];
+            cumulative[i] = total;
+        }
+        return new long[][] { sortedValues, cumulative };
+    }
+
+    /** Access Methods **/
+    /** @return the number of numbers in the stream */
+    public long count() { return n; }
+
+    /** @return true if no numbers have been added */
+    public boolean isEmpty() { return n == 0; }
+
+    /** @return the number of numbers stored by the sketch */
+    public int retained() { return retained; }
+
+    /**
+     * @return the smallest number of the stream, which is exact
+     * @throws NoSuchElementException if the sketch is empty
+     */
+    public long min() throws NoSuchElementException {
+        if (isEmpty()) { throw new NoSuchElementException(EMPTY); }
+        return min;
+    }
+
+    /**
+     * @return the largest number of the stream, which is exact
+     * @throws NoSuchElementException if the sketch is empty
+     */
+    public long max() throws NoSuchElementException {
+        if (isEmpty()) { throw new NoSuchElementException(EMPTY); }
+        return max;
+    }
+
+    /**
+     * Estimates the rank of a number: the number of numbers in the stream that are
+     * less than or equal to it.
+     * @param x The number to rank
+     * @return the estimated rank of x, within [0, count()]
+     */
+    public long rank(long x) {
+        long rank = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= x) { rank += 1L << h; }
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Estimates the q-quantile of the stream, the number whose rank is q * count():
+     * q = 0.5 is the median and q = 0.99 the 99th percentile. The minimum and
+     * maximum, q = 0 and q = 1, are exact.
+     * @param q The quantile, within [0, 1]
+     * @return the estimated q-quantile
+     * @throws IllegalArgumentException if q is not within [0, 1]
+     * @throws NoSuchElementException if the sketch is empty
+     */
+    public long quantile(double q) throws IllegalArgumentException, NoSuchElementException {
+        if (!(q >= 0 && q <= 1)) { throw new IllegalArgumentException(ILLEGAL_ARG_QUANTILE); }
+        if (isEmpty()) { throw new NoSuchElementException(EMPTY); }
+        if (q == 0) { return min; }
+        if (q == 1) { return max; }
+        long[][] view = sortedView();
+        long[] values = view[0], cumulative = view[1];
+        double target = q * cumulative[cumulative.length - 1];
+        for (int i = 0; i < values.length; i++) {
+            if (cumulative[i] >= target) { return values[i]; }
+        }
+        return max;
+    }
+
+    /** Update Methods **/
+    /**
+     * Adds a number of the stream to the sketch
+     * @param x The number to add
+     */
+    public void update(long x) {
+        if (x < min) { min = x; }
+        if (x > max) { max = x; }
+        n++;
+        append(0, x);
+        if (++retained >= maxRetained) { compress(); }
+    }
+
+    /**
+     * Merges another sketch into this one, after which this sketch summarizes both
+     * streams. The other sketch is not modified.
+     * @param other The sketch to merge into this one
+     */
+    public void merge(KLLSketch other) {
+        if (other.isEmpty()) { return; }
+        while (levels.length < other.levels.length) { grow(); }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        retained += other.retained;
+        n += other.n;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained >= maxRetained) {
+            int before = retained;
+            compress();
+            if (retained == before) { break; }  // No level was over capacity
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class KLLSketchTest {
+
+    // Error Messages
+    private static final String EMPTY = "Sketch is empty";
+    public static final String ILLEGAL_ARG_K = "K must be at least 2";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("KLLSketch Unit Testing has begun ...");
+    }
+
+    /** Asserts that the estimated rank of every percentile is within 2% of n */
+    private static void assertAccurate(KLLSketch sketch, long n) {
+        for (int p = 1; p < 100; p++) {
+            long x = sketch.quantile(p / 100.0);
+            // The stream is a permutation of [0, n), so the true rank of x is x + 1
+            assertTrue(Math.abs((x + 1) - p * n / 100) <= n / 50);
+            assertTrue(Math.abs(sketch.rank(x) - (x + 1)) <= n / 50);
+        }
+    }
+
+    /** @return a shuffled permutation of [0, n) */
+    private static long[] permutation(int n, Random random) {
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++) { a[i] = i; }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        }
+        return a;
+    }
+
+    @Test
+    void invalidK() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new KLLSketch(1));
+        assertEquals(ILLEGAL_ARG_K, e.getMessage());
+    }
+
+    @Test
+    void emptySketch() {
+        KLLSketch sketch = new KLLSketch();
+        assertTrue(sketch.isEmpty());
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> sketch.quantile(0.5));
+        assertEquals(EMPTY, e.getMessage());
+    }
+
+    @Test
+    void smallStreamIsExact() {
+        KLLSketch sketch = new KLLSketch();
+        for (long x : new long[] { 5, 1, 4, 2, 3 }) { sketch.update(x); }
+        assertEquals(5, sketch.count());
+        assertEquals(1, sketch.min());
+        assertEquals(5, sketch.max());
+        assertEquals(3, sketch.quantile(0.5));
+        assertEquals(2, sketch.rank(2));
+    }
+
+    @Test
+    void boundedMemory() {
+        Random random = new Random(5);
+        KLLSketch sketch = new KLLSketch(200, random);
+        int n = 1_000_000;
+        for (long x : permutation(n, random)) { sketch.update(x); }
+        assertEquals(n, sketch.count());
+        assertEquals(0, sketch.min());
+        assertEquals(n - 1, sketch.max());
+        assertTrue(sketch.retained() < 1000);
+        assertAccurate(sketch, n);
+    }
+
+    @Test
+    void mergePartitions() {
+        Random random = new Random(9);
+        int n = 400_000, parts = 8;
+        long[] stream = permutation(n, random);
+        KLLSketch merged = new KLLSketch(200, random);
+        for (int p = 0; p < parts; p++) {
+            KLLSketch part = new KLLSketch(200, random);
+            for (int i = p; i < n; i += parts) { part.update(stream[i]); }
+            merged.merge(part);
+        }
+        assertEquals(n, merged.count());
+        assertTrue(merged.retained() < 1000);
+        assertAccurate(merged, n);
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("KLLSketch Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Communities of a CSR graph found by Label Propagation: every vertex starts with
+ * its own id as its label, and each round every vertex takes the label that is
+ * most common among its neighbors, until no label changes or a maximum number of
+ * rounds is reached. Densely linked groups of vertices soon agree on one label,
+ * which then cannot cross the few edges between groups. A directed graph is
+ * treated as undirected, and an edge joining the same two vertices twice counts
+ * twice.
+ *
+ * Every round reads one label array and writes the other, so the vertices are
+ * split among the tasks of a ForkJoinPool without any atomic update. Updating all
+ * labels at once can make two neighbors swap labels forever, so a vertex counts
+ * its own label as one more vote, and ties go to the smallest label, which makes
+ * the result deterministic and lets such pairs settle on one label.
+ *
+ * Unlike ConnectedComponents.labelPropagation(), which spreads the smallest label
+ * to whole components, the communities are not found by any exact criterion; two
+ * communities may share a component. They are numbered 0 to count()-1 in order of
+ * their smallest vertex, and a Vertex of the original graph maps to its community
+ * through CSR.id(), or through community(Vertex).
+ *
+ * Source: Raghavan, U. N., Albert, R., &amp; Kumara, S. (2007). Near Linear Time
+ * Algorithm to Detect Community Structures in Large-Scale Networks. Physical
+ * Review E, 76(3), 036106.
+ *
+ * O(n + m log Δ) - each round, for a maximum degree Δ
+ * O(1) - community(), size(), count()
+ */
+public class LabelPropagation<V,E> {
+    private static final int GRAIN = 4096;     // Vertices per task
+
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    /** Instance Variables **/
+    private final CSR<V,E> g;
+    private final int[] community;      // The community of each vertex
+    private final int[] sizes;          // The number of vertices of each community
+    private final int iterations;       // The number of rounds run
+    private final boolean converged;    // True if the last round changed no label
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_ITERATIONS = "Maximum iterations must not be negative";
+
+    /** Constructors **/
+    /**
+     * Numbers the communities given the final labels
+     * @param g     The graph
+     * @param label label[v] is the same vertex for every vertex of a community
+     */
+    private LabelPropagation(CSR<V,E> g, int[] label, int iterations, boolean converged) {
+        this.g = g;
+        this.iterations = iterations;
+        this.converged = converged;
+        int n = g.numVertices();
+        community = new int[n];
+        int[] number = new int[n];
+        Arrays.fill(number, -1);
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (number[label[v]] < 0) { number[label[v]] = count++; }
+            community[v] = number[label[v]];
+        }
+        sizes = new int[count];
+        for (int v = 0; v < n; v++) { sizes[community[v]]++; }
+    }
+
+    /** Algorithms **/
+    /**
+     * Label propagation with the default maximum iterations, on the common pool
+     * @param g The graph
+     * @return the communities of g
+     */
+    public static <V,E> LabelPropagation<V,E> compute(CSR<V,E> g) {
+        return compute(g, DEFAULT_MAX_ITERATIONS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Label propagation
+     * @param g             The graph
+     * @param maxIterations Stop after this many rounds
+     * @param pool          The pool that runs the tasks of each round
+     * @return the communities of g
+     * @throws IllegalArgumentException if maxIterations is negative
+     */
+    public static <V,E> LabelPropagation<V,E> compute(CSR<V,E> g, int maxIterations, ForkJoinPool pool)
+        throws IllegalArgumentException {
+        if (maxIterations < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_ITERATIONS); }
+        int n = g.numVertices();
+        boolean directed = g.isDirected();
+        int[] label = new int[n], next = new int[n];
+        for (int v = 0; v < n; v++) { label[v] = v; }
+        int iterations = 0;
+        boolean converged = false;
+        while (!converged && iterations < maxIterations) {
+            int[] current = label, updated = next;
+            double changed = ParallelRange.sum(pool, n, GRAIN, (lo, hi) -> {
+                int[] votes = new int[1];       // The labels around a vertex, grown to fit the largest degree
+                int count = 0;
+                for (int v = lo; v < hi; v++) {
+                    int degree = g.outDegree(v) + (directed ? g.inDegree(v) : 0);
+                    if (votes.length < degree + 1) { votes = new int[Math.max(degree + 1, 2 * votes.length)]; }
+                    int k = 0;
+                    votes[k++] = current[v];
+                    for (int i = g.outStart(v), last = g.outEnd(v); i < last; i++) { votes[k++] = current[g.target(i)]; }
+                    if (directed) {
+                        for (int i = g.inStart(v), last = g.inEnd(v); i < last; i++) { votes[k++] = current[g.source(i)]; }
+                    }
+                    updated[v] = mostCommon(votes, k);
+                    if (updated[v] != current[v]) { count++; }
+                }
+                return count;
+            });
+            label = updated;
+            next = current;
+            iterations++;
+            converged = changed == 0;
+        }
+        return new LabelPropagation<>(g, label, iterations, converged);
+    }
+
+    /** Private Utility Methods **/
+    /** @return the most common of the first k votes, the smallest of them on a tie */
+    private static int mostCommon(int[] votes, int k) {
+        Arrays.sort(votes, 0, k);
+        int best = votes[0], bestCount = 0;
+        for (int i = 0; i < k; ) {
+            int j = i;
+            while (j < k && votes[j] == votes[i]) { j++; }
+            if (j - i > bestCount) {
+                best = votes[i];
+                bestCount = j - i;
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    /** Access Methods **/
+    /** @return the graph whose communities were found */
+    public CSR<V,E> graph() { return g; }
+
+    /** @return the number of communities */
+    public int count() { return sizes.length; }
+
+    /** @return the community of vertex v, in [0, count()) */
+    public int community(int v) { return community[v]; }
+
+    /**
+     * @return the community of vertex v, in [0, count())
+     * @throws IllegalArgumentException if v is not a vertex of the graph
+     */
+    public int community(Vertex<V> v) throws IllegalArgumentException { return community[g.id(v)]; }
+
+    /** @return the number of vertices in community c */
+    public int size(int c) { return sizes[c]; }
+
+    /** @return a copy of the sizes of the communities */
+    public int[] sizes() { return Arrays.copyOf(sizes, sizes.length); }
+
+    /** @return the number of rounds run */
+    public int iterations() { return iterations; }
+
+    /** @return true if the last round changed no label */
+    public boolean converged() { return converged; }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class LabelPropagationTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_ITERATIONS = "Maximum iterations must not be negative";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("LabelPropagation Unit Testing has begun ...");
+    }
+
+    /** @return a directed graph of n vertices with the given edges */
+    private static CSRGraph<Integer,Integer> graph(int n, int[][] edges) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i); }
+        return g.freeze();
+    }
+
+    /** @return a directed graph of k cliques of the given size, clique i joined to clique i+1 by one edge */
+    private static CSRGraph<Integer,Integer> cliques(int k, int size) {
+        int[][] edges = new int[k * size * (size - 1) + k - 1][];
+        int e = 0;
+        for (int c = 0; c < k; c++) {
+            for (int a = 0; a < size; a++) {
+                for (int b = 0; b < size; b++) {
+                    if (a != b) { edges[e++] = new int[] {c * size + a, c * size + b}; }
+                }
+            }
+            if (c + 1 < k) { edges[e++] = new int[] {c * size, (c + 1) * size}; }
+        }
+        return graph(k * size, edges);
+    }
+
+    @Test
+    void findsCliques() {
+        LabelPropagation<Integer,Integer> lp = LabelPropagation.compute(cliques(40, 8), 100, new ForkJoinPool(4));
+        assertTrue(lp.converged());
+        assertEquals(40, lp.count());
+        for (int v = 0; v < 320; v++) { assertEquals(v / 8, lp.community(v)); }
+        for (int size : lp.sizes()) { assertEquals(8, size); }
+    }
+
+    @Test
+    void pairSettles() {
+        // Two vertices would swap labels forever without counting their own label
+        LabelPropagation<Integer,Integer> lp = LabelPropagation.compute(
+            graph(3, new int[][] { {0, 1} }));
+        assertTrue(lp.converged());
+        assertEquals(2, lp.count());
+        assertEquals(lp.community(0), lp.community(1));
+        assertEquals(1, lp.size(lp.community(2)));
+    }
+
+    @Test
+    void maxIterations() {
+        LabelPropagation<Integer,Integer> lp = LabelPropagation.compute(cliques(3, 5), 0, ForkJoinPool.commonPool());
+        assertFalse(lp.converged());
+        assertEquals(0, lp.iterations());
+        assertEquals(15, lp.count());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> LabelPropagation.compute(cliques(3, 5), -1, ForkJoinPool.commonPool()));
+        assertEquals(ILLEGAL_ARG_ITERATIONS, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("LabelPropagation Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,185 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A Binary Heap whose keys, or priorities, are primitive longs. It keeps the
+ * Heap-Order and complete binary tree properties of Heap, but rather than an
+ * ArrayList of Entry objects it stores the entries in two parallel arrays:
+ * keys[i] is the priority of values[i]. Inserting an entry therefore does not
+ * allocate an Entry object (or a boxed key), and comparing two entries reads
+ * two longs that sit next to each other in memory rather than following two
+ * references. The arrays only allocate when they double in capacity.
+ *
+ * Rather than swapping an entry with its parent (or child) at every step of
+ * upheap (or downheap), the entry being repositioned is held aside, leaving a
+ * "hole". Each step moves one entry into the hole, and the held entry is
+ * written once, into the final position of the hole. This halves the number
+ * of writes to the arrays.
+ *
+ * Useful for scheduler queues, where priorities are time stamps or deadlines.
+ *
+ * O(log n) - insert(), removeMin()
+ * O(1) - min(), minKey(), size(), isEmpty()
+ */
+public class LongHeap<V> {
+    /** Member Fields of LongHeap **/
+    public static final int DEFAULT_CAPACITY = 16;
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_CAPACITY = "Initial Capacity must be positive";
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+
+    /** Constructors **/
+    public LongHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty heap that can hold the given number of entries before
+     * its arrays grow.
+     * @param capacity The initial capacity of the heap
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public LongHeap(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) { throw new IllegalArgumentException(ILLEGAL_ARG_CAPACITY); }
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /** Protected Helper Methods **/
+    protected int parent(int i) { return (i-1) / 2; }
+    protected int left(int i) { return 2*i + 1; }
+
+    /**
+     * Restores the heap property by moving the entry at index k higher. Parents
+     * with a larger key are moved down into the hole until the entry's place is
+     * found.
+     * @param k     the index of the hole
+     * @param key   the key of the entry to place
+     * @param value the value of the entry to place
+     */
+    protected void upheap(int k, long key, Object value) {
+        while (k > 0) {
+            int p = parent(k);
+            if (key >= keys[p]) { break; }   // Heap property is satisfied
+            keys[k] = keys[p];               // Move the parent down into the hole
+            values[k] = values[p];
+            k = p;
+        }
+        keys[k] = key;
+        values[k] = value;
+    }
+
+    /**
+     * Restores the heap property by moving the entry at index k lower. The smaller
+     * child is moved up into the hole until the entry's place is found.
+     * @param k     the index of the hole
+     * @param key   the key of the entry to place
+     * @param value the value of the entry to place
+     */
+    protected void downheap(int k, long key, Object value) {
+        int half = size / 2;        // Entries at index half and beyond are leaves
+        while (k < half) {
+            int child = left(k);
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) { child = right; }
+            if (key <= keys[child]) { break; }
+            keys[k] = keys[child];  // Move the smaller child up into the hole
+            values[k] = values[child];
+            k = child;
+        }
+        keys[k] = key;
+        values[k] = value;
+    }
+
+    /** Access Methods **/
+    /** @return The number of entries in the heap */
+    public int size() { return size; }
+
+    /** @return true if there are no entries in the heap, false otherwise */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns, but does not remove, the value with the minimal key
+     * @return value of the entry with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V min() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        return (V) values[0];
+    }
+
+    /**
+     * Returns, but does not remove, the minimal key
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long minKey() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        return keys[0];
+    }
+
+    /**
+     * Returns a copy of the keys, in the order they are stored in the heap: each
+     * key is no smaller than the key of its parent, but the keys are not sorted.
+     * @return an array of the keys of the heap
+     */
+    public long[] keys() { return Arrays.copyOf(keys, size); }
+
+    /** Update Methods **/
+    /**
+     * Inserts a Key-Value pair into the heap
+     * @param key   Priority of the entry
+     * @param value Value of the entry
+     */
+    public void insert(long key, V value) {
+        if (size == keys.length) {  // Double the capacity when the arrays are full
+            keys = Arrays.copyOf(keys, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        upheap(size++, key, value); // The hole starts at the end of the arrays
+    }
+
+    /**
+     * Removes and returns the value with the minimal key (root)
+     * @return The value of the entry with the minimal key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V removeMin() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        V removed = (V) values[0];
+        size--;
+        long lastKey = keys[size];  // The last entry fills the hole left at the root
+        Object lastValue = values[size];
+        values[size] = null;        // Help garbage collection
+        if (size > 0) { downheap(0, lastKey, lastValue); }
+        return removed;
+    }
+
+    /**
+     * Removes the entry with the minimal key and inserts the given entry in a
+     * single downheap, which is cheaper than removeMin() followed by insert().
+     * @param key   Priority of the entry to insert
+     * @param value Value of the entry to insert
+     * @return The value of the entry with the minimal key that was removed
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V replaceMin(long key, V value) throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        V removed = (V) values[0];
+        downheap(0, key, value);
+        return removed;
+    }
+
+    /** Removes all entries from the heap, keeping its capacity */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+    }
+}
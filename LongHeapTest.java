@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class LongHeapTest {
+    LongHeap<String> heap;
+
+    // Error Messages
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+    public static final String ILLEGAL_ARG_CAPACITY = "Initial Capacity must be positive";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("LongHeap Unit Testing has begun ...");
+    }
+
+    @BeforeEach
+    public void init() {
+        this.heap = new LongHeap<String>(1);   // Small capacity to exercise growth
+    }
+
+    @Test
+    public void emptyHeap() {
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    public void invalidCapacity() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new LongHeap<String>(0));
+        assertEquals(ILLEGAL_ARG_CAPACITY, e.getMessage());
+    }
+
+    @Test
+    void removeEmptyHeap() {
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> heap.removeMin());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    void minKeyEmptyHeap() {
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> heap.minKey());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    void addOne() {
+        heap.insert(7, "seven");
+        assertAll("heap",
+            () -> assertFalse(heap.isEmpty()),
+            () -> assertEquals(1, heap.size()),
+            () -> assertEquals(7, heap.minKey()),
+            () -> assertEquals("seven", heap.min())
+        );
+    }
+
+    @Test
+    void extremeKeys() {
+        heap.insert(Long.MAX_VALUE, "max");
+        heap.insert(0, "zero");
+        heap.insert(Long.MIN_VALUE, "min");
+        assertEquals("min", heap.removeMin());
+        assertEquals("zero", heap.removeMin());
+        assertEquals("max", heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void replaceMin() {
+        heap.insert(1, "1");
+        heap.insert(5, "5");
+        heap.insert(3, "3");
+        assertEquals("1", heap.replaceMin(4, "4"));
+        assertEquals(3, heap.size());
+        assertEquals("3", heap.removeMin());
+        assertEquals("4", heap.removeMin());
+        assertEquals("5", heap.removeMin());
+    }
+
+    @Test
+    void shuffleAndSortN() {
+        int n = 8192;
+        for (int i = 0; i < n; i++) {
+            long key = ThreadLocalRandom.current().nextLong();
+            heap.insert(key, Long.toString(key));
+        }
+        long previous = Long.MIN_VALUE;
+        for (int k = 0; k < n; k++) {
+            long key = heap.minKey();
+            assertTrue(key >= previous);
+            assertEquals(Long.toString(key), heap.removeMin());
+            previous = key;
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        heap.clear();
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("LongHeap Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,342 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A Sorted Map whose keys are primitive longs, such as time stamps. It is a
+ * Sorted Search Table like SortedTableMap, but rather than an Array List of
+ * Entry objects it stores keys and values in two parallel arrays: keys[i] is
+ * associated with values[i], and keys are in increasing order. A table of n
+ * entries therefore costs two arrays rather than n Entry objects and n boxed
+ * keys, and comparing two keys is a single machine instruction rather than a
+ * call to a Comparator.
+ *
+ * Entries are reported by their index, or rank, within the table, so that no
+ * objects are created by a search: floorIndex(k) returns the index i of the
+ * greatest key less than or equal to k, after which keyAt(i) and valueAt(i)
+ * retrieve the entry.
+ *
+ * Search Strategies: By default the table is searched by Binary Search, which
+ * takes O(log n) steps no matter how the keys are distributed. Two other
+ * strategies are available.
+ *
+ * - Interpolation Search guesses where the key should be by assuming that the
+ *   keys are spread evenly between the smallest and largest key, the same way
+ *   one would open a phone book near the back to find "Williams". For keys that
+ *   are uniformly distributed, such as regularly sampled time stamps, it takes
+ *   O(log log n) steps. Since a skewed distribution can make it take O(n) steps,
+ *   it falls back to binary search if the guesses do not converge quickly.
+ *
+ * - Eytzinger Layout stores a copy of the keys in the order of a breadth-first
+ *   traversal of the binary search tree that binary search implicitly walks:
+ *   the root (the middle key) at index 1, and the children of index k at 2k
+ *   and 2k+1. The first few levels of the tree, visited by every search, are
+ *   then packed together in a few cache lines rather than spread across the
+ *   table, which makes searches of large tables noticeably faster. The layout
+ *   is built by freeze() in O(n) time and discarded by the next update, so it
+ *   suits tables that are read far more often than they are written.
+ *
+ * O(log n) - get(), floorIndex(), cielingIndex(), lowerIndex(), higherIndex()
+ * O(n) - put() and remove() of a new key, which shift the arrays
+ * O(1) - keyAt(), valueAt(), firstKey(), lastKey()
+ */
+public class LongSortedTableMap<V> {
+    /** Instance Variables **/
+    public static final int DEFAULT_CAPACITY = 16;
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    private boolean interpolation;  // Search by interpolation rather than binary search
+    private long[] layout;          // Keys in Eytzinger order, or null if not frozen
+    private int[] rank;             // rank[k] is the index of layout[k] within keys
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_CAPACITY = "Initial Capacity must be positive";
+    private static final String EMPTY = "Map is empty";
+
+    /** Constructors **/
+    public LongSortedTableMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty table that can hold the given number of entries
+     * before growing.
+     * @param capacity The initial capacity of the table
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public LongSortedTableMap(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) { throw new IllegalArgumentException(ILLEGAL_ARG_CAPACITY); }
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /** Access Methods **/
+    /** @return the number of entries in the map */
+    public int size() { return size; }
+
+    /** @return true if the map is empty, false otherwise */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Chooses whether searches use interpolation search rather than binary search.
+     * Interpolation is faster when keys are uniformly distributed.
+     * @param enabled true to use interpolation search
+     */
+    public void setInterpolation(boolean enabled) { this.interpolation = enabled; }
+
+    /**
+     * Builds the Eytzinger layout of the keys, which is used by searches until the
+     * next update to the map. Call once a table is built and will mostly be read.
+     */
+    public void freeze() {
+        layout = new long[size + 1];    // Index 0 is unused, the root is at index 1
+        rank = new int[size + 1];
+        build(1, 0);
+    }
+
+    /**
+     * Fills the layout by an in-order traversal of the implicit tree rooted at k,
+     * which visits the nodes in increasing order of keys.
+     * @param k The node of the implicit tree to fill
+     * @param i The index of the next key to place
+     * @return the index of the next key to place after this subtree
+     */
+    private int build(int k, int i) {
+        if (k > size) { return i; }
+        i = build(2 * k, i);        // Left subtree holds the smaller keys
+        layout[k] = keys[i];
+        rank[k] = i++;
+        return build(2 * k + 1, i); // Right subtree holds the larger keys
+    }
+
+    /** Discards the Eytzinger layout, called before the table is modified */
+    private void thaw() {
+        layout = null;
+        rank = null;
+    }
+
+    /**
+     * Returns the index of the given key if it is present. Otherwise returns the
+     * index of the least key greater than the given key, or size() if there is
+     * no such key. Dispatches to the chosen search strategy.
+     * @param key The key to search for
+     * @return the index of the least key greater than or equal to the key
+     */
+    private int findIndex(long key) {
+        if (layout != null) { return eytzingerSearch(key); }
+        if (interpolation) { return interpolationSearch(key); }
+        return binarySearch(key, 0, size - 1);
+    }
+
+    /** Binary search for the least key greater than or equal to key, within [lo, hi] */
+    private int binarySearch(long key, int lo, int hi) {
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) {
+                lo = mid + 1;
+            } else if (keys[mid] > key) {
+                hi = mid - 1;
+            } else {
+                return mid;     // Exact Match
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Interpolation search for the least key greater than or equal to key. Each
+     * step estimates the position of the key by its distance between the keys at
+     * either end of the range. After 2*log2(n) steps without converging the keys
+     * are assumed to be skewed and the remaining range is binary searched.
+     */
+    private int interpolationSearch(long key) {
+        int lo = 0, hi = size - 1;
+        int steps = 2 * (32 - Integer.numberOfLeadingZeros(size));
+        while (lo <= hi && key >= keys[lo] && key <= keys[hi]) {
+            if (steps-- == 0) { return binarySearch(key, lo, hi); }
+            if (keys[lo] == keys[hi]) { return lo; }    // Keys are unique, so lo == hi
+            // Doubles avoid overflow in the distance between two extreme longs
+            double fraction = ((double) key - keys[lo]) / ((double) keys[hi] - keys[lo]);
+            int pos = lo + (int) (fraction * (hi - lo));
+            if (keys[pos] < key) {
+                lo = pos + 1;
+            } else if (keys[pos] > key) {
+                hi = pos - 1;
+            } else {
+                return pos;
+            }
+        }
+        // The key lies outside of [keys[lo], keys[hi]]
+        return (lo <= hi && key > keys[hi]) ? hi + 1 : lo;
+    }
+
+    /**
+     * Search of the Eytzinger layout for the least key greater than or equal to
+     * key. The search descends the implicit tree, going right (2k+1) whenever the
+     * key at k is smaller, until it falls off the bottom. The answer is the last
+     * node where the search went left, which is found by removing the trailing
+     * right turns (1 bits) and the final left turn (a 0 bit) from k.
+     */
+    private int eytzingerSearch(long key) {
+        int k = 1;
+        while (k <= size) {
+            k = 2 * k + (layout[k] < key ? 1 : 0);
+        }
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return (k == 0) ? size : rank[k];
+    }
+
+    /**
+     * Returns the value associated with the specified key, or null if no such
+     * entry exists.
+     * @param key the key whose associated value is to be returned
+     * @return the associated value, or null if no such entry exists
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = findIndex(key);
+        if (i == size || keys[i] != key) { return null; }
+        return (V) values[i];
+    }
+
+    /**
+     * @param key the key whose entry is to be found
+     * @return true if the map contains an entry for the key, false otherwise
+     */
+    public boolean containsKey(long key) {
+        int i = findIndex(key);
+        return i < size && keys[i] == key;
+    }
+
+    /**
+     * Returns the key at the given index, where keys are in increasing order
+     * @param i The index of the entry
+     * @return the key at index i
+     * @throws IndexOutOfBoundsException if i is not within [0, size)
+     */
+    public long keyAt(int i) throws IndexOutOfBoundsException {
+        checkIndex(i);
+        return keys[i];
+    }
+
+    /**
+     * Returns the value at the given index, where keys are in increasing order
+     * @param i The index of the entry
+     * @return the value at index i
+     * @throws IndexOutOfBoundsException if i is not within [0, size)
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int i) throws IndexOutOfBoundsException {
+        checkIndex(i);
+        return (V) values[i];
+    }
+
+    /** @throws IndexOutOfBoundsException if i is not within [0, size) */
+    private void checkIndex(int i) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= size) { throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size); }
+    }
+
+    /**
+     * @return the smallest key in the map
+     * @throws NoSuchElementException if the map is empty
+     */
+    public long firstKey() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(EMPTY); }
+        return keys[0];
+    }
+
+    /**
+     * @return the largest key in the map
+     * @throws NoSuchElementException if the map is empty
+     */
+    public long lastKey() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(EMPTY); }
+        return keys[size - 1];
+    }
+
+    /** Additional Methods for the Sorted Map ADT */
+    /**
+     * @param key The key to compare with
+     * @return index of the least key greater than or equal to key, or -1 if none
+     */
+    public int cielingIndex(long key) {
+        int i = findIndex(key);
+        return (i == size) ? -1 : i;
+    }
+
+    /**
+     * @param key The key to compare with
+     * @return index of the greatest key less than or equal to key, or -1 if none
+     */
+    public int floorIndex(long key) {
+        int i = findIndex(key);
+        return (i < size && keys[i] == key) ? i : i - 1;
+    }
+
+    /**
+     * @param key The key to compare with
+     * @return index of the greatest key strictly less than key, or -1 if none
+     */
+    public int lowerIndex(long key) {
+        return findIndex(key) - 1;
+    }
+
+    /**
+     * @param key The key to compare with
+     * @return index of the least key strictly greater than key, or -1 if none
+     */
+    public int higherIndex(long key) {
+        int i = findIndex(key);
+        if (i < size && keys[i] == key) { i++; }
+        return (i == size) ? -1 : i;
+    }
+
+    /** Update Methods **/
+    /**
+     * Associates the value with the key. If an entry with the key was already in
+     * the map, this replaces its value and returns the old value. Otherwise the
+     * arrays are shifted to make room for the new entry and null is returned.
+     * @param key   The key of the entry
+     * @param value The value associated with the key
+     * @return the previous value associated with the key (or null if no such entry)
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        int i = findIndex(key);
+        if (i < size && keys[i] == key) {
+            V old = (V) values[i];
+            values[i] = value;      // Replacing a value does not change the layout
+            return old;
+        }
+        thaw();
+        if (size == keys.length) {  // Double the capacity when the arrays are full
+            keys = Arrays.copyOf(keys, 2 * size);
+            values = Arrays.copyOf(values, 2 * size);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(values, i, values, i + 1, size - i);
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with the specified key, if present, and returns its
+     * associated value. Otherwise does nothing and returns null.
+     * @param key The key whose entry is to be removed
+     * @return The previous value of associated key, or null if no such entry exists
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = findIndex(key);
+        if (i == size || keys[i] != key) { return null; }
+        thaw();
+        V old = (V) values[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        values[--size] = null;      // Help garbage collection
+        return old;
+    }
+}
@@ -0,0 +1,200 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class LongSortedTableMapTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_CAPACITY = "Initial Capacity must be positive";
+    private static final String EMPTY = "Map is empty";
+
+    // The three search strategies
+    private enum Mode { BINARY, INTERPOLATION, EYTZINGER }
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("LongSortedTableMap Unit Testing has begun ...");
+    }
+
+    /** @return a table in the given mode holding the same entries as expected */
+    private static LongSortedTableMap<String> table(TreeMap<Long,String> expected, Mode mode) {
+        LongSortedTableMap<String> map = new LongSortedTableMap<>(1);
+        for (long key : expected.keySet()) { map.put(key, expected.get(key)); }
+        map.setInterpolation(mode == Mode.INTERPOLATION);
+        if (mode == Mode.EYTZINGER) { map.freeze(); }
+        return map;
+    }
+
+    /** @return the index of key within the table, or -1 if key is null */
+    private static int index(TreeMap<Long,String> expected, Long key) {
+        return (key == null) ? -1 : expected.headMap(key).size();
+    }
+
+    /** Checks every entry and the queries for each probe against the reference map */
+    private static void verify(TreeMap<Long,String> expected, LongSortedTableMap<String> actual, long[] probes) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        int i = 0;
+        for (long key : expected.keySet()) {
+            assertEquals(key, actual.keyAt(i));
+            assertEquals(expected.get(key), actual.valueAt(i++));
+        }
+        if (!expected.isEmpty()) {
+            assertEquals((long) expected.firstKey(), actual.firstKey());
+            assertEquals((long) expected.lastKey(), actual.lastKey());
+        }
+        for (long key : probes) {
+            assertEquals(expected.get(key), actual.get(key));
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+            assertEquals(index(expected, expected.ceilingKey(key)), actual.cielingIndex(key));
+            assertEquals(index(expected, expected.floorKey(key)), actual.floorIndex(key));
+            assertEquals(index(expected, expected.lowerKey(key)), actual.lowerIndex(key));
+            assertEquals(index(expected, expected.higherKey(key)), actual.higherIndex(key));
+        }
+    }
+
+    /** @return the keys of the map, each key plus and minus one, and the extreme longs */
+    private static long[] probes(TreeMap<Long,String> expected) {
+        long[] probes = new long[3 * expected.size() + 4];
+        int i = 0;
+        for (long key : expected.keySet()) {
+            probes[i++] = key;
+            probes[i++] = key - 1;
+            probes[i++] = key + 1;
+        }
+        probes[i++] = Long.MIN_VALUE;
+        probes[i++] = Long.MIN_VALUE + 1;
+        probes[i++] = Long.MAX_VALUE - 1;
+        probes[i] = Long.MAX_VALUE;
+        return probes;
+    }
+
+    /** Checks a table in every mode against the reference, probing near each key and at random */
+    private static void verifyAllModes(TreeMap<Long,String> expected, Random random) {
+        long[] probes = probes(expected);
+        for (int i = 0; i < 200; i++) { probes[random.nextInt(probes.length)] = random.nextLong(); }
+        for (Mode mode : Mode.values()) { verify(expected, table(expected, mode), probes); }
+    }
+
+    @Test
+    void uniformKeys() {
+        Random random = new Random(1);
+        TreeMap<Long,String> expected = new TreeMap<>();
+        // Regularly sampled time stamps with a little jitter
+        for (long t = 0; t < 5000; t++) { expected.put(1_600_000_000_000L + 1000 * t + random.nextInt(100), "t" + t); }
+        verifyAllModes(expected, random);
+    }
+
+    @Test
+    void skewedKeys() {
+        // Exponentially spaced keys defeat interpolation, which must fall back to binary search
+        Random random = new Random(2);
+        TreeMap<Long,String> expected = new TreeMap<>();
+        for (int i = 0; i < 62; i++) { expected.put(1L << i, "2^" + i); }
+        for (int i = 0; i < 2000; i++) { expected.put((long) i, "i" + i); }
+        for (int i = 0; i < 2000; i++) { expected.put(random.nextLong(), "r" + i); }
+        verifyAllModes(expected, random);
+    }
+
+    @Test
+    void extremeKeys() {
+        Random random = new Random(3);
+        TreeMap<Long,String> expected = new TreeMap<>();
+        long[] keys = {Long.MIN_VALUE, Long.MIN_VALUE + 1, -1, 0, 1, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (long key : keys) {
+            expected.put(key, Long.toString(key));
+            verifyAllModes(expected, random);
+        }
+        TreeMap<Long,String> ends = new TreeMap<>();
+        ends.put(Long.MIN_VALUE, "min");
+        ends.put(Long.MAX_VALUE, "max");
+        verifyAllModes(ends, random);
+    }
+
+    @Test
+    void randomUpdates() {
+        // Interleaved puts and removes, checking every mode and discarding the layout on each update
+        Random random = new Random(4);
+        for (Mode mode : Mode.values()) {
+            TreeMap<Long,String> expected = new TreeMap<>();
+            LongSortedTableMap<String> actual = table(expected, mode);
+            for (int i = 0; i < 3000; i++) {
+                long key = random.nextInt(1000) * 1000L;
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), actual.remove(key));
+                } else {
+                    assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+                }
+                if (mode == Mode.EYTZINGER && random.nextInt(10) == 0) { actual.freeze(); }
+                if (i % 100 == 0) { verify(expected, actual, probes(expected)); }
+            }
+            verify(expected, actual, probes(expected));
+        }
+    }
+
+    @Test
+    void updatesAfterFreeze() {
+        TreeMap<Long,String> expected = new TreeMap<>();
+        for (long k = 0; k < 100; k += 2) { expected.put(k, "v" + k); }
+        LongSortedTableMap<String> actual = table(expected, Mode.EYTZINGER);
+        // Replacing a value keeps the layout, which must still find the new value
+        assertEquals("v10", actual.put(10, "ten"));
+        expected.put(10L, "ten");
+        verify(expected, actual, probes(expected));
+        // A new key and a removal each discard the layout
+        assertNull(actual.put(51, "odd"));
+        expected.put(51L, "odd");
+        verify(expected, actual, probes(expected));
+        actual.freeze();
+        assertEquals("v0", actual.remove(0));
+        expected.remove(0L);
+        verify(expected, actual, probes(expected));
+        assertNull(actual.remove(0));
+        actual.freeze();
+        verify(expected, actual, probes(expected));
+    }
+
+    @Test
+    void emptyMap() {
+        for (Mode mode : Mode.values()) {
+            LongSortedTableMap<String> map = table(new TreeMap<>(), mode);
+            assertTrue(map.isEmpty());
+            assertNull(map.get(0));
+            assertFalse(map.containsKey(Long.MIN_VALUE));
+            assertEquals(-1, map.cielingIndex(0));
+            assertEquals(-1, map.floorIndex(0));
+            assertEquals(-1, map.lowerIndex(0));
+            assertEquals(-1, map.higherIndex(0));
+            assertNull(map.remove(0));
+            NoSuchElementException e = assertThrows(NoSuchElementException.class, () -> map.firstKey());
+            assertEquals(EMPTY, e.getMessage());
+            e = assertThrows(NoSuchElementException.class, () -> map.lastKey());
+            assertEquals(EMPTY, e.getMessage());
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new LongSortedTableMap<String>(0));
+        assertEquals(ILLEGAL_ARG_CAPACITY, e.getMessage());
+        LongSortedTableMap<String> map = new LongSortedTableMap<>();
+        map.put(5, "five");
+        assertThrows(IndexOutOfBoundsException.class, () -> map.keyAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.valueAt(-1));
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("LongSortedTableMap Unit Testing is complete.");
+    }
+}
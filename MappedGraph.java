@@ -0,0 +1,421 @@
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * A read-only graph backed by a memory-mapped graph file. Rebuilding a Graph
+ * from text on every start means parsing and inserting every vertex and edge
+ * into hash maps; a graph file instead stores the graph in the layout of a
+ * CSRGraph, so opening it only maps the file into memory, and the operating
+ * system pages in the parts that are read. Loading is therefore independent of
+ * the size of the graph, and the pages are shared between processes.
+ *
+ * Vertices and edges are numbered as in the CSRGraph that write() freezes, and
+ * both implement CSR, so the graph algorithms run on a mapped graph as well.
+ * A mapped graph keeps no Vertex or Edge objects, so id() and edge() throw, and
+ * results are read by vertex and edge id. The elements of vertices and edges are
+ * encoded by a Codec into length-prefixed records, which are only decoded when
+ * vertexElement() or edgeElement() asks for them.
+ *
+ * File layout: all numbers are big-endian, every section starts on an 8-byte
+ * boundary and every record on a 4-byte boundary, so no int or long crosses the
+ * boundary of a mapped segment; only the bytes of a record may.
+ *
+ *  header        magic, version, directed, n, m, slots, and the offset of each section
+ *  edge ends     int[m] source and int[m] target of each edge
+ *  forward CSR   int[n+1] offsets, int[slots] targets, int[slots] edge ids
+ *  reverse CSR   the same, for a directed graph only
+ *  vertex index  long[n] offset of the record of each vertex
+ *  edge index    long[m] offset of the record of each edge
+ *  records       int length (-1 for a null element) followed by the encoded bytes,
+ *                each padded to a 4-byte boundary
+ *
+ * The file is mapped in segments of up to 1 GB, like DiskSortedTableMap, since
+ * a single mapping cannot exceed 2 GB.
+ *
+ * O(1) - every accessor, plus decoding for vertexElement() and edgeElement()
+ * O(n + m) - write()
+ */
+public class MappedGraph<V,E> implements CSR<V,E>, Closeable {
+    /** File Layout **/
+    private static final int MAGIC = 0x47525048;          // Marks a graph file
+    private static final int VERSION = 1;
+    private static final int HEADER = 128;                 // Bytes reserved for the header
+    private static final int SEGMENT_SHIFT = 30;           // Segments of 1 GB
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final int BUFFER_SIZE = 1 << 20;        // Bytes buffered by the writer
+
+    // Error Messages
+    public static final String CORRUPT_FILE = "File is not a graph file";
+    private static final String ILLEGAL_NODE = "Invalid Vertex";
+    private static final String NO_EDGES = "A mapped graph has no Edge objects";
+
+    /** Instance Variables **/
+    private final FileChannel channel;
+    private final Codec<V> vertexCodec;
+    private final Codec<E> edgeCodec;
+    private MappedByteBuffer[] segments;
+    private final boolean directed;
+    private final int n, m, slots;      // The number of vertices, edges and forward CSR slots
+
+    // The offset in the file of each section
+    private final long edgeSource, edgeTarget;
+    private final long offsets, targets, edgeIds;
+    private final long inOffsets, sources, inEdgeIds;
+    private final long vertexIndex, edgeIndex;
+
+    /** Constructors **/
+    /**
+     * Opens a graph file written by write() and maps it into memory
+     * @param file        The graph file
+     * @param vertexCodec Decodes the elements of vertices
+     * @param edgeCodec   Decodes the elements of edges
+     * @throws IOException if the file cannot be opened or is not a graph file
+     */
+    public MappedGraph(File file, Codec<V> vertexCodec, Codec<E> edgeCodec) throws IOException {
+        this.vertexCodec = vertexCodec;
+        this.edgeCodec = edgeCodec;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long length = channel.size();
+            if (length < HEADER) { throw new IOException(CORRUPT_FILE); }
+            int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            segments = new MappedByteBuffer[count];
+            for (int s = 0; s < count; s++) {
+                long start = (long) s << SEGMENT_SHIFT;
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(SEGMENT_MASK + 1, length - start));
+            }
+            // Read and validate the header
+            ByteBuffer header = segments[0].duplicate();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) { throw new IOException(CORRUPT_FILE); }
+            directed = header.getInt() != 0;
+            n = header.getInt();
+            m = header.getInt();
+            slots = header.getInt();
+            edgeSource = header.getLong();
+            edgeTarget = header.getLong();
+            offsets = header.getLong();
+            targets = header.getLong();
+            edgeIds = header.getLong();
+            inOffsets = header.getLong();
+            sources = header.getLong();
+            inEdgeIds = header.getLong();
+            vertexIndex = header.getLong();
+            edgeIndex = header.getLong();
+            // Every section must lie within the file, so a truncated file fails here rather than on a read
+            long reverse = directed ? m : slots;
+            if (n < 0 || m < 0 || slots < 0
+                || !fits(edgeSource, 4L * m, length) || !fits(edgeTarget, 4L * m, length)
+                || !fits(offsets, 4L * (n + 1), length) || !fits(targets, 4L * slots, length)
+                || !fits(edgeIds, 4L * slots, length) || !fits(inOffsets, 4L * (n + 1), length)
+                || !fits(sources, 4L * reverse, length) || !fits(inEdgeIds, 4L * reverse, length)
+                || !fits(vertexIndex, 8L * n, length) || !fits(edgeIndex, 8L * m, length)) {
+                throw new IOException(CORRUPT_FILE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /*** Nested Output class ***/
+    /** Buffers the sequential writes of write(), tracking the offset in the file */
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        private long position;
+
+        Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        /** @return the offset in the file of the next byte written */
+        long position() { return position; }
+
+        void putInt(int x) throws IOException {
+            if (buf.remaining() < Integer.BYTES) { drain(); }
+            buf.putInt(x);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long x) throws IOException {
+            if (buf.remaining() < Long.BYTES) { drain(); }
+            buf.putLong(x);
+            position += Long.BYTES;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length; ) {
+                if (!buf.hasRemaining()) { drain(); }
+                int k = Math.min(buf.remaining(), bytes.length - i);
+                buf.put(bytes, i, k);
+                i += k;
+            }
+            position += bytes.length;
+        }
+
+        /** Pads with zeros to a multiple of 8 bytes, and returns the aligned offset */
+        long align() throws IOException {
+            return align(Long.BYTES);
+        }
+
+        /** Pads with zeros to a multiple of the given power of two, and returns the aligned offset */
+        long align(int bytes) throws IOException {
+            while ((position & (bytes - 1)) != 0) {
+                if (!buf.hasRemaining()) { drain(); }
+                buf.put((byte) 0);
+                position++;
+            }
+            return position;
+        }
+
+        /** Writes the buffered bytes to the file */
+        void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) { channel.write(buf); }
+            buf.clear();
+        }
+    }
+    /*** End of Output class ***/
+
+    /** Writing **/
+    /**
+     * Writes a graph to a graph file, replacing any existing file
+     * @param g           The graph to write
+     * @param file        The file to write
+     * @param vertexCodec Encodes the elements of vertices
+     * @param edgeCodec   Encodes the elements of edges
+     * @throws IOException if the file cannot be written
+     */
+    public static <V,E> void write(Graph<V,E> g, File file, Codec<V> vertexCodec, Codec<E> edgeCodec)
+        throws IOException {
+        write(g.freeze(), file, vertexCodec, edgeCodec);
+    }
+
+    /**
+     * Writes a frozen or mapped graph to a graph file, replacing any existing
+     * file. The vertices and edges keep the ids they have in g.
+     * @param g           The graph to write
+     * @param file        The file to write
+     * @param vertexCodec Encodes the elements of vertices
+     * @param edgeCodec   Encodes the elements of edges
+     * @throws IOException if the file cannot be written
+     */
+    public static <V,E> void write(CSR<V,E> g, File file, Codec<V> vertexCodec, Codec<E> edgeCodec)
+        throws IOException {
+        int n = g.numVertices(), m = g.numEdges();
+        int slots = g.outStart(n);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel, HEADER);
+            channel.position(HEADER);
+            long[] section = new long[10];
+
+            // 1. Endpoints of each edge
+            section[0] = out.align();
+            for (int e = 0; e < m; e++) { out.putInt(g.edgeSource(e)); }
+            section[1] = out.align();
+            for (int e = 0; e < m; e++) { out.putInt(g.edgeTarget(e)); }
+
+            // 2. Forward CSR
+            section[2] = out.align();
+            for (int u = 0; u <= n; u++) { out.putInt(g.outStart(u)); }
+            section[3] = out.align();
+            for (int i = 0; i < slots; i++) { out.putInt(g.target(i)); }
+            section[4] = out.align();
+            for (int i = 0; i < slots; i++) { out.putInt(g.outEdge(i)); }
+
+            // 3. Reverse CSR, which an undirected graph shares with the forward CSR
+            if (g.isDirected()) {
+                section[5] = out.align();
+                for (int v = 0; v <= n; v++) { out.putInt(g.inStart(v)); }
+                section[6] = out.align();
+                for (int i = 0; i < m; i++) { out.putInt(g.source(i)); }
+                section[7] = out.align();
+                for (int i = 0; i < m; i++) { out.putInt(g.inEdge(i)); }
+            } else {
+                section[5] = section[2];
+                section[6] = section[3];
+                section[7] = section[4];
+            }
+
+            // 4. Records of the elements, then the index of where each begins
+            long[] vertexRecords = new long[n];
+            for (int v = 0; v < n; v++) { vertexRecords[v] = putRecord(out, vertexCodec, g.vertexElement(v)); }
+            long[] edgeRecords = new long[m];
+            for (int e = 0; e < m; e++) { edgeRecords[e] = putRecord(out, edgeCodec, g.edgeElement(e)); }
+            section[8] = out.align();
+            for (long offset : vertexRecords) { out.putLong(offset); }
+            section[9] = out.align();
+            for (long offset : edgeRecords) { out.putLong(offset); }
+            out.drain();
+
+            // 5. The header, written last so a partly written file is never valid
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            header.putInt(MAGIC).putInt(VERSION).putInt(g.isDirected() ? 1 : 0);
+            header.putInt(n).putInt(m).putInt(slots);
+            for (long offset : section) { header.putLong(offset); }
+            header.clear();
+            long position = 0;
+            while (header.hasRemaining()) { position += channel.write(header, position); }
+            channel.force(false);
+        }
+    }
+
+    /** Writes the length-prefixed record of an element at a 4-byte boundary, and returns its offset */
+    private static <T> long putRecord(Output out, Codec<T> codec, T element) throws IOException {
+        long offset = out.align(Integer.BYTES);
+        if (element == null) {
+            out.putInt(-1);
+        } else {
+            byte[] bytes = codec.encode(element);
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+        return offset;
+    }
+
+    /** Private Utility Methods **/
+    /**
+     * @return true if a section of the given length starting at offset lies after
+     * the header and within a file of the given length, on an 8-byte boundary
+     */
+    private static boolean fits(long offset, long bytes, long length) {
+        return offset >= HEADER && (offset & (Long.BYTES - 1)) == 0 && offset <= length - bytes;
+    }
+
+    /** @return the int at the given offset of the file */
+    private int getInt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    /** @return the long at the given offset of the file */
+    private long getLong(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    /** Decodes the record at the given offset, which may cross the boundary of a segment */
+    private <T> T getRecord(long offset, Codec<T> codec) {
+        int length = getInt(offset);
+        if (length < 0) { return null; }
+        byte[] bytes = new byte[length];
+        long from = offset + Integer.BYTES;
+        for (int i = 0; i < length; ) {
+            ByteBuffer segment = segments[(int) (from >>> SEGMENT_SHIFT)].duplicate();
+            segment.position((int) (from & SEGMENT_MASK));
+            int k = Math.min(segment.remaining(), length - i);
+            segment.get(bytes, i, k);
+            i += k;
+            from += k;
+        }
+        return codec.decode(bytes);
+    }
+
+    /** Access Methods **/
+    /** @return true if the graph is directed, false if undirected */
+    public boolean isDirected() { return directed; }
+
+    /** @return the number of vertices, which are numbered [0, numVertices()) */
+    public int numVertices() { return n; }
+
+    /** @return the number of edges, which are numbered [0, numEdges()) */
+    public int numEdges() { return m; }
+
+    /**
+     * A mapped graph has no Vertex objects, so no vertex is a vertex of it
+     * @throws IllegalArgumentException always
+     */
+    public int id(Vertex<V> v) throws IllegalArgumentException {
+        throw new IllegalArgumentException(ILLEGAL_NODE);
+    }
+
+    /**
+     * A mapped graph has no Edge objects; read edgeElement() instead
+     * @throws UnsupportedOperationException always
+     */
+    public Edge<E> edge(int id) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException(NO_EDGES);
+    }
+
+    /** @return the element stored at the vertex with the given id, decoded from the file */
+    public V vertexElement(int id) { return getRecord(getLong(vertexIndex + 8L * id), vertexCodec); }
+
+    /** @return the element stored at the edge with the given id, decoded from the file */
+    public E edgeElement(int id) { return getRecord(getLong(edgeIndex + 8L * id), edgeCodec); }
+
+    /** @return the origin of the edge, or for an undirected graph its first endpoint */
+    public int edgeSource(int e) { return getInt(edgeSource + 4L * e); }
+
+    /** @return the destination of the edge, or for an undirected graph its second endpoint */
+    public int edgeTarget(int e) { return getInt(edgeTarget + 4L * e); }
+
+    /** @return the endpoint of edge e opposite vertex u */
+    public int opposite(int u, int e) {
+        int source = edgeSource(e);
+        return (source == u) ? edgeTarget(e) : source;
+    }
+
+    /** Forward CSR **/
+    /** @return the number of edges leaving vertex u */
+    public int outDegree(int u) { return outEnd(u) - outStart(u); }
+
+    /** @return the first slot of the outgoing edges of vertex u */
+    public int outStart(int u) { return getInt(offsets + 4L * u); }
+
+    /** @return one past the last slot of the outgoing edges of vertex u */
+    public int outEnd(int u) { return getInt(offsets + 4L * (u + 1)); }
+
+    /** @return the vertex at the far end of the outgoing edge in slot i */
+    public int target(int i) { return getInt(targets + 4L * i); }
+
+    /** @return the id of the outgoing edge in slot i */
+    public int outEdge(int i) { return getInt(edgeIds + 4L * i); }
+
+    /** Reverse CSR, the same slots as the forward CSR for an undirected graph **/
+    /** @return the number of edges entering vertex v */
+    public int inDegree(int v) { return inEnd(v) - inStart(v); }
+
+    /** @return the first slot of the incoming edges of vertex v */
+    public int inStart(int v) { return getInt(inOffsets + 4L * v); }
+
+    /** @return one past the last slot of the incoming edges of vertex v */
+    public int inEnd(int v) { return getInt(inOffsets + 4L * (v + 1)); }
+
+    /** @return the vertex at the near end of the incoming edge in slot i */
+    public int source(int i) { return getInt(sources + 4L * i); }
+
+    /** @return the id of the incoming edge in slot i */
+    public int inEdge(int i) { return getInt(inEdgeIds + 4L * i); }
+
+    /**
+     * Decodes every element and rebuilds a mutable Graph, whose vertices and
+     * edges are inserted in order of id, so freezing it gives the same ids.
+     * @return a new Graph equal to the graph that was written
+     */
+    public Graph<V,E> toGraph() {
+        Graph<V,E> g = new Graph<>(directed);
+        ArrayList<Vertex<V>> vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) { vertices.add(g.insertVertex(vertexElement(v))); }
+        for (int e = 0; e < m; e++) {
+            g.insertEdge(vertices.get(edgeSource(e)), vertices.get(edgeTarget(e)), edgeElement(e));
+        }
+        return g;
+    }
+
+    /**
+     * Releases the mapping and closes the graph file. The graph may not be used afterwards.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+}
@@ -0,0 +1,228 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class MappedGraphTest {
+
+    // Error Messages
+    private static final String CORRUPT_FILE = "File is not a graph file";
+    private static final String ILLEGAL_NODE = "Invalid Vertex";
+
+    @TempDir
+    File dir;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("MappedGraph Unit Testing has begun ...");
+    }
+
+    /** @return a graph of n vertices named by their index and m random edges named by their endpoints */
+    private static Graph<String,String> random(boolean directed, int n, int m, long seed) {
+        Graph<String,String> g = new Graph<>(directed);
+        ArrayList<Vertex<String>> v = new ArrayList<>();
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex("v" + i)); }
+        Random random = new Random(seed);
+        for (int e = 0; e < m; ) {
+            Vertex<String> a = v.get(random.nextInt(n)), b = v.get(random.nextInt(n));
+            if (g.getEdge(a, b) == null && g.getEdge(b, a) == null) {
+                g.insertEdge(a, b, a.getElement() + "-" + b.getElement());
+                e++;
+            }
+        }
+        return g;
+    }
+
+    /** Checks that the mapped graph has the same ids, adjacency and elements as the frozen graph */
+    private static void verify(CSRGraph<String,String> expected, MappedGraph<String,String> actual) {
+        assertEquals(expected.isDirected(), actual.isDirected());
+        assertEquals(expected.numVertices(), actual.numVertices());
+        assertEquals(expected.numEdges(), actual.numEdges());
+        for (int u = 0; u < expected.numVertices(); u++) {
+            assertEquals(expected.vertexElement(u), actual.vertexElement(u));
+            assertEquals(expected.outStart(u), actual.outStart(u));
+            assertEquals(expected.outEnd(u), actual.outEnd(u));
+            assertEquals(expected.inStart(u), actual.inStart(u));
+            assertEquals(expected.inEnd(u), actual.inEnd(u));
+            for (int i = expected.outStart(u); i < expected.outEnd(u); i++) {
+                assertEquals(expected.target(i), actual.target(i));
+                assertEquals(expected.outEdge(i), actual.outEdge(i));
+            }
+            for (int i = expected.inStart(u); i < expected.inEnd(u); i++) {
+                assertEquals(expected.source(i), actual.source(i));
+                assertEquals(expected.inEdge(i), actual.inEdge(i));
+            }
+        }
+        for (int e = 0; e < expected.numEdges(); e++) {
+            assertEquals(expected.edgeSource(e), actual.edgeSource(e));
+            assertEquals(expected.edgeTarget(e), actual.edgeTarget(e));
+            assertEquals(expected.edgeElement(e), actual.edgeElement(e));
+        }
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<String,String> g = random(directed, 2000, 8000, 1);
+            File file = new File(dir, "graph" + directed);
+            MappedGraph.write(g, file, Codec.STRING, Codec.STRING);
+            try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+                verify(g.freeze(), mapped);
+            }
+        }
+    }
+
+    @Test
+    void toGraphKeepsIds() throws IOException {
+        Graph<String,String> g = random(true, 300, 900, 2);
+        File file = new File(dir, "graph");
+        MappedGraph.write(g, file, Codec.STRING, Codec.STRING);
+        try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+            Graph<String,String> copy = mapped.toGraph();
+            assertEquals(g.numEdges(), copy.numEdges());
+            verify(copy.freeze(), mapped);
+        }
+    }
+
+    @Test
+    void nullAndEmptyElements() throws IOException {
+        Graph<Integer,String> g = new Graph<>(false);
+        Vertex<Integer> a = g.insertVertex(null), b = g.insertVertex(7);
+        g.insertEdge(a, b, "");
+        g.insertEdge(b, b, null);
+        File file = new File(dir, "graph");
+        MappedGraph.write(g, file, Codec.INTEGER, Codec.STRING);
+        try (MappedGraph<Integer,String> mapped = new MappedGraph<>(file, Codec.INTEGER, Codec.STRING)) {
+            assertFalse(mapped.isDirected());
+            assertNull(mapped.vertexElement(0));
+            assertEquals(7, mapped.vertexElement(1));
+            assertEquals("", mapped.edgeElement(0));
+            assertNull(mapped.edgeElement(1));
+            assertEquals(2, mapped.outDegree(1));   // The edge to a, and the self-loop once
+            assertEquals(0, mapped.opposite(1, 0));
+        }
+    }
+
+    @Test
+    void oddLengthRecords() throws IOException {
+        // Records of 1 to 7 bytes are padded, so each length prefix starts on a 4-byte boundary
+        Graph<String,String> g = new Graph<>(true);
+        Vertex<String> prev = g.insertVertex("a");
+        for (int i = 1; i < 50; i++) {
+            Vertex<String> next = g.insertVertex("abcdefg".substring(0, 1 + i % 7));
+            g.insertEdge(prev, next, "xyz".substring(0, 1 + i % 3));
+            prev = next;
+        }
+        File file = new File(dir, "graph");
+        MappedGraph.write(g, file, Codec.STRING, Codec.STRING);
+        try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+            verify(g.freeze(), mapped);
+        }
+    }
+
+    @Test
+    void emptyGraph() throws IOException {
+        File file = new File(dir, "graph");
+        MappedGraph.write(new Graph<String,String>(true), file, Codec.STRING, Codec.STRING);
+        try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+            assertTrue(mapped.isDirected());
+            assertEquals(0, mapped.numVertices());
+            assertEquals(0, mapped.numEdges());
+        }
+    }
+
+    @Test
+    void corruptFile() throws IOException {
+        File file = new File(dir, "text");
+        Files.write(file.toPath(), new byte[200]);
+        IOException e = assertThrows(IOException.class,
+            () -> new MappedGraph<String,String>(file, Codec.STRING, Codec.STRING));
+        assertEquals(CORRUPT_FILE, e.getMessage());
+        Files.write(file.toPath(), new byte[10]);
+        e = assertThrows(IOException.class, () -> new MappedGraph<String,String>(file, Codec.STRING, Codec.STRING));
+        assertEquals(CORRUPT_FILE, e.getMessage());
+    }
+
+    @Test
+    void algorithmsOnMappedGraph() throws IOException {
+        // The algorithms take either CSR, and must give the same results on both
+        for (boolean directed : new boolean[] {true, false}) {
+            Graph<String,String> g = random(directed, 500, 600, 3);
+            CSRGraph<String,String> frozen = g.freeze();
+            File file = new File(dir, "graph" + directed);
+            MappedGraph.write(frozen, file, Codec.STRING, Codec.STRING);
+            try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+                ConnectedComponents<String,String> expected = ConnectedComponents.unionFind(frozen);
+                ConnectedComponents<String,String> actual = ConnectedComponents.unionFind(mapped);
+                assertEquals(expected.count(), actual.count());
+                for (int v = 0; v < 500; v++) { assertEquals(expected.component(v), actual.component(v)); }
+                assertArrayEquals(PageRank.compute(frozen).ranks(), PageRank.compute(mapped).ranks());
+                ShortestPaths.Result paths = new ShortestPaths<>(frozen, String::length).dijkstra(0);
+                ShortestPaths.Result mappedPaths = new ShortestPaths<>(mapped, String::length).dijkstra(0);
+                for (int v = 0; v < 500; v++) { assertEquals(paths.distance(v), mappedPaths.distance(v)); }
+            }
+        }
+    }
+
+    @Test
+    void noVertexOrEdgeObjects() throws IOException {
+        Graph<String,String> g = random(true, 10, 20, 4);
+        File file = new File(dir, "graph");
+        MappedGraph.write(g, file, Codec.STRING, Codec.STRING);
+        try (MappedGraph<String,String> mapped = new MappedGraph<>(file, Codec.STRING, Codec.STRING)) {
+            Vertex<String> v = g.vertices().next();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> mapped.id(v));
+            assertEquals(ILLEGAL_NODE, e.getMessage());
+            assertThrows(UnsupportedOperationException.class, () -> mapped.edge(0));
+        }
+    }
+
+    @Test
+    void truncatedFile() throws IOException {
+        // A file cut short anywhere after the header must fail to open, not fail on a later read
+        Graph<String,String> g = random(true, 200, 500, 5);
+        File full = new File(dir, "graph");
+        MappedGraph.write(g, full, Codec.STRING, Codec.STRING);
+        byte[] bytes = Files.readAllBytes(full.toPath());
+        int[] lengths = { 128, 129, 1000, 3000, bytes.length / 2, bytes.length - 1600, bytes.length - 1 };
+        for (int length : lengths) {
+            File file = new File(dir, "truncated" + length);
+            Files.write(file.toPath(), bytes);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { raf.setLength(length); }
+            IOException e = assertThrows(IOException.class,
+                () -> new MappedGraph<String,String>(file, Codec.STRING, Codec.STRING));
+            assertEquals(CORRUPT_FILE, e.getMessage());
+        }
+        // Each of the ten section offsets of the header, pointed past the end or off its boundary
+        for (int section = 0; section < 10; section++) {
+            for (long offset : new long[] { bytes.length, bytes.length - 8, 4, 132 }) {
+                File file = new File(dir, "section" + section + "-" + offset);
+                byte[] copy = bytes.clone();
+                java.nio.ByteBuffer.wrap(copy).putLong(24 + 8 * section, offset);
+                Files.write(file.toPath(), copy);
+                IOException e = assertThrows(IOException.class,
+                    () -> new MappedGraph<String,String>(file, Codec.STRING, Codec.STRING));
+                assertEquals(CORRUPT_FILE, e.getMessage());
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("MappedGraph Unit Testing is complete.");
+    }
+}
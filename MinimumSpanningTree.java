@@ -0,0 +1,283 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A Minimum Spanning Tree of a weighted undirected CSR graph: a subset of the
+ * edges that connects every vertex with the least total weight, such as the
+ * cheapest network of cables between a set of sites. If the graph is not
+ * connected, the result is a minimum spanning forest, one tree per connected
+ * component. Weights are computed from the edge elements, as in ShortestPaths,
+ * and may be negative.
+ *
+ * All three algorithms rely on the cut property: the lightest edge crossing any
+ * partition of the vertices belongs to a minimum spanning tree. kruskal() and
+ * boruvka() break ties between equal weights by edge id, so they always return
+ * the same edges, while prim() may return another tree of the same weight.
+ *
+ * - prim(): grows one tree from a vertex, repeatedly adding the lightest edge
+ *   that leaves it. The vertices outside the tree wait in an IndexedHeap keyed
+ *   by their lightest edge into the tree, lowered as the tree grows.
+ * - kruskal(): considers the edges in order of weight, adding each edge whose
+ *   endpoints are still in different trees of a UnionFind. The edges are sorted
+ *   by a radix sort of their weights, in O(m) rather than O(m log m).
+ * - boruvka(): every tree picks its lightest outgoing edge, all of which are
+ *   added at once, so each round at least halves the number of trees. The edges
+ *   of a round are split among the tasks of a ForkJoinPool, which record the
+ *   lightest edge of each tree with a compare-and-set, and merge trees in a
+ *   ConcurrentUnionFind. Each round also drops the edges that joined two
+ *   vertices of one tree, so later rounds scan fewer edges.
+ *
+ * Source: Borůvka, O. (1926). Jarník, V. (1930). Kruskal, J. B. (1956). On the
+ * Shortest Spanning Subtree of a Graph. Proceedings of the AMS, 7(1), 48-50.
+ *
+ * O(m log n) - prim()
+ * O(m α(n)) - kruskal()
+ * O(m log n) - boruvka(), work over all threads
+ */
+public class MinimumSpanningTree<V,E> {
+    private static final int GRAIN = 4096;     // Edges or vertices per task
+
+    /** Instance Variables **/
+    private final CSR<V,E> g;
+    private final int[] edges;          // The edge ids of the tree, in increasing order
+    private final double weight;        // The total weight of the tree
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_DIRECTED = "Graph must be undirected";
+    private static final String ILLEGAL_ARG_WEIGHT = "Edge weights must be numbers";
+
+    /** Constructors **/
+    private MinimumSpanningTree(CSR<V,E> g, int[] edges, double[] weights) {
+        this.g = g;
+        this.edges = edges;
+        Arrays.sort(edges);
+        double total = 0;
+        for (int e : edges) { total += weights[e]; }
+        this.weight = total;
+    }
+
+    /** Private Utility Methods **/
+    /**
+     * @return the weight of every edge of g, by edge id
+     * @throws IllegalArgumentException if g is directed or a weight is not a number
+     */
+    private static <E> double[] weights(CSR<?,E> g, ToDoubleFunction<? super E> weight)
+        throws IllegalArgumentException {
+        if (g.isDirected()) { throw new IllegalArgumentException(ILLEGAL_ARG_DIRECTED); }
+        double[] weights = new double[g.numEdges()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = weight.applyAsDouble(g.edgeElement(e));
+            if (Double.isNaN(weights[e])) { throw new IllegalArgumentException(ILLEGAL_ARG_WEIGHT); }
+        }
+        return weights;
+    }
+
+    /** @return true if edge a is lighter than edge b, breaking ties by id */
+    private static boolean lighter(double[] weights, int a, int b) {
+        return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+    }
+
+    /**
+     * Sorts the edge ids by weight with a least significant digit radix sort, one
+     * byte at a time, of the weights as longs that order like the doubles. The
+     * sort is stable, so equal weights stay in order of id.
+     */
+    private static int[] sortByWeight(double[] weights) {
+        int m = weights.length;
+        long[] keys = new long[m], keysTmp = new long[m];
+        int[] ids = new int[m], idsTmp = new int[m];
+        for (int e = 0; e < m; e++) {
+            long bits = Double.doubleToLongBits(weights[e] + 0.0);   // + 0.0 turns -0.0 into 0.0
+            keys[e] = (bits < 0) ? ~bits : bits ^ Long.MIN_VALUE;   // Negative weights reverse order
+            ids[e] = e;
+        }
+        int[] count = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < m; i++) { count[(int) ((keys[i] >>> shift) & 0xFF) + 1]++; }
+            if (m > 0 && count[(int) ((keys[0] >>> shift) & 0xFF) + 1] == m) { continue; }  // One digit, already in order
+            for (int d = 0; d < 256; d++) { count[d + 1] += count[d]; }
+            for (int i = 0; i < m; i++) {
+                int j = count[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keysTmp[j] = keys[i];
+                idsTmp[j] = ids[i];
+            }
+            long[] k = keys; keys = keysTmp; keysTmp = k;
+            int[] t = ids; ids = idsTmp; idsTmp = t;
+        }
+        return ids;
+    }
+
+    /** Algorithms **/
+    /**
+     * Prim's algorithm, grown from each vertex not yet in a tree
+     * @param g      An undirected graph
+     * @param weight Computes the weight of an edge from its element
+     * @return a minimum spanning forest of g
+     * @throws IllegalArgumentException if g is directed or a weight is not a number
+     */
+    public static <V,E> MinimumSpanningTree<V,E> prim(CSR<V,E> g, ToDoubleFunction<? super E> weight)
+        throws IllegalArgumentException {
+        double[] weights = weights(g, weight);
+        int n = g.numVertices();
+        IndexedHeap heap = new IndexedHeap(n);
+        int[] lightest = new int[n];        // The lightest edge from each vertex into the tree
+        long[] inTree = new long[(n + 63) >>> 6];
+        int[] tree = new int[Math.max(n - 1, 0)];
+        int size = 0;
+        for (int s = 0; s < n; s++) {
+            if ((inTree[s >>> 6] & (1L << s)) != 0) { continue; }
+            lightest[s] = -1;
+            heap.offer(s, 0);
+            while (!heap.isEmpty()) {
+                int u = heap.removeMin();
+                inTree[u >>> 6] |= 1L << u;
+                if (lightest[u] >= 0) { tree[size++] = lightest[u]; }
+                for (int i = g.outStart(u), end = g.outEnd(u); i < end; i++) {
+                    int v = g.target(i);
+                    int e = g.outEdge(i);
+                    if ((inTree[v >>> 6] & (1L << v)) == 0 && heap.offer(v, weights[e])) { lightest[v] = e; }
+                }
+            }
+        }
+        return new MinimumSpanningTree<>(g, Arrays.copyOf(tree, size), weights);
+    }
+
+    /**
+     * Kruskal's algorithm
+     * @param g      An undirected graph
+     * @param weight Computes the weight of an edge from its element
+     * @return a minimum spanning forest of g
+     * @throws IllegalArgumentException if g is directed or a weight is not a number
+     */
+    public static <V,E> MinimumSpanningTree<V,E> kruskal(CSR<V,E> g, ToDoubleFunction<? super E> weight)
+        throws IllegalArgumentException {
+        double[] weights = weights(g, weight);
+        int n = g.numVertices();
+        UnionFind trees = new UnionFind(n);
+        int[] tree = new int[Math.max(n - 1, 0)];
+        int size = 0;
+        for (int e : sortByWeight(weights)) {
+            if (trees.union(g.edgeSource(e), g.edgeTarget(e))) {
+                tree[size++] = e;
+                if (size == n - 1) { break; }   // The tree spans the graph
+            }
+        }
+        return new MinimumSpanningTree<>(g, Arrays.copyOf(tree, size), weights);
+    }
+
+    /**
+     * Borůvka's algorithm on the common pool
+     * @param g      An undirected graph
+     * @param weight Computes the weight of an edge from its element
+     * @return a minimum spanning forest of g
+     * @throws IllegalArgumentException if g is directed or a weight is not a number
+     */
+    public static <V,E> MinimumSpanningTree<V,E> boruvka(CSR<V,E> g, ToDoubleFunction<? super E> weight)
+        throws IllegalArgumentException {
+        return boruvka(g, weight, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Borůvka's algorithm on the given pool
+     * @param g      An undirected graph
+     * @param weight Computes the weight of an edge from its element
+     * @param pool   The pool that runs the tasks of each round
+     * @return a minimum spanning forest of g
+     * @throws IllegalArgumentException if g is directed or a weight is not a number
+     */
+    public static <V,E> MinimumSpanningTree<V,E> boruvka(CSR<V,E> g, ToDoubleFunction<? super E> weight,
+        ForkJoinPool pool) throws IllegalArgumentException {
+        double[] weights = weights(g, weight);
+        int n = g.numVertices();
+        ConcurrentUnionFind trees = new ConcurrentUnionFind(n);
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);   // The lightest edge leaving each tree root
+        for (int v = 0; v < n; v++) { cheapest.set(v, -1); }
+        int[] tree = new int[Math.max(n - 1, 0)];
+        AtomicInteger size = new AtomicInteger();
+
+        // The edges that may still join two trees, compacted within each GRAIN-sized chunk
+        int[] active = new int[g.numEdges()];
+        for (int e = 0; e < active.length; e++) { active[e] = e; }
+        int activeSize = active.length;
+        int[] spare = new int[active.length];
+
+        while (activeSize > 0) {
+            int[] edges = active;
+            int chunks = (activeSize + GRAIN - 1) / GRAIN;
+            int[] kept = new int[chunks];
+            int total = activeSize;
+            // 1. Every tree finds its lightest outgoing edge; edges within a tree are dropped
+            ParallelRange.forEach(pool, chunks, 1, (lo, hi) -> {
+                for (int c = lo; c < hi; c++) {
+                    int k = c * GRAIN;
+                    for (int i = c * GRAIN, end = Math.min(total, i + GRAIN); i < end; i++) {
+                        int e = edges[i];
+                        int ru = trees.find(g.edgeSource(e)), rv = trees.find(g.edgeTarget(e));
+                        if (ru == rv) { continue; }
+                        edges[k++] = e;
+                        offerCheapest(cheapest, weights, ru, e);
+                        offerCheapest(cheapest, weights, rv, e);
+                    }
+                    kept[c] = k - c * GRAIN;
+                }
+            });
+            // 2. Every tree adds its lightest edge, unless the tree at its other end already did
+            int before = size.get();
+            ParallelRange.forEach(pool, n, GRAIN, (lo, hi) -> {
+                for (int r = lo; r < hi; r++) {
+                    int e = cheapest.get(r);
+                    if (e < 0) { continue; }
+                    cheapest.set(r, -1);
+                    if (trees.union(g.edgeSource(e), g.edgeTarget(e))) { tree[size.getAndIncrement()] = e; }
+                }
+            });
+            if (size.get() == before) { break; }    // No edge joins two trees
+            // 3. Gather the kept edges of every chunk at the front of the spare array
+            int[] offsets = new int[chunks + 1];
+            for (int c = 0; c < chunks; c++) { offsets[c + 1] = offsets[c] + kept[c]; }
+            int[] target = spare;
+            ParallelRange.forEach(pool, chunks, 1, (lo, hi) -> {
+                for (int c = lo; c < hi; c++) { System.arraycopy(edges, c * GRAIN, target, offsets[c], kept[c]); }
+            });
+            spare = active;
+            active = target;
+            activeSize = offsets[chunks];
+        }
+        return new MinimumSpanningTree<>(g, Arrays.copyOf(tree, size.get()), weights);
+    }
+
+    /** Records edge e as the lightest edge of root r if it is lighter than the current one */
+    private static void offerCheapest(AtomicIntegerArray cheapest, double[] weights, int r, int e) {
+        while (true) {
+            int current = cheapest.get(r);
+            if (current >= 0 && !lighter(weights, e, current)) { return; }
+            if (cheapest.compareAndSet(r, current, e)) { return; }
+        }
+    }
+
+    /** Access Methods **/
+    /** @return the graph this tree spans */
+    public CSR<V,E> graph() { return g; }
+
+    /** @return the number of edges of the tree, or forest */
+    public int size() { return edges.length; }
+
+    /** @return the total weight of the edges of the tree */
+    public double weight() { return weight; }
+
+    /** @return the number of trees, one per connected component of the graph */
+    public int trees() { return g.numVertices() - edges.length; }
+
+    /** @return the i-th smallest edge id of the tree, for 0 <= i < size() */
+    public int edgeId(int i) { return edges[i]; }
+
+    /** @return the i-th edge of the tree, as an Edge of the original graph */
+    public Edge<E> edge(int i) { return g.edge(edges[i]); }
+
+    /** @return a copy of the edge ids of the tree, in increasing order */
+    public int[] edges() { return Arrays.copyOf(edges, edges.length); }
+}
@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class MinimumSpanningTreeTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_DIRECTED = "Graph must be undirected";
+    private static final String ILLEGAL_ARG_WEIGHT = "Edge weights must be numbers";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("MinimumSpanningTree Unit Testing has begun ...");
+    }
+
+    /** @return an undirected graph of n vertices with the given edges, each weighted by its element */
+    private static CSRGraph<Integer,Double> graph(int n, int[][] edges, double[] weights) {
+        Graph<Integer,Double> g = new Graph<>(false);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), weights[i]); }
+        return g.freeze();
+    }
+
+    /** @return an undirected graph of n vertices and m distinct random edges with weights in [0, range) */
+    private static CSRGraph<Integer,Double> random(int n, int m, int range, long seed) {
+        Random random = new Random(seed);
+        HashSet<Long> seen = new HashSet<>();
+        int[][] edges = new int[m][];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b || !seen.add((long) Math.min(a, b) * n + Math.max(a, b))) { continue; }
+            edges[e] = new int[] {a, b};
+            weights[e++] = random.nextInt(range) - range / 4;       // Some weights are negative
+        }
+        return graph(n, edges, weights);
+    }
+
+    /** Checks that the tree has no cycle and as many trees as the graph has components */
+    private static void verifyForest(CSRGraph<Integer,Double> g, MinimumSpanningTree<Integer,Double> mst) {
+        UnionFind trees = new UnionFind(g.numVertices());
+        for (int e : mst.edges()) { assertTrue(trees.union(g.edgeSource(e), g.edgeTarget(e))); }
+        UnionFind components = new UnionFind(g.numVertices());
+        for (int e = 0; e < g.numEdges(); e++) { components.union(g.edgeSource(e), g.edgeTarget(e)); }
+        assertEquals(components.count(), trees.count());
+        assertEquals(components.count(), mst.trees());
+    }
+
+    @Test
+    void smallGraph() {
+        //   0 --1-- 1 --2-- 2
+        //   |     / |
+        //   4   3   5
+        //   | /     |
+        //   3 --6-- 4        5 --1-- 6
+        CSRGraph<Integer,Double> g = graph(7,
+            new int[][] { {0, 1}, {1, 2}, {0, 3}, {1, 3}, {1, 4}, {3, 4}, {5, 6} },
+            new double[] { 1, 2, 4, 3, 5, 6, 1 });
+        int[] expected = { 0, 1, 3, 4, 6 };
+        MinimumSpanningTree<Integer,Double> prim = MinimumSpanningTree.prim(g, w -> w);
+        assertArrayEquals(expected, prim.edges());
+        assertArrayEquals(expected, MinimumSpanningTree.kruskal(g, w -> w).edges());
+        assertArrayEquals(expected, MinimumSpanningTree.boruvka(g, w -> w).edges());
+        assertEquals(12.0, prim.weight(), 0.0);
+        assertEquals(2, prim.trees());
+        assertEquals(5, prim.size());
+    }
+
+    @Test
+    void enginesAgree() {
+        CSRGraph<Integer,Double> g = random(5000, 20000, 100, 3);
+        MinimumSpanningTree<Integer,Double> prim = MinimumSpanningTree.prim(g, w -> w);
+        MinimumSpanningTree<Integer,Double> kruskal = MinimumSpanningTree.kruskal(g, w -> w);
+        MinimumSpanningTree<Integer,Double> boruvka = MinimumSpanningTree.boruvka(g, w -> w, new ForkJoinPool(4));
+        verifyForest(g, prim);
+        verifyForest(g, kruskal);
+        // Many weights are equal, yet the id tie-break makes the tree unique
+        assertArrayEquals(kruskal.edges(), boruvka.edges());
+        assertEquals(kruskal.weight(), prim.weight(), 0.0);
+        assertEquals(kruskal.weight(), boruvka.weight(), 0.0);
+    }
+
+    @Test
+    void cycleProperty() {
+        // No edge outside the tree is lighter than the heaviest tree edge on the path between its endpoints
+        CSRGraph<Integer,Double> g = random(200, 800, 1000, 5);
+        MinimumSpanningTree<Integer,Double> mst = MinimumSpanningTree.kruskal(g, w -> w);
+        int[][] tree = new int[mst.size()][];
+        double[] weights = new double[mst.size()];
+        for (int i = 0; i < mst.size(); i++) {
+            tree[i] = new int[] {g.edgeSource(mst.edgeId(i)), g.edgeTarget(mst.edgeId(i))};
+            weights[i] = mst.edge(i).getElement();
+        }
+        CSRGraph<Integer,Double> t = graph(g.numVertices(), tree, weights);
+        for (int e = 0; e < g.numEdges(); e++) {
+            GraphTraversal.Result path = GraphTraversal.bfs(t, g.edgeSource(e));
+            int v = g.edgeTarget(e);
+            if (!path.isVisited(v)) { continue; }
+            for (int u = v; u != path.source(); u = path.parent(u)) {
+                assertTrue(t.edgeElement(path.parentEdge(u)) <= g.edgeElement(e));
+            }
+        }
+    }
+
+    @Test
+    void fractionalWeights() {
+        // Negative, zero and fractional weights must sort in numeric order
+        ToDoubleFunction<Double> weight = w -> (w == 0) ? -0.0 : Math.sin(w) * 1e-3;
+        CSRGraph<Integer,Double> g = random(1000, 4000, 50, 7);
+        MinimumSpanningTree<Integer,Double> prim = MinimumSpanningTree.prim(g, weight);
+        MinimumSpanningTree<Integer,Double> kruskal = MinimumSpanningTree.kruskal(g, weight);
+        MinimumSpanningTree<Integer,Double> boruvka = MinimumSpanningTree.boruvka(g, weight);
+        verifyForest(g, kruskal);
+        assertArrayEquals(kruskal.edges(), boruvka.edges());
+        assertEquals(kruskal.weight(), prim.weight(), 1e-9);
+    }
+
+    @Test
+    void invalidGraphs() {
+        Graph<Integer,Double> directed = new Graph<>(true);
+        directed.insertVertex(0);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> MinimumSpanningTree.kruskal(directed.freeze(), w -> w));
+        assertEquals(ILLEGAL_ARG_DIRECTED, e.getMessage());
+        CSRGraph<Integer,Double> g = graph(2, new int[][] { {0, 1} }, new double[] { Double.NaN });
+        e = assertThrows(IllegalArgumentException.class, () -> MinimumSpanningTree.prim(g, w -> w));
+        assertEquals(ILLEGAL_ARG_WEIGHT, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("MinimumSpanningTree Unit Testing is complete.");
+    }
+}
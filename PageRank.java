@@ -0,0 +1,236 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The PageRank of the vertices of a CSR graph: the probability that a random
+ * surfer, who follows a random out-edge with probability d (the damping factor)
+ * and otherwise jumps to a random vertex, is at each vertex in the long run. A
+ * vertex ranks highly if vertices of high rank link to it. Personalized PageRank
+ * jumps only to a set of seed vertices, ranking the vertices by their closeness
+ * to the seeds. A vertex without out-edges hands its rank to the jump targets,
+ * so the ranks always sum to 1. An undirected graph follows each edge both ways.
+ *
+ * The ranks are computed by power iteration over two double[] rank vectors, the
+ * ranks of one round being computed from those of the last, until the sum of the
+ * changes of all ranks (the L1 norm) falls below a tolerance, or a maximum number
+ * of rounds is reached. The vertices of each round are split among the tasks of a
+ * ForkJoinPool in one of two ways:
+ *
+ * - PULL: every vertex sums the shares of its in-neighbors, reading the last
+ *   rank vector and writing only its own entry of the next, without any atomic
+ *   update. The default, and the faster on most graphs.
+ * - PUSH: every vertex adds its share to each of its out-neighbors, with a
+ *   compare-and-set add on the bits of the double, as in the scatter step of a
+ *   vertex-centric (Pregel) program.
+ *
+ * The ranks are indexed by vertex id; a Vertex of the original graph maps to its
+ * rank through CSR.id(), or through rank(Vertex).
+ *
+ * Source: Page, L., Brin, S., Motwani, R., &amp; Winograd, T. (1999). The PageRank
+ * Citation Ranking: Bringing Order to the Web. Stanford InfoLab.
+ *
+ * O(n + m) - each round
+ * O(1) - rank(), iterations(), converged()
+ */
+public class PageRank<V,E> {
+    private static final int GRAIN = 4096;     // Vertices per task
+
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    /** How each round moves the ranks along the edges */
+    public enum Mode { PULL, PUSH }
+
+    /** Instance Variables **/
+    private final CSR<V,E> g;
+    private final double[] rank;        // The rank of each vertex
+    private final int iterations;       // The number of rounds run
+    private final boolean converged;    // True if the last round changed the ranks by less than the tolerance
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_DAMPING = "Damping must be between 0 and 1";
+    private static final String ILLEGAL_ARG_TOLERANCE = "Tolerance must not be negative";
+    private static final String ILLEGAL_ARG_ITERATIONS = "Maximum iterations must not be negative";
+    private static final String ILLEGAL_ARG_SEEDS = "Seeds must not be empty";
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+
+    /** Constructors **/
+    private PageRank(CSR<V,E> g, double[] rank, int iterations, boolean converged) {
+        this.g = g;
+        this.rank = rank;
+        this.iterations = iterations;
+        this.converged = converged;
+    }
+
+    /** Algorithms **/
+    /**
+     * PageRank with the default damping, tolerance and iterations, on the common pool
+     * @param g The graph
+     * @return the ranks of the vertices of g
+     */
+    public static <V,E> PageRank<V,E> compute(CSR<V,E> g) {
+        return compute(g, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS, Mode.PULL,
+            ForkJoinPool.commonPool());
+    }
+
+    /**
+     * PageRank, jumping to every vertex alike
+     * @param g             The graph
+     * @param damping       The probability of following an edge rather than jumping, in [0, 1]
+     * @param tolerance     Stop once a round changes the ranks by less than this in total
+     * @param maxIterations Stop after this many rounds
+     * @param mode          Whether each round pulls or pushes the ranks along the edges
+     * @param pool          The pool that runs the tasks of each round
+     * @return the ranks of the vertices of g
+     * @throws IllegalArgumentException if damping, tolerance or maxIterations is out of range
+     */
+    public static <V,E> PageRank<V,E> compute(CSR<V,E> g, double damping, double tolerance,
+        int maxIterations, Mode mode, ForkJoinPool pool) throws IllegalArgumentException {
+        int n = g.numVertices();
+        double[] jump = new double[n];
+        Arrays.fill(jump, 1.0 / n);
+        return iterate(g, jump, damping, tolerance, maxIterations, mode, pool);
+    }
+
+    /**
+     * Personalized PageRank with the default damping, tolerance and iterations, on the common pool
+     * @param g     The graph
+     * @param seeds The ids of the vertices to jump to
+     * @return the ranks of the vertices of g
+     * @throws IllegalArgumentException if seeds is empty or holds an invalid id
+     */
+    public static <V,E> PageRank<V,E> personalized(CSR<V,E> g, int... seeds)
+        throws IllegalArgumentException {
+        return personalized(g, seeds, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS, Mode.PULL,
+            ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Personalized PageRank, jumping only to the seeds
+     * @param g             The graph
+     * @param seeds         The ids of the vertices to jump to; a repeated seed is jumped to more often
+     * @param damping       The probability of following an edge rather than jumping, in [0, 1]
+     * @param tolerance     Stop once a round changes the ranks by less than this in total
+     * @param maxIterations Stop after this many rounds
+     * @param mode          Whether each round pulls or pushes the ranks along the edges
+     * @param pool          The pool that runs the tasks of each round
+     * @return the ranks of the vertices of g
+     * @throws IllegalArgumentException if seeds is empty or holds an invalid id, or if
+     *         damping, tolerance or maxIterations is out of range
+     */
+    public static <V,E> PageRank<V,E> personalized(CSR<V,E> g, int[] seeds, double damping,
+        double tolerance, int maxIterations, Mode mode, ForkJoinPool pool) throws IllegalArgumentException {
+        if (seeds.length == 0) { throw new IllegalArgumentException(ILLEGAL_ARG_SEEDS); }
+        int n = g.numVertices();
+        double[] jump = new double[n];
+        for (int s : seeds) {
+            if (s < 0 || s >= n) { throw new IllegalArgumentException(ILLEGAL_ARG_VERTEX); }
+            jump[s] += 1.0 / seeds.length;
+        }
+        return iterate(g, jump, damping, tolerance, maxIterations, mode, pool);
+    }
+
+    /** Private Utility Methods **/
+    /**
+     * Power iteration from the jump distribution
+     * @param jump The probability of jumping to each vertex, summing to 1
+     */
+    private static <V,E> PageRank<V,E> iterate(CSR<V,E> g, double[] jump, double damping,
+        double tolerance, int maxIterations, Mode mode, ForkJoinPool pool) throws IllegalArgumentException {
+        if (!(damping >= 0 && damping <= 1)) { throw new IllegalArgumentException(ILLEGAL_ARG_DAMPING); }
+        if (!(tolerance >= 0)) { throw new IllegalArgumentException(ILLEGAL_ARG_TOLERANCE); }
+        if (maxIterations < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_ITERATIONS); }
+        int n = g.numVertices();
+        double[] rank = Arrays.copyOf(jump, n);
+        double[] next = new double[n];
+        double[] share = new double[n];     // The rank each vertex passes along each out-edge
+        AtomicLongArray sum = (mode == Mode.PUSH) ? new AtomicLongArray(n) : null;
+        int iterations = 0;
+        boolean converged = false;
+        while (!converged && iterations < maxIterations) {
+            double[] current = rank, updated = next;
+            // 1. Every vertex divides its rank among its out-edges, summing the rank of dangling vertices
+            double dangling = ParallelRange.sum(pool, n, GRAIN, (lo, hi) -> {
+                double part = 0;
+                for (int v = lo; v < hi; v++) {
+                    int degree = g.outDegree(v);
+                    if (degree == 0) { part += current[v]; }
+                    share[v] = (degree == 0) ? 0 : current[v] / degree;
+                    if (sum != null) { sum.set(v, 0); }
+                }
+                return part;
+            });
+            // 2. In PUSH mode, every vertex adds its share to its out-neighbors
+            if (sum != null) {
+                ParallelRange.forEach(pool, n, GRAIN, (lo, hi) -> {
+                    for (int u = lo; u < hi; u++) {
+                        if (share[u] == 0) { continue; }
+                        for (int i = g.outStart(u), last = g.outEnd(u); i < last; i++) { add(sum, g.target(i), share[u]); }
+                    }
+                });
+            }
+            // 3. Every vertex sums the shares of its in-neighbors, and the change in its rank
+            double change = ParallelRange.sum(pool, n, GRAIN, (lo, hi) -> {
+                double part = 0;
+                for (int v = lo; v < hi; v++) {
+                    double in;
+                    if (sum != null) {
+                        in = Double.longBitsToDouble(sum.get(v));
+                    } else {
+                        in = 0;
+                        for (int i = g.inStart(v), last = g.inEnd(v); i < last; i++) { in += share[g.source(i)]; }
+                    }
+                    updated[v] = (1 - damping) * jump[v] + damping * (in + dangling * jump[v]);
+                    part += Math.abs(updated[v] - current[v]);
+                }
+                return part;
+            });
+            rank = updated;
+            next = current;
+            iterations++;
+            converged = change < tolerance;
+        }
+        return new PageRank<>(g, rank, iterations, converged);
+    }
+
+    /** Adds x to the double held as bits at index i */
+    private static void add(AtomicLongArray sum, int i, double x) {
+        while (true) {
+            long bits = sum.get(i);
+            if (sum.compareAndSet(i, bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + x))) { return; }
+        }
+    }
+
+    /** Access Methods **/
+    /** @return the graph that was ranked */
+    public CSR<V,E> graph() { return g; }
+
+    /** @return the rank of vertex v */
+    public double rank(int v) { return rank[v]; }
+
+    /**
+     * @return the rank of vertex v
+     * @throws IllegalArgumentException if v is not a vertex of the graph
+     */
+    public double rank(Vertex<V> v) throws IllegalArgumentException { return rank[g.id(v)]; }
+
+    /** @return a copy of the ranks, indexed by vertex id */
+    public double[] ranks() { return Arrays.copyOf(rank, rank.length); }
+
+    /** @return the number of rounds run */
+    public int iterations() { return iterations; }
+
+    /** @return true if the ranks changed by less than the tolerance in the last round */
+    public boolean converged() { return converged; }
+
+    /** @return the ids of the k highest ranked vertices, highest first */
+    public int[] top(int k) {
+        IndexedHeap heap = new IndexedHeap(rank.length);
+        for (int v = 0; v < rank.length; v++) { heap.offer(v, -rank[v]); }
+        int[] top = new int[Math.max(0, Math.min(k, rank.length))];
+        for (int i = 0; i < top.length; i++) { top[i] = heap.removeMin(); }
+        return top;
+    }
+}
@@ -0,0 +1,136 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class PageRankTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_DAMPING = "Damping must be between 0 and 1";
+    private static final String ILLEGAL_ARG_SEEDS = "Seeds must not be empty";
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("PageRank Unit Testing has begun ...");
+    }
+
+    /** @return a directed graph of n vertices with the given edges */
+    private static CSRGraph<Integer,Integer> graph(int n, int[][] edges) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i); }
+        return g.freeze();
+    }
+
+    /** @return a directed graph of n vertices and m distinct random edges */
+    private static CSRGraph<Integer,Integer> random(int n, int m, long seed) {
+        Random random = new Random(seed);
+        HashSet<Long> seen = new HashSet<>();
+        int[][] edges = new int[m][];
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (seen.add((long) a * n + b)) { edges[e++] = new int[] {a, b}; }
+        }
+        return graph(n, edges);
+    }
+
+    /** @return the ranks computed one vertex at a time from the definition, from a uniform start */
+    private static double[] naive(CSRGraph<Integer,Integer> g, double damping, int iterations) {
+        int n = g.numVertices();
+        double[] rank = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        for (int round = 0; round < iterations; round++) {
+            double[] next = new double[n];
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                if (g.outDegree(u) == 0) { dangling += rank[u]; }
+                for (int i = g.outStart(u); i < g.outEnd(u); i++) { next[g.target(i)] += damping * rank[u] / g.outDegree(u); }
+            }
+            for (int v = 0; v < n; v++) { next[v] += (1 - damping + damping * dangling) / n; }
+            rank = next;
+        }
+        return rank;
+    }
+
+    @Test
+    void matchesDefinition() {
+        CSRGraph<Integer,Integer> g = random(3000, 9000, 1);
+        double[] expected = naive(g, 0.85, 30);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (PageRank.Mode mode : PageRank.Mode.values()) {
+            PageRank<Integer,Integer> pr = PageRank.compute(g, 0.85, 0, 30, mode, pool);
+            assertEquals(30, pr.iterations());
+            for (int v = 0; v < g.numVertices(); v++) { assertEquals(expected[v], pr.rank(v), 1e-12); }
+        }
+    }
+
+    @Test
+    void ranksSumToOne() {
+        PageRank<Integer,Integer> pr = PageRank.compute(random(10_000, 30_000, 2));
+        assertTrue(pr.converged());
+        double total = 0;
+        for (double r : pr.ranks()) { total += r; }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test
+    void starCenterRanksHighest() {
+        // Every leaf links to the center 0, which links back only to leaf 1
+        int n = 50;
+        int[][] edges = new int[n][];
+        for (int i = 1; i < n; i++) { edges[i - 1] = new int[] {i, 0}; }
+        edges[n - 1] = new int[] {0, 1};
+        PageRank<Integer,Integer> pr = PageRank.compute(graph(n, edges));
+        assertArrayEquals(new int[] {0, 1}, pr.top(2));
+        assertTrue(pr.rank(0) > 0.4);
+        assertEquals(pr.rank(2), pr.rank(n - 1), 1e-12);
+    }
+
+    @Test
+    void personalizedFavorsSeeds() {
+        // Two directed cycles joined by one edge, 0 -> 10
+        int[][] edges = new int[21][];
+        for (int i = 0; i < 10; i++) {
+            edges[i] = new int[] {i, (i + 1) % 10};
+            edges[10 + i] = new int[] {10 + i, 10 + (i + 1) % 10};
+        }
+        edges[20] = new int[] {0, 10};
+        CSRGraph<Integer,Integer> g = graph(20, edges);
+        PageRank<Integer,Integer> pr = PageRank.personalized(g, 10);
+        assertEquals(10, pr.top(1)[0]);
+        // Nothing leads from the second cycle back to the first
+        for (int v = 0; v < 10; v++) { assertEquals(0.0, pr.rank(v), 0.0); }
+        PageRank<Integer,Integer> first = PageRank.personalized(g, 0);
+        assertEquals(0, first.top(1)[0]);
+        assertTrue(first.rank(10) > 0);
+    }
+
+    @Test
+    void invalidArguments() {
+        CSRGraph<Integer,Integer> g = random(10, 20, 3);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> PageRank.compute(g, 1.5, 0, 10, PageRank.Mode.PULL, ForkJoinPool.commonPool()));
+        assertEquals(ILLEGAL_ARG_DAMPING, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> PageRank.personalized(g));
+        assertEquals(ILLEGAL_ARG_SEEDS, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> PageRank.personalized(g, 10));
+        assertEquals(ILLEGAL_ARG_VERTEX, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("PageRank Unit Testing is complete.");
+    }
+}
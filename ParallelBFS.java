@@ -0,0 +1,386 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * A parallel, level-synchronous, direction-optimizing Breadth-First Search over
+ * a CSR graph. Like GraphTraversal.bfs() it discovers the graph level by level,
+ * but it explores all the vertices of a level at once on a ForkJoinPool, and at
+ * each level chooses between two ways of finding the next level:
+ *
+ * - Top-down: every vertex of the frontier scans its outgoing edges, and claims
+ *   each undiscovered neighbor for the next level. Cheap while the frontier is
+ *   small, but when the frontier holds most of the graph nearly every edge it
+ *   scans leads to a vertex already discovered.
+ * - Bottom-up: every undiscovered vertex scans its incoming edges, and joins the
+ *   next level as soon as it finds a parent in the frontier. When the frontier
+ *   is large most vertices find a parent within the first few edges, so far
+ *   fewer edges are scanned than top-down.
+ *
+ * The search starts top-down, switches to bottom-up once the edges leaving the
+ * frontier exceed 1/ALPHA of the edges left to explore, and switches back once
+ * the frontier shrinks below 1/BETA of the vertices. On the small-world graphs
+ * of social networks, where a few middle levels hold most of the vertices, this
+ * skips most of the edges a top-down search would scan. Both parameters can be
+ * tuned through search(): alpha 0 runs the plain top-down search, and beta 0
+ * stays bottom-up once the search has switched.
+ *
+ * The discovered vertices form a bitset of atomic longs. A top-down step claims a
+ * vertex with a compare-and-set of its bit, so exactly one parent wins. A
+ * bottom-up step splits the vertices into ranges of whole words, so each word
+ * has a single writer and no atomic update is needed. The frontier is an array
+ * of vertices in a top-down step and a bitset in a bottom-up step.
+ *
+ * The result records the depth, parent and parent edge of every vertex reached,
+ * and the size, direction and wall-clock time of every level. Parents are those
+ * of some BFS tree, which may differ between runs, but depths are always exact.
+ *
+ * Source: Beamer, S., Asanović, K., &amp; Patterson, D. (2012). Direction-Optimizing
+ * Breadth-First Search. Proceedings of SC12.
+ *
+ * O(n + m) - search(), work over all threads; top-down steps scan each edge once
+ */
+public class ParallelBFS {
+    /** Tuning Parameters **/
+    public static final int DEFAULT_ALPHA = 14;    // Go bottom-up when frontier edges > unexplored edges / alpha
+    public static final int DEFAULT_BETA = 24;     // Go top-down when frontier vertices < n / beta
+    private static final int VERTEX_GRAIN = 1024;  // Frontier vertices per top-down task
+    private static final int WORD_GRAIN = 64;      // Bitset words (64 vertices each) per bottom-up task
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+    private static final String ILLEGAL_ARG_TUNING = "Alpha and beta must not be negative";
+
+    private ParallelBFS() {}        // Static methods only
+
+    /*** Nested Result class ***/
+    /**
+     * The result of a search: the depth, parent and parent edge of every vertex,
+     * and the statistics of every level.
+     */
+    public static class Result {
+        private final int source;
+        private final int[] depth;          // The level of each vertex, or -1 if not reached
+        private final int[] parent;         // The vertex that discovered v, or -1
+        private final int[] parentEdge;     // The edge that discovered v, or -1
+        private int levels;
+        private int[] levelSize = new int[16];
+        private long[] levelNanos = new long[16];
+        private boolean[] bottomUp = new boolean[16];
+
+        private Result(int n, int source) {
+            this.source = source;
+            this.depth = new int[n];
+            this.parent = new int[n];
+            this.parentEdge = new int[n];
+            Arrays.fill(depth, -1);
+            Arrays.fill(parent, -1);
+            Arrays.fill(parentEdge, -1);
+        }
+
+        /** Records a level of the given size, direction and time */
+        private void addLevel(int size, boolean up, long nanos) {
+            if (levels == levelSize.length) {
+                levelSize = Arrays.copyOf(levelSize, 2 * levels);
+                levelNanos = Arrays.copyOf(levelNanos, 2 * levels);
+                bottomUp = Arrays.copyOf(bottomUp, 2 * levels);
+            }
+            levelSize[levels] = size;
+            bottomUp[levels] = up;
+            levelNanos[levels++] = nanos;
+        }
+
+        /** @return the vertex the search started from */
+        public int source() { return source; }
+
+        /** @return the number of edges on a shortest path from the source to v, or -1 if v was not reached */
+        public int depth(int v) { return depth[v]; }
+
+        /** @return true if vertex v was reached from the source */
+        public boolean isVisited(int v) { return depth[v] >= 0; }
+
+        /** @return the vertex through which v was discovered, or -1 for the source or an unreached vertex */
+        public int parent(int v) { return parent[v]; }
+
+        /** @return the edge through which v was discovered, or -1 for the source or an unreached vertex */
+        public int parentEdge(int v) { return parentEdge[v]; }
+
+        /** @return the number of levels, the source being level 0 */
+        public int levels() { return levels; }
+
+        /** @return the number of vertices in level l */
+        public int levelSize(int l) { return levelSize[l]; }
+
+        /** @return true if level l was found by a bottom-up step, false if top-down */
+        public boolean isBottomUp(int l) { return bottomUp[l]; }
+
+        /** @return the wall-clock time in nanoseconds taken to find level l */
+        public long levelNanos(int l) { return levelNanos[l]; }
+
+        /** @return the number of vertices reached, including the source */
+        public int size() {
+            int total = 0;
+            for (int l = 0; l < levels; l++) { total += levelSize[l]; }
+            return total;
+        }
+    }
+    /*** End of Result class ***/
+
+    /*** Nested Search class ***/
+    /** The state of one search, shared by the tasks of each level */
+    private static class Search {
+        final CSR<?,?> g;
+        final ForkJoinPool pool;
+        final Result r;
+        final AtomicLongArray visited;
+        final int n, words;
+        int depth;                          // The depth of the level being found
+
+        // Top-down frontier: the vertices of the current level
+        int[] queue;
+        int queueSize;
+        // Bottom-up frontier: a bitset of the current level
+        long[] front, next;
+        // Per task output of a step: the vertices it found and the sum of their out-degrees
+        int[][] found;
+        int[] foundSize;
+        long[] foundEdges;
+
+        Search(CSR<?,?> g, ForkJoinPool pool, int source) {
+            this.g = g;
+            this.pool = pool;
+            this.n = g.numVertices();
+            this.words = (n + 63) >>> 6;
+            this.r = new Result(n, source);
+            this.visited = new AtomicLongArray(words);
+        }
+
+        boolean isVisited(int v) { return (visited.get(v >>> 6) & (1L << v)) != 0; }
+
+        /** Claims v for the next level, returning false if another task already has */
+        boolean claim(int v) {
+            int w = v >>> 6;
+            long bit = 1L << v;
+            long old = visited.get(w);
+            while ((old & bit) == 0) {
+                if (visited.compareAndSet(w, old, old | bit)) { return true; }
+                old = visited.get(w);
+            }
+            return false;
+        }
+
+        /** Allocates the output of t tasks */
+        void prepare(int t) {
+            found = new int[t][];
+            foundSize = new int[t];
+            foundEdges = new long[t];
+        }
+
+        /** Appends v to the output of task t */
+        void emit(int t, int v) {
+            int[] out = found[t];
+            if (out == null) { out = found[t] = new int[64]; }
+            else if (foundSize[t] == out.length) { out = found[t] = Arrays.copyOf(out, 2 * out.length); }
+            out[foundSize[t]++] = v;
+            foundEdges[t] += g.outDegree(v);
+        }
+
+        /** Top-down step: task t scans the outgoing edges of its share of the frontier */
+        void topDown(int t) {
+            int end = Math.min(queueSize, (t + 1) * VERTEX_GRAIN);
+            for (int k = t * VERTEX_GRAIN; k < end; k++) {
+                int u = queue[k];
+                for (int i = g.outStart(u), stop = g.outEnd(u); i < stop; i++) {
+                    int v = g.target(i);
+                    if (!isVisited(v) && claim(v)) {
+                        r.depth[v] = depth;
+                        r.parent[v] = u;
+                        r.parentEdge[v] = g.outEdge(i);
+                        emit(t, v);
+                    }
+                }
+            }
+        }
+
+        /** Bottom-up step: task t looks for a parent of each undiscovered vertex in its words */
+        void bottomUp(int t) {
+            int end = Math.min(words, (t + 1) * WORD_GRAIN);
+            for (int w = t * WORD_GRAIN; w < end; w++) {
+                long seen = visited.get(w);     // Only this task writes word w in this step
+                long added = 0;
+                for (int v = w << 6, last = Math.min(n, v + 64); v < last; v++) {
+                    long bit = 1L << v;
+                    if ((seen & bit) != 0) { continue; }
+                    for (int i = g.inStart(v), stop = g.inEnd(v); i < stop; i++) {
+                        int u = g.source(i);
+                        if ((front[u >>> 6] & (1L << u)) != 0) {
+                            added |= bit;
+                            r.depth[v] = depth;
+                            r.parent[v] = u;
+                            r.parentEdge[v] = g.inEdge(i);
+                            foundSize[t]++;     // The next bitset is the output, so only count v
+                            foundEdges[t] += g.outDegree(v);
+                            break;
+                        }
+                    }
+                }
+                next[w] = added;
+                if (added != 0) { visited.set(w, seen | added); }
+            }
+        }
+
+        /** Runs body(t) for every task t in [0, tasks) on the pool */
+        void forEach(int tasks, IntConsumer body) {
+            if (tasks == 1) { body.accept(0); }
+            else { pool.invoke(new Chunks(0, tasks, body)); }
+        }
+
+        /** Gathers the output of every task into the top-down queue */
+        void gather() {
+            int total = 0;
+            for (int s : foundSize) { total += s; }
+            int[] q = new int[total];
+            int k = 0;
+            for (int t = 0; t < found.length; t++) {
+                if (foundSize[t] > 0) {
+                    System.arraycopy(found[t], 0, q, k, foundSize[t]);
+                    k += foundSize[t];
+                }
+            }
+            queue = q;
+            queueSize = total;
+        }
+    }
+    /*** End of Search class ***/
+
+    /*** Nested Chunks class ***/
+    /** Splits a range of task indexes in halves until each task runs alone */
+    private static class Chunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo, hi;
+        private final IntConsumer body;
+
+        Chunks(int lo, int hi, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Chunks(lo, mid, body), new Chunks(mid, hi, body));
+        }
+    }
+    /*** End of Chunks class ***/
+
+    /** Searches **/
+    /**
+     * Searches from a vertex on the common pool with the default tuning
+     * @param g      The graph to search
+     * @param source The id of the vertex to start from
+     * @return the depth and parent of every vertex, and the statistics of each level
+     * @throws IllegalArgumentException if source is not a vertex id of g
+     */
+    public static Result search(CSR<?,?> g, int source) throws IllegalArgumentException {
+        return search(g, source, ForkJoinPool.commonPool(), DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * Searches from a vertex on the given pool
+     * @param g      The graph to search
+     * @param source The id of the vertex to start from
+     * @param pool   The pool that runs the tasks of each level
+     * @param alpha  Go bottom-up when the frontier's edges exceed 1/alpha of the
+     *               unexplored edges, or 0 to always search top-down
+     * @param beta   Go back top-down when the frontier holds fewer than 1/beta of the
+     *               vertices, or 0 to stay bottom-up
+     * @return the depth and parent of every vertex, and the statistics of each level
+     * @throws IllegalArgumentException if source is not a vertex id of g, or alpha or beta is negative
+     */
+    public static Result search(CSR<?,?> g, int source, ForkJoinPool pool, int alpha, int beta)
+        throws IllegalArgumentException {
+        if (source < 0 || source >= g.numVertices()) { throw new IllegalArgumentException(ILLEGAL_ARG_VERTEX); }
+        if (alpha < 0 || beta < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_TUNING); }
+        Search s = new Search(g, pool, source);
+        int n = s.n;
+        long start = System.nanoTime();
+        s.claim(source);
+        s.r.depth[source] = 0;
+        s.queue = new int[] { source };
+        s.queueSize = 1;
+        s.r.addLevel(1, false, System.nanoTime() - start);
+
+        // Edges out of the frontier, and edges out of vertices not yet discovered
+        long frontierEdges = g.outDegree(source);
+        long unexploredEdges = (long) g.outStart(n) - frontierEdges;
+        int frontierSize = 1;
+        boolean up = false;
+
+        while (frontierSize > 0) {
+            start = System.nanoTime();
+            s.depth++;
+            // Choose the direction of this step from the size of the frontier
+            if (!up && alpha > 0 && frontierEdges * alpha > unexploredEdges) {
+                up = true;
+                s.front = toBitset(s.queue, s.queueSize, s.words);
+                s.next = new long[s.words];
+            } else if (up && beta > 0 && (long) frontierSize * beta < n) {
+                up = false;
+                s.queue = toQueue(s.front, frontierSize);
+                s.queueSize = frontierSize;
+            }
+
+            if (up) {
+                int tasks = (s.words + WORD_GRAIN - 1) / WORD_GRAIN;
+                s.prepare(tasks);
+                s.forEach(tasks, s::bottomUp);
+                long[] t = s.front;     // The next level becomes the frontier
+                s.front = s.next;
+                s.next = t;
+            } else {
+                int tasks = (s.queueSize + VERTEX_GRAIN - 1) / VERTEX_GRAIN;
+                s.prepare(tasks);
+                s.forEach(tasks, s::topDown);
+                s.gather();
+            }
+
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (int t = 0; t < s.foundSize.length; t++) {
+                frontierSize += s.foundSize[t];
+                frontierEdges += s.foundEdges[t];
+            }
+            unexploredEdges -= frontierEdges;
+            s.found = null;
+            if (frontierSize > 0) { s.r.addLevel(frontierSize, up, System.nanoTime() - start); }
+        }
+        return s.r;
+    }
+
+    /** Private Utility Methods **/
+    /** @return a bitset of the first size vertices of the queue */
+    private static long[] toBitset(int[] queue, int size, int words) {
+        long[] bits = new long[words];
+        for (int k = 0; k < size; k++) { bits[queue[k] >>> 6] |= 1L << queue[k]; }
+        return bits;
+    }
+
+    /** @return the vertices of the bitset, of which there are size */
+    private static int[] toQueue(long[] bits, int size) {
+        int[] queue = new int[size];
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                queue[k++] = (w << 6) | Long.numberOfTrailingZeros(word);
+            }
+        }
+        return queue;
+    }
+}
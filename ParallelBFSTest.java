@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class ParallelBFSTest {
+    static CSRGraph<Integer,Integer> directed, undirected;
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+    private static final String ILLEGAL_ARG_TUNING = "Alpha and beta must not be negative";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ParallelBFS Unit Testing has begun ...");
+        directed = random(true, 20_000, 160_000, 7);
+        undirected = random(false, 20_000, 100_000, 11);
+    }
+
+    /** @return a random graph of n vertices and m distinct edges, whose elements are the edge ids */
+    private static CSRGraph<Integer,Integer> random(boolean isDirected, int n, int m, long seed) {
+        Graph<Integer,Integer> g = new Graph<>(isDirected);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        Random random = new Random(seed);
+        HashSet<Long> seen = new HashSet<>();
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            long key = isDirected ? (long) a * n + b : (long) Math.min(a, b) * n + Math.max(a, b);
+            if (a != b && seen.add(key)) { g.insertEdge(v.get(a), v.get(b), e++); }
+        }
+        return g.freeze();
+    }
+
+    /** Checks the depths against a sequential search, and that parents form a BFS tree */
+    private static void verify(CSRGraph<Integer,Integer> g, int source, ParallelBFS.Result r) {
+        GraphTraversal.Result expected = GraphTraversal.bfs(g, source);
+        assertEquals(expected.size(), r.size());
+        assertEquals(0, r.depth(source));
+        for (int v = 0; v < g.numVertices(); v++) {
+            assertEquals(expected.isVisited(v), r.isVisited(v));
+            if (!expected.isVisited(v)) {
+                assertEquals(-1, r.depth(v));
+                continue;
+            }
+            assertEquals(expected.pathTo(v).length - 1, r.depth(v));
+            if (v != source) {
+                int u = r.parent(v), e = r.parentEdge(v);
+                assertEquals(r.depth(v) - 1, r.depth(u));
+                assertEquals(v, g.opposite(u, e));
+            }
+        }
+    }
+
+    @Test
+    void defaultTuningMatchesSequential() {
+        verify(directed, 0, ParallelBFS.search(directed, 0));
+        verify(undirected, 3, ParallelBFS.search(undirected, 3));
+    }
+
+    @Test
+    void topDownOnly() {
+        ParallelBFS.Result r = ParallelBFS.search(directed, 5, ForkJoinPool.commonPool(), 0, 0);
+        verify(directed, 5, r);
+        for (int l = 0; l < r.levels(); l++) { assertFalse(r.isBottomUp(l)); }
+    }
+
+    @Test
+    void bottomUpAfterFirstLevel() {
+        ParallelBFS.Result r = ParallelBFS.search(undirected, 9, ForkJoinPool.commonPool(), Integer.MAX_VALUE, 0);
+        verify(undirected, 9, r);
+        for (int l = 1; l < r.levels(); l++) { assertTrue(r.isBottomUp(l)); }
+    }
+
+    @Test
+    void switchesDirectionOnLargeFrontier() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelBFS.Result r = ParallelBFS.search(directed, 1, pool, ParallelBFS.DEFAULT_ALPHA, ParallelBFS.DEFAULT_BETA);
+            verify(directed, 1, r);
+            boolean up = false;
+            int total = 0;
+            for (int l = 0; l < r.levels(); l++) {
+                up |= r.isBottomUp(l);
+                total += r.levelSize(l);
+                assertTrue(r.levelNanos(l) >= 0);
+            }
+            assertTrue(up);
+            assertFalse(r.isBottomUp(0));
+            assertEquals(r.size(), total);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void isolatedSource() {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        Vertex<Integer> a = g.insertVertex(0);
+        g.insertEdge(g.insertVertex(1), a, 0);
+        ParallelBFS.Result r = ParallelBFS.search(g.freeze(), 0);
+        assertEquals(1, r.levels());
+        assertEquals(1, r.size());
+        assertFalse(r.isVisited(1));
+    }
+
+    @Test
+    void invalidArguments() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ParallelBFS.search(directed, -1));
+        assertEquals(ILLEGAL_ARG_VERTEX, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class,
+            () -> ParallelBFS.search(directed, 0, ForkJoinPool.commonPool(), -1, 0));
+        assertEquals(ILLEGAL_ARG_TUNING, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ParallelBFS Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,85 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The data-parallel loop shared by the graph algorithms: a ForkJoin task over a
+ * range [lo, hi) of vertex ids, edge ids or chunks, which splits the range in
+ * halves until a part is no longer than the grain, then runs the body on each
+ * part. Idle workers steal the halves that are not yet split, so the parts are
+ * balanced even when some take far longer than others.
+ *
+ * sum() runs a body that returns a partial result for each chunk of grain
+ * vertices, such as the change in the ranks or the number of labels changed in
+ * a round, and adds the partial results in order of chunk, so the total does not
+ * depend on which worker ran which chunk.
+ *
+ * O(n / grain) - tasks for a range of n
+ */
+class ParallelRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    /** The work of a task over a part [lo, hi) of the range */
+    interface Body {
+        void run(int lo, int hi);
+    }
+
+    /** The work of a task over a chunk [lo, hi) of the range, returning its part of a sum */
+    interface Sum {
+        double run(int lo, int hi);
+    }
+
+    /** Instance Variables **/
+    private final int lo, hi, grain;
+    private final Body body;
+
+    /** Constructors **/
+    private ParallelRange(int lo, int hi, int grain, Body body) {
+        this.lo = lo;
+        this.hi = hi;
+        this.grain = grain;
+        this.body = body;
+    }
+
+    /**
+     * Runs the body over [0, n) on the pool, in parts of at most grain
+     * @param pool  The pool that runs the tasks
+     * @param n     The end of the range
+     * @param grain The longest part a task runs without splitting, at least 1
+     * @param body  The work of a part
+     */
+    static void forEach(ForkJoinPool pool, int n, int grain, Body body) {
+        pool.invoke(new ParallelRange(0, n, grain, body));
+    }
+
+    /**
+     * Runs the body over the chunks [c * grain, (c + 1) * grain) of [0, n) on the pool
+     * @param pool  The pool that runs the tasks
+     * @param n     The end of the range
+     * @param grain The length of a chunk, at least 1
+     * @param body  The work of a chunk
+     * @return the sum of the results of the chunks, added in order of chunk
+     */
+    static double sum(ForkJoinPool pool, int n, int grain, Sum body) {
+        int chunks = (n + grain - 1) / grain;
+        double[] partial = new double[chunks];
+        forEach(pool, chunks, 1, (lo, hi) -> {
+            for (int c = lo; c < hi; c++) {
+                int start = c * grain;
+                partial[c] = body.run(start, start + Math.min(grain, n - start));
+            }
+        });
+        double total = 0;
+        for (double p : partial) { total += p; }
+        return total;
+    }
+
+    @Override
+    protected void compute() {
+        if (hi - lo <= grain) {
+            body.run(lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new ParallelRange(lo, mid, grain, body), new ParallelRange(mid, hi, grain, body));
+    }
+}
@@ -0,0 +1,504 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent, self-balancing Red-Black Tree. It offers the same operations
+ * as RedBlackTree, with one addition: snapshot() returns, in O(1) time, a tree
+ * holding the current version of the entries. The snapshot is not affected by
+ * later updates to this tree, nor is this tree affected by updates to the
+ * snapshot, so readers can iterate over a stable version of the tree without
+ * copying it or locking out the writer.
+ *
+ * Path Copying: The nodes of a version are never modified once an update has
+ * completed. An update instead copies the nodes along the path from the root
+ * to the position it changes (along with any node a rotation touches) and
+ * links the copies to the unchanged subtrees. The new version shares all but
+ * O(log n) nodes with the old one, so each update allocates O(log n) nodes and
+ * a snapshot is nothing more than a reference to the root. Nodes created by an
+ * update are tagged with that update, so a node is copied at most once per
+ * update and may be modified freely until the update completes.
+ *
+ * The root is a volatile reference, and is only replaced once an update has
+ * completed, so a snapshot may be taken by any thread while the writer keeps
+ * updating. Updates to one tree must come from one thread at a time.
+ *
+ * Balancing follows the Left-Leaning Red-Black tree: red links lean left, no
+ * node has two red links, and every path from the root to a null link has the
+ * same number of black links.
+ *
+ * Source: Sedgewick, R., &amp; Wayne, K. (2011). Algorithms. Addison-Wesley.
+ *
+ * @param <K> The type of the keys, comparable or ordered by a Comparator
+ * @param <V> The type of the values
+ */
+public class PersistentRedBlackTree<K, V> {
+    private volatile Node<K,V> root;
+    private Object edit;    // Tags the nodes created by the update in progress
+    private final Comparator<? super K> comp;
+    public static final String ILLEGAL_ARG = "Argument is Null";
+
+    /** 1-bit Field Flags that represent the color of a node */
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    /** Error Messages **/
+    private static final String UNDERFLOW = "Tree Underflow, there is nothing to remove!";
+
+    /** Constructors **/
+    public PersistentRedBlackTree() {   // Keys are ordered by their natural ordering
+        this(new DefaultComparator<K>());
+    }
+
+    /**
+     * Constructs an empty tree that orders keys by the given comparator
+     * @param comp The comparator to order keys by
+     * @throws IllegalArgumentException if the comparator is null
+     */
+    public PersistentRedBlackTree(Comparator<? super K> comp) throws IllegalArgumentException {
+        if (comp == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        this.comp = comp;
+    }
+
+    /** Constructs a tree that shares the given version of nodes */
+    private PersistentRedBlackTree(Node<K,V> root, Comparator<? super K> comp) {
+        this.root = root;
+        this.comp = comp;
+    }
+
+    /**
+     * Node of the tree. Once the update that created a node has completed, the
+     * node is never modified again; it may be shared by many versions of the tree.
+     */
+    private static class Node<K, V> {
+        private K key;
+        private V value;
+        private Node<K,V> left, right;
+        private boolean color;
+        private int nodes;              // Number of Nodes in Subtree
+        private final Object edit;      // The update that created this node
+
+        private Node(K key, V value, boolean color, int nodes, Object edit) {
+            this.key = key;
+            this.value = value;
+            this.color = color;
+            this.nodes = nodes;
+            this.edit = edit;
+        }
+
+        /** Copies the node for the given update, sharing its children */
+        private Node<K,V> copy(Object edit) {
+            Node<K,V> n = new Node<>(key, value, color, nodes, edit);
+            n.left = left;
+            n.right = right;
+            return n;
+        }
+    }
+
+    /** Snapshot Methods **/
+    /**
+     * Returns a tree holding the current version of the entries in O(1) time. The
+     * snapshot and this tree share their nodes, but updates to either one do not
+     * affect the other.
+     * @return a snapshot of this tree
+     */
+    public PersistentRedBlackTree<K,V> snapshot() {
+        return new PersistentRedBlackTree<>(root, comp);
+    }
+
+    /** Private Utility Methods **/
+
+    /**
+     * Returns a node that the current update may modify: the node itself if it was
+     * created by this update, otherwise a copy of it.
+     */
+    private Node<K,V> mutable(Node<K,V> n) {
+        return (n.edit == edit) ? n : n.copy(edit);
+    }
+
+    private boolean isRed(Node<K,V> n) { return n != null && n.color == RED; }
+
+    private int size(Node<K,V> n) { return (n == null) ? 0 : n.nodes; }
+
+    /** Publishes the new version of the tree once the update has completed */
+    private void commit(Node<K,V> newRoot) {
+        if (newRoot != null) { newRoot.color = BLACK; }
+        edit = null;
+        root = newRoot;
+    }
+
+    /** Public Access Methods **/
+
+    /** @return The number of (key, value) pairs in the tree */
+    public int size() { return size(root); }
+
+    /** @return true if the tree is empty, false otherwise */
+    public boolean isEmpty() { return root == null; }
+
+    /**
+     * Returns the smallest key within the Tree
+     * @return the minimum key
+     */
+    public K min() throws NoSuchElementException {
+        Node<K,V> n = root;
+        if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+        return min(n).key;
+    }
+
+    private Node<K,V> min(Node<K,V> n) {
+        while (n.left != null) { n = n.left; }
+        return n;
+    }
+
+    /**
+     * Returns the largest key within the Tree
+     * @return the maximum key
+     */
+    public K max() throws NoSuchElementException {
+        Node<K,V> n = root;
+        if (n == null) { throw new NoSuchElementException(UNDERFLOW); }
+        while (n.right != null) { n = n.right; }
+        return n.key;
+    }
+
+    /** Search Methods **/
+
+    /**
+     * @return the value corresponding to the specified key, null if not present
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V get(K key) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        Node<K,V> n = root;
+        while (n != null) {
+            int go = comp.compare(key, n.key);
+            if (go < 0) {
+                n = n.left;
+            } else if (go > 0) {
+                n = n.right;
+            } else {
+                return n.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the specified key is in the tree, false otherwise
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean containsKey(K key) throws IllegalArgumentException {
+        return get(key) != null;
+    }
+
+    /**
+     * Keys are in ascending sorted order through inorder traversal of the tree.
+     * The traversal reads a single version, so it is not affected by updates made
+     * while it is in progress.
+     * @return a list containing the keys of the tree
+     */
+    public List<K> keys() {
+        ArrayList<K> list = new ArrayList<K>();
+        addInOrder(root, list);
+        return list;
+    }
+
+    private void addInOrder(Node<K,V> n, ArrayList<K> list) {
+        if (n == null) { return; }
+        addInOrder(n.left, list);
+        list.add(n.key);
+        addInOrder(n.right, list);
+    }
+
+    /**
+     * @return the least key greater than or equal to the given key, or null if none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public K ceilingKey(K key) throws IllegalArgumentException { return above(key, true); }
+
+    /**
+     * @return the least key strictly greater than the given key, or null if none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public K higherKey(K key) throws IllegalArgumentException { return above(key, false); }
+
+    /**
+     * @return the greatest key less than or equal to the given key, or null if none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public K floorKey(K key) throws IllegalArgumentException { return below(key, true); }
+
+    /**
+     * @return the greatest key strictly less than the given key, or null if none
+     * @throws IllegalArgumentException if the key is null
+     */
+    public K lowerKey(K key) throws IllegalArgumentException { return below(key, false); }
+
+    /** Finds the least key above the given key, or equal to it if inclusive */
+    private K above(K key, boolean inclusive) {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        K best = null;
+        Node<K,V> n = root;
+        while (n != null) {
+            int go = comp.compare(key, n.key);
+            if (go < 0 || (go == 0 && inclusive)) {
+                best = n.key;   // A candidate, look for a smaller one to the left
+                if (go == 0) { break; }
+                n = n.left;
+            } else {
+                n = n.right;
+            }
+        }
+        return best;
+    }
+
+    /** Finds the greatest key below the given key, or equal to it if inclusive */
+    private K below(K key, boolean inclusive) {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        K best = null;
+        Node<K,V> n = root;
+        while (n != null) {
+            int go = comp.compare(key, n.key);
+            if (go > 0 || (go == 0 && inclusive)) {
+                best = n.key;   // A candidate, look for a larger one to the right
+                if (go == 0) { break; }
+                n = n.right;
+            } else {
+                n = n.left;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the values of the keys in the range [lo, hi) in increasing order of
+     * keys, where a null bound leaves that end of the range open. Like keys(), it
+     * reads the version of the tree at the time of the call, so it is not affected
+     * by later updates. The values are visited lazily with a stack of O(log n) nodes.
+     * @param lo The least key of the range, inclusive, or null
+     * @param hi The key ending the range, exclusive, or null
+     * @return an iterable of the values within the range
+     */
+    public Iterable<V> values(K lo, K hi) {
+        Node<K,V> version = root;
+        return () -> new RangeIterator(version, lo, hi);
+    }
+
+    /************************* Nested RangeIterator class  ********************************/
+    /**
+     * In-order traversal of one version of the tree with an explicit stack, which
+     * holds the nodes whose left subtree is being visited. Subtrees entirely below
+     * lo are skipped on the way down, and the iteration stops at the first key
+     * that is not below hi.
+     */
+    private class RangeIterator implements Iterator<V> {
+        private final ArrayList<Node<K,V>> stack = new ArrayList<>();
+        private final K hi;
+
+        private RangeIterator(Node<K,V> n, K lo, K hi) {
+            this.hi = hi;
+            while (n != null) {     // Push the path to the least key at or above lo
+                if (lo != null && comp.compare(n.key, lo) < 0) {
+                    n = n.right;
+                } else {
+                    stack.add(n);
+                    n = n.left;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (stack.isEmpty()) { return false; }
+            return hi == null || comp.compare(stack.get(stack.size() - 1).key, hi) < 0;
+        }
+
+        @Override
+        public V next() throws NoSuchElementException {
+            if (!hasNext()) { throw new NoSuchElementException(); }
+            Node<K,V> n = stack.remove(stack.size() - 1);
+            for (Node<K,V> c = n.right; c != null; c = c.left) { stack.add(c); }
+            return n.value;
+        }
+    } /************************ End of RangeIterator class  ********************************/
+
+    /** Insertion Methods **/
+
+    /**
+     * Search the tree for entry with given key, update value if found. Otherwise
+     * add new entry to the tree. A null value removes the key.
+     * @return true if the key value pair was added to the tree, false otherwise
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean put(K key, V value) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        if (value == null) {
+            remove(key);
+            return false;
+        }
+        edit = new Object();
+        commit(add(root, key, value));
+        return true;
+    }
+
+    private Node<K,V> add(Node<K,V> n, K key, V value) {
+        if (n == null) { return new Node<>(key, value, RED, 1, edit); }
+        n = mutable(n);
+        int go = comp.compare(key, n.key);
+        if (go < 0) {
+            n.left = add(n.left, key, value);
+        } else if (go > 0) {
+            n.right = add(n.right, key, value);
+        } else {
+            n.value = value;
+        }
+        return balance(n);
+    }
+
+    /** Deletion Methods **/
+
+    /**
+     * Remove the entry corresponding to the given key
+     * @return true if an entry for the given key was removed
+     * @throws IllegalArgumentException if the key is null
+     */
+    public boolean remove(K key) throws IllegalArgumentException {
+        if (key == null) { throw new IllegalArgumentException(ILLEGAL_ARG); }
+        if (!containsKey(key)) { return false; }
+        edit = new Object();
+        Node<K,V> n = mutable(root);
+        if (!isRed(n.left) && !isRed(n.right)) { n.color = RED; }
+        commit(remove(n, key));
+        return true;
+    }
+
+    private Node<K,V> remove(Node<K,V> n, K key) {
+        n = mutable(n);
+        if (comp.compare(key, n.key) < 0) {
+            if (!isRed(n.left) && !isRed(n.left.left)) { n = moveRedLeft(n); }
+            n.left = remove(n.left, key);
+        } else {
+            if (isRed(n.left)) { n = rotateRight(n); }
+            if (comp.compare(key, n.key) == 0 && n.right == null) { return null; }
+            if (!isRed(n.right) && !isRed(n.right.left)) { n = moveRedRight(n); }
+            if (comp.compare(key, n.key) == 0) {
+                // Replace with the smallest entry of the right subtree, then remove it
+                Node<K,V> successor = min(n.right);
+                n.key = successor.key;
+                n.value = successor.value;
+                n.right = removeMin(n.right);
+            } else {
+                n.right = remove(n.right, key);
+            }
+        }
+        return balance(n);
+    }
+
+    /**
+     * Removes the smallest key and its associated value
+     * @throws NoSuchElementException when called on an empty tree
+     */
+    public void removeMin() throws NoSuchElementException {
+        if (isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
+        edit = new Object();
+        Node<K,V> n = mutable(root);
+        if (!isRed(n.left) && !isRed(n.right)) { n.color = RED; }
+        commit(removeMin(n));
+    }
+
+    private Node<K,V> removeMin(Node<K,V> n) {
+        if (n.left == null) { return null; }
+        n = mutable(n);
+        if (!isRed(n.left) && !isRed(n.left.left)) { n = moveRedLeft(n); }
+        n.left = removeMin(n.left);
+        return balance(n);
+    }
+
+    /**
+     * Removes the largest key and its associated value
+     * @throws NoSuchElementException when called on an empty tree
+     */
+    public void removeMax() throws NoSuchElementException {
+        if (isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
+        edit = new Object();
+        Node<K,V> n = mutable(root);
+        if (!isRed(n.left) && !isRed(n.right)) { n.color = RED; }
+        commit(removeMax(n));
+    }
+
+    private Node<K,V> removeMax(Node<K,V> n) {
+        n = mutable(n);
+        if (isRed(n.left)) { n = rotateRight(n); }
+        if (n.right == null) { return null; }
+        if (!isRed(n.right) && !isRed(n.right.left)) { n = moveRedRight(n); }
+        n.right = removeMax(n.right);
+        return balance(n);
+    }
+
+    /** Private Utility Methods to Restructure and Balance. Each expects n to be mutable **/
+
+    /** Rotates a right-leaning red link to lean left, returns the new parent */
+    private Node<K,V> rotateLeft(Node<K,V> n) {
+        Node<K,V> x = mutable(n.right);
+        n.right = x.left;
+        x.left = n;
+        x.color = n.color;
+        n.color = RED;
+        x.nodes = n.nodes;
+        n.nodes = size(n.left) + size(n.right) + 1;
+        return x;
+    }
+
+    /** Rotates a left-leaning red link to lean right, returns the new parent */
+    private Node<K,V> rotateRight(Node<K,V> n) {
+        Node<K,V> x = mutable(n.left);
+        n.left = x.right;
+        x.right = n;
+        x.color = n.color;
+        n.color = RED;
+        x.nodes = n.nodes;
+        n.nodes = size(n.left) + size(n.right) + 1;
+        return x;
+    }
+
+    /** Flips the colors of the node and its two children */
+    private void flipColors(Node<K,V> n) {
+        n.left = mutable(n.left);
+        n.right = mutable(n.right);
+        n.color = !n.color;
+        n.left.color = !n.left.color;
+        n.right.color = !n.right.color;
+    }
+
+    /** Makes n.left or one of its children red, assuming n is red and both children black */
+    private Node<K,V> moveRedLeft(Node<K,V> n) {
+        flipColors(n);
+        if (isRed(n.right.left)) {
+            n.right = rotateRight(n.right);
+            n = rotateLeft(n);
+            flipColors(n);
+        }
+        return n;
+    }
+
+    /** Makes n.right or one of its children red, assuming n is red and both children black */
+    private Node<K,V> moveRedRight(Node<K,V> n) {
+        flipColors(n);
+        if (isRed(n.left.left)) {
+            n = rotateRight(n);
+            flipColors(n);
+        }
+        return n;
+    }
+
+    /** Restores the Red-Black properties at n on the way back up, and updates its size */
+    private Node<K,V> balance(Node<K,V> n) {
+        if (isRed(n.right) && !isRed(n.left)) { n = rotateLeft(n); }
+        if (isRed(n.left) && isRed(n.left.left)) { n = rotateRight(n); }
+        if (isRed(n.left) && isRed(n.right)) { flipColors(n); }
+        n.nodes = size(n.left) + size(n.right) + 1;
+        return n;
+    }
+}
@@ -0,0 +1,228 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class PersistentRedBlackTreeTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG = "Argument is Null";
+    private static final String UNDERFLOW = "Tree Underflow, there is nothing to remove!";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("PersistentRedBlackTree Unit Testing has begun ...");
+    }
+
+    /** Checks the size, keys, ends, and every lookup for the keys in [lo, hi] against the reference map */
+    private static void verify(TreeMap<Integer,String> expected, PersistentRedBlackTree<Integer,String> actual, int lo, int hi) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(new ArrayList<>(expected.keySet()), actual.keys());
+        if (!expected.isEmpty()) {
+            assertEquals(expected.firstKey(), actual.min());
+            assertEquals(expected.lastKey(), actual.max());
+        }
+        for (int key = lo; key <= hi; key++) {
+            assertEquals(expected.get(key), actual.get(key));
+            assertEquals(expected.containsKey(key), actual.containsKey(key));
+        }
+    }
+
+    /** Applies one random update to both the tree and the reference map */
+    private static void update(TreeMap<Integer,String> expected, PersistentRedBlackTree<Integer,String> actual,
+                               Random random, int bound, int i) {
+        int key = random.nextInt(bound);
+        switch (random.nextInt(6)) {
+            case 0:
+            case 1:
+                assertEquals(expected.remove(key) != null, actual.remove(key));
+                break;
+            case 2:
+                if (!expected.isEmpty()) {
+                    expected.pollFirstEntry();
+                    actual.removeMin();
+                }
+                break;
+            case 3:
+                if (!expected.isEmpty()) {
+                    expected.pollLastEntry();
+                    actual.removeMax();
+                }
+                break;
+            default:
+                expected.put(key, "v" + i);
+                assertTrue(actual.put(key, "v" + i));
+        }
+    }
+
+    @Test
+    void randomUpdates() {
+        Random random = new Random(1);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        PersistentRedBlackTree<Integer,String> actual = new PersistentRedBlackTree<>();
+        for (int i = 0; i < 30_000; i++) {
+            update(expected, actual, random, 3000, i);
+            if (i % 1000 == 0) { verify(expected, actual, -1, 3001); }
+        }
+        verify(expected, actual, -1, 3001);
+    }
+
+    @Test
+    void snapshotsAfterWrites() {
+        // Old snapshots must keep the version they were taken from
+        Random random = new Random(2);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        PersistentRedBlackTree<Integer,String> actual = new PersistentRedBlackTree<>();
+        ArrayList<TreeMap<Integer,String>> versions = new ArrayList<>();
+        ArrayList<PersistentRedBlackTree<Integer,String>> snapshots = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            update(expected, actual, random, 2000, i);
+            if (i % 500 == 0) {
+                versions.add(new TreeMap<>(expected));
+                snapshots.add(actual.snapshot());
+            }
+        }
+        verify(expected, actual, -1, 2001);
+        for (int i = 0; i < snapshots.size(); i++) { verify(versions.get(i), snapshots.get(i), -1, 2001); }
+    }
+
+    @Test
+    void snapshotUpdatesAreIndependent() {
+        // Both the tree and its snapshots keep being updated, and none sees the others' updates
+        Random random = new Random(3);
+        ArrayList<TreeMap<Integer,String>> expected = new ArrayList<>();
+        ArrayList<PersistentRedBlackTree<Integer,String>> actual = new ArrayList<>();
+        expected.add(new TreeMap<>());
+        actual.add(new PersistentRedBlackTree<>());
+        for (int i = 0; i < 30_000; i++) {
+            int m = random.nextInt(actual.size());
+            update(expected.get(m), actual.get(m), random, 1000, i);
+            if (i % 1000 == 0) {
+                expected.add(new TreeMap<>(expected.get(m)));
+                actual.add(actual.get(m).snapshot());
+            }
+        }
+        for (int m = 0; m < actual.size(); m++) { verify(expected.get(m), actual.get(m), -1, 1001); }
+    }
+
+    @Test
+    void navigationAndRanges() {
+        // Searches and ranges of an old snapshot read its own version
+        Random random = new Random(4);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        PersistentRedBlackTree<Integer,String> actual = new PersistentRedBlackTree<>();
+        for (int i = 0; i < 3000; i++) { update(expected, actual, random, 4000, i); }
+        TreeMap<Integer,String> version = new TreeMap<>(expected);
+        PersistentRedBlackTree<Integer,String> snapshot = actual.snapshot();
+        for (int i = 0; i < 3000; i++) { update(expected, actual, random, 4000, i); }
+        for (int key = -1; key <= 4001; key++) {
+            assertEquals(version.ceilingKey(key), snapshot.ceilingKey(key));
+            assertEquals(version.higherKey(key), snapshot.higherKey(key));
+            assertEquals(version.floorKey(key), snapshot.floorKey(key));
+            assertEquals(version.lowerKey(key), snapshot.lowerKey(key));
+        }
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(4200) - 100, hi = lo + random.nextInt(500);
+            assertEquals(new ArrayList<>(version.subMap(lo, hi).values()), list(snapshot.values(lo, hi)));
+        }
+        assertEquals(new ArrayList<>(version.values()), list(snapshot.values(null, null)));
+        assertEquals(new ArrayList<>(version.headMap(2000).values()), list(snapshot.values(null, 2000)));
+        assertEquals(new ArrayList<>(version.tailMap(2000).values()), list(snapshot.values(2000, null)));
+        assertEquals(new ArrayList<>(expected.values()), list(actual.values(null, null)));
+    }
+
+    /** @return the values of the iterable, in order */
+    private static ArrayList<String> list(Iterable<String> values) {
+        ArrayList<String> list = new ArrayList<>();
+        for (String v : values) { list.add(v); }
+        return list;
+    }
+
+    @Test
+    void comparator() {
+        Random random = new Random(5);
+        TreeMap<Integer,String> expected = new TreeMap<>(Comparator.reverseOrder());
+        PersistentRedBlackTree<Integer,String> actual = new PersistentRedBlackTree<>(Comparator.<Integer>reverseOrder());
+        for (int i = 0; i < 5000; i++) { update(expected, actual, random, 1000, i); }
+        verify(expected, actual, -1, 1001);
+        assertEquals(expected.ceilingKey(500), actual.ceilingKey(500));
+        assertEquals(new ArrayList<>(expected.subMap(900, 100).values()), list(actual.values(900, 100)));
+    }
+
+    @Test
+    void snapshotsFromAnotherThread() throws InterruptedException {
+        // The writer adds 0, 1, 2, ... in order, so every snapshot must hold exactly the keys [0, size)
+        PersistentRedBlackTree<Integer,String> tree = new PersistentRedBlackTree<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get() && failure.get() == null) {
+                PersistentRedBlackTree<Integer,String> snapshot = tree.snapshot();
+                java.util.List<Integer> keys = snapshot.keys();
+                for (int i = 0; i < keys.size(); i++) {
+                    if (keys.get(i) != i) { failure.set("Key " + keys.get(i) + " at " + i); }
+                }
+                if (keys.size() != snapshot.size()) { failure.set("Size " + snapshot.size() + " of " + keys.size() + " keys"); }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 50_000; i++) { tree.put(i, "v" + i); }
+        done.set(true);
+        reader.join();
+        assertNull(failure.get());
+        assertEquals(50_000, tree.size());
+    }
+
+    @Test
+    void nullValueRemovesKey() {
+        PersistentRedBlackTree<Integer,String> tree = new PersistentRedBlackTree<>();
+        tree.put(1, "one");
+        PersistentRedBlackTree<Integer,String> snapshot = tree.snapshot();
+        assertFalse(tree.put(1, null));
+        assertFalse(tree.containsKey(1));
+        assertEquals("one", snapshot.get(1));
+        assertFalse(tree.remove(1));
+    }
+
+    @Test
+    void invalidArguments() {
+        PersistentRedBlackTree<Integer,String> tree = new PersistentRedBlackTree<>();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> tree.put(null, "x"));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> tree.get(null));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> tree.remove(null));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+        NoSuchElementException n = assertThrows(NoSuchElementException.class, () -> tree.min());
+        assertEquals(UNDERFLOW, n.getMessage());
+        n = assertThrows(NoSuchElementException.class, () -> tree.max());
+        assertEquals(UNDERFLOW, n.getMessage());
+        n = assertThrows(NoSuchElementException.class, () -> tree.removeMin());
+        assertEquals(UNDERFLOW, n.getMessage());
+        n = assertThrows(NoSuchElementException.class, () -> tree.removeMax());
+        assertEquals(UNDERFLOW, n.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> tree.floorKey(null));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> new PersistentRedBlackTree<Integer,String>(null));
+        assertEquals(ILLEGAL_ARG, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("PersistentRedBlackTree Unit Testing is complete.");
+    }
+}
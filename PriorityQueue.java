@@ -1,14 +1,20 @@
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
 
 /**
- * Priority Queue implemented with a Sorted List. This maintains entries
- * sorted by nondecreasing keys. This ensures that the first element of
- * the list is an entry with the smallest key. An unsorted Priority Queue
- * on the other hand would have methods min() and removeMin() run in
- * linear time O(n) as opposed to a sorted list which only has one method
- * insert() run in linear time O(n). This is due to the Priority Queue 
- * being implemented as a DoublyLinkedList. 
+ * Priority Queue implemented with an array-based Binary Heap. Entries are kept
+ * in heap order rather than sorted order: the key of each entry is no smaller
+ * than the key of its parent, so an entry with the smallest key is always at the
+ * root (index 0). A new entry is appended to the end of the array then moved up
+ * towards the root, and removing the root moves the last entry to the root then
+ * down towards the leaves, each in O(log n) time. A sorted list, by comparison,
+ * gives O(1) removeMin() at the cost of scanning the list on every insert(), an
+ * O(n) operation that dominates once the queue holds many entries.
+ * 
+ * Entries with equal keys are removed in the order they were inserted, as they
+ * were by the sorted list. Each entry is stamped with an insertion sequence
+ * number that breaks ties between equal keys. 
  * 
  * Priority Queue is an ADT where a queue-like structure is used to manage
  * objects that must be process in some way but the 
@@ -23,14 +29,17 @@ import java.util.NoSuchElementException;
  * Usually priorities are expressed numerically, otherwise applications
  * may develop their own notion of priority for each element. 
  * 
- * O(1) - size(), isEmpty(), min(), removeMin()
- * O(n) - insert()
+ * O(1) - size(), isEmpty(), min()
+ * O(log n) - insert(), removeMin()
  */
-public class PriorityQueue <K,V extends Comparable<K>> {
+public class PriorityQueue <K,V> {
     /** Instance Variables **/
-    // private DoublyLinkedList<Entry<K,V>> list = new DoublyLinkedList<>();
-    // A Positional List implemented via Doubly Linked List
-    private LinkedPositionalList<Entry<K,V>> list = new LinkedPositionalList<>();
+    public static final int DEFAULT_CAPACITY = 16;
+    // Entries in heap order, with order[i] the insertion sequence number of heap[i]
+    private Object[] heap = new Object[DEFAULT_CAPACITY];
+    private long[] order = new long[DEFAULT_CAPACITY];
+    private long inserted;      // Sequence number of the next entry to insert
+    private int size;
     Comparator<K> comp;
 
     /** Error Messages */
@@ -85,18 +94,66 @@ public class PriorityQueue <K,V extends Comparable<K>> {
         return true;
     }
 
+    @SuppressWarnings("unchecked")
+    private Entry<K,V> entry(int i) { return (Entry<K,V>) heap[i]; }
+
+    /**
+     * Determines whether entry a must be removed before entry b: its key is
+     * smaller, or the keys are equal and a was inserted earlier
+     * @param a     The first entry
+     * @param seqA  The insertion sequence number of the first entry
+     * @param b     The second entry
+     * @param seqB  The insertion sequence number of the second entry
+     * @return true if entry a comes before entry b
+     */
+    private boolean before(Entry<K,V> a, long seqA, Entry<K,V> b, long seqB) {
+        int c = compare(a, b);
+        return c < 0 || (c == 0 && seqA < seqB);
+    }
+
+    /**
+     * Restores the heap property by moving the entry into the hole at index k and
+     * then higher. Parents that come after the entry are moved down into the hole,
+     * and the entry is written once its place is found.
+     */
+    private void upheap(int k, Entry<K,V> e, long seq) {
+        while(k > 0){
+            int p = (k-1) / 2;
+            if(!before(e, seq, entry(p), order[p])) { break; }  // Heap property is satisfied
+            heap[k] = heap[p];
+            order[k] = order[p];
+            k = p;
+        }
+        heap[k] = e;
+        order[k] = seq;
+    }
+
+    /**
+     * Restores the heap property by moving the entry into the hole at index k and
+     * then lower. The child that comes first is moved up into the hole, and the
+     * entry is written once its place is found.
+     */
+    private void downheap(int k, Entry<K,V> e, long seq) {
+        int half = size / 2;    // Entries at index half and beyond are leaves
+        while(k < half){
+            int child = 2*k + 1;
+            int right = child + 1;
+            if(right < size && before(entry(right), order[right], entry(child), order[child])) {
+                child = right;
+            }
+            if(!before(entry(child), order[child], e, seq)) { break; }  // Heap property is satisfied
+            heap[k] = heap[child];
+            order[k] = order[child];
+            k = child;
+        }
+        heap[k] = e;
+        order[k] = seq;
+    }
+
     /** Update Methods **/
     /**
-     * Inserts a Key-Value pair and returns the entry created. Take note that to
-     * have better worst-case running times of O(1) for operations min() and 
-     * removeMin() by ensuring that the underlying list in the queue is sorted, 
-     * the cost is causing insert to have a worst-case running time of O(n) as
-     * we now have to scan the list to find the appropriate Position to insert
-     * the new entry. We start at the end of the list, advancing backward until
-     * the new key is smaller than the existing entry. In the worst case, the
-     * new key is the smallest entry and reaches the front of the list, performing
-     * at O(n) where n is the number of entries in the priority queue during 
-     * execution.
+     * Inserts a Key-Value pair and returns the entry created. The entry is added
+     * at the end of the heap, then moved up until its parent has a smaller key.
      * @param key   The key of the new entry
      * @param value The associated value of the new entry
      * @return  the entry storing the new key-value pair
@@ -105,23 +162,18 @@ public class PriorityQueue <K,V extends Comparable<K>> {
     public Entry<K,V> insert(K key, V value) throws IllegalArgumentException {
         checkKey(key);    // auxiliary key-checking method (could throw exception)
         Entry<K,V> newest = new Entry<>(key, value);
-        Position<Entry<K,V>> curr = list.last();
-        // curr advances backward in the list, looking for smaller key
-        while (curr != null && compare(newest, curr.getElement()) < 0) {
-          curr = list.before(curr);
-        }
-        if (curr == null) { // This operation runs in Linear Time to keep list sorted
-          list.addFirst(newest);                   // new key is the smallest
-        } else {
-          list.addAfter(curr, newest);             // newest goes after current
+        if(size == heap.length) {   // Double the capacity when the arrays are full
+            heap = Arrays.copyOf(heap, 2 * size);
+            order = Arrays.copyOf(order, 2 * size);
         }
+        upheap(size++, newest, inserted++);     // The hole starts at the end
         return newest;
     }
 
     /** Access Methods **/
     /** @return The number of Entries within the Priority Queue
      */
-    public int size() { return list.size(); }
+    public int size() { return size; }
 
     /** @return True if Priority Queue is empty, false otherwise */
     public boolean isEmpty() { return size() == 0; }
@@ -131,8 +183,8 @@ public class PriorityQueue <K,V extends Comparable<K>> {
      * @return Entry with the smallest key (or null if empty)
      */
     public Entry<K,V> min() throws NoSuchElementException {
-        if(list.isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
-        return list.first().getElement();
+        if(isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
+        return entry(0);
     }
 
     /**
@@ -140,7 +192,13 @@ public class PriorityQueue <K,V extends Comparable<K>> {
      * @return The removed entry ( or null if empty)
      */
     public Entry<K,V> removeMin() throws NoSuchElementException {
-        if (list.isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
-        return list.remove(list.first());
+        if(isEmpty()) { throw new NoSuchElementException(UNDERFLOW); }
+        Entry<K,V> removed = entry(0);
+        size--;
+        Entry<K,V> last = entry(size);  // The last entry fills the hole left at the root
+        long seq = order[size];
+        heap[size] = null;              // Help garbage collection
+        if(size > 0) { downheap(0, last, seq); }
+        return removed;
     }
 }
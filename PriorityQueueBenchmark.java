@@ -0,0 +1,83 @@
+import java.util.Random;
+
+/**
+ * Compares the running time of the heap-based PriorityQueue with the sorted list
+ * implementation it replaced. Each run inserts n random keys then removes them
+ * all. The sorted list takes O(n) time per insert, so its total time grows with
+ * n^2, while the heap takes O(log n) time per insert and removeMin.
+ *
+ * Usage: java PriorityQueueBenchmark [n ...]
+ */
+public class PriorityQueueBenchmark {
+    private static final int[] DEFAULT_SIZES = { 1_000, 10_000, 50_000, 100_000 };
+    private static final int SORTED_LIMIT = 100_000;    // Larger sizes take minutes on the sorted list
+    private static final int WARMUP = 3;
+
+    /*** Nested SortedListQueue class ***/
+    /**
+     * The sorted list Priority Queue that PriorityQueue replaced, kept as the
+     * baseline. Insert scans backwards from the end of the list for its position.
+     */
+    private static class SortedListQueue<K,V> {
+        private LinkedPositionalList<Entry<K,V>> list = new LinkedPositionalList<>();
+        private DefaultComparator<K> comp = new DefaultComparator<>();
+
+        private void insert(K key, V value) {
+            Entry<K,V> newest = new Entry<>(key, value);
+            Position<Entry<K,V>> curr = list.last();
+            while (curr != null && comp.compare(key, curr.getElement().getKey()) < 0) {
+                curr = list.before(curr);
+            }
+            if (curr == null) {
+                list.addFirst(newest);
+            } else {
+                list.addAfter(curr, newest);
+            }
+        }
+
+        private Entry<K,V> removeMin() { return list.remove(list.first()); }
+        private boolean isEmpty() { return list.isEmpty(); }
+    }
+    /*** End of SortedListQueue class ***/
+
+    /** @return the time in milliseconds to insert then remove every key */
+    private static double timeHeap(int[] keys) {
+        long start = System.nanoTime();
+        PriorityQueue<Integer,Integer> pq = new PriorityQueue<>();
+        for (int key : keys) { pq.insert(key, key); }
+        while (!pq.isEmpty()) { pq.removeMin(); }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    /** @return the time in milliseconds to insert then remove every key */
+    private static double timeSortedList(int[] keys) {
+        long start = System.nanoTime();
+        SortedListQueue<Integer,Integer> pq = new SortedListQueue<>();
+        for (int key : keys) { pq.insert(key, key); }
+        while (!pq.isEmpty()) { pq.removeMin(); }
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) { sizes[i] = Integer.parseInt(args[i]); }
+        }
+        Random random = new Random(42);
+
+        System.out.printf("%10s %14s %14s%n", "n", "heap (ms)", "sorted (ms)");
+        for (int n : sizes) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) { keys[i] = random.nextInt(); }
+
+            for (int i = 0; i < WARMUP; i++) { timeHeap(keys); }  // Let the JIT compile
+            double heap = timeHeap(keys);
+            String sorted = "skipped";
+            if (n <= SORTED_LIMIT) {
+                sorted = String.format("%.1f", timeSortedList(keys));
+            }
+            System.out.printf("%10d %14.1f %14s%n", n, heap, sorted);
+        }
+    }
+}
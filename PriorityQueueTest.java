@@ -374,6 +374,21 @@ public class PriorityQueueTest {
         }
     }
 
+    @Test
+    void equalKeysInInsertionOrder(){
+        // Entries with equal keys are removed first-in, first-out
+        for(int i = 0; i < 100; i++){
+            pq.insert(i % 3, i);
+        }
+        for(int key = 0; key < 3; key++){
+            for(int i = key; i < 100; i += 3){
+                Entry<Integer,Integer> e = pq.removeMin();
+                assertEquals(key, e.getKey());
+                assertEquals(i, e.getValue());
+            }
+        }
+    }
+
     @AfterEach
     void tearDown() {
         while (!pq.isEmpty()) {
@@ -0,0 +1,141 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Finds the kth smallest element of an array of integers in expected linear
+ * time, without sorting the array and without a heap of size k. This is the
+ * in-memory counterpart of ElementFinder, which finds the Kth element of a
+ * stream too large to store; for approximate quantiles of such a stream see
+ * KLLSketch.
+ *
+ * Quickselect: Like quicksort, quickselect partitions the array around a pivot
+ * so that smaller elements are to its left and larger elements to its right.
+ * Unlike quicksort, it then only needs to continue into the one side that holds
+ * index k, so with a good pivot the work shrinks geometrically: n + n/2 + n/4 +
+ * ... = O(n). The partition is three-way, grouping the elements equal to the
+ * pivot in the middle, so arrays with many duplicates do not degrade.
+ *
+ * Introselect: A run of bad pivots makes quickselect take O(n^2) time. The pivot
+ * is the median of three elements, which makes bad pivots unlikely, and should
+ * the range fail to shrink after 2*log2(n) partitions the remaining range is
+ * sorted instead, bounding the worst case at O(n log n).
+ *
+ * Source: Musser, D. R. (1997). Introspective Sorting and Selection Algorithms.
+ * Software: Practice and Experience, 27(8), 983-993.
+ *
+ * O(n) - select(), quantile(), expected
+ * O(n log n) - select(), quantile(), worst case
+ */
+public class QuantileFinder {
+    /** Ranges of at most this many elements are finished by insertion sort */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // Error Messages
+    private static final String EMPTY = "Array is empty";
+    private static final String ILLEGAL_ARG_QUANTILE = "Quantile must be within [0, 1]";
+
+    private QuantileFinder() { }    // Static methods only
+
+    /**
+     * Returns the kth smallest element of the array, counting from 0: the element
+     * that would be at index k were the array sorted. The array is reordered so
+     * that it is at index k, with no greater element before it and no smaller
+     * element after it.
+     * @param a The array to select from, which is reordered
+     * @param k The rank of the element to select, within [0, a.length)
+     * @return the kth smallest element
+     * @throws IndexOutOfBoundsException if k is not within [0, a.length)
+     */
+    public static int select(int[] a, int k) throws IndexOutOfBoundsException {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the kth smallest element of the range [from, to) of the array: the
+     * element that would be at index k were the range sorted.
+     * @param a     The array to select from, whose range is reordered
+     * @param from  The first index of the range, inclusive
+     * @param to    The last index of the range, exclusive
+     * @param k     The index of the element to select, within [from, to)
+     * @return the kth smallest element of the range
+     * @throws IndexOutOfBoundsException if k is not within [from, to)
+     */
+    public static int select(int[] a, int from, int to, int k) throws IndexOutOfBoundsException {
+        if (from < 0 || to > a.length || k < from || k >= to) {
+            throw new IndexOutOfBoundsException("Index: " + k + ", Range: [" + from + ", " + to + ")");
+        }
+        int lo = from, hi = to - 1;
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {     // Too many bad pivots, fall back to sorting
+                Arrays.sort(a, lo, hi + 1);
+                return a[k];
+            }
+            int pivot = medianOfThree(a[lo], a[(lo + hi) >>> 1], a[hi]);
+
+            // Three-way partition: [lo, lt) < pivot, [lt, i) == pivot, (gt, hi] > pivot
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                if (a[i] < pivot) {
+                    swap(a, lt++, i++);
+                } else if (a[i] > pivot) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return pivot;       // k falls among the elements equal to the pivot
+            }
+        }
+        insertionSort(a, lo, hi);
+        return a[k];
+    }
+
+    /**
+     * Returns the q-quantile of the array, the element at rank floor(q * (n-1)):
+     * q = 0 is the minimum, q = 0.5 the (lower) median and q = 1 the maximum.
+     * The array is reordered.
+     * @param a The array to select from, which is reordered
+     * @param q The quantile, within [0, 1]
+     * @return the q-quantile of the array
+     * @throws NoSuchElementException if the array is empty
+     * @throws IllegalArgumentException if q is not within [0, 1]
+     */
+    public static int quantile(int[] a, double q) throws NoSuchElementException, IllegalArgumentException {
+        if (a.length == 0) { throw new NoSuchElementException(EMPTY); }
+        if (!(q >= 0 && q <= 1)) { throw new IllegalArgumentException(ILLEGAL_ARG_QUANTILE); }
+        return select(a, (int) Math.floor(q * (a.length - 1)));
+    }
+
+    /** Private Utility Methods **/
+    private static int medianOfThree(int a, int b, int c) {
+        if (a < b) {
+            return (b < c) ? b : (a < c) ? c : a;
+        }
+        return (a < c) ? a : (b < c) ? c : b;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    /** Sorts the range [lo, hi] of the array, which is fast for small ranges */
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int x = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > x) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = x;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertThrows;
+
+public class QuantileFinderTest {
+
+    // Error Messages
+    private static final String EMPTY = "Array is empty";
+    private static final String ILLEGAL_ARG_QUANTILE = "Quantile must be within [0, 1]";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("QuantileFinder Unit Testing has begun ...");
+    }
+
+    @Test
+    void selectEveryRank() {
+        int[] example = { 1, 4, 6, 8, 9, 10, 13, 14, 0, 1, 98, 96, 5, 3, 2 };
+        int[] sorted = example.clone();
+        Arrays.sort(sorted);
+        for (int k = 0; k < example.length; k++) {
+            assertEquals(sorted[k], QuantileFinder.select(example.clone(), k));
+        }
+    }
+
+    @Test
+    void selectPartitionsArray() {
+        Random random = new Random(3);
+        int[] a = random.ints(1000, -500, 500).toArray();
+        int k = 421;
+        int kth = QuantileFinder.select(a, k);
+        assertEquals(kth, a[k]);
+        for (int i = 0; i < k; i++) { assertEquals(true, a[i] <= kth); }
+        for (int i = k + 1; i < a.length; i++) { assertEquals(true, a[i] >= kth); }
+    }
+
+    @Test
+    void selectRandomAgainstSort() {
+        Random random = new Random(11);
+        for (int bound : new int[] { 3, 100, Integer.MAX_VALUE }) {  // Many, some and few duplicates
+            int[] a = new int[100_000];
+            for (int i = 0; i < a.length; i++) { a[i] = random.nextInt(bound); }
+            int[] sorted = a.clone();
+            Arrays.sort(sorted);
+            for (int k : new int[] { 0, 1, 500, 50_000, 99_999 }) {
+                assertEquals(sorted[k], QuantileFinder.select(a, k));
+            }
+        }
+    }
+
+    @Test
+    void selectSortedAndReversed() {
+        int n = 100_000;
+        int[] ascending = new int[n], descending = new int[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+        }
+        assertEquals(n / 3, QuantileFinder.select(ascending, n / 3));
+        assertEquals(n / 3 + 1, QuantileFinder.select(descending, n / 3));
+    }
+
+    @Test
+    void selectOutOfRange() {
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> QuantileFinder.select(new int[3], 3));
+    }
+
+    @Test
+    void quantiles() {
+        int[] a = new int[101];
+        for (int i = 0; i < a.length; i++) { a[i] = 100 - i; }
+        assertEquals(0, QuantileFinder.quantile(a, 0));
+        assertEquals(50, QuantileFinder.quantile(a, 0.5));
+        assertEquals(99, QuantileFinder.quantile(a, 0.99));
+        assertEquals(100, QuantileFinder.quantile(a, 1));
+    }
+
+    @Test
+    void quantileInvalid() {
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> QuantileFinder.quantile(new int[0], 0.5));
+        assertEquals(EMPTY, e.getMessage());
+        IllegalArgumentException e2 = assertThrows(IllegalArgumentException.class,
+            () -> QuantileFinder.quantile(new int[1], 1.5));
+        assertEquals(ILLEGAL_ARG_QUANTILE, e2.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("QuantileFinder Unit Testing is complete.");
+    }
+}
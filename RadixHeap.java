@@ -0,0 +1,209 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A Radix Heap is a priority queue for long keys that are extracted in
+ * nondecreasing order: every key inserted must be no smaller than the last key
+ * removed. Such monotone keys are common, such as the tentative distances of
+ * Dijkstra's algorithm or the time stamps of an event simulation, and for them
+ * the radix heap avoids the comparisons of a binary heap almost entirely.
+ *
+ * Buckets: Entries are kept in 65 unsorted buckets according to the highest bit
+ * in which their key differs from last, the most recently removed key. Bucket
+ * 0 holds keys equal to last, and bucket i holds keys whose highest differing
+ * bit is bit i-1, so the keys of bucket i lie within [last, last + 2^i). Every
+ * key of a lower bucket is therefore smaller than every key of a higher bucket,
+ * and inserting an entry is just an XOR, a count of leading zeros and an append.
+ *
+ * removeMin() takes an entry from bucket 0 if it has one. Otherwise it finds the
+ * first non-empty bucket, scans it for its smallest key, makes that key the new
+ * last, and redistributes the bucket's entries. Since the keys of bucket i now
+ * share bits i-1 and above with the new last, each entry moves to a strictly
+ * lower bucket. An entry can move down at most 64 times over its life in the heap,
+ * which bounds the amortized cost of each operation by O(log C), where C is the
+ * largest difference between a key and last.
+ *
+ * minKey() and min() do not redistribute, as that would raise last and forbid
+ * keys the caller may still insert. Instead the position of the smallest key is
+ * cached: insert() keeps it up to date in O(1), and removeMin() reuses it in
+ * place of its own scan. A peek therefore scans a bucket only once per removal,
+ * and that scan is shared with the next removeMin().
+ *
+ * Source: Ahuja, R. K., Mehlhorn, K., Orlin, J., &amp; Tarjan, R. E. (1990).
+ * Faster Algorithms for the Shortest Path Problem. Journal of the ACM, 37(2), 213-223.
+ *
+ * O(1) - insert(), size(), isEmpty()
+ * O(1) - minKey(), min(), amortized
+ * O(log C) - removeMin(), amortized
+ */
+public class RadixHeap<V> {
+    /** Member Fields of RadixHeap **/
+    private static final int BUCKETS = 65;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+    private final long[][] keys = new long[BUCKETS][];      // Parallel arrays of each bucket
+    private final Object[][] values = new Object[BUCKETS][];
+    private final int[] sizes = new int[BUCKETS];
+    private long last;                  // The last key removed, no key may be smaller
+    private int size;
+    private int minBucket = NONE;       // Bucket of the smallest key, or NONE if not known
+    private int minAt;                  // Index of the smallest key within minBucket
+    private static final int NONE = -1;
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_MONOTONE = "Key is smaller than the last key removed";
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+
+    /** Constructors **/
+    /** Constructs an empty heap that accepts any key no smaller than Long.MIN_VALUE */
+    public RadixHeap() {
+        this(Long.MIN_VALUE);
+    }
+
+    /**
+     * Constructs an empty heap that accepts keys no smaller than the given key,
+     * such as 0 for distances
+     * @param start The smallest key the heap accepts
+     */
+    public RadixHeap(long start) {
+        this.last = start;
+        for (int i = 0; i < BUCKETS; i++) {
+            keys[i] = new long[INITIAL_BUCKET_CAPACITY];
+            values[i] = new Object[INITIAL_BUCKET_CAPACITY];
+        }
+    }
+
+    /** Private Utility Methods **/
+    /** @return the bucket of the key, the position of its highest bit that differs from last */
+    private int bucket(long key) {
+        return 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /** Appends an entry to bucket b, doubling the bucket if it is full */
+    private void append(int b, long key, Object value) {
+        if (sizes[b] == keys[b].length) {
+            keys[b] = Arrays.copyOf(keys[b], 2 * sizes[b]);
+            values[b] = Arrays.copyOf(values[b], 2 * sizes[b]);
+        }
+        keys[b][sizes[b]] = key;
+        values[b][sizes[b]++] = value;
+    }
+
+    /** @return the lowest non-empty bucket, the heap must not be empty */
+    private int firstBucket() {
+        int b = 0;
+        while (sizes[b] == 0) { b++; }
+        return b;
+    }
+
+    /** @return the index within bucket b of its smallest key */
+    private int minIndex(int b) {
+        long[] k = keys[b];
+        int min = 0;
+        for (int i = 1; i < sizes[b]; i++) {
+            if (k[i] < k[min]) { min = i; }
+        }
+        return min;
+    }
+
+    /**
+     * Finds the position of the smallest key, unless it is already cached. Every
+     * key of bucket 0 equals last, so its last entry will do. The heap must not be empty.
+     */
+    private void locateMin() {
+        if (minBucket != NONE) { return; }
+        int b = firstBucket();
+        minAt = (b == 0) ? sizes[0] - 1 : minIndex(b);
+        minBucket = b;
+    }
+
+    /**
+     * Ensures bucket 0 is not empty: finds the first non-empty bucket, makes its
+     * smallest key the new last, and moves every entry of the bucket to a lower one
+     */
+    private void refill() {
+        if (sizes[0] > 0) { return; }
+        locateMin();
+        int b = minBucket;
+        long[] k = keys[b];
+        Object[] v = values[b];
+        int n = sizes[b];
+        last = k[minAt];
+        sizes[b] = 0;
+        for (int i = 0; i < n; i++) {
+            append(bucket(k[i]), k[i], v[i]);   // Always a lower bucket than b
+            v[i] = null;                        // Help garbage collection
+        }
+    }
+
+    /** Access Methods **/
+    /** @return The number of entries in the heap */
+    public int size() { return size; }
+
+    /** @return true if there are no entries in the heap, false otherwise */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * @return The last key removed, below which keys may not be inserted
+     */
+    public long lastKey() { return last; }
+
+    /**
+     * Returns, but does not remove, the minimal key. The heap is not restructured,
+     * so the smallest key that may be inserted is still lastKey().
+     * @return the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public long minKey() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        locateMin();
+        return keys[minBucket][minAt];
+    }
+
+    /**
+     * Returns, but does not remove, the value with the minimal key
+     * @return value of the entry with the smallest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V min() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        locateMin();
+        return (V) values[minBucket][minAt];
+    }
+
+    /** Update Methods **/
+    /**
+     * Inserts a Key-Value pair into the heap
+     * @param key   Priority of the entry, no smaller than lastKey()
+     * @param value Value of the entry
+     * @throws IllegalArgumentException if the key is smaller than the last key removed
+     */
+    public void insert(long key, V value) throws IllegalArgumentException {
+        if (key < last) { throw new IllegalArgumentException(ILLEGAL_ARG_MONOTONE); }
+        int b = bucket(key);
+        append(b, key, value);
+        size++;
+        if (minBucket != NONE && key < keys[minBucket][minAt]) {    // The new smallest key
+            minBucket = b;
+            minAt = sizes[b] - 1;
+        }
+    }
+
+    /**
+     * Removes and returns the value with the minimal key, which becomes lastKey()
+     * @return The value of the entry with the minimal key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V removeMin() throws NoSuchElementException {
+        if (size == 0) { throw new NoSuchElementException(UNDERFLOW); }
+        refill();
+        int i = --sizes[0];     // Every key of bucket 0 equals last, so take the end
+        V removed = (V) values[0][i];
+        values[0][i] = null;
+        size--;
+        minBucket = (i > 0) ? 0 : NONE;     // The next entry of bucket 0 is as small
+        minAt = i - 1;
+        return removed;
+    }
+}
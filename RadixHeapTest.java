@@ -0,0 +1,125 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class RadixHeapTest {
+    RadixHeap<Long> heap;
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_MONOTONE = "Key is smaller than the last key removed";
+    private static final String UNDERFLOW = "Heap Underflow: There is no elements in the Heap.";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("RadixHeap Unit Testing has begun ...");
+    }
+
+    @BeforeEach
+    public void init() {
+        this.heap = new RadixHeap<>(0);
+    }
+
+    @Test
+    public void emptyHeap() {
+        assertTrue(heap.isEmpty());
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> heap.removeMin());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    void addOne() {
+        heap.insert(42, 42L);
+        assertAll("heap",
+            () -> assertFalse(heap.isEmpty()),
+            () -> assertEquals(1, heap.size()),
+            () -> assertEquals(42, heap.minKey()),
+            () -> assertEquals(42L, heap.min()),
+            () -> assertEquals(42L, heap.removeMin()),
+            () -> assertEquals(42, heap.lastKey())
+        );
+    }
+
+    @Test
+    void rejectsSmallerKey() {
+        heap.insert(10, 10L);
+        heap.insert(20, 20L);
+        heap.removeMin();
+        heap.insert(10, 10L);       // Equal to the last key removed is allowed
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> heap.insert(9, 9L));
+        assertEquals(ILLEGAL_ARG_MONOTONE, e.getMessage());
+    }
+
+    @Test
+    void peekDoesNotRaiseLastKey() {
+        heap.insert(100, 100L);
+        assertEquals(100, heap.minKey());
+        heap.insert(50, 50L);       // Still allowed, since nothing was removed
+        assertEquals(50L, heap.removeMin());
+    }
+
+    @Test
+    void negativeAndExtremeKeys() {
+        RadixHeap<Long> h = new RadixHeap<>();
+        long[] keys = { Long.MAX_VALUE, -1, 0, Long.MIN_VALUE, 1, -5 };
+        for (long key : keys) { h.insert(key, key); }
+        long[] expected = { Long.MIN_VALUE, -5, -1, 0, 1, Long.MAX_VALUE };
+        for (long key : expected) { assertEquals(key, h.removeMin()); }
+    }
+
+    @Test
+    void monotoneRandomAgainstSort() {
+        // Simulates Dijkstra: each removed key inserts a few keys no smaller than it
+        Random random = new Random(17);
+        java.util.PriorityQueue<Long> reference = new java.util.PriorityQueue<>();
+        heap.insert(0, 0L);
+        reference.add(0L);
+        for (int i = 0; i < 100_000; i++) {
+            long key = heap.removeMin();
+            assertEquals(reference.poll(), key);
+            int children = (reference.size() < 1000) ? 3 : 1;
+            for (int c = 0; c < children; c++) {
+                long next = key + random.nextInt(1 << random.nextInt(20));
+                heap.insert(next, next);
+                reference.add(next);
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+    }
+
+    @Test
+    void peeksBetweenUpdates() {
+        // Peeks reuse the cached minimum, which inserts and removals must keep correct
+        Random random = new Random(18);
+        java.util.PriorityQueue<Long> reference = new java.util.PriorityQueue<>();
+        for (int i = 0; i < 50_000; i++) {
+            if (!reference.isEmpty() && random.nextInt(3) == 0) {
+                assertEquals(reference.poll(), heap.removeMin());
+            } else {
+                long key = heap.lastKey() + random.nextInt(1 << random.nextInt(16));
+                heap.insert(key, key);
+                reference.add(key);
+            }
+            if (!reference.isEmpty()) {
+                assertEquals((long) reference.peek(), heap.minKey());
+                assertEquals(reference.peek(), heap.min());
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("RadixHeap Unit Testing is complete.");
+    }
+}
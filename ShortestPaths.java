@@ -0,0 +1,408 @@
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Weighted shortest paths over a CSR graph, where the weight of each edge is
+ * computed from its element, such as e -> e for a Graph of Integer or Double
+ * edges. The weights are read once, when the engine is built, into an array
+ * indexed by edge id, and must not be negative.
+ *
+ * Three searches are offered, each of which settles vertices in order of their
+ * distance from the source, and stops as soon as the target is settled:
+ *
+ * - Dijkstra's algorithm, from one source to every vertex, or to one target
+ * - A*, which adds to the distance of each vertex an estimate of its remaining
+ *   distance to the target, so the search heads towards the target rather than
+ *   growing a ball around the source. The estimate must be consistent: never
+ *   more than the weight of an edge plus the estimate at its far end, and 0 at
+ *   the target, as the straight-line distance is on a road map.
+ * - Bidirectional Dijkstra, which searches forward from the source and backward
+ *   from the target along incoming edges, and stops once the two smallest
+ *   tentative distances add up to the best path found. Two balls of half the
+ *   radius hold far fewer vertices than one ball of the full radius.
+ *
+ * Unsettled vertices wait in a frontier heap, chosen when the engine is built:
+ *
+ * - BINARY: an IndexedHeap of vertex ids, whose position array gives
+ *   decrease-key in O(log n), so the heap never holds more than n entries.
+ * - RADIX: the RadixHeap, for integral weights. Dijkstra removes distances in
+ *   nondecreasing order, which is exactly the monotone order a radix heap needs.
+ *   It has no decrease-key, so an improved vertex is inserted again and its
+ *   older entry is skipped when removed.
+ *
+ * Source: Dijkstra, E. W. (1959). A note on two problems in connexion with graphs.
+ * Hart, P. E., Nilsson, N. J., &amp; Raphael, B. (1968). A Formal Basis for the
+ * Heuristic Determination of Minimum Cost Paths.
+ *
+ * O((n + m) log n) - dijkstra(), aStar(), bidirectional() with a BINARY heap
+ * O(m + n log C) - dijkstra() with a RADIX heap, where C is the largest weight
+ */
+public class ShortestPaths<V,E> {
+    /** The frontier heaps a search can use **/
+    public enum HeapType { BINARY, RADIX }
+
+    /** Instance Variables **/
+    private final CSR<V,E> g;
+    private final double[] weights;     // The weight of each edge, by edge id
+    private final HeapType heapType;
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+    private static final String ILLEGAL_ARG_WEIGHT = "Edge weights must not be negative";
+    private static final String ILLEGAL_ARG_INTEGRAL = "A radix heap requires integral weights";
+
+    /** Constructors **/
+    /**
+     * Builds an engine that uses a binary heap
+     * @param g      The graph to search
+     * @param weight Computes the weight of an edge from its element
+     * @throws IllegalArgumentException if a weight is negative or not a number
+     */
+    public ShortestPaths(CSR<V,E> g, ToDoubleFunction<? super E> weight) throws IllegalArgumentException {
+        this(g, weight, HeapType.BINARY);
+    }
+
+    /**
+     * Builds an engine that uses the given heap
+     * @param g        The graph to search
+     * @param weight   Computes the weight of an edge from its element
+     * @param heapType The frontier heap of each search
+     * @throws IllegalArgumentException if a weight is negative or not a number, or
+     *         heapType is RADIX and a weight is not a whole number
+     */
+    public ShortestPaths(CSR<V,E> g, ToDoubleFunction<? super E> weight, HeapType heapType)
+        throws IllegalArgumentException {
+        this.g = g;
+        this.heapType = heapType;
+        this.weights = new double[g.numEdges()];
+        for (int e = 0; e < weights.length; e++) {
+            double w = weight.applyAsDouble(g.edgeElement(e));
+            if (!(w >= 0)) { throw new IllegalArgumentException(ILLEGAL_ARG_WEIGHT); }
+            if (heapType == HeapType.RADIX && !isIntegral(w)) {
+                throw new IllegalArgumentException(ILLEGAL_ARG_INTEGRAL);
+            }
+            weights[e] = w;
+        }
+    }
+
+    /*** Nested Result class ***/
+    /**
+     * The result of a search: the distance and parent edge of the vertices it
+     * settled, through which the path to any of them can be traced.
+     */
+    public static class Result {
+        private final int source, target;   // The target is -1 for a search to every vertex
+        private final double[] dist;        // The distance of each vertex, or infinity
+        private final int[] parent;         // The vertex before v on its path, or -1
+        private final int[] parentEdge;     // The edge into v on its path, or -1
+        private int settled;                // The number of vertices removed from the heap
+
+        private Result(int n, int source, int target) {
+            this.source = source;
+            this.target = target;
+            this.dist = new double[n];
+            this.parent = new int[n];
+            this.parentEdge = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+            Arrays.fill(parentEdge, -1);
+            dist[source] = 0;
+        }
+
+        /** @return the vertex the search started from */
+        public int source() { return source; }
+
+        /** @return the target of a point-to-point search, or -1 */
+        public int target() { return target; }
+
+        /**
+         * Returns the distance from the source. A point-to-point search stops once
+         * the target is settled, so the distance is exact for the target and the
+         * vertices of its path, and an upper bound for the other vertices.
+         * @param v A vertex id
+         * @return the distance from the source to v, or infinity if v was not reached
+         */
+        public double distance(int v) { return dist[v]; }
+
+        /** @return true if the search found a path from the source to v */
+        public boolean hasPathTo(int v) { return dist[v] != Double.POSITIVE_INFINITY; }
+
+        /** @return the number of vertices the search settled, a measure of its work */
+        public int settled() { return settled; }
+
+        /** @return the vertices of the path from the source to v, or an empty array if there is none */
+        public int[] pathTo(int v) {
+            if (!hasPathTo(v)) { return new int[0]; }
+            int length = 1;
+            for (int u = v; u != source; u = parent[u]) { length++; }
+            int[] p = new int[length];
+            for (int u = v, i = length - 1; i >= 0; u = parent[u], i--) { p[i] = u; }
+            return p;
+        }
+
+        /** @return the edge ids of the path from the source to v, or an empty array if there is none */
+        public int[] edgesTo(int v) {
+            if (!hasPathTo(v)) { return new int[0]; }
+            int length = 0;
+            for (int u = v; u != source; u = parent[u]) { length++; }
+            int[] p = new int[length];
+            for (int u = v, i = length - 1; i >= 0; u = parent[u], i--) { p[i] = parentEdge[u]; }
+            return p;
+        }
+    }
+    /*** End of Result class ***/
+
+    /*** Nested Frontier classes ***/
+    /** The unsettled vertices of a search, by key */
+    private interface Frontier {
+        /** Inserts v, or lowers its key if it is already in the frontier with a larger one */
+        boolean offer(int v, double key);
+        boolean isEmpty();
+        /** @return a lower bound of the keys of the live entries */
+        double minKey();
+        /** @return a vertex of minimal key, which may be a stale entry of a settled vertex */
+        int removeMin();
+    }
+
+    /** The IndexedHeap, whose decrease-key keeps one entry per vertex */
+    private static class IndexedFrontier extends IndexedHeap implements Frontier {
+        IndexedFrontier(int n) { super(n); }
+    }
+
+    /** A RadixHeap of vertex ids with lazy deletion in place of decrease-key, whose cached minimum makes minKey() O(1) */
+    private static class RadixFrontier implements Frontier {
+        private final RadixHeap<Integer> heap = new RadixHeap<>(0);
+
+        public boolean isEmpty() { return heap.isEmpty(); }
+
+        public double minKey() { return heap.minKey(); }
+
+        public boolean offer(int v, double k) {
+            heap.insert((long) k, v);
+            return true;
+        }
+
+        public int removeMin() { return heap.removeMin(); }
+    }
+    /*** End of Frontier classes ***/
+
+    /** Private Utility Methods **/
+    /** @return true if w is a whole number that a long holds exactly */
+    private static boolean isIntegral(double w) {
+        return w == Math.rint(w) && Math.abs(w) < 0x1p53;
+    }
+
+    /** @throws IllegalArgumentException if v is not a vertex of the graph */
+    private void validate(int v) throws IllegalArgumentException {
+        if (v < 0 || v >= g.numVertices()) { throw new IllegalArgumentException(ILLEGAL_ARG_VERTEX); }
+    }
+
+    /** @return a new frontier of the engine's heap type */
+    private Frontier frontier() {
+        return (heapType == HeapType.RADIX) ? new RadixFrontier() : new IndexedFrontier(g.numVertices());
+    }
+
+    /**
+     * The search shared by dijkstra() and aStar(): settles vertices in order of
+     * distance plus estimate, and stops once the target is settled
+     */
+    private Result search(int source, int target, IntToDoubleFunction estimate) {
+        int n = g.numVertices();
+        Result r = new Result(n, source, target);
+        long[] settled = new long[(n + 63) >>> 6];
+        Frontier heap = frontier();
+        heap.offer(source, estimate.applyAsDouble(source));
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            if ((settled[u >>> 6] & (1L << u)) != 0) { continue; }     // A stale entry
+            settled[u >>> 6] |= 1L << u;
+            r.settled++;
+            if (u == target) { break; }
+            for (int i = g.outStart(u), end = g.outEnd(u); i < end; i++) {
+                int v = g.target(i);
+                int e = g.outEdge(i);
+                double d = r.dist[u] + weights[e];
+                if (d < r.dist[v] && (settled[v >>> 6] & (1L << v)) == 0) {
+                    r.dist[v] = d;
+                    r.parent[v] = u;
+                    r.parentEdge[v] = e;
+                    heap.offer(v, d + estimate.applyAsDouble(v));
+                }
+            }
+        }
+        return r;
+    }
+
+    /** Searches **/
+    /** @return the heap type of the searches */
+    public HeapType heapType() { return heapType; }
+
+    /** @return the weight of the edge with the given id */
+    public double weight(int e) { return weights[e]; }
+
+    /**
+     * Dijkstra's algorithm from a source to every vertex
+     * @param source The id of the vertex to start from
+     * @return the distance and shortest path to every vertex
+     * @throws IllegalArgumentException if source is not a vertex id
+     */
+    public Result dijkstra(int source) throws IllegalArgumentException {
+        validate(source);
+        return search(source, -1, v -> 0);
+    }
+
+    /**
+     * Dijkstra's algorithm from a source, stopping once the target is settled
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find a shortest path to
+     * @return the distance and shortest path to the target
+     * @throws IllegalArgumentException if source or target is not a vertex id
+     */
+    public Result dijkstra(int source, int target) throws IllegalArgumentException {
+        validate(source);
+        validate(target);
+        return search(source, target, v -> 0);
+    }
+
+    /**
+     * A* search from a source to a target
+     * @param source    The id of the vertex to start from
+     * @param target    The id of the vertex to find a shortest path to
+     * @param heuristic A consistent estimate of the distance from each vertex to
+     *                  the target; with a RADIX heap it must give whole numbers
+     * @return the distance and shortest path to the target
+     * @throws IllegalArgumentException if source or target is not a vertex id, or
+     *         the heuristic breaks the order of a RADIX heap
+     */
+    public Result aStar(int source, int target, IntToDoubleFunction heuristic) throws IllegalArgumentException {
+        validate(source);
+        validate(target);
+        if (heapType == HeapType.RADIX) {
+            return search(source, target, v -> {
+                double h = heuristic.applyAsDouble(v);
+                if (!isIntegral(h)) { throw new IllegalArgumentException(ILLEGAL_ARG_INTEGRAL); }
+                return h;
+            });
+        }
+        return search(source, target, heuristic);
+    }
+
+    /**
+     * Bidirectional Dijkstra from a source to a target. The forward search
+     * follows outgoing edges from the source, the backward search incoming edges
+     * from the target, and each step advances the search whose next distance is
+     * smaller. Once the next distances of the two searches add up to at least the
+     * shortest path found through a vertex or edge reached by both, no shorter
+     * path can exist.
+     * @param source The id of the vertex to start from
+     * @param target The id of the vertex to find a shortest path to
+     * @return the distance and shortest path to the target
+     * @throws IllegalArgumentException if source or target is not a vertex id
+     */
+    public Result bidirectional(int source, int target) throws IllegalArgumentException {
+        validate(source);
+        validate(target);
+        int n = g.numVertices();
+        Result forward = new Result(n, source, target);
+        Result backward = new Result(n, target, source);
+        long[] settledF = new long[(n + 63) >>> 6], settledB = new long[(n + 63) >>> 6];
+        Frontier heapF = frontier(), heapB = frontier();
+        heapF.offer(source, 0);
+        heapB.offer(target, 0);
+        double best = (source == target) ? 0 : Double.POSITIVE_INFINITY;
+        int meetU = source, meetV = target, meetEdge = -1;     // The best path crosses edge meetU -> meetV
+
+        while (!heapF.isEmpty() && !heapB.isEmpty()) {
+            double minF = heapF.minKey(), minB = heapB.minKey();     // Each read once per step
+            if (minF + minB >= best) { break; }
+            boolean isForward = minF <= minB;
+            Result r = isForward ? forward : backward;
+            Result other = isForward ? backward : forward;
+            long[] settled = isForward ? settledF : settledB;
+            Frontier heap = isForward ? heapF : heapB;
+
+            int u = heap.removeMin();
+            if ((settled[u >>> 6] & (1L << u)) != 0) { continue; }
+            settled[u >>> 6] |= 1L << u;
+            r.settled++;
+            int start = isForward ? g.outStart(u) : g.inStart(u);
+            int end = isForward ? g.outEnd(u) : g.inEnd(u);
+            for (int i = start; i < end; i++) {
+                int v = isForward ? g.target(i) : g.source(i);
+                int e = isForward ? g.outEdge(i) : g.inEdge(i);
+                double d = r.dist[u] + weights[e];
+                if (d < r.dist[v] && (settled[v >>> 6] & (1L << v)) == 0) {
+                    r.dist[v] = d;
+                    r.parent[v] = u;
+                    r.parentEdge[v] = e;
+                    heap.offer(v, d);
+                }
+                // A path through this edge joins the two searches
+                if (d + other.dist[v] < best) {
+                    best = d + other.dist[v];
+                    meetU = isForward ? u : v;
+                    meetV = isForward ? v : u;
+                    meetEdge = e;
+                }
+            }
+        }
+
+        forward.settled += backward.settled;
+        if (best < Double.POSITIVE_INFINITY) { joinPaths(forward, backward, meetU, meetV, meetEdge); }
+        return forward;
+    }
+
+    /**
+     * Records in the forward result the path that follows the forward parents to
+     * meetU, crosses meetEdge, and follows the backward parents from meetV to the
+     * target, by setting the parent and distance of each vertex on it. A repeated
+     * vertex, possible only through edges of weight 0, is cut out together with
+     * the cycle it closes, so the parents of the path lead back to the source.
+     */
+    private void joinPaths(Result forward, Result backward, int meetU, int meetV, int meetEdge) {
+        int lengthF = 0, lengthB = 0;
+        for (int u = meetU; u != forward.source; u = forward.parent[u]) { lengthF++; }
+        if (meetEdge >= 0) {
+            for (int v = meetV; v != backward.source; v = backward.parent[v]) { lengthB++; }
+        }
+        int length = (meetEdge >= 0) ? lengthF + lengthB + 2 : lengthF + 1;
+        int[] vertices = new int[length];
+        int[] edges = new int[length - 1];
+        int k = lengthF;
+        for (int u = meetU; k >= 0; u = forward.parent[u], k--) {
+            vertices[k] = u;
+            if (k > 0) { edges[k - 1] = forward.parentEdge[u]; }
+        }
+        if (meetEdge >= 0) {
+            k = lengthF + 1;
+            edges[lengthF] = meetEdge;
+            for (int v = meetV; k < length; v = backward.parent[v], k++) {
+                vertices[k] = v;
+                if (k < length - 1) { edges[k] = backward.parentEdge[v]; }
+            }
+        }
+        // Cut out any cycle, keeping the first occurrence of each vertex
+        int[] at = new int[g.numVertices()];
+        Arrays.fill(at, -1);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            int v = vertices[i];
+            if (at[v] >= 0) {
+                for (int j = at[v] + 1; j < size; j++) { at[vertices[j]] = -1; }
+                size = at[v] + 1;
+            } else {
+                at[v] = size;
+                vertices[size] = v;
+                if (size > 0) { edges[size - 1] = edges[i - 1]; }
+                size++;
+            }
+        }
+        for (int i = 1; i < size; i++) {
+            int v = vertices[i];
+            forward.parent[v] = vertices[i - 1];
+            forward.parentEdge[v] = edges[i - 1];
+            forward.dist[v] = forward.dist[vertices[i - 1]] + weights[edges[i - 1]];
+        }
+    }
+}
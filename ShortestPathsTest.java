@@ -0,0 +1,192 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class ShortestPathsTest {
+    static final int SIDE = 60;
+    static CSRGraph<Integer,Integer> grid, random;
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_VERTEX = "Invalid vertex id";
+    private static final String ILLEGAL_ARG_WEIGHT = "Edge weights must not be negative";
+    private static final String ILLEGAL_ARG_INTEGRAL = "A radix heap requires integral weights";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("ShortestPaths Unit Testing has begun ...");
+        grid = grid(SIDE, 3);
+        random = random(3000, 15000, 5);
+    }
+
+    /** @return an undirected side x side grid whose edges weigh between 1 and 9 */
+    private static CSRGraph<Integer,Integer> grid(int side, long seed) {
+        Graph<Integer,Integer> g = new Graph<>(false);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(side * side);
+        for (int i = 0; i < side * side; i++) { v.add(g.insertVertex(i)); }
+        Random r = new Random(seed);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                if (x + 1 < side) { g.insertEdge(v.get(y * side + x), v.get(y * side + x + 1), 1 + r.nextInt(9)); }
+                if (y + 1 < side) { g.insertEdge(v.get(y * side + x), v.get((y + 1) * side + x), 1 + r.nextInt(9)); }
+            }
+        }
+        return g.freeze();
+    }
+
+    /** @return a random directed graph whose edges weigh between 0 and 99 */
+    private static CSRGraph<Integer,Integer> random(int n, int m, long seed) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        Random r = new Random(seed);
+        HashSet<Long> seen = new HashSet<>();
+        while (seen.size() < m) {
+            int a = r.nextInt(n), b = r.nextInt(n);
+            if (a != b && seen.add((long) a * n + b)) { g.insertEdge(v.get(a), v.get(b), r.nextInt(100)); }
+        }
+        return g.freeze();
+    }
+
+    /** Checks that the path to v follows edges of g from the source, and weighs its distance */
+    private static void verifyPath(CSRGraph<Integer,Integer> g, ShortestPaths<Integer,Integer> sp,
+        ShortestPaths.Result r, int v) {
+        int[] path = r.pathTo(v);
+        int[] edges = r.edgesTo(v);
+        assertEquals(r.source(), path[0]);
+        assertEquals(v, path[path.length - 1]);
+        assertEquals(path.length - 1, edges.length);
+        double total = 0;
+        for (int i = 0; i < edges.length; i++) {
+            assertEquals(path[i + 1], g.opposite(path[i], edges[i]));
+            if (g.isDirected()) { assertEquals(path[i], g.edgeSource(edges[i])); }
+            total += sp.weight(edges[i]);
+        }
+        assertEquals(r.distance(v), total, 0);
+    }
+
+    @Test
+    void smallGraph() {
+        Graph<String,Integer> g = new Graph<>(true);
+        Vertex<String> a = g.insertVertex("A"), b = g.insertVertex("B");
+        Vertex<String> c = g.insertVertex("C"), d = g.insertVertex("D");
+        g.insertEdge(a, b, 4);
+        g.insertEdge(a, c, 1);
+        g.insertEdge(c, b, 2);
+        g.insertEdge(b, d, 5);
+        CSRGraph<String,Integer> csr = g.freeze();
+        ShortestPaths<String,Integer> sp = new ShortestPaths<>(csr, e -> e);
+        ShortestPaths.Result r = sp.dijkstra(csr.id(a));
+        assertEquals(0, r.distance(csr.id(a)), 0);
+        assertEquals(3, r.distance(csr.id(b)), 0);
+        assertEquals(8, r.distance(csr.id(d)), 0);
+        assertArrayEquals(new int[] {csr.id(a), csr.id(c), csr.id(b), csr.id(d)}, r.pathTo(csr.id(d)));
+        assertEquals(4, r.settled());
+        // D has no outgoing edges, so nothing is reachable from it
+        ShortestPaths.Result back = sp.bidirectional(csr.id(d), csr.id(a));
+        assertFalse(back.hasPathTo(csr.id(a)));
+        assertEquals(0, back.pathTo(csr.id(a)).length);
+    }
+
+    @Test
+    void allSearchesAgreeOnGrid() {
+        for (ShortestPaths.HeapType type : ShortestPaths.HeapType.values()) {
+            ShortestPaths<Integer,Integer> sp = new ShortestPaths<>(grid, e -> e, type);
+            ShortestPaths.Result all = sp.dijkstra(0);
+            Random r = new Random(8);
+            for (int q = 0; q < 20; q++) {
+                int t = r.nextInt(SIDE * SIDE);
+                int tx = t % SIDE, ty = t / SIDE;
+                ShortestPaths.Result one = sp.dijkstra(0, t);
+                ShortestPaths.Result star = sp.aStar(0, t, v -> Math.abs(v % SIDE - tx) + Math.abs(v / SIDE - ty));
+                ShortestPaths.Result both = sp.bidirectional(0, t);
+                assertEquals(all.distance(t), one.distance(t), 0);
+                assertEquals(all.distance(t), star.distance(t), 0);
+                assertEquals(all.distance(t), both.distance(t), 0);
+                verifyPath(grid, sp, one, t);
+                verifyPath(grid, sp, star, t);
+                verifyPath(grid, sp, both, t);
+                assertTrue(star.settled() <= one.settled());
+            }
+        }
+    }
+
+    @Test
+    void earlyTerminationSettlesFewerVertices() {
+        ShortestPaths<Integer,Integer> sp = new ShortestPaths<>(grid, e -> e);
+        int center = (SIDE / 2) * SIDE + SIDE / 2;
+        int near = center + 2;
+        ShortestPaths.Result one = sp.dijkstra(center, near);
+        assertTrue(one.settled() < SIDE * SIDE / 10);
+        assertEquals(SIDE * SIDE, sp.dijkstra(center).settled());
+        // Opposite corners: two half balls are smaller than one whole ball
+        int corner = SIDE * SIDE - 1;
+        assertTrue(sp.bidirectional(0, corner).settled() < sp.dijkstra(0, corner).settled());
+    }
+
+    @Test
+    void bidirectionalMatchesDijkstraOnDirectedGraph() {
+        for (ShortestPaths.HeapType type : ShortestPaths.HeapType.values()) {
+            ShortestPaths<Integer,Integer> sp = new ShortestPaths<>(random, e -> e, type);
+            Random r = new Random(21);
+            for (int q = 0; q < 10; q++) {
+                int s = r.nextInt(random.numVertices());
+                ShortestPaths.Result all = sp.dijkstra(s);
+                for (int k = 0; k < 10; k++) {
+                    int t = r.nextInt(random.numVertices());
+                    ShortestPaths.Result both = sp.bidirectional(s, t);
+                    assertEquals(all.distance(t), both.distance(t), 0);
+                    if (both.hasPathTo(t)) { verifyPath(random, sp, both, t); }
+                }
+            }
+        }
+    }
+
+    @Test
+    void zeroWeightCycle() {
+        Graph<Integer,Double> g = new Graph<>(true);
+        Vertex<Integer> a = g.insertVertex(0), b = g.insertVertex(1);
+        Vertex<Integer> c = g.insertVertex(2), d = g.insertVertex(3);
+        g.insertEdge(a, b, 0.0);
+        g.insertEdge(b, a, 0.0);
+        g.insertEdge(b, c, 0.5);
+        g.insertEdge(c, b, 0.0);
+        g.insertEdge(c, d, 0.0);
+        CSRGraph<Integer,Double> csr = g.freeze();
+        ShortestPaths<Integer,Double> sp = new ShortestPaths<>(csr, e -> e);
+        ShortestPaths.Result r = sp.bidirectional(0, 3);
+        assertEquals(0.5, r.distance(3), 0);
+        assertArrayEquals(new int[] {0, 1, 2, 3}, r.pathTo(3));
+        assertEquals(0, sp.bidirectional(2, 2).distance(2), 0);
+    }
+
+    @Test
+    void invalidArguments() {
+        Graph<Integer,Double> g = new Graph<>(false);
+        g.insertEdge(g.insertVertex(0), g.insertVertex(1), -1.0);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new ShortestPaths<>(g.freeze(), w -> w));
+        assertEquals(ILLEGAL_ARG_WEIGHT, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class,
+            () -> new ShortestPaths<>(g.freeze(), w -> 0.5, ShortestPaths.HeapType.RADIX));
+        assertEquals(ILLEGAL_ARG_INTEGRAL, e.getMessage());
+        ShortestPaths<Integer,Double> sp = new ShortestPaths<>(g.freeze(), w -> 1);
+        e = assertThrows(IllegalArgumentException.class, () -> sp.dijkstra(2));
+        assertEquals(ILLEGAL_ARG_VERTEX, e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> sp.bidirectional(0, -1));
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("ShortestPaths Unit Testing is complete.");
+    }
+}
@@ -1,5 +1,7 @@
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 
 /**
@@ -41,10 +43,37 @@ import java.util.Comparator;
  * found; in the case of an unsuccessful search, the algorithm can determine
  * a pair of indices that are just less than or just greater than the missing
  * target key - an inexact search. 
+ * 
+ * Insert Buffer: Adding a new key to the middle of the table shifts every
+ * entry after it, an O(n) cost that makes building a large table with keys
+ * in random order quadratic. Instead, updates are first recorded within a
+ * small sorted buffer (a balanced search tree) in O(log n) time: a new entry,
+ * a new value for a key of the table, or a marker for a key removed from the
+ * table. Once the buffer grows to a fraction of the table, both are merged
+ * into a new table in a single linear pass. Since each merge is paid for by
+ * table.size()/8 updates, the amortized cost of an update is O(log n).
+ * Searches look within both the table and the buffer, where the buffer takes
+ * precedence, and entrySet() and subMap() walk the range of each side by side,
+ * so neither forces a merge. compact() merges the buffer early so a table that
+ * is finished being built is searched by binary search alone.
+ * 
+ * Versions: The table is never modified once it is built, and the buffer is
+ * a PersistentRedBlackTree, whose updates copy the O(log n) nodes they change
+ * rather than modify them (Copy-On-Write). A table and a buffer are therefore
+ * an immutable version of the map, and each update publishes a new version
+ * through a volatile field. snapshot(), entrySet() and subMap() only read the
+ * current version and keep it, so they copy nothing, write nothing, and are
+ * not affected by later updates. They may be called by any thread, even while
+ * the writer keeps updating the map, without locking. Updates to one map must
+ * come from one thread at a time.
  */
 public class SortedTableMap <K,V> {
-    private ArrayList<Entry<K,V>> table = new ArrayList<>(); // Underlying Entry array
-    private Comparator<K> comp;
+    private volatile Version<K,V> version;  // The current table and buffer
+    private final Comparator<K> comp;
+
+    // The buffer is merged once it holds more than 1/MERGE_RATIO of the table
+    private static final int MERGE_RATIO = 8;
+    private static final int MIN_BUFFER = 64;
 
     // Error Message
     public static final String ILLEGAL_KEY = "Incompatible Key"; 
@@ -53,6 +82,7 @@ public class SortedTableMap <K,V> {
     public SortedTableMap() { // Default SortedTableMap uses Natural Ordering of keys
         super(); 
         comp = new DefaultComparator();
+        version = new Version<>(new ArrayList<>(), new PersistentRedBlackTree<>(comp), 0);
     }
     /**
      * Constructs a Sorted Table map with its own comparator
@@ -60,10 +90,58 @@ public class SortedTableMap <K,V> {
      */
     public SortedTableMap(Comparator <K> comp) {
         if (comp == null ) { 
-            comp = new DefaultComparator();
+            this.comp = new DefaultComparator();
         } else {
             this.comp = comp;
         }
+        version = new Version<>(new ArrayList<>(), new PersistentRedBlackTree<>(this.comp), 0);
+    }
+
+    /**
+     * Constructs a snapshot that starts from the given version of another map
+     * @param comp    The comparator of the other map
+     * @param version The version to start from
+     */
+    private SortedTableMap(Comparator<K> comp, Version<K,V> version) {
+        this.comp = comp;
+        this.version = version;
+    }
+
+    /**
+     * Returns a snapshot of the map in O(1) time, which shares its entries with
+     * this map. Later updates to this map do not affect the snapshot, and updates
+     * to the snapshot do not affect this map. It only reads the map, so it may be
+     * called by any thread.
+     * @return a snapshot of the map
+     */
+    public SortedTableMap<K,V> snapshot() {
+        return new SortedTableMap<>(comp, version);
+    }
+
+    /*** Nested Version class ***/
+    /**
+     * An immutable version of the map: a sorted table, a buffer of the updates not
+     * yet merged into it, and the number of entries. The buffer is never updated
+     * once the version is published, updates take a snapshot of it instead.
+     */
+    private static class Version<K,V> {
+        private final ArrayList<Entry<K,V>> table;
+        private final PersistentRedBlackTree<K,Entry<K,V>> buffer;
+        private final int size;
+
+        private Version(ArrayList<Entry<K,V>> table, PersistentRedBlackTree<K,Entry<K,V>> buffer, int size) {
+            this.table = table;
+            this.buffer = buffer;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Buffered marker of a key removed from the table, which hides the table's
+     * entry until the next merge.
+     */
+    private static class Removed<K,V> extends Entry<K,V> {
+        private Removed(K key) { super(key, null); }
     }
 
     /**
@@ -89,7 +167,7 @@ public class SortedTableMap <K,V> {
      * @return  the number of entries in the map
      */
     public int size(){
-        return table.size();
+        return version.size;
     }
 
     /**
@@ -107,6 +185,7 @@ public class SortedTableMap <K,V> {
      * inclusive, storing an entry with a key greater than or equal to given k.
      * If no such element exists, returns index hi+1 (or index just beyond the
      * end of the search range). 
+     * @param table the table of the version to search
      * @param key the target key to search for
      * @param lo  the lowest index of the relevant table range
      * @param hi  the highest index of the relevant table range
@@ -114,7 +193,7 @@ public class SortedTableMap <K,V> {
      * table[i] has key greater than or equal to given key (if no such entry exists
      * then index hi+1)
      */
-    private int findIndex(K key, int lo, int hi){
+    private int findIndex(ArrayList<Entry<K,V>> table, K key, int lo, int hi){
         if (hi < lo) { return hi +1; } // No Entry qualifies
         int mid = (lo + hi) >>> 1; // Safe/Efficient way of finding mean of two large integers
         int index = comp.compare(key,table.get(mid).getKey());
@@ -122,17 +201,40 @@ public class SortedTableMap <K,V> {
         if (index == 0) { return mid; } // Exact Match found, return the index
 
         // if index is less than 0, answer is left of mid; Otherwise answer is right of mid
-        return (index < 0) ? findIndex(key, lo, mid-1) : findIndex(key,mid+1, hi);
+        return (index < 0) ? findIndex(table, key, lo, mid-1) : findIndex(table, key,mid+1, hi);
     }
 
     /**
-     * Another findIndex with only one parameter, key, which initiates a
+     * Another findIndex with only the table and key, which initiates a
      * search throughout the entire table
+     * @param table The table of the version to search
      * @param key The key to search for
      * @return The index of the key if successful, otherwise index of leftmost
      * entry within the search range having key greater than or equal to key
      */
-    private int findIndex(K key) { return findIndex(key,0, table.size()-1); }
+    private int findIndex(ArrayList<Entry<K,V>> table, K key) { return findIndex(table, key,0, table.size()-1); }
+
+    /** @return true if the table has an entry at index i with the given key */
+    private boolean matches(ArrayList<Entry<K,V>> table, int i, K key) {
+        return i < table.size() && comp.compare(key, table.get(i).getKey()) == 0;
+    }
+
+    /**
+     * Returns the entry of the key within a version, where the buffer takes
+     * precedence over the table, or null if there is none. The entry may be
+     * the marker of a removed key.
+     */
+    private Entry<K,V> find(Version<K,V> v, K key) {
+        Entry<K,V> e = v.buffer.get(key);
+        if (e != null) { return e; }
+        int i = findIndex(v.table, key);
+        return matches(v.table, i, key) ? v.table.get(i) : null;
+    }
+
+    /** @return true if the entry exists and is not the marker of a removed key */
+    private static boolean live(Entry<?,?> e) {
+        return e != null && !(e instanceof Removed);
+    }
 
     /** Update Methods **/
     /**
@@ -144,10 +246,8 @@ public class SortedTableMap <K,V> {
      */
     public V get(K key) throws IllegalArgumentException {
         checkKey(key);
-        int i = findIndex(key);
-        // Check if index is found outside of search range or no exact match was found
-        if( i == size() || comp.compare(key,table.get(i).getKey()) != 0) { return null; }
-        return table.get(i).getValue(); // Exact Match found, return its value
+        Entry<K,V> e = find(version, key);
+        return live(e) ? e.getValue() : null;
     }
 
     /**
@@ -162,17 +262,45 @@ public class SortedTableMap <K,V> {
      */
     public V put(K key, V value) throws IllegalArgumentException {
         checkKey(key);
-        int i = findIndex(key);
-        // Check if valid index range and has an exact match
-        if (i < size() && comp.compare(key,table.get(i).getKey()) == 0) {
-            V oldValue = table.get(i).getValue();
-            table.get(i).setValue(value); // Replace its Value
-            return oldValue; 
-        }
-        table.add(i, new Entry<K,V>(key,value)); // Otherwise create a new Entry
-        return null;
+        Version<K,V> v = version;
+        Entry<K,V> old = find(v, key);
+        // The new value is buffered whether or not the key is in the table
+        PersistentRedBlackTree<K,Entry<K,V>> buffer = v.buffer.snapshot();
+        buffer.put(key, new Entry<K,V>(key,value));
+        publish(v.table, buffer, live(old) ? v.size : v.size + 1);
+        return live(old) ? old.getValue() : null;
     }
 
+    /**
+     * Publishes the next version of the map, first merging the buffer into the
+     * table if it has grown beyond its share of the table.
+     */
+    private void publish(ArrayList<Entry<K,V>> table, PersistentRedBlackTree<K,Entry<K,V>> buffer, int size) {
+        Version<K,V> next = new Version<>(table, buffer, size);
+        if (buffer.size() > Math.max(MIN_BUFFER, table.size() / MERGE_RATIO)) { next = merge(next); }
+        version = next;
+    }
+
+    /**
+     * Merges the buffer of a version into its table, in a single pass over both
+     * in order of keys, like the merge step of merge sort. Markers of removed keys
+     * are dropped along with the entries they hide.
+     * @return a new version with the merged table and an empty buffer
+     */
+    private Version<K,V> merge(Version<K,V> v) {
+        if (v.buffer.isEmpty()) { return v; }
+        ArrayList<Entry<K,V>> merged = new ArrayList<>(v.size);
+        Iterator<Entry<K,V>> it = entries(v, null, null);
+        while (it.hasNext()) { merged.add(it.next()); }
+        return new Version<>(merged, new PersistentRedBlackTree<>(comp), v.size);
+    }
+
+    /**
+     * Merges any recently added entries into the table, so that subsequent
+     * searches only perform a binary search. Useful once a table is built.
+     */
+    public void compact() { version = merge(version); }
+
     /**
      * Removes the entry with the specified key, if present, and returns its associated
      * value. Otherwise does nothing and returns null
@@ -182,21 +310,63 @@ public class SortedTableMap <K,V> {
      */
     public V remove(K key) throws IllegalArgumentException {
         checkKey(key);
-        int i = findIndex(key);
-        // If the index result is beyond the range or no exact match is found, nothing to remove
-        if (i == size() || comp.compare(key, table.get(i).getKey()) != 0 ) { return null; }
-        return table.remove(i).getValue(); // Remove and Return the Entry's value
+        Version<K,V> v = version;
+        Entry<K,V> old = find(v, key);
+        if (!live(old)) { return null; }
+        PersistentRedBlackTree<K,Entry<K,V>> buffer = v.buffer.snapshot();
+        if (matches(v.table, findIndex(v.table, key), key)) {
+            buffer.put(key, new Removed<K,V>(key)); // Hide the table's entry until the next merge
+        } else {
+            buffer.remove(key);                     // The key was only buffered
+        }
+        publish(v.table, buffer, v.size - 1);
+        return old.getValue();
+    }
+
+    /**
+     * Private Utility method that returns the entry with the greater key of two
+     * entries, where either may be null. The first wins a tie.
+     */
+    private Entry<K,V> greater(Entry<K,V> a, Entry<K,V> b) {
+        if (a == null || b == null) { return (a == null) ? b : a; }
+        return (comp.compare(a.getKey(), b.getKey()) >= 0) ? a : b;
     }
 
     /**
-     * Private Utility method that returns the entry at index i, or null if i is out 
-     * of bounds [0, size). 
-     * @param i They index of the Entry to retrieve within the table
-     * @return  The Entry at index i, or null if index is out of bounds
+     * Returns the first live entry of a version with key greater than the given
+     * key, or equal to it if inclusive, where a null key is below every key.
      */
-    private Entry<K,V> getEntry(int i) {
-        if(i < 0 || i >= table.size()) { return null; }
-        return table.get(i);
+    private Entry<K,V> ascend(Version<K,V> v, K key, boolean inclusive) {
+        Iterator<Entry<K,V>> it = entries(v, key, null);
+        Entry<K,V> e = it.hasNext() ? it.next() : null;
+        if (e != null && !inclusive && comp.compare(key, e.getKey()) == 0) {
+            e = it.hasNext() ? it.next() : null;   // Go past the exact match
+        }
+        return e;
+    }
+
+    /**
+     * Returns the last live entry of a version with key less than the given key,
+     * or equal to it if inclusive, where a null key is above every key. If the
+     * nearest key is the marker of a removed key, the search repeats below it.
+     */
+    private Entry<K,V> descend(Version<K,V> v, K key, boolean inclusive) {
+        while (true) {
+            int i = (key == null) ? v.table.size() : findIndex(v.table, key);
+            if (key != null && inclusive && matches(v.table, i, key)) { i++; }
+            Entry<K,V> t = (i > 0) ? v.table.get(i - 1) : null;
+            K k;
+            if (key == null) {
+                k = v.buffer.isEmpty() ? null : v.buffer.max();
+            } else {
+                k = inclusive ? v.buffer.floorKey(key) : v.buffer.lowerKey(key);
+            }
+            // The buffer takes precedence over an entry of the table with the same key
+            Entry<K,V> e = greater((k == null) ? null : v.buffer.get(k), t);
+            if (e == null || live(e)) { return e; }
+            key = e.getKey();
+            inclusive = false;
+        }
     }
 
     /** Additional Methods for the Sorted Map ADT */
@@ -205,7 +375,7 @@ public class SortedTableMap <K,V> {
      * @return entry with least key (or null if map is empty)
      */
     public Entry<K,V> firstEntry(){
-        return getEntry(0);
+        return ascend(version, null, true);
     }
 
     /**
@@ -213,7 +383,7 @@ public class SortedTableMap <K,V> {
      * @return entry with greatest key (or null if map is empty)
      */
     public Entry<K,V> lastEntry(){
-        return getEntry(table.size()-1);
+        return descend(version, null, true);
     }
 
     /**
@@ -224,7 +394,8 @@ public class SortedTableMap <K,V> {
      * @throws IllegalArgumentException if the key is not compatible with the map
      */
     public Entry<K,V> cielingEntry(K key) throws IllegalArgumentException {
-        return getEntry(findIndex(key));
+        checkKey(key);
+        return ascend(version, key, true);
     }
 
     /**
@@ -235,12 +406,8 @@ public class SortedTableMap <K,V> {
      * @throws IllegalArgumentException if the key is not compatible with the map
      */
     public Entry<K,V> floorEntry(K key) throws IllegalArgumentException {
-        int i = findIndex(key);
-        //If index beyond range or is not an exact match
-        if(i == size() || ! key.equals(table.get(i).getKey())){
-            i--; // Look at entry left of the index 
-        } // Otherwise an exact match was found
-        return getEntry(i);
+        checkKey(key);
+        return descend(version, key, true);
     }
 
     /**
@@ -251,7 +418,8 @@ public class SortedTableMap <K,V> {
      * @throws IllegalArgumentException if the key is not compatible with the map
      */
     public Entry<K,V> lowerEntry(K key) throws IllegalArgumentException {
-        return getEntry(findIndex(key) -1); // Go strictly before the cielingEntry
+        checkKey(key);
+        return descend(version, key, false);
     }
 
     /**
@@ -262,35 +430,42 @@ public class SortedTableMap <K,V> {
      * @throws IllegalArgumentException if the key is not compatible with the map
      */
     public Entry<K,V> higherEntry(K key) throws IllegalArgumentException {
-        int i = findIndex(key);
-        if(i < size() && key.equals(table.get(i).getKey())){
-            i++; // If we found an exact match, go past it
-        }
-        return getEntry(i);
+        checkKey(key);
+        return ascend(version, key, false);
     }
 
     /**
-     * Takes a snapshot iterator from the given index to the key. 
+     * Returns an iterator over the live entries of a version with keys in [k1, k2),
+     * where a null bound leaves that end of the range open. It walks the range of
+     * the table and the range of the buffer side by side.
+     */
+    private Iterator<Entry<K,V>> entries(Version<K,V> v, K k1, K k2) {
+        int start = (k1 == null) ? 0 : findIndex(v.table, k1);
+        int end = (k2 == null) ? v.table.size() : Math.max(start, findIndex(v.table, k2));
+        return new MergeIterator(v.table.subList(start, end).iterator(), v.buffer.values(k1, k2).iterator());
+    }
+
+    /**
+     * Returns a read-only view of the entries with keys in [k1, k2), where a null
+     * bound leaves that end of the range open. The view keeps the current version
+     * of the map, so it is not affected by later updates and nothing is copied.
      * Private utility method for entrySet() and subMap().
-     * @param start The starting index to iterate from
-     * @param stop  The ending key to end iterator on
+     * @param k1 The first key within the range, inclusive, or null
+     * @param k2 The key ending the range, exclusive, or null
      * @return  Iterable collection of map's entries with a given range
      */
-    private Iterable<Entry<K,V>> snapshot(int start, K stop){
-        ArrayList<Entry<K,V>> snapshot = new ArrayList<>();
-        int i = start;
-        while(i < table.size() && (stop == null 
-        || comp.compare(stop,table.get(i).getKey()) > 0)) {
-            snapshot.add(table.get(i++));
-        }
-        return snapshot;
+    private Iterable<Entry<K,V>> view(K k1, K k2){
+        Version<K,V> v = version;
+        // An empty range if k2 comes before k1
+        K stop = (k1 != null && k2 != null && comp.compare(k1, k2) > 0) ? k1 : k2;
+        return () -> entries(v, k1, stop);
     }
 
     /**
      * Returns an iterable collection of all Key-Value entries of the map
      * @return Iterable collection of the maps entries
      */
-    public Iterable<Entry<K,V>> entrySet() { return snapshot(0,null); }
+    public Iterable<Entry<K,V>> entrySet() { return view(null, null); }
 
     /**
      * Returns an Iterable containing all the keys in the range from [k1, k2) or k1 
@@ -298,11 +473,64 @@ public class SortedTableMap <K,V> {
      * @param k1 The first key bound within the range, inclusive
      * @param k2 The next key bound within the range, exclusive
      * @return iterable with keys in desired range
+     * @throws IllegalArgumentException if either key is invalid
      */
-    public Iterable<Entry<K,V>> subMap(K k1, K k2){
-        return snapshot(findIndex(k1), k2);
+    public Iterable<Entry<K,V>> subMap(K k1, K k2) throws IllegalArgumentException {
+        checkKey(k1);
+        checkKey(k2);
+        return view(k1, k2);
     }
 
+    /************************* Nested MergeIterator class  ********************************/
+    /**
+     * Merges the entries of a table and a buffer in increasing order of keys, like
+     * the merge step of merge sort. When both hold a key, the buffered entry takes
+     * precedence, and the markers of removed keys are skipped along with the table
+     * entries they hide. The entries cannot be removed through the iterator.
+     */
+    private class MergeIterator implements Iterator<Entry<K,V>> {
+        private final Iterator<Entry<K,V>> table, buffer;
+        private Entry<K,V> nextT, nextB;    // The next entry of each, or null if exhausted
+        private Entry<K,V> next;            // The next live entry to report, or null
+
+        private MergeIterator(Iterator<Entry<K,V>> table, Iterator<Entry<K,V>> buffer) {
+            this.table = table;
+            this.buffer = buffer;
+            nextT = table.hasNext() ? table.next() : null;
+            nextB = buffer.hasNext() ? buffer.next() : null;
+            next = advance();
+        }
+
+        /** @return the next live entry of the two iterators, or null if none remain */
+        private Entry<K,V> advance() {
+            while (nextT != null || nextB != null) {
+                int c = (nextT == null) ? 1 : (nextB == null) ? -1
+                    : comp.compare(nextT.getKey(), nextB.getKey());
+                if (c < 0) {
+                    Entry<K,V> e = nextT;
+                    nextT = table.hasNext() ? table.next() : null;
+                    return e;
+                }
+                if (c == 0) { nextT = table.hasNext() ? table.next() : null; }   // Hidden by the buffer
+                Entry<K,V> e = nextB;
+                nextB = buffer.hasNext() ? buffer.next() : null;
+                if (live(e)) { return e; }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() { return next != null; }
+
+        @Override
+        public Entry<K,V> next() throws NoSuchElementException {
+            if (next == null) { throw new NoSuchElementException(); }
+            Entry<K,V> e = next;
+            next = advance();
+            return e;
+        }
+    } /************************ End of MergeIterator class  ********************************/
+
     /**
 	 * Map Entry class represents the Entries or Key-Value pairs.
 	 * @param <K>		Keys
@@ -357,9 +585,10 @@ public class SortedTableMap <K,V> {
             return comp.compare(a.getKey(), b);
         }
 
-        /** Method for comparing two keys */
+        /** Method for comparing two keys, by their natural ordering */
+        @SuppressWarnings("unchecked")
         public int compare(K a, K b) {
-            return comp.compare(a, b);
+            return ((Comparable<K>) a).compareTo(b);
         }
         
     } // end of DefaultComparator class
@@ -0,0 +1,353 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class SortedTableMapTest {
+
+    // Error Messages
+    private static final String ILLEGAL_KEY = "Incompatible Key";
+
+    // The buffer holds at least this many entries before it is merged into the table
+    private static final int MIN_BUFFER = 64;
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("SortedTableMap Unit Testing has begun ...");
+    }
+
+    /** Checks that the entry has the key and value of the reference entry, or that both are null */
+    private static void assertEntry(java.util.Map.Entry<Integer,String> expected, SortedTableMap.Entry<Integer,String> actual) {
+        if (expected == null) {
+            assertNull(actual);
+        } else {
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getValue(), actual.getValue());
+        }
+    }
+
+    /** Checks that the entries are those of the reference map, in order */
+    private static void assertEntries(Iterable<java.util.Map.Entry<Integer,String>> expected,
+                                      Iterable<SortedTableMap.Entry<Integer,String>> actual) {
+        ArrayList<SortedTableMap.Entry<Integer,String>> entries = new ArrayList<>();
+        for (SortedTableMap.Entry<Integer,String> e : actual) { entries.add(e); }
+        int i = 0;
+        for (java.util.Map.Entry<Integer,String> e : expected) { assertEntry(e, entries.get(i++)); }
+        assertEquals(i, entries.size());
+    }
+
+    /** Checks the size, ends, and every search for the keys in [lo, hi] against the reference map */
+    private static void verify(TreeMap<Integer,String> expected, SortedTableMap<Integer,String> actual, int lo, int hi) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEntry(expected.firstEntry(), actual.firstEntry());
+        assertEntry(expected.lastEntry(), actual.lastEntry());
+        for (int key = lo; key <= hi; key++) {
+            assertEquals(expected.get(key), actual.get(key));
+            assertEntry(expected.ceilingEntry(key), actual.cielingEntry(key));
+            assertEntry(expected.floorEntry(key), actual.floorEntry(key));
+            assertEntry(expected.lowerEntry(key), actual.lowerEntry(key));
+            assertEntry(expected.higherEntry(key), actual.higherEntry(key));
+        }
+    }
+
+    @Test
+    void randomInserts() {
+        // Enough keys in random order for several merges of a growing buffer
+        Random random = new Random(1);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = 2 * random.nextInt(4000);
+            assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+            if (i % 97 == 0) { verify(expected, actual, -1, 8000); }
+        }
+        verify(expected, actual, -1, 8000);
+        actual.compact();
+        verify(expected, actual, -1, 8000);
+        assertEntries(expected.entrySet(), actual.entrySet());
+    }
+
+    @Test
+    void searchesSpanTableAndBuffer() {
+        // Even keys are merged into the table, then a few odd keys wait in the buffer
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int key = 0; key < 1000; key += 2) {
+            expected.put(key, "t" + key);
+            actual.put(key, "t" + key);
+        }
+        actual.compact();
+        for (int key : new int[] {-5, 1, 499, 997, 1001, 2001}) {
+            expected.put(key, "b" + key);
+            actual.put(key, "b" + key);
+        }
+        verify(expected, actual, -10, 2010);
+        // Replace values held by the table and by the buffer
+        assertEquals("t500", actual.put(500, "new"));
+        assertEquals("b499", actual.put(499, "newer"));
+        expected.put(500, "new");
+        expected.put(499, "newer");
+        verify(expected, actual, 490, 510);
+    }
+
+    @Test
+    void removeFromTableAndBuffer() {
+        Random random = new Random(2);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int key = 0; key < 2000; key++) {
+            expected.put(key, "v" + key);
+            actual.put(key, "v" + key);
+        }
+        actual.compact();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(3000);
+            switch (random.nextInt(3)) {
+                case 0:  assertEquals(expected.remove(key), actual.remove(key)); break;
+                case 1:  assertEquals(expected.put(key, "w" + i), actual.put(key, "w" + i)); break;
+                default: assertEquals(expected.get(key), actual.get(key));
+            }
+            if (i % 1000 == 0) { verify(expected, actual, -1, 3001); }
+        }
+        verify(expected, actual, -1, 3001);
+        assertEquals(expected.remove(2999), actual.remove(2999));
+        assertNull(actual.remove(5000));
+        actual.compact();
+        verify(expected, actual, -1, 3001);
+    }
+
+    @Test
+    void bufferedEntriesBeforeMerge() {
+        // Fewer than MIN_BUFFER new keys are never merged, but are found and listed
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int key = MIN_BUFFER; key > 0; key--) {
+            expected.put(key, "v" + key);
+            actual.put(key, "v" + key);
+        }
+        verify(expected, actual, 0, MIN_BUFFER + 1);
+        assertEquals("v1", actual.remove(1));
+        expected.remove(1);
+        verify(expected, actual, 0, MIN_BUFFER + 1);
+        assertEntries(expected.entrySet(), actual.entrySet());
+    }
+
+    @Test
+    void entrySetAndSubMapOrder() {
+        Random random = new Random(3);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int i = 0; i < 3000; i++) {
+            int key = random.nextInt(10_000);
+            expected.put(key, "v" + key);
+            actual.put(key, "v" + key);
+        }
+        assertEntries(expected.entrySet(), actual.entrySet());
+        for (int i = 0; i < 100; i++) {
+            int k1 = random.nextInt(11_000) - 500, k2 = k1 + random.nextInt(2000);
+            assertEntries(expected.subMap(k1, k2).entrySet(), actual.subMap(k1, k2));
+        }
+        assertEntries(expected.subMap(5000, 5000).entrySet(), actual.subMap(5000, 5000));
+        assertEntries(expected.subMap(9000, 9000).entrySet(), actual.subMap(9000, 5000));
+    }
+
+    @Test
+    void viewsBetweenInserts() {
+        // Each view is taken while the buffer holds entries, and keeps them after later inserts
+        Random random = new Random(6);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        ArrayList<TreeMap<Integer,String>> ranges = new ArrayList<>();
+        ArrayList<Iterable<SortedTableMap.Entry<Integer,String>>> views = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int key = random.nextInt(5000);
+            expected.put(key, "v" + i);
+            actual.put(key, "v" + i);
+            int k1 = random.nextInt(5000), k2 = k1 + random.nextInt(50);
+            assertEntries(expected.subMap(k1, k2).entrySet(), actual.subMap(k1, k2));
+            if (i % 100 == 0) {
+                ranges.add(new TreeMap<>(expected.subMap(k1, k2)));
+                views.add(actual.subMap(k1, k2));
+            }
+        }
+        for (int i = 0; i < views.size(); i++) { assertEntries(ranges.get(i).entrySet(), views.get(i)); }
+        assertEntries(expected.entrySet(), actual.entrySet());
+    }
+
+    @Test
+    void comparator() {
+        TreeMap<Integer,String> expected = new TreeMap<>(Comparator.reverseOrder());
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>(Comparator.<Integer>reverseOrder());
+        for (int i = 0; i < 500; i++) {
+            int key = (i * 7919) % 1000;
+            expected.put(key, "v" + key);
+            actual.put(key, "v" + key);
+        }
+        verify(expected, actual, -1, 1001);
+        assertEntries(expected.entrySet(), actual.entrySet());
+    }
+
+    @Test
+    void snapshotsAndViewsAfterWrites() {
+        // Old snapshots and views must keep the version they were taken from
+        Random random = new Random(4);
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        ArrayList<TreeMap<Integer,String>> versions = new ArrayList<>();
+        ArrayList<SortedTableMap<Integer,String>> snapshots = new ArrayList<>();
+        ArrayList<TreeMap<Integer,String>> ranges = new ArrayList<>();
+        ArrayList<Iterable<SortedTableMap.Entry<Integer,String>>> views = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), actual.put(key, "v" + i));
+            }
+            if (i % 500 == 0) {
+                versions.add(new TreeMap<>(expected));
+                snapshots.add(actual.snapshot());
+            } else if (i % 500 == 250) {
+                int k1 = random.nextInt(2000), k2 = k1 + random.nextInt(500);
+                ranges.add(new TreeMap<>(expected.subMap(k1, k2)));
+                views.add(actual.subMap(k1, k2));
+                ranges.add(new TreeMap<>(expected));
+                views.add(actual.entrySet());
+            }
+        }
+        verify(expected, actual, -1, 2001);
+        for (int i = 0; i < snapshots.size(); i++) {
+            verify(versions.get(i), snapshots.get(i), -1, 2001);
+            assertEntries(versions.get(i).entrySet(), snapshots.get(i).entrySet());
+        }
+        for (int i = 0; i < views.size(); i++) { assertEntries(ranges.get(i).entrySet(), views.get(i)); }
+    }
+
+    @Test
+    void snapshotUpdatesAreIndependent() {
+        // Both the map and its snapshots keep being updated, and none sees the others' updates
+        Random random = new Random(5);
+        ArrayList<TreeMap<Integer,String>> expected = new ArrayList<>();
+        ArrayList<SortedTableMap<Integer,String>> actual = new ArrayList<>();
+        expected.add(new TreeMap<>());
+        actual.add(new SortedTableMap<>());
+        for (int i = 0; i < 20_000; i++) {
+            int m = random.nextInt(actual.size()), key = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.get(m).remove(key), actual.get(m).remove(key));
+            } else {
+                assertEquals(expected.get(m).put(key, m + ":" + i), actual.get(m).put(key, m + ":" + i));
+            }
+            if (random.nextInt(100) == 0) { actual.get(m).compact(); }
+            if (i % 1000 == 0) {
+                expected.add(new TreeMap<>(expected.get(m)));
+                actual.add(actual.get(m).snapshot());
+            }
+        }
+        for (int m = 0; m < actual.size(); m++) {
+            verify(expected.get(m), actual.get(m), -1, 1001);
+            assertEntries(expected.get(m).entrySet(), actual.get(m).entrySet());
+        }
+    }
+
+    @Test
+    void removedRunsOfTheTable() {
+        // Removed keys of the table stay hidden in the buffer, searches must step over a long run of them
+        TreeMap<Integer,String> expected = new TreeMap<>();
+        SortedTableMap<Integer,String> actual = new SortedTableMap<>();
+        for (int key = 0; key < 20_000; key++) {
+            expected.put(key, "v" + key);
+            actual.put(key, "v" + key);
+        }
+        actual.compact();
+        for (int key = 5000; key < 7000; key++) { assertEquals(expected.remove(key), actual.remove(key)); }
+        verify(expected, actual, 4990, 7010);
+        assertEntries(expected.subMap(4000, 8000).entrySet(), actual.subMap(4000, 8000));
+        // A removed key may be added again, and removed once more
+        assertNull(actual.put(6000, "again"));
+        expected.put(6000, "again");
+        verify(expected, actual, 5990, 6010);
+        assertEquals("again", actual.remove(6000));
+        expected.remove(6000);
+        verify(expected, actual, 4990, 7010);
+        actual.compact();
+        verify(expected, actual, 4990, 7010);
+    }
+
+    @Test
+    void readersTakeViewsWhileWriting() throws InterruptedException {
+        // Every value names its key, so a consistent version reports sorted keys with matching values
+        SortedTableMap<Integer,String> map = new SortedTableMap<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Runnable reader = () -> {
+            while (!done.get() && failure.get() == null) {
+                SortedTableMap<Integer,String> snapshot = map.snapshot();
+                int count = 0, last = -1;
+                for (SortedTableMap.Entry<Integer,String> e : snapshot.entrySet()) {
+                    if (e.getKey() <= last || !e.getValue().equals("v" + e.getKey())) { failure.set("Entry " + e); }
+                    last = e.getKey();
+                    count++;
+                }
+                if (count != snapshot.size()) { failure.set("Size " + snapshot.size() + " of " + count + " entries"); }
+                for (SortedTableMap.Entry<Integer,String> e : map.subMap(1000, 2000)) {
+                    if (e.getKey() < 1000 || e.getKey() >= 2000) { failure.set("Entry " + e + " outside of range"); }
+                }
+            }
+        };
+        Thread[] readers = { new Thread(reader), new Thread(reader) };
+        for (Thread t : readers) { t.start(); }
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+            } else {
+                map.put(key, "v" + key);
+            }
+        }
+        done.set(true);
+        for (Thread t : readers) { t.join(); }
+        assertNull(failure.get());
+    }
+
+    @Test
+    void emptyMap() {
+        SortedTableMap<Integer,String> map = new SortedTableMap<>();
+        assertTrue(map.isEmpty());
+        verify(new TreeMap<>(), map, -1, 1);
+        assertNull(map.remove(0));
+        map.compact();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void incompatibleKey() {
+        SortedTableMap<Object,String> map = new SortedTableMap<>();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> map.put(new Object(), "x"));
+        assertEquals(ILLEGAL_KEY, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> map.get(new Object()));
+        assertEquals(ILLEGAL_KEY, e.getMessage());
+        e = assertThrows(IllegalArgumentException.class, () -> map.remove(new Object()));
+        assertEquals(ILLEGAL_KEY, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("SortedTableMap Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.Arrays;
+
+/**
+ * The strongly connected components of a directed CSR graph: the maximal sets of
+ * vertices in which every vertex has a path to every other. Every directed cycle
+ * lies within one component, so a graph is acyclic exactly when each component
+ * is a single vertex without a self-loop, and contracting each component to a
+ * vertex leaves an acyclic graph, the condensation.
+ *
+ * Tarjan's algorithm finds them in one Depth-First Search. Each vertex is
+ * numbered in the order it is discovered, and low[v] is the smallest number
+ * reachable from the subtree of v through one edge to a vertex still on the
+ * stack. A vertex whose low equals its own number is the root of a component,
+ * which is popped off the stack when the search finishes the root.
+ *
+ * The search is iterative: the current path is an explicit stack of vertices,
+ * each with the next slot of its edges to explore, so a path of a million
+ * vertices needs no call stack. Components are numbered in the order they are
+ * completed, which is a reverse topological order of the condensation: every
+ * edge between two components leads from a larger number to a smaller one.
+ *
+ * Source: Tarjan, R. E. (1972). Depth-First Search and Linear Graph Algorithms.
+ * SIAM Journal on Computing, 1(2), 146-160.
+ *
+ * O(n + m) - construction
+ * O(1) - component(), count(), size()
+ */
+public class StronglyConnectedComponents<V,E> {
+    /** Instance Variables **/
+    private final CSR<V,E> g;
+    private final int[] component;      // The component of each vertex
+    private int[] sizes;                // The number of vertices of each component
+    private int count;
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_UNDIRECTED = "Graph must be directed";
+
+    /** Constructors **/
+    /**
+     * Finds the strongly connected components of a directed graph
+     * @param g A directed graph
+     * @throws IllegalArgumentException if g is undirected
+     */
+    public StronglyConnectedComponents(CSR<V,E> g) throws IllegalArgumentException {
+        if (!g.isDirected()) { throw new IllegalArgumentException(ILLEGAL_ARG_UNDIRECTED); }
+        this.g = g;
+        int n = g.numVertices();
+        component = new int[n];
+        sizes = new int[16];
+        int[] number = new int[n];      // The discovery number of each vertex plus one, 0 if unseen
+        int[] low = new int[n];
+        int[] pending = new int[n];     // Vertices discovered but not yet assigned a component
+        int[] path = new int[n];        // The current path of the search
+        int[] next = new int[n];        // The next slot to explore of each vertex on the path
+        Arrays.fill(component, -1);
+        int discovered = 0, top = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (number[s] != 0) { continue; }
+            int depth = 0;
+            path[0] = s;
+            next[0] = g.outStart(s);
+            number[s] = low[s] = ++discovered;
+            pending[top++] = s;
+            while (depth >= 0) {
+                int u = path[depth];
+                if (next[depth] < g.outEnd(u)) {
+                    int v = g.target(next[depth]++);
+                    if (number[v] == 0) {
+                        // Descend into v
+                        number[v] = low[v] = ++discovered;
+                        pending[top++] = v;
+                        path[++depth] = v;
+                        next[depth] = g.outStart(v);
+                    } else if (component[v] < 0) {
+                        low[u] = Math.min(low[u], number[v]);   // v is still pending
+                    }
+                    continue;
+                }
+                // Every edge of u is explored
+                if (low[u] == number[u]) {
+                    // u is the root of a component: everything pending above it
+                    int size = 0;
+                    int w;
+                    do {
+                        w = pending[--top];
+                        component[w] = count;
+                        size++;
+                    } while (w != u);
+                    addComponent(size);
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = path[depth];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+            }
+        }
+        sizes = Arrays.copyOf(sizes, count);
+    }
+
+    /** Private Utility Methods **/
+    /** Records the size of the next component */
+    private void addComponent(int size) {
+        if (count == sizes.length) { sizes = Arrays.copyOf(sizes, 2 * count); }
+        sizes[count++] = size;
+    }
+
+    /** Access Methods **/
+    /** @return the graph whose components these are */
+    public CSR<V,E> graph() { return g; }
+
+    /** @return the number of strongly connected components */
+    public int count() { return count; }
+
+    /** @return the component of vertex v, numbered in [0, count()) in reverse topological order */
+    public int component(int v) { return component[v]; }
+
+    /**
+     * @return the component of a vertex of the original graph
+     * @throws IllegalArgumentException if the vertex was not in the graph when it was frozen
+     */
+    public int component(Vertex<V> v) throws IllegalArgumentException { return component[g.id(v)]; }
+
+    /** @return true if u and v each have a path to the other */
+    public boolean stronglyConnected(int u, int v) { return component[u] == component[v]; }
+
+    /** @return the number of vertices of component c */
+    public int size(int c) { return sizes[c]; }
+
+    /** @return a copy of the size of every component */
+    public int[] sizes() { return Arrays.copyOf(sizes, count); }
+
+    /** @return the vertices of component c, in order of id */
+    public int[] members(int c) {
+        int[] members = new int[sizes[c]];
+        int k = 0;
+        for (int v = 0; v < component.length; v++) {
+            if (component[v] == c) { members[k++] = v; }
+        }
+        return members;
+    }
+}
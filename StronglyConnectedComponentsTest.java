@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class StronglyConnectedComponentsTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_UNDIRECTED = "Graph must be directed";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("StronglyConnectedComponents Unit Testing has begun ...");
+    }
+
+    /** @return a directed graph of n vertices with the given edges */
+    private static CSRGraph<Integer,Integer> graph(int n, int[][] edges) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i); }
+        return g.freeze();
+    }
+
+    /** @return a random DAG, each edge leading from a smaller to a larger vertex of a shuffled numbering */
+    private static CSRGraph<Integer,Integer> randomDag(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) { rank[i] = i; }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1), t = rank[i];
+            rank[i] = rank[j];
+            rank[j] = t;
+        }
+        HashSet<Long> seen = new HashSet<>();
+        int[][] edges = new int[m][];
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b) { continue; }
+            int from = Math.min(a, b), to = Math.max(a, b);
+            if (seen.add((long) from * n + to)) { edges[e++] = new int[] {rank[from], rank[to]}; }
+        }
+        return graph(n, edges);
+    }
+
+    @Test
+    void smallGraph() {
+        // {0, 1, 2} is a cycle, 2 -> 3, {3, 4} is a cycle, and 5 stands alone
+        CSRGraph<Integer,Integer> g = graph(6,
+            new int[][] { {0, 1}, {1, 2}, {2, 0}, {2, 3}, {3, 4}, {4, 3} });
+        StronglyConnectedComponents<Integer,Integer> scc = new StronglyConnectedComponents<>(g);
+        assertEquals(3, scc.count());
+        assertTrue(scc.stronglyConnected(0, 2));
+        assertTrue(scc.stronglyConnected(3, 4));
+        assertFalse(scc.stronglyConnected(2, 3));
+        assertArrayEquals(new int[] {0, 1, 2}, scc.members(scc.component(1)));
+        assertEquals(2, scc.size(scc.component(4)));
+        // Reverse topological order: the edge 2 -> 3 leads to a smaller component
+        assertTrue(scc.component(2) > scc.component(3));
+    }
+
+    @Test
+    void dagHasSingletonComponents() {
+        CSRGraph<Integer,Integer> g = randomDag(2000, 8000, 6);
+        StronglyConnectedComponents<Integer,Integer> scc = new StronglyConnectedComponents<>(g);
+        assertEquals(g.numVertices(), scc.count());
+        for (int e = 0; e < g.numEdges(); e++) {
+            assertTrue(scc.component(g.edgeSource(e)) > scc.component(g.edgeTarget(e)));
+        }
+    }
+
+    @Test
+    void matchesReachability() {
+        // u and v are strongly connected exactly when each reaches the other
+        Random random = new Random(2);
+        int n = 300;
+        int[][] edges = new int[500][];
+        HashSet<Long> seen = new HashSet<>();
+        for (int e = 0; e < edges.length; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (seen.add((long) a * n + b)) { edges[e++] = new int[] {a, b}; }
+        }
+        CSRGraph<Integer,Integer> g = graph(n, edges);
+        StronglyConnectedComponents<Integer,Integer> scc = new StronglyConnectedComponents<>(g);
+        GraphTraversal.Result[] reach = new GraphTraversal.Result[n];
+        for (int u = 0; u < n; u++) { reach[u] = GraphTraversal.bfs(g, u); }
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                assertEquals(reach[u].isVisited(v) && reach[v].isVisited(u), scc.stronglyConnected(u, v));
+            }
+        }
+        int total = 0;
+        for (int size : scc.sizes()) { total += size; }
+        assertEquals(n, total);
+    }
+
+    @Test
+    void longCycleDoesNotOverflowStack() {
+        int n = 100_000;
+        int[][] edges = new int[n][];
+        for (int i = 0; i < n; i++) { edges[i] = new int[] {i, (i + 1) % n}; }
+        StronglyConnectedComponents<Integer,Integer> scc =
+            new StronglyConnectedComponents<>(graph(n, edges));
+        assertEquals(1, scc.count());
+        assertEquals(n, scc.size(0));
+    }
+
+    @Test
+    void undirected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new StronglyConnectedComponents<>(new Graph<Integer,Integer>(false).freeze()));
+        assertEquals(ILLEGAL_ARG_UNDIRECTED, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("StronglyConnectedComponents Unit Testing is complete.");
+    }
+}
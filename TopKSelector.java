@@ -0,0 +1,159 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Selects the K largest (or K smallest) numbers from a stream of numbers of any
+ * length, while storing no more than K of them. The selector keeps the best K
+ * numbers seen so far in a binary min-heap held in a plain long[], with no
+ * payloads, whose root is the worst of them and so the Kth best number seen
+ * so far. Each new number is compared with the
+ * root: a number that is no better is rejected by that one comparison, and a
+ * better number replaces the root and is moved down the heap in O(log K) time.
+ * A stream of n numbers is therefore processed in O(n log K) time and O(K) space.
+ *
+ * A min-heap is what finding the K largest numbers requires:
+ * the smallest of the K largest numbers sits at the root. To find the K smallest
+ * numbers the selector needs a max-heap instead, so it stores the bitwise
+ * complement ~x of each number x. Complementing reverses the order of all longs
+ * (x < y if and only if ~x > ~y) and, unlike negation, cannot overflow.
+ *
+ * O(log K) - offer() of a number that is kept
+ * O(1) - offer() of a number that is rejected, kth(), size()
+ */
+public class TopKSelector {
+    /** Instance Variables **/
+    private long[] heap;            // The keys of the kept numbers, heap-ordered with the smallest at 0
+    private int size;               // The number of keys in the heap
+    private final int k;
+    private final boolean largest;  // Select the K largest numbers, or the K smallest
+    private long offered;           // The number of numbers offered so far
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_K = "K must be positive";
+    private static final String UNDERFLOW = "Fewer than K numbers have been offered";
+    private static final String ILLEGAL_ARG_MERGE = "Selectors must both select the largest or the smallest";
+
+    /** Initial capacity of the heap, which grows by doubling up to K */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Constructors **/
+    /**
+     * Constructs a selector of the K largest or K smallest numbers
+     * @param k       The number of numbers to select
+     * @param largest true to select the K largest numbers, false for the K smallest
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public TopKSelector(int k, boolean largest) throws IllegalArgumentException {
+        if (k <= 0) { throw new IllegalArgumentException(ILLEGAL_ARG_K); }
+        this.k = k;
+        this.largest = largest;
+        this.heap = new long[Math.min(k, INITIAL_CAPACITY)];
+    }
+
+    /** Private Utility Methods **/
+    /** Converts a number to its key in the heap, and a key back to its number */
+    private long encode(long x) { return largest ? x : ~x; }
+
+    /** Adds a key at the end of the heap and moves it up to its place */
+    private void upheap(long key) {
+        if (size == heap.length) { heap = Arrays.copyOf(heap, Math.min(k, 2 * size)); }
+        int j = size++;
+        while (j > 0) {
+            int parent = (j - 1) >>> 1;
+            if (heap[parent] <= key) { break; }
+            heap[j] = heap[parent];
+            j = parent;
+        }
+        heap[j] = key;
+    }
+
+    /** Replaces the root of the heap with a key no smaller than it, and moves the key down to its place */
+    private void downheap(long key) {
+        int j = 0;
+        while (2 * j + 1 < size) {
+            int child = 2 * j + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) { child++; }
+            if (key <= heap[child]) { break; }
+            heap[j] = heap[child];
+            j = child;
+        }
+        heap[j] = key;
+    }
+
+    /** Access Methods **/
+    /** @return K, the number of numbers to select */
+    public int k() { return k; }
+
+    /** @return true if the selector selects the largest numbers, false for the smallest */
+    public boolean isLargest() { return largest; }
+
+    /** @return The number of numbers kept, which is at most K */
+    public int size() { return size; }
+
+    /** @return The number of numbers offered to the selector so far */
+    public long offered() { return offered; }
+
+    /** @return true if K numbers are kept, so that kth() is defined */
+    public boolean isFull() { return size == k; }
+
+    /**
+     * Returns the Kth largest (or Kth smallest) of the numbers offered so far
+     * @return the Kth best number
+     * @throws NoSuchElementException if fewer than K numbers have been offered
+     */
+    public long kth() throws NoSuchElementException {
+        if (!isFull()) { throw new NoSuchElementException(UNDERFLOW); }
+        return encode(heap[0]);         // Complementing twice returns the number
+    }
+
+    /**
+     * Returns the numbers kept by the selector, best first: in decreasing order
+     * when selecting the largest, in increasing order when selecting the smallest.
+     * The selector is not modified.
+     * @return an array of the (at most K) best numbers offered so far
+     */
+    public long[] toArray() {
+        long[] keys = Arrays.copyOf(heap, size);
+        Arrays.sort(keys);  // Worst first, since the best number has the largest key
+        long[] best = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            best[i] = encode(keys[keys.length - 1 - i]);
+        }
+        return best;
+    }
+
+    /** Update Methods **/
+    /**
+     * Offers a number to the selector, which keeps it if it is among the K best
+     * numbers offered so far.
+     * @param x The number to offer
+     * @return true if the number was kept, false if it was rejected
+     */
+    public boolean offer(long x) {
+        offered++;
+        long key = encode(x);
+        if (size < k) {
+            upheap(key);
+            return true;
+        }
+        if (key <= heap[0]) { return false; }   // No better than the Kth best
+        downheap(key);                          // Evict the Kth best
+        return true;
+    }
+
+    /**
+     * Merges the numbers kept by another selector into this one, as if every
+     * number offered to the other selector had been offered to this one. This
+     * lets several selectors each process part of a stream in parallel, then
+     * combine their results. The other selector is not modified.
+     * @param other The selector to merge into this one
+     * @throws IllegalArgumentException if the selectors select in opposite directions
+     */
+    public void merge(TopKSelector other) throws IllegalArgumentException {
+        if (other.largest != largest) { throw new IllegalArgumentException(ILLEGAL_ARG_MERGE); }
+        for (long key : Arrays.copyOf(other.heap, other.size)) {    // A copy, since other may be this
+            offer(encode(key));
+        }
+        offered += other.offered - other.size();    // Numbers the other selector rejected
+    }
+}
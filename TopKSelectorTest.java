@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class TopKSelectorTest {
+
+    // Error Messages
+    public static final String ILLEGAL_ARG_K = "K must be positive";
+    private static final String UNDERFLOW = "Fewer than K numbers have been offered";
+
+    // The example of ElementFinder
+    private static final long[] EXAMPLE = { 1, 4, 6, 8, 9, 10, 13, 14, 0, 1, 98, 96, 5, 3, 2 };
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("TopKSelector Unit Testing has begun ...");
+    }
+
+    @Test
+    public void invalidK() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new TopKSelector(0, true));
+        assertEquals(ILLEGAL_ARG_K, e.getMessage());
+    }
+
+    @Test
+    void kthNotFull() {
+        TopKSelector selector = new TopKSelector(3, true);
+        selector.offer(1);
+        selector.offer(2);
+        assertFalse(selector.isFull());
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+            () -> selector.kth());
+        assertEquals(UNDERFLOW, e.getMessage());
+    }
+
+    @Test
+    void fourthLargest() {
+        TopKSelector selector = new TopKSelector(4, true);
+        for (long x : EXAMPLE) { selector.offer(x); }
+        assertEquals(13, selector.kth());
+        assertEquals(4, selector.size());
+        assertEquals(EXAMPLE.length, selector.offered());
+        assertArrayEquals(new long[] { 98, 96, 14, 13 }, selector.toArray());
+    }
+
+    @Test
+    void fourthSmallest() {
+        TopKSelector selector = new TopKSelector(4, false);
+        for (long x : EXAMPLE) { selector.offer(x); }
+        assertEquals(2, selector.kth());
+        assertArrayEquals(new long[] { 0, 1, 1, 2 }, selector.toArray());
+    }
+
+    @Test
+    void rejectsWorseNumbers() {
+        TopKSelector selector = new TopKSelector(2, true);
+        assertTrue(selector.offer(5));
+        assertTrue(selector.offer(7));
+        assertFalse(selector.offer(5));     // Ties with the Kth largest are rejected
+        assertFalse(selector.offer(1));
+        assertTrue(selector.offer(6));
+        assertEquals(6, selector.kth());
+    }
+
+    @Test
+    void extremeNumbers() {
+        TopKSelector smallest = new TopKSelector(1, false);
+        smallest.offer(Long.MAX_VALUE);
+        smallest.offer(Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, smallest.kth());
+        TopKSelector largest = new TopKSelector(1, true);
+        largest.offer(Long.MIN_VALUE);
+        largest.offer(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, largest.kth());
+    }
+
+    @Test
+    void randomAgainstSort() {
+        Random random = new Random(7);
+        long[] numbers = new long[10_000];
+        for (int i = 0; i < numbers.length; i++) { numbers[i] = random.nextInt(5_000) - 2_500; }
+        long[] sorted = numbers.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[] { 1, 10, 100, 10_000 }) {
+            TopKSelector largest = new TopKSelector(k, true);
+            TopKSelector smallest = new TopKSelector(k, false);
+            for (long x : numbers) {
+                largest.offer(x);
+                smallest.offer(x);
+            }
+            assertEquals(sorted[sorted.length - k], largest.kth());
+            assertEquals(sorted[k - 1], smallest.kth());
+        }
+    }
+
+    @Test
+    void mergeHalves() {
+        TopKSelector left = new TopKSelector(4, true);
+        TopKSelector right = new TopKSelector(4, true);
+        for (int i = 0; i < EXAMPLE.length; i++) {
+            (i < EXAMPLE.length / 2 ? left : right).offer(EXAMPLE[i]);
+        }
+        left.merge(right);
+        assertEquals(13, left.kth());
+        assertEquals(EXAMPLE.length, left.offered());
+        assertArrayEquals(new long[] { 98, 96, 14, 13 }, left.toArray());
+    }
+
+    @Test
+    void mergeOppositeDirections() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new TopKSelector(1, true).merge(new TopKSelector(1, false)));
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("TopKSelector Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+
+/**
+ * Topological order and cycle detection for a directed CSR graph, such as a
+ * graph of jobs with an edge from each job to the jobs that depend on it.
+ *
+ * A topological order lists every vertex before the vertices its outgoing
+ * edges lead to, and exists exactly when the graph has no directed cycle.
+ * order() uses Kahn's algorithm: it counts the in-degree of every vertex, emits
+ * the vertices of in-degree 0, and removes the edges of each vertex it emits,
+ * which emits each vertex whose in-degree falls to 0. The emitted vertices form
+ * the queue of the vertices waiting to be processed, so no other structure is
+ * needed, and a vertex left over when the queue runs out lies on or behind a
+ * cycle.
+ *
+ * findCycle() reports an actual cycle, found by an iterative Depth-First Search
+ * that colors each vertex white (unseen), grey (on the current path), or black
+ * (finished): an edge to a grey vertex closes a cycle through the current path.
+ *
+ * Source: Kahn, A. B. (1962). Topological sorting of large networks.
+ * Communications of the ACM, 5(11), 558-562.
+ *
+ * O(n + m) - order(), hasCycle(), findCycle()
+ */
+public class TopologicalSort {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_UNDIRECTED = "Graph must be directed";
+    private static final String ILLEGAL_ARG_CYCLE = "Graph has a cycle";
+
+    private TopologicalSort() {}    // Static methods only
+
+    /** Private Utility Methods **/
+    /** @throws IllegalArgumentException if g is undirected */
+    private static void validate(CSR<?,?> g) throws IllegalArgumentException {
+        if (!g.isDirected()) { throw new IllegalArgumentException(ILLEGAL_ARG_UNDIRECTED); }
+    }
+
+    /**
+     * Kahn's algorithm
+     * @return the vertices in topological order, followed by nothing for the vertices
+     *         on or behind a cycle, and the number emitted as the last element
+     */
+    private static int[] kahn(CSR<?,?> g) {
+        int n = g.numVertices();
+        int[] remaining = new int[n];       // The in-degree of each vertex among the unemitted
+        int[] order = new int[n + 1];
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            remaining[v] = g.inDegree(v);
+            if (remaining[v] == 0) { order[tail++] = v; }
+        }
+        for (int head = 0; head < tail; head++) {
+            int u = order[head];
+            for (int i = g.outStart(u), end = g.outEnd(u); i < end; i++) {
+                int v = g.target(i);
+                if (--remaining[v] == 0) { order[tail++] = v; }
+            }
+        }
+        order[n] = tail;
+        return order;
+    }
+
+    /** Algorithms **/
+    /**
+     * Returns a topological order of the vertices. The vertices without incoming
+     * edges come first, in order of id.
+     * @param g A directed graph
+     * @return every vertex id, each before the targets of its outgoing edges
+     * @throws IllegalArgumentException if g is undirected or has a cycle
+     */
+    public static int[] order(CSR<?,?> g) throws IllegalArgumentException {
+        validate(g);
+        int n = g.numVertices();
+        int[] order = kahn(g);
+        if (order[n] < n) { throw new IllegalArgumentException(ILLEGAL_ARG_CYCLE); }
+        return Arrays.copyOf(order, n);
+    }
+
+    /**
+     * @param g A directed graph
+     * @return true if g has a directed cycle, including a self-loop
+     * @throws IllegalArgumentException if g is undirected
+     */
+    public static boolean hasCycle(CSR<?,?> g) throws IllegalArgumentException {
+        validate(g);
+        return kahn(g)[g.numVertices()] < g.numVertices();
+    }
+
+    /**
+     * Finds a directed cycle
+     * @param g A directed graph
+     * @return the vertices of a cycle, each with an edge to the next and the last
+     *         with an edge to the first, or an empty array if g is acyclic
+     * @throws IllegalArgumentException if g is undirected
+     */
+    public static int[] findCycle(CSR<?,?> g) throws IllegalArgumentException {
+        validate(g);
+        int n = g.numVertices();
+        byte[] color = new byte[n];         // 0 white, 1 grey, 2 black
+        int[] parent = new int[n];
+        int[] stack = new int[n];           // The grey path
+        int[] next = new int[n];            // The next slot to explore of each vertex on the path
+        for (int s = 0; s < n; s++) {
+            if (color[s] != 0) { continue; }
+            int top = 0;
+            stack[0] = s;
+            next[0] = g.outStart(s);
+            color[s] = 1;
+            parent[s] = -1;
+            while (top >= 0) {
+                int u = stack[top];
+                if (next[top] == g.outEnd(u)) {
+                    color[u] = 2;           // Finished
+                    top--;
+                    continue;
+                }
+                int v = g.target(next[top]++);
+                if (color[v] == 1) {
+                    // The edge u -> v closes the cycle v -> ... -> u on the current path
+                    int length = 1;
+                    for (int w = u; w != v; w = parent[w]) { length++; }
+                    int[] cycle = new int[length];
+                    for (int w = u, i = length - 1; i >= 0; w = parent[w], i--) { cycle[i] = w; }
+                    return cycle;
+                }
+                if (color[v] == 0) {
+                    color[v] = 1;
+                    parent[v] = u;
+                    stack[++top] = v;
+                    next[top] = g.outStart(v);
+                }
+            }
+        }
+        return new int[0];
+    }
+}
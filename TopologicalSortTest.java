@@ -0,0 +1,146 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class TopologicalSortTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_UNDIRECTED = "Graph must be directed";
+    private static final String ILLEGAL_ARG_CYCLE = "Graph has a cycle";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("TopologicalSort Unit Testing has begun ...");
+    }
+
+    /** @return a directed graph of n vertices with the given edges */
+    private static CSRGraph<Integer,Integer> graph(int n, int[][] edges) {
+        Graph<Integer,Integer> g = new Graph<>(true);
+        ArrayList<Vertex<Integer>> v = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) { v.add(g.insertVertex(i)); }
+        for (int i = 0; i < edges.length; i++) { g.insertEdge(v.get(edges[i][0]), v.get(edges[i][1]), i); }
+        return g.freeze();
+    }
+
+    /** @return a random DAG, each edge leading from a smaller to a larger vertex of a shuffled numbering */
+    private static CSRGraph<Integer,Integer> randomDag(int n, int m, long seed) {
+        Random random = new Random(seed);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) { rank[i] = i; }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1), t = rank[i];
+            rank[i] = rank[j];
+            rank[j] = t;
+        }
+        HashSet<Long> seen = new HashSet<>();
+        int[][] edges = new int[m][];
+        for (int e = 0; e < m; ) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b) { continue; }
+            int from = Math.min(a, b), to = Math.max(a, b);
+            if (seen.add((long) from * n + to)) { edges[e++] = new int[] {rank[from], rank[to]}; }
+        }
+        return graph(n, edges);
+    }
+
+    /** Checks that order lists every vertex once, each before the targets of its edges */
+    private static void verifyOrder(CSRGraph<Integer,Integer> g, int[] order) {
+        assertEquals(g.numVertices(), order.length);
+        int[] position = new int[g.numVertices()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(-1, position[order[i]]);
+            position[order[i]] = i;
+        }
+        for (int e = 0; e < g.numEdges(); e++) {
+            assertTrue(position[g.edgeSource(e)] < position[g.edgeTarget(e)]);
+        }
+    }
+
+    @Test
+    void smallDag() {
+        // 0 -> 2, 1 -> 2, 2 -> 3, 1 -> 3
+        CSRGraph<Integer,Integer> g = graph(4, new int[][] { {0, 2}, {1, 2}, {2, 3}, {1, 3} });
+        assertArrayEquals(new int[] {0, 1, 2, 3}, TopologicalSort.order(g));
+        assertFalse(TopologicalSort.hasCycle(g));
+        assertEquals(0, TopologicalSort.findCycle(g).length);
+    }
+
+    @Test
+    void randomDag() {
+        CSRGraph<Integer,Integer> g = randomDag(5000, 20000, 4);
+        verifyOrder(g, TopologicalSort.order(g));
+        assertFalse(TopologicalSort.hasCycle(g));
+        assertEquals(0, TopologicalSort.findCycle(g).length);
+    }
+
+    @Test
+    void cycle() {
+        // 0 -> 1 -> 2 -> 3 -> 1, and 3 -> 4
+        CSRGraph<Integer,Integer> g = graph(5, new int[][] { {0, 1}, {1, 2}, {2, 3}, {3, 1}, {3, 4} });
+        assertTrue(TopologicalSort.hasCycle(g));
+        assertArrayEquals(new int[] {1, 2, 3}, TopologicalSort.findCycle(g));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> TopologicalSort.order(g));
+        assertEquals(ILLEGAL_ARG_CYCLE, e.getMessage());
+    }
+
+    @Test
+    void selfLoop() {
+        CSRGraph<Integer,Integer> g = graph(2, new int[][] { {0, 1}, {1, 1} });
+        assertTrue(TopologicalSort.hasCycle(g));
+        assertArrayEquals(new int[] {1}, TopologicalSort.findCycle(g));
+    }
+
+    @Test
+    void findCycleEdgesExist() {
+        // A DAG plus one back edge, closing the longest shortest path of the DAG
+        CSRGraph<Integer,Integer> dag = randomDag(300, 900, 12);
+        int s = 0, far = 0;
+        for (int u = 0; u < dag.numVertices(); u++) {
+            GraphTraversal.Result reach = GraphTraversal.bfs(dag, u);
+            int last = reach.vertexAt(reach.size() - 1);
+            if (reach.pathTo(last).length > GraphTraversal.bfs(dag, s).pathTo(far).length) {
+                s = u;
+                far = last;
+            }
+        }
+        int[][] edges = new int[dag.numEdges() + 1][];
+        for (int e = 0; e < dag.numEdges(); e++) { edges[e] = new int[] {dag.edgeSource(e), dag.edgeTarget(e)}; }
+        edges[dag.numEdges()] = new int[] {far, s};
+        CSRGraph<Integer,Integer> g = graph(300, edges);
+        int[] cycle = TopologicalSort.findCycle(g);
+        assertTrue(cycle.length > 2);
+        for (int i = 0; i < cycle.length; i++) {
+            int u = cycle[i], v = cycle[(i + 1) % cycle.length];
+            boolean found = false;
+            for (int k = g.outStart(u); k < g.outEnd(u); k++) { found |= g.target(k) == v; }
+            assertTrue(found);
+        }
+    }
+
+    @Test
+    void undirected() {
+        Graph<Integer,Integer> g = new Graph<>(false);
+        g.insertVertex(0);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> TopologicalSort.order(g.freeze()));
+        assertEquals(ILLEGAL_ARG_UNDIRECTED, e.getMessage());
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("TopologicalSort Unit Testing is complete.");
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * A Union-Find, or Disjoint Set, structure partitions the elements 0 to n-1
+ * into disjoint sets, and supports two operations: union() merges the sets of
+ * two elements, and find() returns the representative of an element's set, so
+ * that two elements are in the same set exactly when they have the same
+ * representative. It is the natural structure for connected components, where
+ * each edge is a union of its endpoints, and for Kruskal's algorithm.
+ *
+ * Each set is a tree stored in a parent array, whose root is the representative.
+ * Two techniques keep the trees shallow:
+ *
+ * - Union by rank: the root of lower rank, an upper bound on the height of its
+ *   tree, is linked below the root of higher rank, so a tree of rank r has at
+ *   least 2^r elements and no path is longer than log n.
+ * - Path compression: find() links every element on the path it walks directly
+ *   to the root, so later finds from any of them take a single step.
+ *
+ * Together they bound the amortized cost of an operation by the inverse
+ * Ackermann function, which is at most 4 for any n that fits in memory.
+ *
+ * Source: Tarjan, R. E. (1975). Efficiency of a Good But Not Linear Set Union
+ * Algorithm. Journal of the ACM, 22(2), 215-225.
+ *
+ * O(α(n)) - find(), union(), connected(), amortized
+ * O(1) - count()
+ */
+public class UnionFind {
+    /** Member Fields of UnionFind **/
+    private final int[] parent;     // The parent of each element, a root is its own parent
+    private final byte[] rank;      // Bounds the height of the tree of each root, at most log n
+    private int count;              // The number of sets
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_SIZE = "Size must not be negative";
+    private static final String ILLEGAL_ARG_ELEMENT = "Element is out of range";
+
+    /** Constructors **/
+    /**
+     * Constructs n sets, each of which holds one element
+     * @param n The number of elements, numbered 0 to n-1
+     * @throws IllegalArgumentException if n is negative
+     */
+    public UnionFind(int n) throws IllegalArgumentException {
+        if (n < 0) { throw new IllegalArgumentException(ILLEGAL_ARG_SIZE); }
+        parent = new int[n];
+        rank = new byte[n];
+        for (int i = 0; i < n; i++) { parent[i] = i; }
+        count = n;
+    }
+
+    /** Private Utility Methods **/
+    /** @throws IllegalArgumentException if x is not an element */
+    private void validate(int x) throws IllegalArgumentException {
+        if (x < 0 || x >= parent.length) { throw new IllegalArgumentException(ILLEGAL_ARG_ELEMENT); }
+    }
+
+    /** Access Methods **/
+    /** @return the number of elements */
+    public int size() { return parent.length; }
+
+    /** @return the number of disjoint sets */
+    public int count() { return count; }
+
+    /**
+     * Returns the representative of the set of x, and compresses the path to it
+     * @param x An element
+     * @return the root of the tree that holds x
+     * @throws IllegalArgumentException if x is not an element
+     */
+    public int find(int x) throws IllegalArgumentException {
+        validate(x);
+        int root = x;
+        while (parent[root] != root) { root = parent[root]; }
+        // Link every element of the path directly to the root
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    /**
+     * @return true if x and y are in the same set
+     * @throws IllegalArgumentException if x or y is not an element
+     */
+    public boolean connected(int x, int y) throws IllegalArgumentException {
+        return find(x) == find(y);
+    }
+
+    /** Update Methods **/
+    /**
+     * Merges the sets of x and y
+     * @param x An element
+     * @param y An element
+     * @return true if the sets were merged, false if x and y were already in the same set
+     * @throws IllegalArgumentException if x or y is not an element
+     */
+    public boolean union(int x, int y) throws IllegalArgumentException {
+        int rx = find(x), ry = find(y);
+        if (rx == ry) { return false; }
+        // Link the root of lower rank below the other
+        if (rank[rx] < rank[ry]) {
+            parent[rx] = ry;
+        } else if (rank[rx] > rank[ry]) {
+            parent[ry] = rx;
+        } else {
+            parent[ry] = rx;
+            rank[rx]++;
+        }
+        count--;
+        return true;
+    }
+}
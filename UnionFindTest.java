@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class UnionFindTest {
+
+    // Error Messages
+    private static final String ILLEGAL_ARG_SIZE = "Size must not be negative";
+    private static final String ILLEGAL_ARG_ELEMENT = "Element is out of range";
+
+    @BeforeAll
+    public static void setup() {
+        System.out.println("UnionFind Unit Testing has begun ...");
+    }
+
+    @Test
+    void singletons() {
+        UnionFind sets = new UnionFind(5);
+        assertEquals(5, sets.count());
+        assertEquals(5, sets.size());
+        for (int i = 0; i < 5; i++) { assertEquals(i, sets.find(i)); }
+        assertFalse(sets.connected(0, 1));
+    }
+
+    @Test
+    void unionAndFind() {
+        UnionFind sets = new UnionFind(6);
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 3));
+        assertTrue(sets.union(1, 3));
+        assertFalse(sets.union(0, 2));      // Already in the same set
+        assertEquals(3, sets.count());
+        assertTrue(sets.connected(0, 3));
+        assertFalse(sets.connected(0, 4));
+        assertEquals(sets.find(0), sets.find(2));
+    }
+
+    @Test
+    void invalidArguments() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> new UnionFind(-1));
+        assertEquals(ILLEGAL_ARG_SIZE, e.getMessage());
+        UnionFind sets = new UnionFind(3);
+        e = assertThrows(IllegalArgumentException.class, () -> sets.find(3));
+        assertEquals(ILLEGAL_ARG_ELEMENT, e.getMessage());
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(3);
+        e = assertThrows(IllegalArgumentException.class, () -> concurrent.union(0, -1));
+        assertEquals(ILLEGAL_ARG_ELEMENT, e.getMessage());
+    }
+
+    @Test
+    void concurrentMatchesSequential() {
+        int n = 10_000;
+        Random random = new Random(3);
+        UnionFind sets = new UnionFind(n);
+        ConcurrentUnionFind concurrent = new ConcurrentUnionFind(n);
+        for (int i = 0; i < 8000; i++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            assertEquals(sets.union(a, b), concurrent.union(a, b));
+        }
+        assertEquals(sets.count(), concurrent.count());
+        for (int i = 0; i < 1000; i++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            assertEquals(sets.connected(a, b), concurrent.connected(a, b));
+        }
+    }
+
+    @Test
+    void concurrentUnionsFromManyThreads() throws Exception {
+        int n = 100_000, threads = 4;
+        int[][] pairs = new int[200_000][2];
+        Random random = new Random(9);
+        UnionFind expected = new UnionFind(n);
+        for (int[] p : pairs) {
+            p[0] = random.nextInt(n);
+            p[1] = random.nextInt(n);
+            expected.union(p[0], p[1]);
+        }
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            int[] merged = new int[threads];
+            for (int t = 0; t < threads; t++) {
+                final int id = t;
+                futures[t] = executor.submit(() -> {
+                    for (int i = id; i < pairs.length; i += threads) {
+                        if (sets.union(pairs[i][0], pairs[i][1])) { merged[id]++; }
+                    }
+                });
+            }
+            for (Future<?> f : futures) { f.get(); }
+            // Every merge is counted by exactly one thread
+            int total = 0;
+            for (int m : merged) { total += m; }
+            assertEquals(n - expected.count(), total);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(expected.count(), sets.count());
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected.connected(v, (v * 7919) % n), sets.connected(v, (v * 7919) % n));
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        System.out.println("UnionFind Unit Testing is complete.");
+    }
+}